@@ -3,8 +3,11 @@ package com.invoiceme;
 import io.github.cdimascio.dotenv.Dotenv;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// The R2DBC pool of the read API is built in ReactiveReadConfig: an auto-configured
+// ConnectionFactory bean would make Spring Boot back off the JDBC DataSource
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class InvoiceMeApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,56 @@
+package com.invoiceme.application.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.application.archive.dto.ArchivedInvoiceDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializes archived invoice documents as gzip-compressed JSON.
+ * Invoices are highly repetitive text (field names, currency codes, timestamps), so a
+ * document typically shrinks to a fraction of its live rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArchiveCodec {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Compresses a document.
+     *
+     * @param document Document to store
+     * @return Gzip-compressed JSON
+     */
+    public byte[] encode(ArchivedInvoiceDocument document) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, document);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize archived invoice", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores a document written by {@link #encode}.
+     *
+     * @param data Gzip-compressed JSON
+     * @return The stored document
+     */
+    public ArchivedInvoiceDocument decode(byte[] data) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return objectMapper.readValue(in, ArchivedInvoiceDocument.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read archived invoice", e);
+        }
+    }
+}
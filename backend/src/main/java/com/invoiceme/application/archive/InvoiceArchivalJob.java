@@ -0,0 +1,23 @@
+package com.invoiceme.application.archive;
+
+import com.invoiceme.application.organization.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Nightly archival of long-settled invoices for all organizations.
+ */
+@Component
+@RequiredArgsConstructor
+public class InvoiceArchivalJob {
+
+    private final InvoiceArchiveService invoiceArchiveService;
+
+    @Scheduled(cron = "${app.archive.cron:0 30 2 * * *}")
+    public void run() {
+        TenantContext.runAs(TenantContext.ALL_ORGANIZATIONS, () -> invoiceArchiveService.archiveExpired(LocalDate.now()));
+    }
+}
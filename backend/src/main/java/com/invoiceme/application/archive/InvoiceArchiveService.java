@@ -0,0 +1,197 @@
+package com.invoiceme.application.archive;
+
+import com.invoiceme.application.archive.dto.ArchivedInvoiceDocument;
+import com.invoiceme.application.changelog.ChangeLogService;
+import com.invoiceme.application.invoice.InvoiceMapper;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.ledger.LedgerMapper;
+import com.invoiceme.application.payment.PaymentMapper;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import com.invoiceme.domain.archive.ArchivedInvoice;
+import com.invoiceme.domain.archive.ArchivedPayment;
+import com.invoiceme.domain.changelog.ChangeEntityType;
+import com.invoiceme.domain.changelog.ChangeOperation;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.ledger.LedgerEntry;
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.infrastructure.persistence.ArchivedInvoiceRepository;
+import com.invoiceme.infrastructure.persistence.ArchivedPaymentRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Moves paid invoices out of the live tables once they have been settled for a while.
+ *
+ * Each archived invoice leaves a stub row in archived_invoices holding its full contents
+ * (line items, payments, ledger entries) as a compressed document, and each of its payments a
+ * row in archived_payments; its live rows are deleted and DELETED changes are recorded for the
+ * invoice and its payments. Listing and search queries therefore only scan open and recently
+ * settled invoices, while lookups by id, ledgers, balances and payment exports fall through to
+ * the archive ({@link #findDocument}, {@link #findPayment}). Archived invoices are read-only.
+ * Batches are claimed with {@code FOR UPDATE SKIP LOCKED} and committed one at a time, so
+ * instances running the job concurrently split the work.
+ */
+@Service
+@Slf4j
+public class InvoiceArchiveService {
+
+    private final InvoiceRepository invoiceRepository;
+    private final PaymentRepository paymentRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final ArchivedInvoiceRepository archivedInvoiceRepository;
+    private final ArchivedPaymentRepository archivedPaymentRepository;
+    private final InvoiceMapper invoiceMapper;
+    private final PaymentMapper paymentMapper;
+    private final LedgerMapper ledgerMapper;
+    private final ArchiveCodec archiveCodec;
+    private final ChangeLogService changeLogService;
+    private final TransactionTemplate transactionTemplate;
+    private final Period paidAfter;
+    private final int batchSize;
+
+    public InvoiceArchiveService(
+            InvoiceRepository invoiceRepository,
+            PaymentRepository paymentRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            ArchivedInvoiceRepository archivedInvoiceRepository,
+            ArchivedPaymentRepository archivedPaymentRepository,
+            InvoiceMapper invoiceMapper,
+            PaymentMapper paymentMapper,
+            LedgerMapper ledgerMapper,
+            ArchiveCodec archiveCodec,
+            ChangeLogService changeLogService,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.archive.paid-after:#{null}}") Period paidAfter,
+            @Value("${app.archive.batch-size:200}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+        this.invoiceRepository = invoiceRepository;
+        this.paymentRepository = paymentRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.archivedInvoiceRepository = archivedInvoiceRepository;
+        this.archivedPaymentRepository = archivedPaymentRepository;
+        this.invoiceMapper = invoiceMapper;
+        this.paymentMapper = paymentMapper;
+        this.ledgerMapper = ledgerMapper;
+        this.archiveCodec = archiveCodec;
+        this.changeLogService = changeLogService;
+        this.transactionTemplate = transactionTemplate;
+        this.paidAfter = paidAfter;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Archives the invoices paid longer than the configured age ago.
+     * Does nothing unless {@code app.archive.paid-after} is set.
+     *
+     * @param today Current date
+     * @return Number of archived invoices
+     */
+    public int archiveExpired(LocalDate today) {
+        if (paidAfter == null) {
+            return 0;
+        }
+        return archivePaidBefore(today.minus(paidAfter).atStartOfDay());
+    }
+
+    /**
+     * Archives every PAID invoice last changed before the cutoff, across all organizations.
+     *
+     * @param cutoff Invoices settled before this time are archived
+     * @return Number of archived invoices
+     */
+    public int archivePaidBefore(LocalDateTime cutoff) {
+        int total = 0;
+        while (true) {
+            Integer archived = transactionTemplate.execute(status -> {
+                List<Invoice> invoices = invoiceRepository.claimPaidBefore(cutoff, batchSize);
+                invoices.forEach(this::archive);
+                return invoices.size();
+            });
+            total += archived;
+            if (archived < batchSize) {
+                log.info("Archived {} invoices paid before {}", total, cutoff);
+                return total;
+            }
+        }
+    }
+
+    /**
+     * Finds an archived invoice of the current organization.
+     *
+     * @param id Invoice ID
+     * @return The invoice as it was when archived, or empty if it is not archived
+     */
+    @Transactional(readOnly = true)
+    public Optional<InvoiceResponse> find(UUID id) {
+        return findDocument(id).map(ArchivedInvoiceDocument::invoice);
+    }
+
+    /**
+     * Finds an archived invoice of the current organization with its payments and ledger.
+     *
+     * @param id Invoice ID
+     * @return The invoice's archived document, or empty if it is not archived
+     */
+    @Transactional(readOnly = true)
+    public Optional<ArchivedInvoiceDocument> findDocument(UUID id) {
+        return archivedInvoiceRepository.findById(id)
+                .map(archived -> archiveCodec.decode(archived.getDocument()));
+    }
+
+    /**
+     * Finds a payment of an archived invoice of the current organization.
+     *
+     * @param id Payment ID
+     * @return The payment as it was when archived, or empty if it is not archived
+     */
+    @Transactional(readOnly = true)
+    public Optional<PaymentResponse> findPayment(UUID id) {
+        return archivedPaymentRepository.findById(id)
+                .flatMap(payment -> findDocument(payment.getInvoiceId()))
+                .flatMap(document -> document.payments().stream()
+                        .filter(payment -> payment.id().equals(id))
+                        .findFirst());
+    }
+
+    /**
+     * Stores the invoice's stub and payment rows, deletes its live rows, dependents first,
+     * and records their removal from the live tables.
+     */
+    private void archive(Invoice invoice) {
+        List<Payment> payments = paymentRepository.findByInvoice_IdOrderByCreatedAtAsc(invoice.getId());
+        List<LedgerEntry> ledger = ledgerEntryRepository.findByInvoice_IdOrderBySequenceNumberAsc(invoice.getId());
+        ArchivedInvoiceDocument document = new ArchivedInvoiceDocument(
+                invoiceMapper.toResponse(invoice),
+                payments.stream().map(paymentMapper::toResponse).toList(),
+                ledger.stream().map(ledgerMapper::toResponse).toList()
+        );
+
+        archivedInvoiceRepository.save(new ArchivedInvoice(invoice, archiveCodec.encode(document)));
+        archivedPaymentRepository.saveAll(payments.stream().map(ArchivedPayment::new).toList());
+        ledgerEntryRepository.deleteAll(ledger);
+        paymentRepository.deleteAll(payments);
+        invoiceRepository.delete(invoice);
+
+        for (Payment payment : payments) {
+            changeLogService.record(invoice.getOrganizationId(), ChangeEntityType.PAYMENT, payment.getId(),
+                    ChangeOperation.DELETED, null);
+        }
+        changeLogService.record(invoice.getOrganizationId(), ChangeEntityType.INVOICE, invoice.getId(),
+                ChangeOperation.DELETED, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.invoiceme.application.archive.dto;
+
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.ledger.dto.LedgerEntryResponse;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+
+import java.util.List;
+
+/**
+ * Contents of an archived invoice: the invoice as it was last served, with its payments
+ * and ledger entries in the order they were recorded.
+ */
+public record ArchivedInvoiceDocument(
+        InvoiceResponse invoice,
+        List<PaymentResponse> payments,
+        List<LedgerEntryResponse> ledger
+) {
+}
@@ -0,0 +1,24 @@
+package com.invoiceme.application.changelog;
+
+import com.invoiceme.application.organization.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nightly retention and compaction of the change log of all organizations.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeLogMaintenanceJob {
+
+    private final ChangeLogService changeLogService;
+
+    @Scheduled(cron = "${app.changes.maintenance-cron:0 30 3 * * *}")
+    public void run() {
+        TenantContext.runAs(TenantContext.ALL_ORGANIZATIONS, () -> {
+            changeLogService.purgeExpired();
+            changeLogService.compact();
+        });
+    }
+}
@@ -0,0 +1,216 @@
+package com.invoiceme.application.changelog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.application.changelog.dto.ChangeFeedResponse;
+import com.invoiceme.application.changelog.dto.ChangeResponse;
+import com.invoiceme.domain.changelog.ChangeEntityType;
+import com.invoiceme.domain.changelog.ChangeLogEntry;
+import com.invoiceme.domain.changelog.ChangeOperation;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.DatabaseVendor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Writes and serves the change feed.
+ *
+ * Entries are written inside the caller's transaction, so a change is in the feed exactly
+ * when the mutation it describes is committed. They are collected during the transaction and
+ * inserted just before it commits, while holding the change log writer lock of each
+ * organization involved until the commit completes. Sequences of an organization are
+ * therefore assigned in commit order: once a consumer has read a sequence of its feed, no
+ * lower one can still appear, however long the transactions took. Organizations do not wait
+ * for each other's writers.
+ */
+@Service
+@Slf4j
+public class ChangeLogService {
+
+    public static final int MAX_FEED_LIMIT = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final DatabaseVendor databaseVendor;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Duration compactionAge;
+
+    public ChangeLogService(
+            ChangeLogRepository changeLogRepository,
+            DatabaseVendor databaseVendor,
+            ObjectMapper objectMapper,
+            @Value("${app.changes.retention:30d}") Duration retention,
+            @Value("${app.changes.compaction-age:1d}") Duration compactionAge) {
+        this.changeLogRepository = changeLogRepository;
+        this.databaseVendor = databaseVendor;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.compactionAge = compactionAge;
+    }
+
+    /**
+     * Appends a change to the log when the transaction commits.
+     * Must be called inside the transaction performing the mutation.
+     *
+     * @param organizationId Organization the entity belongs to
+     * @param entityType Type of the changed entity
+     * @param entityId ID of the changed entity
+     * @param operation Kind of change
+     * @param payload Response DTO describing the entity after the change (null for deletes)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UUID organizationId, ChangeEntityType entityType, UUID entityId,
+                       ChangeOperation operation, Object payload) {
+        ChangeLogEntry entry = new ChangeLogEntry(organizationId, entityType, entityId, operation, toJson(payload));
+        pendingChanges().entries.add(entry);
+    }
+
+    /**
+     * Returns changes of the current organization after the given sequence.
+     *
+     * @param after Last sequence the consumer has processed (0 to start from the beginning)
+     * @param limit Maximum number of changes (capped at {@value #MAX_FEED_LIMIT})
+     * @return Changes in sequence order with the position to resume from
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse getChanges(long after, int limit) {
+        if (after < 0) {
+            throw new IllegalArgumentException("after must not be negative");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        int pageSize = Math.min(limit, MAX_FEED_LIMIT);
+
+        List<ChangeLogEntry> entries = changeLogRepository.findAfter(after, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = entries.size() > pageSize;
+        List<ChangeResponse> changes = entries.stream().limit(pageSize).map(ChangeLogService::toResponse).toList();
+        long nextAfter = changes.isEmpty() ? after : changes.get(changes.size() - 1).sequence();
+        return new ChangeFeedResponse(changes, nextAfter, hasMore);
+    }
+
+    /**
+     * Deletes entries past the retention period. Consumers that fall further behind than
+     * the retention period must resynchronize from the listing endpoints.
+     *
+     * @return Number of deleted entries
+     */
+    @Transactional
+    public int purgeExpired() {
+        int deleted = changeLogRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        log.info("Purged {} change log entries older than {}", deleted, retention);
+        return deleted;
+    }
+
+    /**
+     * Keeps only the latest entry per entity among entries older than the compaction age.
+     * Consumers catching up from far behind still converge to the current state.
+     *
+     * @return Number of deleted entries
+     */
+    @Transactional
+    public int compact() {
+        int deleted = changeLogRepository.deleteSupersededOlderThan(LocalDateTime.now().minus(compactionAge));
+        log.info("Compacted {} superseded change log entries older than {}", deleted, compactionAge);
+        return deleted;
+    }
+
+    /**
+     * Changes recorded by the current transaction, registered for writing at commit on first use.
+     * Looked up among the transaction's synchronizations, which Spring suspends and resumes
+     * with nested transactions.
+     */
+    private PendingChanges pendingChanges() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges pending && pending.owner == this) {
+                return pending;
+            }
+        }
+        PendingChanges pending = new PendingChanges(this);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private void write(List<ChangeLogEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        // The transaction's other writes first, so the locks are held for the inserts and the commit only
+        changeLogRepository.flush();
+        lockWriters(entries);
+        changeLogRepository.saveAllAndFlush(entries);
+    }
+
+    /**
+     * Locks the writer rows of the entries' organizations, creating the rows of organizations
+     * that have not written changes yet.
+     */
+    private void lockWriters(List<ChangeLogEntry> entries) {
+        Set<UUID> organizationIds = new LinkedHashSet<>();
+        entries.forEach(entry -> organizationIds.add(entry.getOrganizationId()));
+        List<UUID> locked = changeLogRepository.lockWriters(organizationIds);
+        if (locked.size() < organizationIds.size()) {
+            for (UUID organizationId : organizationIds) {
+                if (!locked.contains(organizationId)) {
+                    if (databaseVendor.isPostgres()) {
+                        changeLogRepository.createWriter(organizationId);
+                    } else {
+                        changeLogRepository.createWriterOnH2(organizationId);
+                    }
+                }
+            }
+            changeLogRepository.lockWriters(organizationIds);
+        }
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize change payload", e);
+        }
+    }
+
+    private static ChangeResponse toResponse(ChangeLogEntry entry) {
+        return new ChangeResponse(
+                entry.getSequence(),
+                entry.getEntityType(),
+                entry.getEntityId(),
+                entry.getOperation(),
+                entry.getChangedAt(),
+                entry.getPayload()
+        );
+    }
+
+    private static final class PendingChanges implements TransactionSynchronization {
+
+        private final ChangeLogService owner;
+        private final List<ChangeLogEntry> entries = new ArrayList<>();
+
+        PendingChanges(ChangeLogService owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            owner.write(entries);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.invoiceme.application.changelog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Page of the change feed")
+public record ChangeFeedResponse(
+        @Schema(description = "Changes in sequence order")
+        List<ChangeResponse> changes,
+
+        @Schema(description = "Value to pass as 'after' on the next request", example = "1042")
+        long nextAfter,
+
+        @Schema(description = "Whether more changes are available right away")
+        boolean hasMore
+) {
+}
@@ -0,0 +1,32 @@
+package com.invoiceme.application.changelog.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.invoiceme.domain.changelog.ChangeEntityType;
+import com.invoiceme.domain.changelog.ChangeOperation;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Single entry of the change feed")
+public record ChangeResponse(
+        @Schema(description = "Position in the feed; pass the last seen value as 'after' to resume", example = "1042")
+        long sequence,
+
+        @Schema(description = "Type of the changed entity", example = "INVOICE")
+        ChangeEntityType entityType,
+
+        @Schema(description = "ID of the changed entity", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID entityId,
+
+        @Schema(description = "Kind of change", example = "UPDATED")
+        ChangeOperation operation,
+
+        @Schema(description = "Time of the change", example = "2024-01-15T10:30:00")
+        LocalDateTime changedAt,
+
+        @Schema(description = "Entity state after the change, as returned by the entity's GET endpoint (null for deletes)")
+        @JsonRawValue
+        String payload
+) {
+}
@@ -1,7 +1,11 @@
 package com.invoiceme.application.customer;
 
+import com.invoiceme.application.changelog.ChangeLogService;
 import com.invoiceme.application.customer.dto.CustomerRequest;
 import com.invoiceme.application.customer.dto.CustomerResponse;
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.domain.changelog.ChangeEntityType;
+import com.invoiceme.domain.changelog.ChangeOperation;
 import com.invoiceme.domain.customer.Customer;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -19,6 +23,8 @@ public class CustomerCommandService {
 
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
+    private final CustomerSuggestionIndex suggestionIndex;
+    private final ChangeLogService changeLogService;
 
     public CustomerResponse createCustomer(CustomerRequest request) {
         // Check if email already exists before saving
@@ -27,11 +33,16 @@ public class CustomerCommandService {
         }
         
         Customer customer = customerMapper.toEntity(request);
+        customer.setOrganizationId(TenantContext.currentOrganizationId());
         customer.validate();
         
         try {
             Customer savedCustomer = customerRepository.save(customer);
-            return customerMapper.toResponse(savedCustomer);
+            suggestionIndex.upsertAfterCommit(savedCustomer);
+            CustomerResponse response = customerMapper.toResponse(savedCustomer);
+            changeLogService.record(savedCustomer.getOrganizationId(), ChangeEntityType.CUSTOMER, savedCustomer.getId(),
+                    ChangeOperation.CREATED, response);
+            return response;
         } catch (DataIntegrityViolationException e) {
             if (e.getMessage() != null && (e.getMessage().contains("email") || e.getMessage().contains("unique"))) {
                 throw new IllegalArgumentException("Customer with email " + request.email() + " already exists", e);
@@ -55,7 +66,11 @@ public class CustomerCommandService {
         
         try {
             Customer updatedCustomer = customerRepository.save(customer);
-            return customerMapper.toResponse(updatedCustomer);
+            suggestionIndex.upsertAfterCommit(updatedCustomer);
+            CustomerResponse response = customerMapper.toResponse(updatedCustomer);
+            changeLogService.record(updatedCustomer.getOrganizationId(), ChangeEntityType.CUSTOMER, updatedCustomer.getId(),
+                    ChangeOperation.UPDATED, response);
+            return response;
         } catch (DataIntegrityViolationException e) {
             if (e.getMessage() != null && (e.getMessage().contains("email") || e.getMessage().contains("unique"))) {
                 throw new IllegalArgumentException("Customer with email " + request.email() + " already exists", e);
@@ -68,7 +83,10 @@ public class CustomerCommandService {
         if (!customerRepository.existsById(id)) {
             throw new EntityNotFoundException("Customer not found with id: " + id);
         }
+        UUID organizationId = TenantContext.currentOrganizationId();
         customerRepository.deleteById(id);
+        suggestionIndex.removeAfterCommit(organizationId, id);
+        changeLogService.record(organizationId, ChangeEntityType.CUSTOMER, id, ChangeOperation.DELETED, null);
     }
 }
 
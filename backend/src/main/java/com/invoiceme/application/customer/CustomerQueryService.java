@@ -1,6 +1,12 @@
 package com.invoiceme.application.customer;
 
 import com.invoiceme.application.customer.dto.CustomerResponse;
+import com.invoiceme.application.customer.dto.CustomerSearchResult;
+import com.invoiceme.application.customer.dto.CustomerSuggestion;
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.application.search.SearchCursor;
+import com.invoiceme.application.search.SearchTerms;
+import com.invoiceme.application.search.dto.SearchPage;
 import com.invoiceme.domain.customer.Customer;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -10,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -17,8 +24,13 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class CustomerQueryService {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_SEARCH_CANDIDATES = 1000;
+    private static final int MAX_SUGGEST_LIMIT = 25;
+
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
+    private final CustomerSuggestionIndex suggestionIndex;
 
     public CustomerResponse getById(UUID id) {
         Customer customer = customerRepository.findById(id)
@@ -30,6 +42,50 @@ public class CustomerQueryService {
         return customerRepository.findAll(pageable)
                 .map(customerMapper::toResponse);
     }
+
+    /**
+     * Suggests customers for type-ahead pickers from the in-memory prefix index.
+     * Does not touch the database.
+     *
+     * @param query Prefix typed by the user
+     * @param limit Maximum suggestions (capped at 25)
+     * @return Customers whose name, a word of their name, or email starts with the query
+     */
+    public List<CustomerSuggestion> suggest(String query, int limit) {
+        return suggestionIndex.suggest(query, Math.min(limit, MAX_SUGGEST_LIMIT));
+    }
+
+    /**
+     * Searches customers by name or email, ranked by relevance.
+     * Requires PostgreSQL (tsvector and pg_trgm indexes). Only the first 1000 matches are
+     * ranked, so a term matching more returns the best of those.
+     *
+     * @param query Free-text query; tokens are matched as prefixes
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Maximum results per page (capped at 100)
+     * @return Page of search results with a cursor for the next page
+     * @throws IllegalArgumentException if the query or cursor is invalid
+     */
+    public SearchPage<CustomerSearchResult> search(String query, String cursor, int limit) {
+        SearchTerms terms = SearchTerms.parse(query);
+        SearchCursor after = SearchCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+
+        List<CustomerSearchResult> rows = customerRepository.search(
+                        TenantContext.currentOrganizationId(),
+                        terms.toPrefixTsQuery(),
+                        terms.term(),
+                        terms.toLikePrefix(),
+                        after.rank(),
+                        after.id(),
+                        MAX_SEARCH_CANDIDATES,
+                        pageSize + 1
+                ).stream()
+                .map(row -> new CustomerSearchResult(row.getId(), row.getName(), row.getEmail(), row.getRank()))
+                .toList();
+
+        return SearchPage.of(rows, pageSize, result -> new SearchCursor(result.rank(), result.id()));
+    }
 }
 
 
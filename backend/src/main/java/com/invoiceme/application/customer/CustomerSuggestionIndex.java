@@ -0,0 +1,418 @@
+package com.invoiceme.application.customer;
+
+import com.invoiceme.application.customer.dto.CustomerSuggestion;
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory prefix index over customer names and emails for type-ahead lookups.
+ *
+ * Keys are normalized (lower-cased, accents stripped) and kept in a sorted array with a
+ * parallel array of suggestions, so a lookup is one binary search plus a short scan.
+ * Readers never lock: writers build a new immutable snapshot and publish it through a
+ * volatile field. Writes copy the arrays (O(n) memmove), which is cheap next to the
+ * read volume of per-keystroke lookups.
+ *
+ * Each organization has its own partition, so lookups only see the current organization's
+ * customers and only writes to that organization copy its arrays.
+ *
+ * The initial load runs while requests are already served. It builds a new set of partitions
+ * while lookups keep using the current one, and swaps it in once complete. Writes made during
+ * the load are journaled and replayed over the loaded data before the swap, so a customer saved
+ * after the table was read is not replaced by its stale row.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerSuggestionIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator
+            .comparing((Entry entry) -> entry.key)
+            .thenComparing(entry -> entry.value.id());
+
+    private final CustomerRepository customerRepository;
+
+    // Replaced as a whole by load()
+    private volatile Map<UUID, Partition> partitions = new ConcurrentHashMap<>();
+
+    // Writes share the read lock; load() takes the write lock to start, and to replay the journal and swap
+    private final ReadWriteLock journalLock = new ReentrantReadWriteLock();
+
+    // Writes made while load() runs, null otherwise
+    private Queue<Consumer<Map<UUID, Partition>>> journal;
+
+    /**
+     * Loads the customers of all organizations into the index once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        journalLock.writeLock().lock();
+        try {
+            journal = new ConcurrentLinkedQueue<>();
+        } finally {
+            journalLock.writeLock().unlock();
+        }
+        List<CustomerRepository.SuggestionRow> rows = TenantContext.callAs(
+                TenantContext.ALL_ORGANIZATIONS, customerRepository::findAllSuggestionRows);
+        Map<UUID, List<CustomerSuggestion>> byOrganization = rows.stream().collect(Collectors.groupingBy(
+                CustomerRepository.SuggestionRow::getOrganizationId,
+                Collectors.mapping(row -> new CustomerSuggestion(row.getId(), row.getName(), row.getEmail()),
+                        Collectors.toList())));
+        Map<UUID, Partition> loaded = new ConcurrentHashMap<>();
+        byOrganization.forEach((organizationId, suggestions) -> rebuild(loaded, organizationId, suggestions));
+        int replayed = 0;
+        journalLock.writeLock().lock();
+        try {
+            for (Consumer<Map<UUID, Partition>> write : journal) {
+                write.accept(loaded);
+                replayed++;
+            }
+            partitions = loaded;
+            journal = null;
+        } finally {
+            journalLock.writeLock().unlock();
+        }
+        if (replayed > 0) {
+            log.info("Replayed {} suggestion index writes made during the load", replayed);
+        }
+        log.info("Loaded {} customers of {} organizations into suggestion index in {} ms",
+                rows.size(), byOrganization.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Returns customers of the current organization whose name, any word of their name, or
+     * email starts with the query.
+     *
+     * @param query Prefix typed by the user
+     * @param limit Maximum number of suggestions
+     * @return Distinct suggestions ordered by matching key
+     */
+    public List<CustomerSuggestion> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Partition partition = partitions.get(TenantContext.currentOrganizationId());
+        if (partition == null) {
+            return List.of();
+        }
+        Snapshot current = partition.snapshot;
+        Set<CustomerSuggestion> matches = new LinkedHashSet<>();
+        for (int i = current.lowerBound(prefix); i < current.size() && matches.size() < limit; i++) {
+            if (!current.keys[i].startsWith(prefix)) {
+                break;
+            }
+            matches.add(current.values[i]);
+        }
+        return List.copyOf(matches);
+    }
+
+    /**
+     * Indexes a created or updated customer once the surrounding transaction commits,
+     * so rolled-back writes never become visible in suggestions.
+     */
+    public void upsertAfterCommit(Customer customer) {
+        UUID organizationId = customer.getOrganizationId();
+        CustomerSuggestion suggestion = new CustomerSuggestion(customer.getId(), customer.getName(), customer.getEmail());
+        runAfterCommit(() -> upsert(organizationId, suggestion));
+    }
+
+    /**
+     * Removes a deleted customer once the surrounding transaction commits.
+     */
+    public void removeAfterCommit(UUID organizationId, UUID customerId) {
+        runAfterCommit(() -> remove(organizationId, customerId));
+    }
+
+    void upsert(UUID organizationId, CustomerSuggestion suggestion) {
+        journaled(target -> target.computeIfAbsent(organizationId, id -> new Partition()).upsert(suggestion));
+    }
+
+    void remove(UUID organizationId, UUID customerId) {
+        journaled(target -> {
+            Partition partition = target.get(organizationId);
+            if (partition != null) {
+                partition.remove(customerId);
+            }
+        });
+    }
+
+    /**
+     * Applies a write to the current partitions, and records it for replay over the loaded ones
+     * if a load is in progress. Upserts and removes are idempotent, so replaying a write the
+     * loaded rows already contain is harmless.
+     */
+    private void journaled(Consumer<Map<UUID, Partition>> write) {
+        journalLock.readLock().lock();
+        try {
+            if (journal != null) {
+                journal.add(write);
+            }
+            write.accept(partitions);
+        } finally {
+            journalLock.readLock().unlock();
+        }
+    }
+
+    void rebuild(UUID organizationId, List<CustomerSuggestion> suggestions) {
+        rebuild(partitions, organizationId, suggestions);
+    }
+
+    private static void rebuild(Map<UUID, Partition> target, UUID organizationId, List<CustomerSuggestion> suggestions) {
+        target.computeIfAbsent(organizationId, id -> new Partition()).rebuild(suggestions);
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Index keys for a customer: the full name, every later word of the name, and the email.
+     */
+    private static List<Entry> entriesFor(CustomerSuggestion suggestion) {
+        Set<String> keys = new LinkedHashSet<>();
+        String name = normalize(suggestion.name());
+        if (!name.isEmpty()) {
+            keys.add(name);
+            String[] words = name.split(" ");
+            for (int i = 1; i < words.length; i++) {
+                keys.add(words[i]);
+            }
+        }
+        String email = normalize(suggestion.email());
+        if (!email.isEmpty()) {
+            keys.add(email);
+        }
+        List<Entry> entries = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            entries.add(new Entry(key, suggestion));
+        }
+        return entries;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(String key, CustomerSuggestion value) {
+    }
+
+    /**
+     * One organization's suggestions. Writers of the same organization are serialized by a lock
+     * (not a monitor, which would pin virtual threads while they wait for it);
+     * readers use the published snapshot.
+     */
+    private static final class Partition {
+
+        private final Lock lock = new ReentrantLock();
+
+        // Current suggestion per customer, used by writers to find the keys to remove
+        private final Map<UUID, CustomerSuggestion> byId = new HashMap<>();
+
+        private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+        void upsert(CustomerSuggestion suggestion) {
+            lock.lock();
+            try {
+                CustomerSuggestion previous = byId.put(suggestion.id(), suggestion);
+                snapshot = snapshot.apply(previous, suggestion);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(UUID customerId) {
+            lock.lock();
+            try {
+                CustomerSuggestion previous = byId.remove(customerId);
+                if (previous != null) {
+                    snapshot = snapshot.apply(previous, null);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void rebuild(List<CustomerSuggestion> suggestions) {
+            lock.lock();
+            try {
+                byId.clear();
+                List<Entry> entries = new ArrayList<>(suggestions.size() * 3);
+                for (CustomerSuggestion suggestion : suggestions) {
+                    byId.put(suggestion.id(), suggestion);
+                    entries.addAll(entriesFor(suggestion));
+                }
+                entries.sort(ENTRY_ORDER);
+                snapshot = Snapshot.of(entries);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Immutable sorted key array with parallel suggestion values.
+     * Entries are ordered by (key, customer id) so every entry has an exact position.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new String[0], new CustomerSuggestion[0]);
+
+        final String[] keys;
+        final CustomerSuggestion[] values;
+
+        private Snapshot(String[] keys, CustomerSuggestion[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        static Snapshot of(List<Entry> sortedEntries) {
+            String[] keys = new String[sortedEntries.size()];
+            CustomerSuggestion[] values = new CustomerSuggestion[sortedEntries.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = sortedEntries.get(i).key();
+                values[i] = sortedEntries.get(i).value();
+            }
+            return new Snapshot(keys, values);
+        }
+
+        int size() {
+            return keys.length;
+        }
+
+        /**
+         * First position whose key is greater than or equal to the given prefix.
+         */
+        int lowerBound(String prefix) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Position of (key, id) if present, otherwise {@code -(insertionPoint) - 1}.
+         */
+        int find(String key, UUID id) {
+            int low = 0;
+            int high = keys.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = keys[mid].compareTo(key);
+                if (cmp == 0) {
+                    cmp = values[mid].id().compareTo(id);
+                }
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * Returns a new snapshot with the entries of {@code removed} dropped and the entries of
+         * {@code added} inserted, copying the untouched runs between edit positions.
+         */
+        Snapshot apply(CustomerSuggestion removed, CustomerSuggestion added) {
+            int[] removals = removed == null ? new int[0] : entriesFor(removed).stream()
+                    .mapToInt(entry -> find(entry.key(), entry.value().id()))
+                    .filter(position -> position >= 0)
+                    .sorted()
+                    .toArray();
+            List<Entry> additions = added == null ? new ArrayList<>() : new ArrayList<>(entriesFor(added));
+            additions.sort(ENTRY_ORDER);
+            int[] insertAt = new int[additions.size()];
+            for (int i = 0; i < insertAt.length; i++) {
+                int position = find(additions.get(i).key(), additions.get(i).value().id());
+                insertAt[i] = position >= 0 ? position : -position - 1;
+            }
+
+            int size = keys.length - removals.length + additions.size();
+            String[] newKeys = new String[size];
+            CustomerSuggestion[] newValues = new CustomerSuggestion[size];
+            int src = 0;
+            int dst = 0;
+            int r = 0;
+            int a = 0;
+            while (src < keys.length || a < additions.size()) {
+                int nextRemoval = r < removals.length ? removals[r] : keys.length;
+                int nextInsert = a < insertAt.length ? insertAt[a] : keys.length;
+                int run = Math.min(nextRemoval, nextInsert) - src;
+                System.arraycopy(keys, src, newKeys, dst, run);
+                System.arraycopy(values, src, newValues, dst, run);
+                src += run;
+                dst += run;
+                if (a < insertAt.length && insertAt[a] == src) {
+                    newKeys[dst] = additions.get(a).key();
+                    newValues[dst] = additions.get(a).value();
+                    dst++;
+                    a++;
+                } else if (r < removals.length && removals[r] == src) {
+                    src++;
+                    r++;
+                } else if (src == keys.length) {
+                    break;
+                }
+            }
+            return new Snapshot(newKeys, newValues);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.invoiceme.application.customer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(description = "Customer search hit")
+public record CustomerSearchResult(
+        @Schema(description = "Customer ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID id,
+
+        @Schema(description = "Customer name", example = "John Doe")
+        String name,
+
+        @Schema(description = "Customer email", example = "john.doe@example.com")
+        String email,
+
+        @Schema(description = "Relevance score, higher is better", example = "0.83")
+        double rank
+) {
+}
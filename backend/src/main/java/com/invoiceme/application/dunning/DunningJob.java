@@ -0,0 +1,23 @@
+package com.invoiceme.application.dunning;
+
+import com.invoiceme.application.organization.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Daily overdue detection and payment reminders for all organizations.
+ */
+@Component
+@RequiredArgsConstructor
+public class DunningJob {
+
+    private final DunningService dunningService;
+
+    @Scheduled(cron = "${app.dunning.cron:0 0 8 * * *}")
+    public void run() {
+        TenantContext.runAs(TenantContext.ALL_ORGANIZATIONS, () -> dunningService.run(LocalDate.now()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.invoiceme.application.dunning;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Payment terms and the reminder schedule, as days relative to the send and due dates.
+ */
+@Component
+public class DunningPolicy {
+
+    private final int paymentTermsDays;
+    private final List<Integer> reminderDays;
+
+    public DunningPolicy(
+            @Value("${app.dunning.payment-terms-days:30}") int paymentTermsDays,
+            @Value("${app.dunning.reminder-days:7,14,30}") List<Integer> reminderDays) {
+        if (paymentTermsDays < 0) {
+            throw new IllegalArgumentException("Payment terms cannot be negative");
+        }
+        for (int i = 0; i < reminderDays.size(); i++) {
+            if (reminderDays.get(i) <= 0 || (i > 0 && reminderDays.get(i) <= reminderDays.get(i - 1))) {
+                throw new IllegalArgumentException("Reminder days must be positive and increasing: " + reminderDays);
+            }
+        }
+        this.paymentTermsDays = paymentTermsDays;
+        this.reminderDays = List.copyOf(reminderDays);
+    }
+
+    /**
+     * Due date for an invoice sent without one.
+     *
+     * @param sentOn Date the invoice is sent
+     * @return Send date plus the payment terms
+     */
+    public LocalDate dueDate(LocalDate sentOn) {
+        return sentOn.plusDays(paymentTermsDays);
+    }
+
+    /**
+     * When the reminder following {@code remindersSent} reminders is due, never earlier than
+     * tomorrow, so an invoice that fell behind the schedule gets one reminder per day at most.
+     *
+     * @param dueDate Invoice due date
+     * @param remindersSent Reminders sent so far
+     * @param today Current date
+     * @return Next reminder date, or null once every reminder has been sent
+     */
+    public LocalDate nextReminder(LocalDate dueDate, int remindersSent, LocalDate today) {
+        if (remindersSent >= reminderDays.size()) {
+            return null;
+        }
+        LocalDate scheduled = dueDate.plusDays(reminderDays.get(remindersSent));
+        LocalDate earliest = today.plusDays(1);
+        return scheduled.isBefore(earliest) ? earliest : scheduled;
+    }
+}
@@ -0,0 +1,11 @@
+package com.invoiceme.application.dunning;
+
+/**
+ * Outcome of one dunning pass.
+ *
+ * @param markedOverdue Invoices moved from SENT to OVERDUE
+ * @param remindersSent Reminder emails sent
+ * @param remindersPostponed Reminders that failed to send and were moved to the next day
+ */
+public record DunningResult(int markedOverdue, int remindersSent, int remindersPostponed) {
+}
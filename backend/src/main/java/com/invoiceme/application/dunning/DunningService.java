@@ -0,0 +1,166 @@
+package com.invoiceme.application.dunning;
+
+import com.invoiceme.application.changelog.ChangeLogService;
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.InvoiceMapper;
+import com.invoiceme.domain.changelog.ChangeEntityType;
+import com.invoiceme.domain.changelog.ChangeOperation;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.email.EmailException;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves past-due invoices to OVERDUE and sends payment reminders on the dunning schedule.
+ *
+ * Both steps read their work from a (status, date) index: SENT invoices by due date, and
+ * OVERDUE invoices by the date their next reminder is due. A pass therefore only touches
+ * invoices that are actually coming due, however many open invoices exist. Batches are
+ * claimed with {@code FOR UPDATE SKIP LOCKED} and committed one at a time, so instances
+ * running the job concurrently split the work instead of sending duplicate reminders.
+ *
+ * Reminders are recorded first and sent once their batch has committed, so no invoice stays
+ * locked, and no pooled connection stays checked out, while emails go out, and a failed commit
+ * sends nothing. A reminder that fails to send is taken back in a short transaction of its own;
+ * one lost to a crash between the commit and the send is not retried.
+ */
+@Service
+@Slf4j
+public class DunningService {
+
+    private final InvoiceRepository invoiceRepository;
+    private final EmailService emailService;
+    private final InvoiceMapper invoiceMapper;
+    private final ChangeLogService changeLogService;
+    private final DunningPolicy dunningPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public DunningService(
+            InvoiceRepository invoiceRepository,
+            EmailService emailService,
+            InvoiceMapper invoiceMapper,
+            ChangeLogService changeLogService,
+            DunningPolicy dunningPolicy,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.dunning.batch-size:200}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+        this.invoiceRepository = invoiceRepository;
+        this.emailService = emailService;
+        this.invoiceMapper = invoiceMapper;
+        this.changeLogService = changeLogService;
+        this.dunningPolicy = dunningPolicy;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Runs one dunning pass: marks past-due invoices OVERDUE, then sends the reminders due today.
+     *
+     * @param today Current date
+     * @return Counts of transitions and reminders
+     */
+    public DunningResult run(LocalDate today) {
+        int overdue = markOverdue(today);
+        DunningResult reminders = sendReminders(today);
+        DunningResult result = new DunningResult(overdue, reminders.remindersSent(), reminders.remindersPostponed());
+        log.info("Dunning for {}: {} invoices marked overdue, {} reminders sent, {} postponed",
+                today, result.markedOverdue(), result.remindersSent(), result.remindersPostponed());
+        return result;
+    }
+
+    private int markOverdue(LocalDate today) {
+        int total = 0;
+        while (true) {
+            Integer marked = transactionTemplate.execute(status -> {
+                List<Invoice> invoices = invoiceRepository.claimPastDue(today, batchSize);
+                for (Invoice invoice : invoices) {
+                    invoice.markAsOverdue(dunningPolicy.nextReminder(invoice.getDueDate(), 0, today));
+                    changeLogService.record(invoice.getOrganizationId(), ChangeEntityType.INVOICE, invoice.getId(),
+                            ChangeOperation.UPDATED, invoiceMapper.toResponse(invoice));
+                }
+                return invoices.size();
+            });
+            total += marked;
+            if (marked < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * Sends due reminders. A reminder that fails to send is retried the next day, so every
+     * claimed invoice leaves today's queue and the loop always ends.
+     */
+    private DunningResult sendReminders(LocalDate today) {
+        int sent = 0;
+        int postponed = 0;
+        while (true) {
+            List<Reminder> reminders = transactionTemplate.execute(status -> recordRemindersDue(today));
+            for (Reminder reminder : reminders) {
+                if (send(reminder)) {
+                    sent++;
+                } else {
+                    postpone(reminder, today.plusDays(1));
+                    postponed++;
+                }
+            }
+            if (reminders.size() < batchSize) {
+                return new DunningResult(0, sent, postponed);
+            }
+        }
+    }
+
+    /**
+     * Claims a batch of invoices with a reminder due and records the reminder as sent.
+     * The customer is loaded here, as the emails are sent after the transaction.
+     */
+    private List<Reminder> recordRemindersDue(LocalDate today) {
+        List<Invoice> invoices = invoiceRepository.claimRemindersDue(today, batchSize);
+        List<Reminder> reminders = new ArrayList<>(invoices.size());
+        for (Invoice invoice : invoices) {
+            int reminderNumber = invoice.getDunningLevel() + 1;
+            Hibernate.initialize(invoice.getCustomer());
+            invoice.recordReminder(dunningPolicy.nextReminder(invoice.getDueDate(), reminderNumber, today));
+            changeLogService.record(invoice.getOrganizationId(), ChangeEntityType.INVOICE, invoice.getId(),
+                    ChangeOperation.UPDATED, invoiceMapper.toResponse(invoice));
+            reminders.add(new Reminder(invoice, reminderNumber));
+        }
+        return reminders;
+    }
+
+    private boolean send(Reminder reminder) {
+        try {
+            emailService.sendReminderEmail(reminder.invoice(), reminder.number());
+            return true;
+        } catch (EmailException e) {
+            log.warn("Reminder {} for invoice {} failed, retrying tomorrow: {}",
+                    reminder.number(), reminder.invoice().getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void postpone(Reminder reminder, LocalDate retryDate) {
+        transactionTemplate.executeWithoutResult(status -> invoiceRepository
+                .findAllByIdForUpdate(List.of(reminder.invoice().getId())).stream()
+                .filter(invoice -> invoice.postponeReminder(reminder.number(), retryDate))
+                .forEach(invoice -> changeLogService.record(invoice.getOrganizationId(), ChangeEntityType.INVOICE,
+                        invoice.getId(), ChangeOperation.UPDATED, invoiceMapper.toResponse(invoice))));
+    }
+
+    /**
+     * A reminder recorded for an invoice, to be sent after its batch commits.
+     */
+    private record Reminder(Invoice invoice, int number) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.invoiceme.application.export;
+
+import java.util.function.Function;
+
+/**
+ * A named column of an export, extracting its value from a row.
+ *
+ * @param name Column name used as CSV header and NDJSON field name
+ * @param value Extracts the column value from a row (may return null)
+ */
+public record ExportColumn<T>(String name, Function<T, Object> value) {
+}
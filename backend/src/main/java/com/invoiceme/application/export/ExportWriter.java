@@ -0,0 +1,146 @@
+package com.invoiceme.application.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes export rows one at a time to an output stream as CSV or NDJSON.
+ * Holds no rows in memory, so exports run in constant memory regardless of size.
+ */
+public abstract class ExportWriter<T> implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    protected final List<ExportColumn<T>> columns;
+    protected final Writer writer;
+
+    private ExportWriter(List<ExportColumn<T>> columns, OutputStream out) {
+        this.columns = columns;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Opens a writer for the given format. CSV output starts with a header row.
+     *
+     * @param format Output format
+     * @param columns Columns to write, in order
+     * @param out Destination stream (flushed, but not closed, on {@link #close()})
+     * @return Writer ready to accept rows
+     * @throws IOException if writing the header fails
+     */
+    public static <T> ExportWriter<T> open(ExportFormat format, List<ExportColumn<T>> columns, OutputStream out)
+            throws IOException {
+        return switch (format) {
+            case CSV -> new CsvWriter<>(columns, out);
+            case NDJSON -> new NdjsonWriter<>(columns, out);
+        };
+    }
+
+    /**
+     * Writes a single row.
+     */
+    public abstract void write(T row) throws IOException;
+
+    /**
+     * Flushes buffered output. The underlying stream stays open for the servlet container.
+     */
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private static final class CsvWriter<T> extends ExportWriter<T> {
+
+        CsvWriter(List<ExportColumn<T>> columns, OutputStream out) throws IOException {
+            super(columns, out);
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(columns.get(i).name());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(T row) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).value().apply(row);
+                if (value != null) {
+                    writeField(value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        /**
+         * Writes a field, quoting it per RFC 4180 when it contains a delimiter, quote or line break.
+         */
+        private void writeField(String value) throws IOException {
+            boolean needsQuotes = false;
+            for (int i = 0; i < value.length() && !needsQuotes; i++) {
+                char c = value.charAt(i);
+                needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!needsQuotes) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static final class NdjsonWriter<T> extends ExportWriter<T> {
+
+        private final JsonGenerator generator;
+
+        NdjsonWriter(List<ExportColumn<T>> columns, OutputStream out) throws IOException {
+            super(columns, out);
+            this.generator = JSON_FACTORY.createGenerator(writer);
+            this.generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            this.generator.enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+        }
+
+        @Override
+        public void write(T row) throws IOException {
+            generator.writeStartObject();
+            for (ExportColumn<T> column : columns) {
+                Object value = column.value().apply(row);
+                generator.writeFieldName(column.name());
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.longValue());
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.flush();
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.invoiceme.application.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hourly removal of idempotency keys past their TTL.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyCleanupJob {
+
+    private final IdempotencyService idempotencyService;
+
+    @Scheduled(cron = "${app.idempotency.cleanup-cron:0 15 * * * *}")
+    public void run() {
+        idempotencyService.purgeExpired();
+    }
+}
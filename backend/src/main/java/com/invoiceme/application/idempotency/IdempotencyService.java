@@ -0,0 +1,213 @@
+package com.invoiceme.application.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.domain.idempotency.IdempotencyRecord;
+import com.invoiceme.domain.idempotency.IdempotencyRecordId;
+import com.invoiceme.infrastructure.persistence.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs POST operations at most once per Idempotency-Key.
+ *
+ * The key is claimed, the operation runs and its response is stored in one transaction,
+ * so a retry either finds the stored response or finds nothing and runs the operation
+ * itself. A retry that arrives while the original is still running blocks on the key's
+ * primary key and replays the original once it commits. Failed operations roll back the
+ * claim, so they can be retried with the same key. Expired keys run the operation again.
+ *
+ * Recently completed keys are kept in an in-memory LRU so gateway retries are answered
+ * without touching the database.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    // Access-ordered, so reads modify it too; guarded by recentLock
+    private final Map<IdempotencyRecordId, CachedResponse> recent;
+    private final Lock recentLock = new ReentrantLock();
+
+    public IdempotencyService(
+            IdempotencyRecordRepository repository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+            @Value("${app.idempotency.cache-size:10000}") int cacheSize) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.recent = new LinkedHashMap<>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<IdempotencyRecordId, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Runs the operation once for the given key, replaying the stored response on retries.
+     * Without a key the operation simply runs.
+     *
+     * @param scope Endpoint the key belongs to (keys are unique per organization and scope)
+     * @param key Client-supplied Idempotency-Key header, may be null
+     * @param request Request body, fingerprinted to detect key reuse with a different request
+     * @param responseType Response type, used to deserialize replayed responses
+     * @param operation Operation performing the write
+     * @return Response body and whether it was replayed
+     * @throws IllegalArgumentException if the key is blank or too long
+     * @throws IllegalStateException if the key was already used with a different request
+     */
+    public <T> IdempotentResult<T> execute(String scope, String key, Object request,
+                                           Class<T> responseType, Supplier<T> operation) {
+        if (key == null) {
+            return new IdempotentResult<>(operation.get(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        UUID organizationId = TenantContext.currentOrganizationId();
+        IdempotencyRecordId id = new IdempotencyRecordId(organizationId, scope, key);
+        String requestHash = hash(request);
+
+        Optional<CachedResponse> stored = findCompleted(id);
+        if (stored.isPresent()) {
+            return replay(stored.get(), requestHash, responseType);
+        }
+
+        try {
+            T response = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                // An expired record still blocks the claim until the hourly purge removes it
+                repository.deleteIfExpired(id, now);
+                repository.claim(organizationId, scope, key, requestHash, now, now.plus(ttl));
+                T result = operation.get();
+                String body = toJson(result);
+                repository.complete(id, body);
+                cacheAfterCommit(id, new CachedResponse(requestHash, body, now.plus(ttl)));
+                return result;
+            });
+            return new IdempotentResult<>(response, false);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same key committed first
+            CachedResponse winner = findCompleted(id).orElseThrow(() -> e);
+            return replay(winner, requestHash, responseType);
+        }
+    }
+
+    /**
+     * Deletes records past their TTL.
+     *
+     * @return Number of deleted records
+     */
+    @Transactional
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        recentLock.lock();
+        try {
+            recent.values().removeIf(cached -> cached.expiresAt().isBefore(now));
+        } finally {
+            recentLock.unlock();
+        }
+        int deleted = repository.deleteExpired(now);
+        log.info("Purged {} expired idempotency keys", deleted);
+        return deleted;
+    }
+
+    private Optional<CachedResponse> findCompleted(IdempotencyRecordId id) {
+        LocalDateTime now = LocalDateTime.now();
+        CachedResponse cached;
+        recentLock.lock();
+        try {
+            cached = recent.get(id);
+        } finally {
+            recentLock.unlock();
+        }
+        if (cached != null && !cached.expiresAt().isBefore(now)) {
+            return Optional.of(cached);
+        }
+        return repository.findById(id)
+                .filter(record -> record.getResponseBody() != null && !record.isExpired(now))
+                .map(record -> cache(id, new CachedResponse(record.getRequestHash(), record.getResponseBody(), record.getExpiresAt())));
+    }
+
+    private <T> IdempotentResult<T> replay(CachedResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IllegalStateException("Idempotency-Key was already used with a different request");
+        }
+        try {
+            return new IdempotentResult<>(objectMapper.readValue(stored.responseBody(), responseType), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored idempotent response", e);
+        }
+    }
+
+    private void cacheAfterCommit(IdempotencyRecordId id, CachedResponse response) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache(id, response);
+            }
+        });
+    }
+
+    private CachedResponse cache(IdempotencyRecordId id, CachedResponse response) {
+        recentLock.lock();
+        try {
+            recent.put(id, response);
+        } finally {
+            recentLock.unlock();
+        }
+        return response;
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(
+                    objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idempotent response", e);
+        }
+    }
+
+    private record CachedResponse(String requestHash, String responseBody, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.invoiceme.application.idempotency;
+
+/**
+ * Response of an idempotent operation.
+ *
+ * @param body Response body (original body when replayed)
+ * @param replayed Whether the body was replayed from an earlier request with the same key
+ */
+public record IdempotentResult<T>(T body, boolean replayed) {
+}
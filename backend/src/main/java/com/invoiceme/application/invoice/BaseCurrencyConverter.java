@@ -0,0 +1,26 @@
+package com.invoiceme.application.invoice;
+
+import com.invoiceme.application.pricing.RateTables;
+import com.invoiceme.domain.invoice.Invoice;
+import lombok.RequiredArgsConstructor;
+import org.mapstruct.Named;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Converts invoice totals into the base currency for {@link InvoiceMapper}.
+ */
+@Component
+@RequiredArgsConstructor
+public class BaseCurrencyConverter {
+
+    private final RateTables rateTables;
+
+    @Named("totalInBaseCurrency")
+    public BigDecimal totalInBaseCurrency(Invoice invoice) {
+        return rateTables.current()
+                .toBaseCurrency(invoice.getTotalAmount(), invoice.getCurrency())
+                .orElse(null);
+    }
+}
@@ -16,6 +16,15 @@ public interface EmailService {
      * @throws EmailException if email sending fails
      */
     void sendInvoiceEmail(Invoice invoice, byte[] pdfBytes) throws EmailException;
+
+    /**
+     * Sends a payment reminder for an overdue invoice.
+     * 
+     * @param invoice The overdue invoice
+     * @param reminderNumber Which reminder this is (1 for the first)
+     * @throws EmailException if email sending fails
+     */
+    void sendReminderEmail(Invoice invoice, int reminderNumber) throws EmailException;
 }
 
 
@@ -1,23 +1,36 @@
 package com.invoiceme.application.invoice;
 
+import com.invoiceme.application.changelog.ChangeLogService;
+import com.invoiceme.application.dunning.DunningPolicy;
 import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
 import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.LineItemRequest;
 import com.invoiceme.application.invoice.dto.UpdateInvoiceRequest;
+import com.invoiceme.application.pricing.RateSnapshot;
+import com.invoiceme.application.pricing.RateTables;
+import com.invoiceme.domain.changelog.ChangeEntityType;
+import com.invoiceme.domain.changelog.ChangeOperation;
 import com.invoiceme.domain.customer.Customer;
 import com.invoiceme.domain.invoice.Invoice;
 import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.domain.ledger.LedgerEntry;
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import com.invoiceme.domain.recurring.RecurringLineItem;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
 import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
 import com.invoiceme.infrastructure.email.EmailException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,9 +42,14 @@ public class InvoiceCommandService {
     private final InvoiceMapper invoiceMapper;
     private final EmailService emailService;
     private final InvoicePdfService invoicePdfService;
+    private final ChangeLogService changeLogService;
+    private final RateTables rateTables;
+    private final DunningPolicy dunningPolicy;
+    private final InvoiceNumberAllocator invoiceNumberAllocator;
+    private final LedgerEntryRepository ledgerEntryRepository;
 
     /**
-     * Creates a new invoice in DRAFT status.
+     * Creates a new invoice in DRAFT status, allocates its invoice number and opens its ledger.
      * 
      * @param request Create invoice request with customer ID and line items
      * @return InvoiceResponse with created invoice data
@@ -42,37 +60,64 @@ public class InvoiceCommandService {
         Customer customer = customerRepository.findById(request.customerId())
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found with id: " + request.customerId()));
 
-        // Create invoice entity
-        Invoice invoice = new Invoice(customer);
+        // Create invoice entity in the requested currency (base currency by default)
+        RateSnapshot rates = rateTables.current();
+        String currency = request.currency() != null ? request.currency() : rates.baseCurrency();
+        Invoice invoice = new Invoice(customer, currency);
+        invoice.setDueDate(request.dueDate());
+        invoice.assignNumber(invoiceNumberAllocator.next(invoice.getOrganizationId(), LocalDate.now()));
 
-        // Add line items using domain method
-        for (com.invoiceme.application.invoice.dto.LineItemRequest lineItemRequest : request.lineItems()) {
-            invoice.addLineItem(
-                    lineItemRequest.description(),
-                    lineItemRequest.quantity(),
-                    lineItemRequest.unitPrice()
-            );
-        }
+        // Add line items in bulk; the aggregate sums their subtotals and taxes once
+        invoice.addLineItems(toLineItems(request.lineItems(), rates));
+        invoice.calculateBalance();
 
-        // Ensure total is calculated (addLineItem already calls this, but explicit for clarity)
-        invoice.calculateTotal();
-        invoice.calculateBalance(); // Also calculate balance
-
-        // Save invoice
+        // Save invoice; its ledger opens with the total
         Invoice savedInvoice = invoiceRepository.save(invoice);
-        
-        // Ensure total is set on saved entity (in case of any persistence issues)
-        if (savedInvoice.getTotalAmount().compareTo(BigDecimal.ZERO) == 0) {
-            savedInvoice.calculateTotal();
-            savedInvoice = invoiceRepository.save(savedInvoice);
+        ledgerEntryRepository.save(LedgerEntry.opening(savedInvoice));
+
+        // Map to response and record the change in the same transaction
+        InvoiceResponse response = invoiceMapper.toResponse(savedInvoice);
+        changeLogService.record(savedInvoice.getOrganizationId(), ChangeEntityType.INVOICE, savedInvoice.getId(),
+                ChangeOperation.CREATED, response);
+        return response;
+    }
+
+    /**
+     * Creates the DRAFT invoice for the period a recurring template is due for.
+     * Tax rates are resolved at generation time. Must run in the transaction that advances
+     * the template, so the invoice and the template's next run date commit together.
+     * 
+     * @param template Claimed template, with customer loaded
+     * @return InvoiceResponse with created invoice data
+     * @throws IllegalArgumentException if a tax code on the template is unknown
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public InvoiceResponse createRecurringInvoice(RecurringInvoiceTemplate template) {
+        RateSnapshot rates = rateTables.current();
+        Invoice invoice = new Invoice(template.getCustomer(), template.getCurrency());
+        invoice.assignRecurringSource(template.getId(), template.getNextRunDate());
+        invoice.assignNumber(invoiceNumberAllocator.next(invoice.getOrganizationId(), LocalDate.now()));
+
+        List<LineItemRequest> lineItems = new ArrayList<>(template.getLineItems().size());
+        for (RecurringLineItem line : template.getLineItems()) {
+            lineItems.add(new LineItemRequest(line.getDescription(), line.getQuantity(), line.getUnitPrice(), line.getTaxCode()));
         }
+        invoice.addLineItems(toLineItems(lineItems, rates));
+        invoice.calculateBalance();
+
+        Invoice savedInvoice = invoiceRepository.save(invoice);
+        ledgerEntryRepository.save(LedgerEntry.opening(savedInvoice));
 
-        // Map to response
-        return invoiceMapper.toResponse(savedInvoice);
+        InvoiceResponse response = invoiceMapper.toResponse(savedInvoice);
+        changeLogService.record(savedInvoice.getOrganizationId(), ChangeEntityType.INVOICE, savedInvoice.getId(),
+                ChangeOperation.CREATED, response);
+        return response;
     }
 
     /**
      * Updates an invoice (only if in DRAFT status).
+     * DRAFT invoices can already hold payments, so a change in total is appended to the ledger
+     * as an ADJUSTMENT under the invoice row lock, keeping the stored balance the ledger's running balance.
      * 
      * @param id Invoice ID
      * @param request Update invoice request with new line items
@@ -81,8 +126,9 @@ public class InvoiceCommandService {
      * @throws IllegalStateException if invoice cannot be edited (not in DRAFT status)
      */
     public InvoiceResponse updateInvoice(UUID id, UpdateInvoiceRequest request) {
-        // Find invoice
-        Invoice invoice = invoiceRepository.findById(id)
+        // Lock invoice, like every other change to its balance
+        Invoice invoice = invoiceRepository.findAllByIdForUpdate(List.of(id)).stream()
+                .findFirst()
                 .orElseThrow(() -> new EntityNotFoundException("Invoice not found with id: " + id));
 
         // Validate invoice can be edited
@@ -93,23 +139,20 @@ public class InvoiceCommandService {
             );
         }
 
-        // Map line items from request to domain objects
-        List<LineItem> lineItems = request.lineItems().stream()
-                .map(lineItemRequest -> new LineItem(
-                        lineItemRequest.description(),
-                        lineItemRequest.quantity(),
-                        lineItemRequest.unitPrice()
-                ))
-                .collect(Collectors.toList());
-
-        // Update line items using domain method
-        invoice.updateLineItems(lineItems);
+        // Update line items using domain method and record the change in total
+        BigDecimal change = invoice.updateLineItems(toLineItems(request.lineItems(), rateTables.current()));
+        if (change.signum() != 0) {
+            ledgerEntryRepository.save(LedgerEntry.adjustment(invoice, change, "Line items updated"));
+        }
 
         // Save updated invoice
         Invoice updatedInvoice = invoiceRepository.save(invoice);
 
-        // Map to response
-        return invoiceMapper.toResponse(updatedInvoice);
+        // Map to response and record the change in the same transaction
+        InvoiceResponse response = invoiceMapper.toResponse(updatedInvoice);
+        changeLogService.record(updatedInvoice.getOrganizationId(), ChangeEntityType.INVOICE, updatedInvoice.getId(),
+                ChangeOperation.UPDATED, response);
+        return response;
     }
 
     /**
@@ -135,6 +178,12 @@ public class InvoiceCommandService {
             );
         }
 
+        // Default the due date to the payment terms so the PDF and email show it
+        // (rolled back with the rest if sending fails)
+        if (invoice.getDueDate() == null) {
+            invoice.setDueDate(dunningPolicy.dueDate(LocalDate.now()));
+        }
+
         // Generate PDF
         byte[] pdfBytes = invoicePdfService.generatePdf(id);
 
@@ -148,8 +197,29 @@ public class InvoiceCommandService {
         // Save updated invoice
         Invoice updatedInvoice = invoiceRepository.save(invoice);
 
-        // Map to response
-        return invoiceMapper.toResponse(updatedInvoice);
+        // Map to response and record the change in the same transaction
+        InvoiceResponse response = invoiceMapper.toResponse(updatedInvoice);
+        changeLogService.record(updatedInvoice.getOrganizationId(), ChangeEntityType.INVOICE, updatedInvoice.getId(),
+                ChangeOperation.UPDATED, response);
+        return response;
     }
-}
 
+    /**
+     * Builds line items, resolving tax codes against one rate snapshot (no per-line lookups).
+     *
+     * @throws IllegalArgumentException if a tax code is unknown
+     */
+    private static List<LineItem> toLineItems(List<LineItemRequest> requests, RateSnapshot rates) {
+        List<LineItem> lineItems = new ArrayList<>(requests.size());
+        for (LineItemRequest lineItemRequest : requests) {
+            lineItems.add(new LineItem(
+                    lineItemRequest.description(),
+                    lineItemRequest.quantity(),
+                    lineItemRequest.unitPrice(),
+                    lineItemRequest.taxCode(),
+                    rates.taxRate(lineItemRequest.taxCode())
+            ));
+        }
+        return lineItems;
+    }
+}
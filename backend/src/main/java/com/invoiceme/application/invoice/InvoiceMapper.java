@@ -7,6 +7,7 @@ import com.invoiceme.application.invoice.dto.LineItemResponse;
 import com.invoiceme.application.invoice.dto.UpdateInvoiceRequest;
 import com.invoiceme.domain.invoice.Invoice;
 import com.invoiceme.domain.invoice.LineItem;
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
@@ -14,17 +15,19 @@ import org.mapstruct.MappingTarget;
 
 import java.util.List;
 
-@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = BaseCurrencyConverter.class)
 public interface InvoiceMapper {
 
     /**
      * Maps Invoice entity to InvoiceResponse DTO.
      * Includes customer name from the customer relationship.
      */
+    @Mapping(target = "invoiceNumber", expression = "java(invoice.displayNumber())")
     @Mapping(target = "customerId", source = "customer.id")
     @Mapping(target = "customerName", source = "customer.name")
     @Mapping(target = "status", expression = "java(invoice.getStatus().name())")
-    @Mapping(target = "lineItems", source = "lineItems")
+    @Mapping(target = "lineItems", expression = "java(lineItemResponses(invoice))")
+    @Mapping(target = "totalInBaseCurrency", source = "invoice", qualifiedByName = "totalInBaseCurrency")
     InvoiceResponse toResponse(Invoice invoice);
 
     /**
@@ -32,11 +35,19 @@ public interface InvoiceMapper {
      * Customer reference must be set in service (ignored here).
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "organizationId", ignore = true)
+    @Mapping(target = "invoiceNumber", ignore = true)
+    @Mapping(target = "ledgerSequence", ignore = true)
     @Mapping(target = "customer", ignore = true)
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "lineItems", ignore = true)
     @Mapping(target = "totalAmount", ignore = true)
+    @Mapping(target = "taxAmount", ignore = true)
     @Mapping(target = "balance", ignore = true)
+    @Mapping(target = "recurringTemplateId", ignore = true)
+    @Mapping(target = "billingPeriod", ignore = true)
+    @Mapping(target = "dunningLevel", ignore = true)
+    @Mapping(target = "nextDunningDate", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Invoice toEntity(CreateInvoiceRequest request);
@@ -46,17 +57,29 @@ public interface InvoiceMapper {
      * Only updates line items - total will be recalculated in service.
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "organizationId", ignore = true)
+    @Mapping(target = "invoiceNumber", ignore = true)
+    @Mapping(target = "ledgerSequence", ignore = true)
     @Mapping(target = "customer", ignore = true)
     @Mapping(target = "status", ignore = true)
+    @Mapping(target = "currency", ignore = true)
     @Mapping(target = "totalAmount", ignore = true)
+    @Mapping(target = "taxAmount", ignore = true)
     @Mapping(target = "balance", ignore = true)
+    @Mapping(target = "recurringTemplateId", ignore = true)
+    @Mapping(target = "billingPeriod", ignore = true)
+    @Mapping(target = "dueDate", ignore = true)
+    @Mapping(target = "dunningLevel", ignore = true)
+    @Mapping(target = "nextDunningDate", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     void updateEntity(UpdateInvoiceRequest request, @MappingTarget Invoice invoice);
 
     /**
      * Maps LineItemRequest to LineItem value object.
+     * The tax rate is resolved from the rate tables in the service.
      */
+    @Mapping(target = "taxRate", ignore = true)
     LineItem lineItemRequestToLineItem(LineItemRequest request);
 
     /**
@@ -66,14 +89,23 @@ public interface InvoiceMapper {
 
     /**
      * Maps LineItem value object to LineItemResponse DTO.
-     * Calculates subtotal using domain method.
+     * Calculates subtotal and tax using domain methods, rounded to the invoice currency.
      */
-    @Mapping(target = "subtotal", expression = "java(lineItem.calculateSubtotal())")
-    LineItemResponse lineItemToLineItemResponse(LineItem lineItem);
+    @Mapping(target = "subtotal", expression = "java(lineItem.calculateSubtotal(fractionDigits))")
+    @Mapping(target = "taxAmount", expression = "java(lineItem.calculateTax(fractionDigits))")
+    LineItemResponse lineItemToLineItemResponse(LineItem lineItem, @Context int fractionDigits);
 
     /**
-     * Maps list of LineItem to list of LineItemResponse.
+     * Maps the invoice's line items to LineItemResponse DTOs in its currency.
      */
-    List<LineItemResponse> lineItemListToLineItemResponseList(List<LineItem> lineItems);
+    default List<LineItemResponse> lineItemResponses(Invoice invoice) {
+        if (invoice.getLineItems() == null) {
+            return null;
+        }
+        int fractionDigits = invoice.fractionDigits();
+        return invoice.getLineItems().stream()
+                .map(lineItem -> lineItemToLineItemResponse(lineItem, fractionDigits))
+                .toList();
+    }
 }
 
@@ -0,0 +1,210 @@
+package com.invoiceme.application.invoice;
+
+import com.invoiceme.domain.invoice.InvoiceNumber;
+import com.invoiceme.infrastructure.persistence.DatabaseVendor;
+import com.invoiceme.infrastructure.persistence.InvoiceNumberSequenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Allocates invoice numbers from one database sequence row per organization, series and year.
+ *
+ * Numbers are always reserved on the caller's connection, in the caller's transaction, so
+ * allocation never needs a second connection while the caller holds one.
+ *
+ * By default each number is reserved on its own: the sequence row stays locked until the
+ * caller's transaction commits, and a rollback returns the number, so numbers are gap-free,
+ * but invoice creation is serialized per organization, series and year.
+ *
+ * Block mode ({@code app.invoice-numbering.block-size} above 1) is opt-in for deployments
+ * that do not need gap-free numbering. A transaction that finds no free number reserves a
+ * whole block, uses the first number and keeps the rest for itself; once it commits, the rest
+ * is handed out from memory to the other transactions of this instance. Creators only meet on
+ * the row once per block. A rolled-back refill returns the whole block, so it is never handed
+ * out. Numbers stay unique (backed by a unique key per organization, held outside the yearly
+ * invoice partitions on PostgreSQL), but rolled-back creations that took a shared number and
+ * the unused rest of a block when the instance stops leave gaps, and numbers from different
+ * transactions and instances interleave.
+ */
+@Component
+public class InvoiceNumberAllocator {
+
+    private final InvoiceNumberSequenceRepository repository;
+    private final DatabaseVendor databaseVendor;
+    private final String series;
+    private final int blockSize;
+    private final Map<SequenceKey, Block> blocks = new ConcurrentHashMap<>();
+
+    public InvoiceNumberAllocator(
+            InvoiceNumberSequenceRepository repository,
+            DatabaseVendor databaseVendor,
+            @Value("${app.invoice-numbering.series:INV}") String series,
+            @Value("${app.invoice-numbering.block-size:1}") int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be greater than 0");
+        }
+        this.repository = repository;
+        this.databaseVendor = databaseVendor;
+        this.series = InvoiceNumber.validateSeries(series);
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Allocates the organization's next invoice number for the year of the issue date.
+     *
+     * @param organizationId Organization the invoice belongs to
+     * @param issueDate Date the invoice is issued
+     * @return The invoice number
+     * @throws IllegalStateException if called outside a transaction
+     */
+    public String next(UUID organizationId, LocalDate issueDate) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Invoice numbers must be allocated inside the transaction that saves the invoice");
+        }
+        SequenceKey sequence = new SequenceKey(organizationId, issueDate.getYear());
+        long value = blockSize == 1 ? reserve(sequence, 1) : nextInBlock(sequence);
+        return InvoiceNumber.format(series, sequence.year(), value);
+    }
+
+    /**
+     * Takes the next number of the transaction's own block, then of the shared blocks, and
+     * reserves a new block when both are used up.
+     */
+    private long nextInBlock(SequenceKey sequence) {
+        Map<SequenceKey, Range> pending = pendingRanges();
+        Range own = pending.get(sequence);
+        if (own != null && own.hasNext()) {
+            return own.next();
+        }
+        OptionalLong shared = blocks.computeIfAbsent(sequence, key -> new Block()).take();
+        if (shared.isPresent()) {
+            return shared.getAsLong();
+        }
+        long first = reserve(sequence, blockSize) - blockSize + 1;
+        pending.put(sequence, new Range(first + 1, first + blockSize - 1));
+        return first;
+    }
+
+    /**
+     * Reserves the next {@code count} values in the current transaction and returns the last of
+     * them. A missing sequence is created in the same transaction, so it disappears again if
+     * the transaction rolls back.
+     */
+    private long reserve(SequenceKey sequence, int count) {
+        UUID organizationId = sequence.organizationId();
+        int year = sequence.year();
+        Optional<Long> last = reserveIfExists(organizationId, year, count);
+        if (last.isEmpty()) {
+            if (databaseVendor.isPostgres()) {
+                repository.createIfMissing(organizationId, series, year);
+            } else {
+                repository.createIfMissingOnH2(organizationId, series, year);
+            }
+            last = reserveIfExists(organizationId, year, count);
+        }
+        return last.orElseThrow(() -> new IllegalStateException("Invoice number sequence " + series + "/" + year + " is missing"));
+    }
+
+    private Optional<Long> reserveIfExists(UUID organizationId, int year, int count) {
+        return databaseVendor.isPostgres()
+                ? repository.reserve(organizationId, series, year, count)
+                : repository.reserveOnH2(organizationId, series, year, count);
+    }
+
+    /**
+     * Rest of the blocks reserved by the current transaction, bound to it and moved to the
+     * shared blocks once it commits. Unbound while the transaction is suspended, so that a
+     * nested transaction reserves and commits its own.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<SequenceKey, Range> pendingRanges() {
+        Map<SequenceKey, Range> pending = (Map<SequenceKey, Range>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Map<SequenceKey, Range> reserved = new HashMap<>();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(InvoiceNumberAllocator.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(InvoiceNumberAllocator.this, reserved);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(InvoiceNumberAllocator.this);
+                if (status == STATUS_COMMITTED) {
+                    reserved.forEach((sequence, range) -> blocks.computeIfAbsent(sequence, key -> new Block()).add(range));
+                }
+            }
+        });
+        TransactionSynchronizationManager.bindResource(this, reserved);
+        return reserved;
+    }
+
+    private record SequenceKey(UUID organizationId, int year) {
+    }
+
+    /**
+     * Consecutive numbers from {@code next} to {@code end}, both included.
+     */
+    private static final class Range {
+        private long next;
+        private final long end;
+
+        private Range(long next, long end) {
+            this.next = next;
+            this.end = end;
+        }
+
+        boolean hasNext() {
+            return next <= end;
+        }
+
+        long next() {
+            return next++;
+        }
+    }
+
+    /**
+     * Committed numbers of one sequence not handed out yet. The monitor is only held while
+     * taking or adding a number, never while the database is asked.
+     */
+    private static final class Block {
+        private final Deque<Range> ranges = new ArrayDeque<>();
+
+        synchronized OptionalLong take() {
+            Range range = ranges.peekFirst();
+            if (range == null) {
+                return OptionalLong.empty();
+            }
+            long value = range.next();
+            if (!range.hasNext()) {
+                ranges.removeFirst();
+            }
+            return OptionalLong.of(value);
+        }
+
+        synchronized void add(Range range) {
+            if (range.hasNext()) {
+                ranges.addLast(range);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.invoiceme.application.invoice;
 
+import com.invoiceme.application.pricing.CurrencyFormatter;
 import com.invoiceme.domain.invoice.Invoice;
 import com.invoiceme.domain.invoice.LineItem;
 import com.invoiceme.infrastructure.persistence.InvoiceRepository;
@@ -15,9 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
-import java.text.NumberFormat;
 import java.time.format.DateTimeFormatter;
-import java.util.Locale;
 import java.util.UUID;
 
 /**
@@ -34,7 +33,6 @@ public class InvoicePdfService {
     private static final Font NORMAL_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
     private static final Font BOLD_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM dd, yyyy");
-    private static final NumberFormat CURRENCY_FORMATTER = NumberFormat.getCurrencyInstance(Locale.US);
 
     /**
      * Generates a PDF document for the given invoice.
@@ -67,7 +65,7 @@ public class InvoicePdfService {
             headerTable.setWidthPercentage(100);
             headerTable.setWidths(new float[]{1, 1});
             
-            PdfPCell invoiceNumberCell = new PdfPCell(new Phrase("Invoice #: " + formatInvoiceNumber(invoice.getId()), NORMAL_FONT));
+            PdfPCell invoiceNumberCell = new PdfPCell(new Phrase("Invoice #: " + invoice.displayNumber(), NORMAL_FONT));
             invoiceNumberCell.setBorder(Rectangle.NO_BORDER);
             headerTable.addCell(invoiceNumberCell);
             
@@ -75,6 +73,17 @@ public class InvoicePdfService {
             dateCell.setBorder(Rectangle.NO_BORDER);
             dateCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
             headerTable.addCell(dateCell);
+
+            if (invoice.getDueDate() != null) {
+                PdfPCell emptyCell = new PdfPCell(new Phrase(""));
+                emptyCell.setBorder(Rectangle.NO_BORDER);
+                headerTable.addCell(emptyCell);
+
+                PdfPCell dueDateCell = new PdfPCell(new Phrase("Due Date: " + invoice.getDueDate().format(DATE_FORMATTER), NORMAL_FONT));
+                dueDateCell.setBorder(Rectangle.NO_BORDER);
+                dueDateCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+                headerTable.addCell(dueDateCell);
+            }
             
             document.add(headerTable);
             document.add(new Paragraph(" ")); // Spacing
@@ -100,22 +109,26 @@ public class InvoicePdfService {
             document.add(customerInfo);
 
             // Line items table
-            PdfPTable lineItemsTable = new PdfPTable(4);
+            String currency = invoice.getCurrency();
+            PdfPTable lineItemsTable = new PdfPTable(5);
             lineItemsTable.setWidthPercentage(100);
-            lineItemsTable.setWidths(new float[]{3, 1, 1.5f, 1.5f});
+            lineItemsTable.setWidths(new float[]{3, 1, 1.5f, 1, 1.5f});
             
             // Table header
             addTableHeader(lineItemsTable, "Description");
             addTableHeader(lineItemsTable, "Quantity");
             addTableHeader(lineItemsTable, "Unit Price");
+            addTableHeader(lineItemsTable, "Tax");
             addTableHeader(lineItemsTable, "Subtotal");
             
             // Line items
+            int fractionDigits = invoice.fractionDigits();
             for (LineItem item : invoice.getLineItems()) {
                 addTableCell(lineItemsTable, item.getDescription(), NORMAL_FONT);
                 addTableCell(lineItemsTable, String.valueOf(item.getQuantity()), NORMAL_FONT, Element.ALIGN_RIGHT);
-                addTableCell(lineItemsTable, CURRENCY_FORMATTER.format(item.getUnitPrice()), NORMAL_FONT, Element.ALIGN_RIGHT);
-                addTableCell(lineItemsTable, CURRENCY_FORMATTER.format(item.calculateSubtotal()), NORMAL_FONT, Element.ALIGN_RIGHT);
+                addTableCell(lineItemsTable, CurrencyFormatter.format(item.getUnitPrice(), currency), NORMAL_FONT, Element.ALIGN_RIGHT);
+                addTableCell(lineItemsTable, formatTaxRate(item.getTaxRate()), NORMAL_FONT, Element.ALIGN_RIGHT);
+                addTableCell(lineItemsTable, CurrencyFormatter.format(item.calculateSubtotal(fractionDigits), currency), NORMAL_FONT, Element.ALIGN_RIGHT);
             }
             
             document.add(lineItemsTable);
@@ -127,16 +140,23 @@ public class InvoicePdfService {
             totalsTable.setWidths(new float[]{1, 1});
             
             addTableCell(totalsTable, "Subtotal:", NORMAL_FONT, Element.ALIGN_RIGHT);
-            addTableCell(totalsTable, CURRENCY_FORMATTER.format(invoice.getTotalAmount()), NORMAL_FONT, Element.ALIGN_RIGHT);
+            addTableCell(totalsTable, CurrencyFormatter.format(invoice.getSubtotalAmount(), currency), NORMAL_FONT, Element.ALIGN_RIGHT);
+            
+            if (invoice.getTaxAmount().compareTo(BigDecimal.ZERO) > 0) {
+                addTableCell(totalsTable, "Tax:", NORMAL_FONT, Element.ALIGN_RIGHT);
+                addTableCell(totalsTable, CurrencyFormatter.format(invoice.getTaxAmount(), currency), NORMAL_FONT, Element.ALIGN_RIGHT);
+                addTableCell(totalsTable, "Total:", NORMAL_FONT, Element.ALIGN_RIGHT);
+                addTableCell(totalsTable, CurrencyFormatter.format(invoice.getTotalAmount(), currency), NORMAL_FONT, Element.ALIGN_RIGHT);
+            }
             
             BigDecimal paidAmount = invoice.getTotalAmount().subtract(invoice.getBalance());
             if (paidAmount.compareTo(BigDecimal.ZERO) > 0) {
                 addTableCell(totalsTable, "Paid:", NORMAL_FONT, Element.ALIGN_RIGHT);
-                addTableCell(totalsTable, CURRENCY_FORMATTER.format(paidAmount), NORMAL_FONT, Element.ALIGN_RIGHT);
+                addTableCell(totalsTable, CurrencyFormatter.format(paidAmount, currency), NORMAL_FONT, Element.ALIGN_RIGHT);
             }
             
             addTableCell(totalsTable, "Balance:", BOLD_FONT, Element.ALIGN_RIGHT);
-            addTableCell(totalsTable, CURRENCY_FORMATTER.format(invoice.getBalance()), BOLD_FONT, Element.ALIGN_RIGHT);
+            addTableCell(totalsTable, CurrencyFormatter.format(invoice.getBalance(), currency), BOLD_FONT, Element.ALIGN_RIGHT);
             
             totalsTable.setSpacingBefore(10);
             document.add(totalsTable);
@@ -175,8 +195,11 @@ public class InvoicePdfService {
         table.addCell(cell);
     }
 
-    private String formatInvoiceNumber(UUID id) {
-        return "INV-" + id.toString().substring(0, 8).toUpperCase();
+    private String formatTaxRate(BigDecimal taxRate) {
+        if (taxRate == null || taxRate.signum() == 0) {
+            return "-";
+        }
+        return taxRate.movePointRight(2).stripTrailingZeros().toPlainString() + "%";
     }
 }
 
@@ -1,10 +1,17 @@
 package com.invoiceme.application.invoice;
 
+import com.invoiceme.application.archive.InvoiceArchiveService;
+import com.invoiceme.application.export.ExportColumn;
+import com.invoiceme.application.export.ExportFormat;
+import com.invoiceme.application.export.ExportWriter;
 import com.invoiceme.application.invoice.dto.InvoiceResponse;
-import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.application.invoice.dto.InvoiceSearchResult;
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.application.search.SearchCursor;
+import com.invoiceme.application.search.SearchTerms;
+import com.invoiceme.application.search.dto.SearchPage;
 import com.invoiceme.domain.invoice.InvoiceStatus;
 import com.invoiceme.infrastructure.persistence.InvoiceRepository;
-import com.invoiceme.infrastructure.persistence.PaymentRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -12,36 +19,55 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class InvoiceQueryService {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_SEARCH_CANDIDATES = 1000;
+    private static final LocalDateTime EXPORT_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final List<ExportColumn<InvoiceRepository.ExportRow>> EXPORT_COLUMNS = List.of(
+            new ExportColumn<>("id", InvoiceRepository.ExportRow::getId),
+            new ExportColumn<>("customer_id", InvoiceRepository.ExportRow::getCustomerId),
+            new ExportColumn<>("customer_name", InvoiceRepository.ExportRow::getCustomerName),
+            new ExportColumn<>("status", InvoiceRepository.ExportRow::getStatus),
+            new ExportColumn<>("currency", InvoiceRepository.ExportRow::getCurrency),
+            new ExportColumn<>("tax_amount", InvoiceRepository.ExportRow::getTaxAmount),
+            new ExportColumn<>("total_amount", InvoiceRepository.ExportRow::getTotalAmount),
+            new ExportColumn<>("balance", InvoiceRepository.ExportRow::getBalance),
+            new ExportColumn<>("created_at", InvoiceRepository.ExportRow::getCreatedAt),
+            new ExportColumn<>("updated_at", InvoiceRepository.ExportRow::getUpdatedAt)
+    );
+
     private final InvoiceRepository invoiceRepository;
-    private final PaymentRepository paymentRepository;
     private final InvoiceMapper invoiceMapper;
+    private final InvoiceArchiveService invoiceArchiveService;
 
     /**
      * Gets an invoice by ID.
-     * Calculates balance by querying payments.
+     * The balance is the stored running balance of the invoice ledger.
      * Uses findByIdWithCustomer to eagerly fetch customer for customerName mapping.
+     * Invoices no longer in the live tables are served from the archive as they were archived.
      * 
      * @param id Invoice ID
      * @return InvoiceResponse with invoice data
      * @throws EntityNotFoundException if invoice not found
      */
     public InvoiceResponse getById(UUID id) {
-        Invoice invoice = invoiceRepository.findByIdWithCustomer(id)
+        return invoiceRepository.findByIdWithCustomer(id)
+                .map(invoiceMapper::toResponse)
+                .or(() -> invoiceArchiveService.find(id))
                 .orElseThrow(() -> new EntityNotFoundException("Invoice not found with id: " + id));
-
-        // Calculate balance by querying payments
-        calculateInvoiceBalance(invoice);
-
-        return invoiceMapper.toResponse(invoice);
     }
 
     /**
@@ -52,10 +78,7 @@ public class InvoiceQueryService {
      */
     public Page<InvoiceResponse> getAll(Pageable pageable) {
         return invoiceRepository.findAll(pageable)
-                .map(invoice -> {
-                    calculateInvoiceBalance(invoice);
-                    return invoiceMapper.toResponse(invoice);
-                });
+                .map(invoiceMapper::toResponse);
     }
 
     /**
@@ -67,10 +90,7 @@ public class InvoiceQueryService {
      */
     public Page<InvoiceResponse> getByStatus(InvoiceStatus status, Pageable pageable) {
         return invoiceRepository.findByStatus(status, pageable)
-                .map(invoice -> {
-                    calculateInvoiceBalance(invoice);
-                    return invoiceMapper.toResponse(invoice);
-                });
+                .map(invoiceMapper::toResponse);
     }
 
     /**
@@ -82,34 +102,66 @@ public class InvoiceQueryService {
      */
     public Page<InvoiceResponse> getByCustomerId(UUID customerId, Pageable pageable) {
         return invoiceRepository.findByCustomer_Id(customerId, pageable)
-                .map(invoice -> {
-                    calculateInvoiceBalance(invoice);
-                    return invoiceMapper.toResponse(invoice);
-                });
+                .map(invoiceMapper::toResponse);
     }
 
     /**
-     * Calculates invoice balance by querying existing payments.
-     * Updates the invoice's balance field.
-     * 
-     * @param invoice Invoice to calculate balance for
+     * Streams all invoices changed at or after {@code since} to the output stream.
+     * Reads through a forward-only cursor and writes each row as it arrives, so memory
+     * use is constant. Uses the stored balance rather than re-summing payments per row.
+     * Rows with updated_at equal to {@code since} are included, so consumers resuming from
+     * the last exported timestamp may see boundary rows twice and should upsert by id.
+     *
+     * @param since Lower bound (inclusive) on updated_at, or null to export everything
+     * @param format Output format
+     * @param out Destination stream
+     * @throws IOException if writing to the stream fails
      */
-    private void calculateInvoiceBalance(Invoice invoice) {
-        // Query all payments for this invoice
-        var payments = paymentRepository.findByInvoice_Id(invoice.getId(), 
-                org.springframework.data.domain.Pageable.unpaged());
-        
-        // Sum payment amounts
-        var totalPayments = payments.getContent().stream()
-                .map(com.invoiceme.domain.payment.Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public void exportInvoices(LocalDateTime since, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<InvoiceRepository.ExportRow> rows = invoiceRepository.streamForExport(since != null ? since : EXPORT_EPOCH);
+             ExportWriter<InvoiceRepository.ExportRow> writer = ExportWriter.open(format, EXPORT_COLUMNS, out)) {
+            for (Iterator<InvoiceRepository.ExportRow> it = rows.iterator(); it.hasNext(); ) {
+                writer.write(it.next());
+            }
+        }
+    }
 
-        // Calculate balance: totalAmount - sum of payments
-        var balance = invoice.getTotalAmount().subtract(totalPayments)
-                .setScale(2, RoundingMode.HALF_UP);
-        
-        // Update invoice balance
-        invoice.setBalance(balance);
+    /**
+     * Searches invoices by line item description, ranked by the best matching line.
+     * Requires PostgreSQL (tsvector and pg_trgm indexes). Only the first 1000 matching line items are
+     * ranked, so a term matching more returns the best of those.
+     *
+     * @param query Free-text query; tokens are matched as stemmed prefixes
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Maximum results per page (capped at 100)
+     * @return Page of search results with a cursor for the next page
+     * @throws IllegalArgumentException if the query or cursor is invalid
+     */
+    public SearchPage<InvoiceSearchResult> search(String query, String cursor, int limit) {
+        SearchTerms terms = SearchTerms.parse(query);
+        SearchCursor after = SearchCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+
+        List<InvoiceSearchResult> rows = invoiceRepository.searchByLineItems(
+                        TenantContext.currentOrganizationId(),
+                        terms.toPrefixTsQuery(),
+                        terms.term(),
+                        after.rank(),
+                        after.id(),
+                        MAX_SEARCH_CANDIDATES,
+                        pageSize + 1
+                ).stream()
+                .map(row -> new InvoiceSearchResult(
+                        row.getId(),
+                        row.getCustomerId(),
+                        row.getCustomerName(),
+                        row.getStatus(),
+                        row.getTotalAmount(),
+                        row.getCreatedAt(),
+                        row.getRank()
+                ))
+                .toList();
+
+        return SearchPage.of(rows, pageSize, result -> new SearchCursor(result.rank(), result.id()));
     }
 }
-
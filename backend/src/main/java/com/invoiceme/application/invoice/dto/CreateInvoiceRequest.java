@@ -4,7 +4,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,7 +19,22 @@ public record CreateInvoiceRequest(
         @NotEmpty(message = "At least one line item is required")
         @Valid
         @Schema(description = "Invoice line items")
-        List<LineItemRequest> lineItems
+        List<LineItemRequest> lineItems,
+
+        @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a 3-letter ISO 4217 code")
+        @Schema(description = "ISO 4217 currency code; defaults to the base currency", example = "EUR")
+        String currency,
+
+        @Schema(description = "Payment due date; defaults to the payment terms from the day the invoice is sent", example = "2025-02-14")
+        LocalDate dueDate
 ) {
+
+    public CreateInvoiceRequest(UUID customerId, List<LineItemRequest> lineItems) {
+        this(customerId, lineItems, null, null);
+    }
+
+    public CreateInvoiceRequest(UUID customerId, List<LineItemRequest> lineItems, String currency) {
+        this(customerId, lineItems, currency, null);
+    }
 }
 
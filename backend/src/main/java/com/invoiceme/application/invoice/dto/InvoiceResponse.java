@@ -3,6 +3,7 @@ package com.invoiceme.application.invoice.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -12,6 +13,9 @@ public record InvoiceResponse(
         @Schema(description = "Invoice ID", example = "550e8400-e29b-41d4-a716-446655440000")
         UUID id,
         
+        @Schema(description = "Invoice number", example = "INV-2025-000042")
+        String invoiceNumber,
+        
         @Schema(description = "Customer ID", example = "550e8400-e29b-41d4-a716-446655440000")
         UUID customerId,
         
@@ -24,11 +28,35 @@ public record InvoiceResponse(
         @Schema(description = "Invoice line items")
         List<LineItemResponse> lineItems,
         
-        @Schema(description = "Total amount", example = "1000.00")
+        @Schema(description = "ISO 4217 currency code", example = "USD")
+        String currency,
+
+        @Schema(description = "Amount before tax", example = "1000.00")
+        BigDecimal subtotalAmount,
+
+        @Schema(description = "Total tax", example = "190.00")
+        BigDecimal taxAmount,
+
+        @Schema(description = "Total amount including tax", example = "1190.00")
         BigDecimal totalAmount,
+
+        @Schema(description = "Total amount converted to the base currency (null if no exchange rate is configured)", example = "1190.00")
+        BigDecimal totalInBaseCurrency,
         
         @Schema(description = "Current balance", example = "1000.00")
         BigDecimal balance,
+
+        @Schema(description = "Payment due date (assigned when the invoice is sent)", example = "2025-02-14")
+        LocalDate dueDate,
+
+        @Schema(description = "Payment reminders sent since the invoice became overdue", example = "0")
+        Integer dunningLevel,
+
+        @Schema(description = "Recurring template this invoice was generated from (null for one-off invoices)")
+        UUID recurringTemplateId,
+
+        @Schema(description = "Start of the billed period for recurring invoices", example = "2025-01-01")
+        LocalDate billingPeriod,
         
         @Schema(description = "Creation timestamp")
         LocalDateTime createdAt,
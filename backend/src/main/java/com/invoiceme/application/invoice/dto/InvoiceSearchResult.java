@@ -0,0 +1,32 @@
+package com.invoiceme.application.invoice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Invoice search hit matched by line item description")
+public record InvoiceSearchResult(
+        @Schema(description = "Invoice ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID id,
+
+        @Schema(description = "Customer ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID customerId,
+
+        @Schema(description = "Customer name", example = "John Doe")
+        String customerName,
+
+        @Schema(description = "Invoice status", example = "SENT")
+        String status,
+
+        @Schema(description = "Total amount", example = "1000.00")
+        BigDecimal totalAmount,
+
+        @Schema(description = "Creation timestamp")
+        LocalDateTime createdAt,
+
+        @Schema(description = "Relevance score, higher is better", example = "0.61")
+        double rank
+) {
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 
@@ -22,7 +23,15 @@ public record LineItemRequest(
         @NotNull(message = "Unit price is required")
         @DecimalMin(value = "0.0", message = "Unit price must be greater than or equal to 0")
         @Schema(description = "Unit price", example = "100.00")
-        BigDecimal unitPrice
+        BigDecimal unitPrice,
+
+        @Size(max = 20, message = "Tax code must be at most 20 characters")
+        @Schema(description = "Tax code; the rate is looked up when the line is added. Omit for untaxed lines", example = "VAT_STANDARD")
+        String taxCode
 ) {
+
+    public LineItemRequest(String description, Integer quantity, BigDecimal unitPrice) {
+        this(description, quantity, unitPrice, null);
+    }
 }
 
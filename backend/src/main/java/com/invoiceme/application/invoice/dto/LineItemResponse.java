@@ -16,7 +16,16 @@ public record LineItemResponse(
         BigDecimal unitPrice,
         
         @Schema(description = "Subtotal (quantity * unit price)", example = "1000.00")
-        BigDecimal subtotal
+        BigDecimal subtotal,
+
+        @Schema(description = "Tax code, if taxed", example = "VAT_STANDARD")
+        String taxCode,
+
+        @Schema(description = "Tax rate applied, as a fraction", example = "0.190000")
+        BigDecimal taxRate,
+
+        @Schema(description = "Tax (subtotal * tax rate)", example = "190.00")
+        BigDecimal taxAmount
 ) {
 }
 
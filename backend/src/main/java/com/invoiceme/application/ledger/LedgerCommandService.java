@@ -0,0 +1,117 @@
+package com.invoiceme.application.ledger;
+
+import com.invoiceme.application.changelog.ChangeLogService;
+import com.invoiceme.application.invoice.InvoiceMapper;
+import com.invoiceme.application.ledger.dto.LedgerAdjustmentRequest;
+import com.invoiceme.application.ledger.dto.LedgerEntryResponse;
+import com.invoiceme.domain.changelog.ChangeEntityType;
+import com.invoiceme.domain.changelog.ChangeOperation;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.ledger.LedgerEntry;
+import com.invoiceme.domain.ledger.LedgerEntryType;
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Command service for refunds, credit notes and write-offs.
+ *
+ * Each operation locks the invoice row, applies the change to the invoice's stored balance
+ * and appends a ledger entry carrying the new running balance, in one transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class LedgerCommandService {
+
+    private final InvoiceRepository invoiceRepository;
+    private final PaymentRepository paymentRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerMapper ledgerMapper;
+    private final InvoiceMapper invoiceMapper;
+    private final ChangeLogService changeLogService;
+
+    /**
+     * Refunds part or all of a payment and reopens its invoice if it was PAID.
+     *
+     * @param paymentId Payment to refund
+     * @param request Refund amount and reason
+     * @return The REFUND ledger entry
+     * @throws EntityNotFoundException if the payment is not found
+     * @throws IllegalArgumentException if the amount exceeds what is left of the payment after earlier refunds
+     */
+    public LedgerEntryResponse refundPayment(UUID paymentId, LedgerAdjustmentRequest request) {
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new EntityNotFoundException("Payment not found with id: " + paymentId));
+        Invoice invoice = lockInvoice(payment.getInvoice().getId());
+
+        // Read under the invoice lock, so concurrent refunds of the same payment are serialized
+        BigDecimal refundable = payment.getAmount().subtract(ledgerEntryRepository.sumRefundedByPaymentId(paymentId));
+        if (request.amount().compareTo(refundable) > 0) {
+            throw new IllegalArgumentException(
+                    "Refund amount (" + request.amount() + ") cannot exceed the refundable amount of the payment ("
+                            + refundable + ")"
+            );
+        }
+
+        invoice.applyRefund(request.amount());
+        return append(invoice, LedgerEntryType.REFUND, request, payment);
+    }
+
+    /**
+     * Issues a credit note against an invoice.
+     *
+     * @param invoiceId Invoice ID
+     * @param request Credited amount and reason
+     * @return The CREDIT_NOTE ledger entry
+     * @throws EntityNotFoundException if the invoice is not found
+     * @throws IllegalStateException if the invoice is not SENT or OVERDUE
+     * @throws IllegalArgumentException if the amount exceeds the balance
+     */
+    public LedgerEntryResponse issueCreditNote(UUID invoiceId, LedgerAdjustmentRequest request) {
+        Invoice invoice = lockInvoice(invoiceId);
+        invoice.applyCredit(request.amount());
+        return append(invoice, LedgerEntryType.CREDIT_NOTE, request, null);
+    }
+
+    /**
+     * Writes off part or all of an invoice's balance.
+     *
+     * @param invoiceId Invoice ID
+     * @param request Written-off amount and reason
+     * @return The WRITE_OFF ledger entry
+     * @throws EntityNotFoundException if the invoice is not found
+     * @throws IllegalStateException if the invoice is not SENT or OVERDUE
+     * @throws IllegalArgumentException if the amount exceeds the balance
+     */
+    public LedgerEntryResponse writeOff(UUID invoiceId, LedgerAdjustmentRequest request) {
+        Invoice invoice = lockInvoice(invoiceId);
+        invoice.applyCredit(request.amount());
+        return append(invoice, LedgerEntryType.WRITE_OFF, request, null);
+    }
+
+    private Invoice lockInvoice(UUID invoiceId) {
+        return invoiceRepository.findAllByIdForUpdate(List.of(invoiceId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Invoice not found with id: " + invoiceId));
+    }
+
+    private LedgerEntryResponse append(Invoice invoice, LedgerEntryType entryType,
+                                       LedgerAdjustmentRequest request, Payment payment) {
+        LedgerEntry entry = ledgerEntryRepository.save(
+                LedgerEntry.record(invoice, entryType, request.amount(), payment, request.reason()));
+        Invoice savedInvoice = invoiceRepository.save(invoice);
+        changeLogService.record(savedInvoice.getOrganizationId(), ChangeEntityType.INVOICE, savedInvoice.getId(),
+                ChangeOperation.UPDATED, invoiceMapper.toResponse(savedInvoice));
+        return ledgerMapper.toResponse(entry);
+    }
+}
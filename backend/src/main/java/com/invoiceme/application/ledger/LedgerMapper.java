@@ -0,0 +1,19 @@
+package com.invoiceme.application.ledger;
+
+import com.invoiceme.application.ledger.dto.LedgerEntryResponse;
+import com.invoiceme.domain.ledger.LedgerEntry;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+/**
+ * MapStruct mapper for ledger entries.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface LedgerMapper {
+
+    @Mapping(target = "invoiceId", source = "invoice.id")
+    @Mapping(target = "paymentId", source = "payment.id")
+    @Mapping(target = "entryType", expression = "java(entry.getEntryType().name())")
+    LedgerEntryResponse toResponse(LedgerEntry entry);
+}
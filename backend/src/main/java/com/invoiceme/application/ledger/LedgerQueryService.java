@@ -0,0 +1,99 @@
+package com.invoiceme.application.ledger;
+
+import com.invoiceme.application.archive.InvoiceArchiveService;
+import com.invoiceme.application.archive.dto.ArchivedInvoiceDocument;
+import com.invoiceme.application.ledger.dto.InvoiceBalanceResponse;
+import com.invoiceme.application.ledger.dto.LedgerEntryResponse;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Query service for invoice ledgers and historical balances.
+ * Ledgers of archived invoices are served from their archived document, unchanged.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class LedgerQueryService {
+
+    private final InvoiceRepository invoiceRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerMapper ledgerMapper;
+    private final InvoiceArchiveService invoiceArchiveService;
+
+    /**
+     * Gets the ledger entries of an invoice with pagination.
+     *
+     * @param invoiceId Invoice ID
+     * @param pageable Pagination parameters
+     * @return Page of ledger entries
+     * @throws EntityNotFoundException if the invoice is not found
+     */
+    public Page<LedgerEntryResponse> getLedger(UUID invoiceId, Pageable pageable) {
+        if (!invoiceRepository.existsById(invoiceId)) {
+            List<LedgerEntryResponse> ledger = archived(invoiceId).ledger();
+            int from = (int) Math.min(pageable.getOffset(), ledger.size());
+            int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), ledger.size()) : ledger.size();
+            return new PageImpl<>(ledger.subList(from, to), pageable, ledger.size());
+        }
+        return ledgerEntryRepository.findByInvoice_Id(invoiceId, pageable)
+                .map(ledgerMapper::toResponse);
+    }
+
+    /**
+     * Gets an invoice's balance, now or as of a point in time.
+     * The current balance is the stored balance; a historical one is the running balance of the
+     * latest ledger entry recorded by then. Ledgers open with the invoice total when the invoice
+     * is created, so the balance before then is zero.
+     *
+     * @param invoiceId Invoice ID
+     * @param asOf Point in time (inclusive), or null for the current balance
+     * @return The balance
+     * @throws EntityNotFoundException if the invoice is not found
+     */
+    public InvoiceBalanceResponse getBalance(UUID invoiceId, LocalDateTime asOf) {
+        Invoice invoice = invoiceRepository.findById(invoiceId).orElse(null);
+        if (invoice == null) {
+            return archivedBalance(archived(invoiceId), asOf);
+        }
+        if (asOf == null) {
+            return new InvoiceBalanceResponse(invoiceId, null, invoice.getBalance());
+        }
+        BigDecimal balance = ledgerEntryRepository.findBalanceAsOf(invoiceId, asOf)
+                .orElse(BigDecimal.ZERO);
+        return new InvoiceBalanceResponse(invoiceId, asOf, balance);
+    }
+
+    private ArchivedInvoiceDocument archived(UUID invoiceId) {
+        return invoiceArchiveService.findDocument(invoiceId)
+                .orElseThrow(() -> new EntityNotFoundException("Invoice not found with id: " + invoiceId));
+    }
+
+    private static InvoiceBalanceResponse archivedBalance(ArchivedInvoiceDocument document, LocalDateTime asOf) {
+        UUID invoiceId = document.invoice().id();
+        if (asOf == null) {
+            return new InvoiceBalanceResponse(invoiceId, null, document.invoice().balance());
+        }
+        BigDecimal balance = document.ledger().stream()
+                .filter(entry -> !entry.recordedAt().isAfter(asOf))
+                .max(Comparator.comparing(LedgerEntryResponse::recordedAt)
+                        .thenComparing(LedgerEntryResponse::sequenceNumber))
+                .map(LedgerEntryResponse::balanceAfter)
+                .orElse(BigDecimal.ZERO);
+        return new InvoiceBalanceResponse(invoiceId, asOf, balance);
+    }
+}
@@ -0,0 +1,20 @@
+package com.invoiceme.application.ledger.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Invoice balance at a point in time")
+public record InvoiceBalanceResponse(
+        @Schema(description = "Invoice ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID invoiceId,
+
+        @Schema(description = "Point in time the balance applies to; null for the current balance", example = "2024-01-31T23:59:59")
+        LocalDateTime asOf,
+
+        @Schema(description = "Open balance", example = "250.00")
+        BigDecimal balance
+) {
+}
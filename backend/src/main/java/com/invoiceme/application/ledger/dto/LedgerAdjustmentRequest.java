@@ -0,0 +1,21 @@
+package com.invoiceme.application.ledger.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Request to refund a payment, issue a credit note or write off part of an invoice")
+public record LedgerAdjustmentRequest(
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+        @Schema(description = "Amount", example = "100.00")
+        BigDecimal amount,
+
+        @Size(max = 500, message = "Reason must not exceed 500 characters")
+        @Schema(description = "Reason recorded in the ledger", example = "Damaged goods returned")
+        String reason
+) {
+}
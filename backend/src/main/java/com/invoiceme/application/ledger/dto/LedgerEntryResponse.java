@@ -0,0 +1,38 @@
+package com.invoiceme.application.ledger.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Invoice ledger entry")
+public record LedgerEntryResponse(
+        @Schema(description = "Entry ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID id,
+
+        @Schema(description = "Invoice ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID invoiceId,
+
+        @Schema(description = "Position in the invoice's ledger; the opening entry is 0", example = "1")
+        Integer sequenceNumber,
+
+        @Schema(description = "Entry type", example = "PAYMENT", allowableValues = {"OPENING", "ADJUSTMENT", "PAYMENT", "REFUND", "CREDIT_NOTE", "WRITE_OFF"})
+        String entryType,
+
+        @Schema(description = "Signed amount; negative entries reduce the balance", example = "-500.00")
+        BigDecimal amount,
+
+        @Schema(description = "Invoice balance after this entry", example = "250.00")
+        BigDecimal balanceAfter,
+
+        @Schema(description = "Payment the entry belongs to (payments and refunds)", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID paymentId,
+
+        @Schema(description = "Reason given for the entry", example = "Damaged goods returned")
+        String reason,
+
+        @Schema(description = "When the entry was recorded")
+        LocalDateTime recordedAt
+) {
+}
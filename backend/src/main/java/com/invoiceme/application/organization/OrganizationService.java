@@ -0,0 +1,97 @@
+package com.invoiceme.application.organization;
+
+import com.invoiceme.domain.organization.Organization;
+import com.invoiceme.domain.organization.OrganizationMember;
+import com.invoiceme.infrastructure.persistence.OrganizationMemberRepository;
+import com.invoiceme.infrastructure.persistence.OrganizationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the organization of an authenticated user.
+ *
+ * Users are linked to an organization on their first request: Google Workspace users join
+ * the organization that claims their domain, or create it; everyone else gets a personal
+ * organization. Memberships never change afterwards, so resolved subjects are kept in memory
+ * and later requests do not touch the database.
+ */
+@Service
+@Slf4j
+public class OrganizationService {
+
+    private final OrganizationRepository organizationRepository;
+    private final OrganizationMemberRepository memberRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, UUID> organizationBySubject = new ConcurrentHashMap<>();
+
+    public OrganizationService(OrganizationRepository organizationRepository,
+                               OrganizationMemberRepository memberRepository,
+                               TransactionTemplate transactionTemplate) {
+        this.organizationRepository = organizationRepository;
+        this.memberRepository = memberRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Returns the user's organization, linking the user to one on first use.
+     *
+     * @param subject Stable user ID from the identity provider
+     * @param email User email, or null
+     * @param name User display name, or null
+     * @param hostedDomain Google Workspace domain of the user, or null
+     * @return Organization ID
+     * @throws IllegalArgumentException if the subject is missing
+     */
+    public UUID resolve(String subject, String email, String name, String hostedDomain) {
+        if (subject == null || subject.isBlank()) {
+            throw new IllegalArgumentException("User subject is required");
+        }
+        UUID cached = organizationBySubject.get(subject);
+        if (cached != null) {
+            return cached;
+        }
+        UUID organizationId;
+        try {
+            organizationId = link(subject, email, name, hostedDomain);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent first request linked the user or created the domain's organization
+            organizationId = link(subject, email, name, hostedDomain);
+        }
+        organizationBySubject.put(subject, organizationId);
+        return organizationId;
+    }
+
+    /**
+     * @return Whether the organization exists
+     */
+    public boolean exists(UUID organizationId) {
+        return organizationRepository.existsById(organizationId);
+    }
+
+    private UUID link(String subject, String email, String name, String hostedDomain) {
+        return transactionTemplate.execute(status -> memberRepository.findById(subject)
+                .map(OrganizationMember::getOrganizationId)
+                .orElseGet(() -> {
+                    Organization organization = hostedDomain != null
+                            ? organizationRepository.findByDomain(hostedDomain.toLowerCase())
+                                    .orElseGet(() -> organizationRepository.saveAndFlush(new Organization(hostedDomain, hostedDomain)))
+                            : organizationRepository.saveAndFlush(new Organization(displayName(name, email, subject), null));
+                    memberRepository.saveAndFlush(new OrganizationMember(subject, organization.getId(), email));
+                    log.info("Linked user {} to organization {}", subject, organization.getId());
+                    return organization.getId();
+                }));
+    }
+
+    private static String displayName(String name, String email, String subject) {
+        if (name != null && !name.isBlank()) {
+            return name;
+        }
+        return email != null && !email.isBlank() ? email : subject;
+    }
+}
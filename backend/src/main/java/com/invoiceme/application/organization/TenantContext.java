@@ -0,0 +1,99 @@
+package com.invoiceme.application.organization;
+
+import com.invoiceme.domain.organization.Organization;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Organization the current thread works on.
+ *
+ * Set per request from the authenticated user and read by Hibernate when a session opens:
+ * the session then only sees that organization's rows and stamps it on new ones. Scheduled
+ * jobs run as {@link #ALL_ORGANIZATIONS}, which turns the filter off; entities they create
+ * take the organization of the customer or invoice they belong to. Threads that set nothing
+ * (tests, startup code) work on the default organization.
+ *
+ * The value is thread-bound, so work handed to other threads must carry it over explicitly.
+ */
+public final class TenantContext {
+
+    /**
+     * Marker for system work spanning all organizations; never stored on a row.
+     */
+    public static final UUID ALL_ORGANIZATIONS = new UUID(0L, 0L);
+
+    private static final ThreadLocal<UUID> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * @return The current organization, {@link #ALL_ORGANIZATIONS} for system work, or the
+     *         default organization if none is set
+     */
+    public static UUID current() {
+        UUID organizationId = CURRENT.get();
+        return organizationId != null ? organizationId : Organization.DEFAULT_ID;
+    }
+
+    /**
+     * @return The organization whose data is being worked on
+     * @throws IllegalStateException if called from system work spanning all organizations
+     */
+    public static UUID currentOrganizationId() {
+        UUID organizationId = current();
+        if (ALL_ORGANIZATIONS.equals(organizationId)) {
+            throw new IllegalStateException("No single organization in system work");
+        }
+        return organizationId;
+    }
+
+    /**
+     * Sets the organization until the returned scope is closed, then restores the previous one.
+     *
+     * @param organizationId Organization ID, or {@link #ALL_ORGANIZATIONS}
+     * @return Scope to close when the work is done
+     */
+    public static Scope enter(UUID organizationId) {
+        if (organizationId == null) {
+            throw new IllegalArgumentException("Organization ID is required");
+        }
+        UUID previous = CURRENT.get();
+        CURRENT.set(organizationId);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * Runs the work as the given organization.
+     */
+    public static void runAs(UUID organizationId, Runnable work) {
+        try (Scope ignored = enter(organizationId)) {
+            work.run();
+        }
+    }
+
+    /**
+     * Runs the work as the given organization and returns its result.
+     */
+    public static <T> T callAs(UUID organizationId, Supplier<T> work) {
+        try (Scope ignored = enter(organizationId)) {
+            return work.get();
+        }
+    }
+
+    /**
+     * Restores the previous organization when closed.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,13 @@
+package com.invoiceme.application.payment;
+
+/**
+ * How a payment covering several invoices is split between them.
+ */
+public enum AllocationStrategy {
+    /** Amounts are given per invoice in the request. */
+    EXPLICIT,
+    /** Settles the oldest invoices in full first; the last one touched may be paid partially. */
+    OLDEST_FIRST,
+    /** Splits the amount in proportion to each invoice's open balance. */
+    PROPORTIONAL
+}
@@ -0,0 +1,99 @@
+package com.invoiceme.application.payment;
+
+import com.invoiceme.domain.shared.Money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Splits a payment amount over a list of open balances.
+ * Works in whole cents, so the shares always add up to the amount exactly and no share
+ * exceeds its balance.
+ */
+public final class PaymentAllocator {
+
+    private PaymentAllocator() {
+    }
+
+    /**
+     * Fills balances in list order until the amount is used up.
+     *
+     * @param balances Open balances, oldest first
+     * @param amount Amount to allocate (at most the sum of the balances)
+     * @return Share per balance, in the same order (zero for balances not reached)
+     * @throws IllegalArgumentException if the amount exceeds the sum of the balances
+     */
+    public static List<BigDecimal> oldestFirst(List<BigDecimal> balances, BigDecimal amount) {
+        Money remaining = Money.of(amount);
+        requireCovered(balances, remaining);
+        List<BigDecimal> shares = new ArrayList<>(balances.size());
+        for (BigDecimal balance : balances) {
+            Money open = Money.of(balance);
+            Money share = remaining.compareTo(open) < 0 ? remaining : open;
+            shares.add(share.toBigDecimal());
+            remaining = remaining.minus(share);
+        }
+        return shares;
+    }
+
+    /**
+     * Splits the amount in proportion to the balances. Each share is rounded down to the
+     * cent and the cents left over go to the shares with the largest rounding remainders
+     * (earlier balances first on ties), so the result does not depend on rounding luck.
+     *
+     * @param balances Open balances
+     * @param amount Amount to allocate (at most the sum of the balances)
+     * @return Share per balance, in the same order
+     * @throws IllegalArgumentException if the amount exceeds the sum of the balances
+     */
+    public static List<BigDecimal> proportional(List<BigDecimal> balances, BigDecimal amount) {
+        long amountCents = Money.of(amount).cents();
+        long totalCents = requireCovered(balances, Money.ofCents(amountCents)).cents();
+        int n = balances.size();
+        long[] shares = new long[n];
+        long[] remainders = new long[n];
+        long leftover = amountCents;
+        for (int i = 0; i < n; i++) {
+            // amount * balance can exceed a long; the quotient and remainder cannot
+            BigInteger[] qr = BigInteger.valueOf(amountCents)
+                    .multiply(BigInteger.valueOf(Money.of(balances.get(i)).cents()))
+                    .divideAndRemainder(BigInteger.valueOf(totalCents));
+            shares[i] = qr[0].longValueExact();
+            remainders[i] = qr[1].longValueExact();
+            leftover -= shares[i];
+        }
+        // Fewer leftover cents than balances with a non-zero remainder, so none goes past its balance
+        int[] byRemainder = IntStream.range(0, n).boxed()
+                .sorted(Comparator.comparingLong((Integer i) -> remainders[i]).reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        for (int k = 0; k < leftover; k++) {
+            shares[byRemainder[k]]++;
+        }
+        List<BigDecimal> result = new ArrayList<>(n);
+        for (long share : shares) {
+            result.add(Money.ofCents(share).toBigDecimal());
+        }
+        return result;
+    }
+
+    private static Money requireCovered(List<BigDecimal> balances, Money amount) {
+        Money total = Money.ZERO;
+        for (BigDecimal balance : balances) {
+            if (balance.signum() < 0) {
+                throw new IllegalArgumentException("Balance cannot be negative: " + balance);
+            }
+            total = total.plus(Money.of(balance));
+        }
+        if (amount.compareTo(total) > 0) {
+            throw new IllegalArgumentException("Payment amount (" + amount
+                    + ") exceeds the open balance of the selected invoices (" + total + ")");
+        }
+        return total;
+    }
+}
@@ -1,28 +1,62 @@
 package com.invoiceme.application.payment;
 
+import com.invoiceme.application.changelog.ChangeLogService;
+import com.invoiceme.application.invoice.InvoiceMapper;
+import com.invoiceme.application.payment.dto.InvoiceAllocationRequest;
+import com.invoiceme.application.payment.dto.PaymentAllocationRequest;
+import com.invoiceme.application.payment.dto.PaymentAllocationResponse;
 import com.invoiceme.application.payment.dto.PaymentRequest;
 import com.invoiceme.application.payment.dto.PaymentResponse;
+import com.invoiceme.domain.changelog.ChangeEntityType;
+import com.invoiceme.domain.changelog.ChangeOperation;
 import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.domain.ledger.LedgerEntry;
+import com.invoiceme.domain.ledger.LedgerEntryType;
 import com.invoiceme.domain.payment.Payment;
 import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
 import com.invoiceme.infrastructure.persistence.PaymentRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
 /**
  * Command service for Payment write operations.
  * Implements CQRS pattern for payment creation.
+ *
+ * Every payment locks its invoices with {@link InvoiceRepository#findAllByIdForUpdate}
+ * (id order) before reading their balances, so concurrent payments on the same invoice
+ * are serialized and multi-invoice payments cannot deadlock each other.
+ * The stored invoice balance is the running balance of the invoice ledger; each payment
+ * appends a PAYMENT entry next to it.
  */
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class PaymentCommandService {
 
+    private static final Set<InvoiceStatus> OPEN_STATUSES = EnumSet.of(InvoiceStatus.SENT, InvoiceStatus.OVERDUE);
+
     private final PaymentRepository paymentRepository;
     private final InvoiceRepository invoiceRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
     private final PaymentMapper paymentMapper;
+    private final InvoiceMapper invoiceMapper;
+    private final ChangeLogService changeLogService;
 
     /**
      * Records a payment for an invoice.
@@ -34,16 +68,15 @@ public class PaymentCommandService {
      * @throws IllegalArgumentException if payment amount is invalid or exceeds invoice balance
      */
     public PaymentResponse recordPayment(PaymentRequest request) {
-        // Find invoice
-        Invoice invoice = invoiceRepository.findById(request.invoiceId())
+        // Find and lock invoice
+        Invoice invoice = invoiceRepository.findAllByIdForUpdate(List.of(request.invoiceId())).stream()
+                .findFirst()
                 .orElseThrow(() -> new EntityNotFoundException("Invoice not found with id: " + request.invoiceId()));
 
-        // Calculate invoice balance before validation (query existing payments)
-        calculateInvoiceBalance(invoice);
-
-        // Create payment entity from request
+        // Create payment entity from request, in the invoice's organization
         Payment payment = paymentMapper.toEntity(request);
         payment.setInvoice(invoice);
+        payment.setOrganizationId(invoice.getOrganizationId());
 
         // Validate payment amount using domain method
         payment.validateAmount(invoice);
@@ -51,38 +84,129 @@ public class PaymentCommandService {
         // Apply payment to invoice (updates balance and may transition to PAID)
         payment.applyToInvoice();
 
-        // Save payment
+        // Save payment and its ledger entry
         Payment savedPayment = paymentRepository.save(payment);
+        ledgerEntryRepository.save(
+                LedgerEntry.record(invoice, LedgerEntryType.PAYMENT, savedPayment.getAmount(), savedPayment, null));
 
         // Save invoice (balance and status may have changed)
-        invoiceRepository.save(invoice);
+        Invoice savedInvoice = invoiceRepository.save(invoice);
 
-        // Map to response
-        return paymentMapper.toResponse(savedPayment);
+        // Map to response and record both changes in the same transaction
+        PaymentResponse response = paymentMapper.toResponse(savedPayment);
+        changeLogService.record(savedPayment.getOrganizationId(), ChangeEntityType.PAYMENT, savedPayment.getId(),
+                ChangeOperation.CREATED, response);
+        changeLogService.record(savedInvoice.getOrganizationId(), ChangeEntityType.INVOICE, savedInvoice.getId(),
+                ChangeOperation.UPDATED, invoiceMapper.toResponse(savedInvoice));
+        return response;
     }
 
     /**
-     * Calculates invoice balance by querying existing payments.
-     * Updates the invoice's balance field.
+     * Applies one payment to several invoices in a single transaction.
+     * Creates one payment per invoice that receives part of the amount; either all of them
+     * are recorded or none is. Balances are the stored balances of the locked invoices.
      * 
-     * @param invoice Invoice to calculate balance for
+     * @param request Amount, date, strategy and the invoices (or customer) to allocate to
+     * @return The created payments
+     * @throws EntityNotFoundException if an invoice is not found
+     * @throws IllegalArgumentException if the invoices are missing or repeated, explicit amounts
+     *         do not add up to the payment, or an amount exceeds the open balance
      */
-    private void calculateInvoiceBalance(Invoice invoice) {
-        // Query all payments for this invoice
-        var payments = paymentRepository.findByInvoice_Id(invoice.getId(), 
-                org.springframework.data.domain.Pageable.unpaged());
-        
-        // Sum payment amounts
-        var totalPayments = payments.getContent().stream()
-                .map(Payment::getAmount)
-                .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add);
-
-        // Calculate balance: totalAmount - sum of payments
-        var balance = invoice.getTotalAmount().subtract(totalPayments)
-                .setScale(2, java.math.RoundingMode.HALF_UP);
-        
-        // Update invoice balance
-        invoice.setBalance(balance);
+    public PaymentAllocationResponse allocatePayment(PaymentAllocationRequest request) {
+        Map<UUID, BigDecimal> explicitAmounts = request.strategy() == AllocationStrategy.EXPLICIT
+                ? explicitAmounts(request)
+                : Map.of();
+        List<Invoice> invoices = request.strategy() == AllocationStrategy.EXPLICIT
+                ? lockInvoices(explicitAmounts.keySet())
+                : lockAllocationTargets(request);
+
+        List<Invoice> targets = switch (request.strategy()) {
+            case EXPLICIT -> invoices;
+            case OLDEST_FIRST -> invoices.stream()
+                    .filter(invoice -> invoice.getBalance().signum() > 0)
+                    .sorted(Comparator.comparing(Invoice::getCreatedAt).thenComparing(Invoice::getId))
+                    .toList();
+            case PROPORTIONAL -> invoices.stream()
+                    .filter(invoice -> invoice.getBalance().signum() > 0)
+                    .toList();
+        };
+        List<BigDecimal> balances = targets.stream().map(Invoice::getBalance).toList();
+        List<BigDecimal> shares = switch (request.strategy()) {
+            case EXPLICIT -> targets.stream().map(invoice -> explicitAmounts.get(invoice.getId())).toList();
+            case OLDEST_FIRST -> PaymentAllocator.oldestFirst(balances, request.amount());
+            case PROPORTIONAL -> PaymentAllocator.proportional(balances, request.amount());
+        };
+
+        List<Payment> payments = new ArrayList<>(targets.size());
+        List<LedgerEntry> entries = new ArrayList<>(targets.size());
+        for (int i = 0; i < targets.size(); i++) {
+            if (shares.get(i).signum() == 0) {
+                continue;
+            }
+            Payment payment = new Payment(targets.get(i), shares.get(i), request.paymentDate());
+            payment.validateAmount(targets.get(i));
+            payment.applyToInvoice();
+            payments.add(payment);
+            entries.add(LedgerEntry.record(targets.get(i), LedgerEntryType.PAYMENT, payment.getAmount(), payment, null));
+        }
+        paymentRepository.saveAll(payments);
+        ledgerEntryRepository.saveAll(entries);
+
+        List<PaymentResponse> responses = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            PaymentResponse response = paymentMapper.toResponse(payment);
+            changeLogService.record(payment.getOrganizationId(), ChangeEntityType.PAYMENT, payment.getId(),
+                    ChangeOperation.CREATED, response);
+            changeLogService.record(payment.getOrganizationId(), ChangeEntityType.INVOICE, payment.getInvoice().getId(),
+                    ChangeOperation.UPDATED, invoiceMapper.toResponse(payment.getInvoice()));
+            responses.add(response);
+        }
+        return new PaymentAllocationResponse(request.amount(), request.strategy(), responses);
     }
-}
 
+    private Map<UUID, BigDecimal> explicitAmounts(PaymentAllocationRequest request) {
+        if (request.allocations() == null || request.allocations().isEmpty()) {
+            throw new IllegalArgumentException("EXPLICIT allocation requires at least one allocation");
+        }
+        Map<UUID, BigDecimal> amounts = new HashMap<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (InvoiceAllocationRequest allocation : request.allocations()) {
+            if (amounts.put(allocation.invoiceId(), allocation.amount()) != null) {
+                throw new IllegalArgumentException("Invoice allocated more than once: " + allocation.invoiceId());
+            }
+            total = total.add(allocation.amount());
+        }
+        if (total.compareTo(request.amount()) != 0) {
+            throw new IllegalArgumentException(
+                    "Allocations (" + total + ") must add up to the payment amount (" + request.amount() + ")");
+        }
+        return amounts;
+    }
+
+    private List<Invoice> lockAllocationTargets(PaymentAllocationRequest request) {
+        if (request.invoiceIds() != null && !request.invoiceIds().isEmpty()) {
+            Set<UUID> ids = new HashSet<>(request.invoiceIds());
+            if (ids.size() != request.invoiceIds().size()) {
+                throw new IllegalArgumentException("Invoice IDs must not repeat");
+            }
+            return lockInvoices(ids);
+        }
+        if (request.customerId() != null) {
+            return invoiceRepository.findByCustomerIdAndStatusForUpdate(request.customerId(), OPEN_STATUSES);
+        }
+        throw new IllegalArgumentException(request.strategy() + " allocation requires invoice IDs or a customer ID");
+    }
+
+    /**
+     * Locks the invoices in id order and fails if any of them does not exist.
+     */
+    private List<Invoice> lockInvoices(Set<UUID> ids) {
+        List<Invoice> invoices = invoiceRepository.findAllByIdForUpdate(ids);
+        if (invoices.size() != ids.size()) {
+            Set<UUID> found = invoices.stream().map(Invoice::getId).collect(Collectors.toSet());
+            UUID missing = ids.stream().filter(id -> !found.contains(id)).findFirst().orElseThrow();
+            throw new EntityNotFoundException("Invoice not found with id: " + missing);
+        }
+        return invoices;
+    }
+}
@@ -7,7 +7,6 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 
-import java.util.UUID;
 
 /**
  * MapStruct mapper for Payment entity and DTOs.
@@ -18,7 +17,6 @@ public interface PaymentMapper {
     /**
      * Maps Payment entity to PaymentResponse DTO.
      * Includes invoice ID, invoice number, and customer name from the invoice relationship.
-     * Invoice number is generated from invoice ID (first 8 characters).
      */
     @Mapping(target = "invoiceId", source = "invoice.id")
     @Mapping(target = "invoiceNumber", expression = "java(generateInvoiceNumber(payment))")
@@ -27,23 +25,23 @@ public interface PaymentMapper {
 
     /**
      * Maps PaymentRequest to Payment entity.
-     * Invoice reference must be set in service (ignored here).
+     * Invoice reference and organization must be set in service (ignored here).
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "organizationId", ignore = true)
     @Mapping(target = "invoice", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     Payment toEntity(PaymentRequest request);
 
     /**
-     * Generates invoice number from payment's invoice ID.
+     * Invoice number of the payment's invoice.
      * Helper method for MapStruct expression.
      */
     default String generateInvoiceNumber(Payment payment) {
-        if (payment == null || payment.getInvoice() == null || payment.getInvoice().getId() == null) {
+        if (payment == null || payment.getInvoice() == null) {
             return null;
         }
-        UUID invoiceId = payment.getInvoice().getId();
-        return "INV-" + invoiceId.toString().substring(0, 8).toUpperCase();
+        return payment.getInvoice().displayNumber();
     }
 }
 
@@ -1,28 +1,53 @@
 package com.invoiceme.application.payment;
 
+import com.invoiceme.application.archive.InvoiceArchiveService;
+import com.invoiceme.application.archive.dto.ArchivedInvoiceDocument;
+import com.invoiceme.application.export.ExportColumn;
+import com.invoiceme.application.export.ExportFormat;
+import com.invoiceme.application.export.ExportWriter;
 import com.invoiceme.application.payment.dto.PaymentResponse;
 import com.invoiceme.domain.payment.Payment;
 import com.invoiceme.infrastructure.persistence.PaymentRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Query service for Payment read operations.
  * Implements CQRS pattern for payment queries.
+ * Payments of archived invoices are found by id, by invoice and in exports, but not listed.
  */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class PaymentQueryService {
 
+    private static final LocalDateTime EXPORT_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final List<ExportColumn<PaymentRepository.ExportRow>> EXPORT_COLUMNS = List.of(
+            new ExportColumn<>("id", PaymentRepository.ExportRow::getId),
+            new ExportColumn<>("invoice_id", PaymentRepository.ExportRow::getInvoiceId),
+            new ExportColumn<>("customer_id", PaymentRepository.ExportRow::getCustomerId),
+            new ExportColumn<>("amount", PaymentRepository.ExportRow::getAmount),
+            new ExportColumn<>("payment_date", PaymentRepository.ExportRow::getPaymentDate),
+            new ExportColumn<>("created_at", PaymentRepository.ExportRow::getCreatedAt)
+    );
+
     private final PaymentRepository paymentRepository;
     private final PaymentMapper paymentMapper;
+    private final InvoiceArchiveService invoiceArchiveService;
 
     /**
      * Gets a payment by ID.
@@ -32,10 +57,10 @@ public class PaymentQueryService {
      * @throws EntityNotFoundException if payment not found
      */
     public PaymentResponse getById(UUID id) {
-        Payment payment = paymentRepository.findByIdWithInvoiceAndCustomer(id)
+        return paymentRepository.findByIdWithInvoiceAndCustomer(id)
+                .map(paymentMapper::toResponse)
+                .or(() -> invoiceArchiveService.findPayment(id))
                 .orElseThrow(() -> new EntityNotFoundException("Payment not found with id: " + id));
-
-        return paymentMapper.toResponse(payment);
     }
 
     /**
@@ -46,8 +71,17 @@ public class PaymentQueryService {
      * @return Page of PaymentResponse for specified invoice
      */
     public Page<PaymentResponse> getByInvoiceId(UUID invoiceId, Pageable pageable) {
-        return paymentRepository.findByInvoiceIdWithInvoiceAndCustomer(invoiceId, pageable)
+        Page<PaymentResponse> page = paymentRepository.findByInvoiceIdWithInvoiceAndCustomer(invoiceId, pageable)
                 .map(paymentMapper::toResponse);
+        if (page.getTotalElements() > 0) {
+            return page;
+        }
+        List<PaymentResponse> archived = invoiceArchiveService.findDocument(invoiceId)
+                .map(ArchivedInvoiceDocument::payments)
+                .orElse(List.of());
+        int from = (int) Math.min(pageable.getOffset(), archived.size());
+        int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), archived.size()) : archived.size();
+        return new PageImpl<>(archived.subList(from, to), pageable, archived.size());
     }
 
     /**
@@ -60,5 +94,23 @@ public class PaymentQueryService {
         return paymentRepository.findAllWithInvoiceAndCustomer(pageable)
                 .map(paymentMapper::toResponse);
     }
-}
 
+    /**
+     * Streams all payments recorded at or after {@code since} to the output stream.
+     * Reads through a forward-only cursor and writes each row as it arrives, so memory
+     * use is constant. Boundary rows equal to {@code since} are included.
+     *
+     * @param since Lower bound (inclusive) on created_at, or null to export everything
+     * @param format Output format
+     * @param out Destination stream
+     * @throws IOException if writing to the stream fails
+     */
+    public void exportPayments(LocalDateTime since, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<PaymentRepository.ExportRow> rows = paymentRepository.streamForExport(since != null ? since : EXPORT_EPOCH);
+             ExportWriter<PaymentRepository.ExportRow> writer = ExportWriter.open(format, EXPORT_COLUMNS, out)) {
+            for (Iterator<PaymentRepository.ExportRow> it = rows.iterator(); it.hasNext(); ) {
+                writer.write(it.next());
+            }
+        }
+    }
+}
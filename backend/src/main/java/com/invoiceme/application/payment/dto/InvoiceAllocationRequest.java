@@ -0,0 +1,21 @@
+package com.invoiceme.application.payment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Schema(description = "Amount of a payment applied to one invoice")
+public record InvoiceAllocationRequest(
+        @NotNull(message = "Invoice ID is required")
+        @Schema(description = "Invoice ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID invoiceId,
+
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+        @Schema(description = "Amount applied to the invoice", example = "250.00")
+        BigDecimal amount
+) {
+}
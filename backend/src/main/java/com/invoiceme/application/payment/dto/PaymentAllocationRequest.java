@@ -0,0 +1,47 @@
+package com.invoiceme.application.payment.dto;
+
+import com.invoiceme.application.payment.AllocationStrategy;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Request to apply one payment to several invoices")
+public record PaymentAllocationRequest(
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+        @Schema(description = "Total payment amount", example = "1500.00")
+        BigDecimal amount,
+
+        @NotNull(message = "Payment date is required")
+        @PastOrPresent(message = "Payment date cannot be in the future")
+        @Schema(description = "Payment date", example = "2024-01-15T10:30:00")
+        LocalDateTime paymentDate,
+
+        @NotNull(message = "Strategy is required")
+        @Schema(description = "How the amount is split between the invoices", example = "OLDEST_FIRST")
+        AllocationStrategy strategy,
+
+        @Schema(description = "Customer whose open invoices receive the payment, when no invoice IDs are given (OLDEST_FIRST and PROPORTIONAL)",
+                example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID customerId,
+
+        @Size(max = PaymentAllocationRequest.MAX_INVOICES, message = "At most " + PaymentAllocationRequest.MAX_INVOICES + " invoices per payment")
+        @Schema(description = "Invoices receiving the payment (OLDEST_FIRST and PROPORTIONAL)")
+        List<UUID> invoiceIds,
+
+        @Size(max = PaymentAllocationRequest.MAX_INVOICES, message = "At most " + PaymentAllocationRequest.MAX_INVOICES + " invoices per payment")
+        @Valid
+        @Schema(description = "Amount per invoice (EXPLICIT); must add up to the payment amount")
+        List<InvoiceAllocationRequest> allocations
+) {
+
+    public static final int MAX_INVOICES = 1000;
+}
@@ -0,0 +1,20 @@
+package com.invoiceme.application.payment.dto;
+
+import com.invoiceme.application.payment.AllocationStrategy;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Payments created by applying one payment to several invoices")
+public record PaymentAllocationResponse(
+        @Schema(description = "Total payment amount", example = "1500.00")
+        BigDecimal amount,
+
+        @Schema(description = "Strategy used to split the amount", example = "OLDEST_FIRST")
+        AllocationStrategy strategy,
+
+        @Schema(description = "One payment per invoice that received part of the amount")
+        List<PaymentResponse> payments
+) {
+}
@@ -0,0 +1,36 @@
+package com.invoiceme.application.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+
+/**
+ * Formats amounts in an invoice's currency for PDFs and emails.
+ */
+public final class CurrencyFormatter {
+
+    private CurrencyFormatter() {
+    }
+
+    /**
+     * Formats an amount with the currency's symbol and its number of minor-unit digits,
+     * using US grouping and decimal separators.
+     *
+     * @param amount Amount to format
+     * @param currencyCode ISO 4217 currency code
+     * @return Formatted amount, e.g. "$1,234.56" or "€1,234.56"
+     */
+    public static String format(BigDecimal amount, String currencyCode) {
+        // NumberFormat is not thread-safe; instances are cheap next to PDF and email rendering
+        NumberFormat format = NumberFormat.getCurrencyInstance(Locale.US);
+        Currency currency = Currency.getInstance(currencyCode);
+        format.setCurrency(currency);
+        int fractionDigits = Math.max(currency.getDefaultFractionDigits(), 0);
+        format.setMinimumFractionDigits(fractionDigits);
+        format.setMaximumFractionDigits(fractionDigits);
+        format.setRoundingMode(RoundingMode.HALF_UP);
+        return format.format(amount);
+    }
+}
@@ -0,0 +1,87 @@
+package com.invoiceme.application.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable tax and exchange rate lookup tables.
+ * A request takes one snapshot and resolves every line against it, so all lines of an
+ * invoice see the same rates even if a refresh swaps the tables mid-request.
+ */
+public final class RateSnapshot {
+
+    private final String baseCurrency;
+    private final Map<String, BigDecimal> taxRates;
+    private final Map<String, BigDecimal> fxRatesToBase;
+    private final Instant loadedAt;
+
+    public RateSnapshot(String baseCurrency, Map<String, BigDecimal> taxRates,
+                        Map<String, BigDecimal> fxRatesToBase, Instant loadedAt) {
+        this.baseCurrency = baseCurrency;
+        this.taxRates = Map.copyOf(taxRates);
+        this.fxRatesToBase = Map.copyOf(fxRatesToBase);
+        this.loadedAt = loadedAt;
+    }
+
+    public static RateSnapshot empty(String baseCurrency) {
+        return new RateSnapshot(baseCurrency, Map.of(), Map.of(), Instant.EPOCH);
+    }
+
+    public String baseCurrency() {
+        return baseCurrency;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    public int taxRateCount() {
+        return taxRates.size();
+    }
+
+    public int fxRateCount() {
+        return fxRatesToBase.size();
+    }
+
+    /**
+     * Looks up the rate for a tax code.
+     *
+     * @param taxCode Tax code, or null for untaxed lines
+     * @return Rate as a fraction (0 when taxCode is null)
+     * @throws IllegalArgumentException if the tax code is unknown
+     */
+    public BigDecimal taxRate(String taxCode) {
+        if (taxCode == null) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal rate = taxRates.get(taxCode);
+        if (rate == null) {
+            throw new IllegalArgumentException("Unknown tax code: " + taxCode);
+        }
+        return rate;
+    }
+
+    /**
+     * Converts an amount into the base currency, rounding HALF_UP to cents.
+     *
+     * @param amount Amount in the given currency
+     * @param currency ISO 4217 currency code of the amount
+     * @return Converted amount, or empty if no rate is known for the currency
+     */
+    public Optional<BigDecimal> toBaseCurrency(BigDecimal amount, String currency) {
+        if (amount == null) {
+            return Optional.empty();
+        }
+        if (baseCurrency.equals(currency)) {
+            return Optional.of(amount);
+        }
+        BigDecimal rate = fxRatesToBase.get(currency);
+        if (rate == null) {
+            return Optional.empty();
+        }
+        return Optional.of(amount.multiply(rate).setScale(2, RoundingMode.HALF_UP));
+    }
+}
@@ -0,0 +1,73 @@
+package com.invoiceme.application.pricing;
+
+import com.invoiceme.domain.pricing.FxRate;
+import com.invoiceme.domain.pricing.TaxRate;
+import com.invoiceme.infrastructure.persistence.FxRateRepository;
+import com.invoiceme.infrastructure.persistence.TaxRateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current tax and exchange rate tables in memory.
+ *
+ * Tables are loaded at startup and refreshed periodically. Each refresh builds a new
+ * {@link RateSnapshot} and swaps it in atomically, so readers never lock and never see
+ * a half-loaded table. Invoice totals are computed from a snapshot with no per-line
+ * database lookups.
+ */
+@Component
+@Slf4j
+public class RateTables {
+
+    private final TaxRateRepository taxRateRepository;
+    private final FxRateRepository fxRateRepository;
+    private final String baseCurrency;
+    private final AtomicReference<RateSnapshot> current;
+
+    public RateTables(
+            TaxRateRepository taxRateRepository,
+            FxRateRepository fxRateRepository,
+            @Value("${app.pricing.base-currency:USD}") String baseCurrency) {
+        this.taxRateRepository = taxRateRepository;
+        this.fxRateRepository = fxRateRepository;
+        this.baseCurrency = baseCurrency;
+        this.current = new AtomicReference<>(RateSnapshot.empty(baseCurrency));
+    }
+
+    /**
+     * Returns the current rate tables. Callers should take one snapshot per operation.
+     */
+    public RateSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Reloads both tables and swaps in the new snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.pricing.refresh-interval:PT5M}",
+               initialDelayString = "${app.pricing.refresh-interval:PT5M}")
+    public void refresh() {
+        Map<String, BigDecimal> taxRates = new HashMap<>();
+        for (TaxRate taxRate : taxRateRepository.findAll()) {
+            taxRates.put(taxRate.getCode(), taxRate.getRate());
+        }
+        Map<String, BigDecimal> fxRates = new HashMap<>();
+        for (FxRate fxRate : fxRateRepository.findAll()) {
+            fxRates.put(fxRate.getCurrency(), fxRate.getRateToBase());
+        }
+        RateSnapshot snapshot = new RateSnapshot(baseCurrency, taxRates, fxRates, Instant.now());
+        current.set(snapshot);
+        log.debug("Loaded {} tax rates and {} exchange rates", snapshot.taxRateCount(), snapshot.fxRateCount());
+    }
+}
@@ -0,0 +1,93 @@
+package com.invoiceme.application.reactive;
+
+import com.invoiceme.application.customer.CustomerMapper;
+import com.invoiceme.application.customer.dto.CustomerResponse;
+import com.invoiceme.application.invoice.InvoiceMapper;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.payment.PaymentMapper;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.infrastructure.persistence.ReactiveReadRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking queries behind the v2 read API. Returns the same responses as the query
+ * services, built by the same mappers, without holding a thread while the database answers.
+ *
+ * The organization is passed in rather than read from {@link com.invoiceme.application.organization.TenantContext}:
+ * results are produced on whichever thread the driver completes on.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty("app.reactive.url")
+public class ReactiveQueryService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final ReactiveReadRepository reactiveReadRepository;
+    private final InvoiceMapper invoiceMapper;
+    private final CustomerMapper customerMapper;
+    private final PaymentMapper paymentMapper;
+
+    /**
+     * Gets a page of invoices, newest first.
+     *
+     * @param organizationId Organization whose invoices are read
+     * @param status Status to filter by, or null
+     * @param customerId Customer to filter by, or null
+     * @param page Zero-based page number
+     * @param size Page size (at most 100)
+     * @return Invoices of the page
+     * @throws IllegalArgumentException if the page or size is out of range
+     */
+    public Flux<InvoiceResponse> getInvoices(UUID organizationId, InvoiceStatus status, UUID customerId, int page, int size) {
+        validatePage(page, size);
+        return reactiveReadRepository.findInvoices(organizationId, status, customerId, size, (long) page * size)
+                .map(invoiceMapper::toResponse);
+    }
+
+    /**
+     * Gets a page of customers ordered by name.
+     *
+     * @param organizationId Organization whose customers are read
+     * @param page Zero-based page number
+     * @param size Page size (at most 100)
+     * @return Customers of the page
+     * @throws IllegalArgumentException if the page or size is out of range
+     */
+    public Flux<CustomerResponse> getCustomers(UUID organizationId, int page, int size) {
+        validatePage(page, size);
+        return reactiveReadRepository.findCustomers(organizationId, size, (long) page * size)
+                .map(customerMapper::toResponse);
+    }
+
+    /**
+     * Gets a page of payments, latest payment date first.
+     *
+     * @param organizationId Organization whose payments are read
+     * @param invoiceId Invoice to filter by, or null
+     * @param page Zero-based page number
+     * @param size Page size (at most 100)
+     * @return Payments of the page
+     * @throws IllegalArgumentException if the page or size is out of range
+     */
+    public Flux<PaymentResponse> getPayments(UUID organizationId, UUID invoiceId, int page, int size) {
+        validatePage(page, size);
+        return reactiveReadRepository.findPayments(organizationId, invoiceId, size, (long) page * size)
+                .map(paymentMapper::toResponse);
+    }
+
+    private static void validatePage(int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+}
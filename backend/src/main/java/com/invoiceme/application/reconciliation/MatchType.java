@@ -0,0 +1,15 @@
+package com.invoiceme.application.reconciliation;
+
+/**
+ * Why an invoice was proposed for a statement line, strongest first.
+ */
+public enum MatchType {
+    /** The reference names the invoice and the amount equals its open balance. */
+    REFERENCE_AND_AMOUNT,
+    /** The reference names the invoice; the amount is a partial (or over-) payment. */
+    REFERENCE,
+    /** No reference; the amount equals the open balance, ranked by payer name. */
+    AMOUNT,
+    /** Neither matches exactly; ranked by payer name and amount closeness. */
+    FUZZY
+}
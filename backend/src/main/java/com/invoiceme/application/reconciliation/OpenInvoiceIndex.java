@@ -0,0 +1,240 @@
+package com.invoiceme.application.reconciliation;
+
+import com.invoiceme.domain.invoice.InvoiceNumber;
+import com.invoiceme.domain.shared.Money;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory index of open invoices for matching bank statement lines.
+ *
+ * Invoices are looked up by reference token (the invoice number, or the leading hex digits
+ * of the invoice ID for references that quote the ID or an ID-derived number), by open
+ * balance in cents, and by the words of the customer name, each a hash lookup. Balances
+ * are tracked in cents as lines reserve them, so an invoice that is fully matched by one
+ * line is not offered to the next. Built for one reconciliation run and not thread-safe.
+ */
+public class OpenInvoiceIndex {
+
+    // Name words shared by more invoices than this do not help to tell them apart
+    static final int MAX_NAME_POSTINGS = 10_000;
+
+    private static final Pattern ID_NUMBER = Pattern.compile("\\bINV[-\\s]?([0-9A-F]{8})(?![0-9A-F])");
+    private static final Pattern UUID_TEXT = Pattern.compile(
+            "\\b([0-9A-F]{8})-[0-9A-F]{4}-[0-9A-F]{4}-[0-9A-F]{4}-[0-9A-F]{12}\\b");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> NAME_STOP_WORDS = Set.of(
+            "the", "and", "inc", "llc", "ltd", "gmbh", "corp", "company", "limited");
+
+    private final Map<String, List<Entry>> byReference = new HashMap<>();
+    private final Map<Long, Bucket> byAmount = new HashMap<>();
+    private final Map<String, List<Entry>> byNameWord = new HashMap<>();
+    // Word arrays shared by all invoices of the same customer
+    private final Map<String, String[]> nameWords = new HashMap<>();
+    private int size;
+
+    /**
+     * Adds an open invoice.
+     *
+     * @param id Invoice ID
+     * @param invoiceNumber Invoice number, or null if the invoice has none
+     * @param customerName Customer name
+     * @param currency ISO 4217 currency code
+     * @param balance Open balance (must be positive)
+     */
+    public void add(UUID id, String invoiceNumber, String customerName, String currency, BigDecimal balance) {
+        long cents = Money.of(balance).cents();
+        if (cents <= 0) {
+            return;
+        }
+        String[] words = nameWords.computeIfAbsent(customerName, OpenInvoiceIndex::words);
+        Entry entry = new Entry(id, invoiceNumber != null ? invoiceNumber : idNumber(id), customerName, currency, cents, words);
+        if (invoiceNumber != null) {
+            byReference.computeIfAbsent(invoiceNumber, key -> new ArrayList<>(1)).add(entry);
+        }
+        byReference.computeIfAbsent(referenceToken(id), key -> new ArrayList<>(1)).add(entry);
+        byAmount.computeIfAbsent(cents, key -> new Bucket()).entries.add(entry);
+        for (String word : words) {
+            byNameWord.computeIfAbsent(word, key -> new ArrayList<>()).add(entry);
+        }
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Invoices whose number appears in the payment reference and that are still open.
+     */
+    List<Entry> findByReference(String reference) {
+        if (reference == null) {
+            return List.of();
+        }
+        List<Entry> found = new ArrayList<>(1);
+        for (String token : referenceTokens(reference)) {
+            for (Entry entry : byReference.getOrDefault(token, List.of())) {
+                if (entry.remainingCents > 0 && !found.contains(entry)) {
+                    found.add(entry);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Open invoices whose remaining balance equals the amount, in insertion order.
+     * Fully reserved invoices may still be listed; callers check {@link Entry#remainingCents()}.
+     */
+    List<Entry> findByAmount(long cents) {
+        Bucket bucket = byAmount.get(cents);
+        return bucket == null ? List.of() : bucket.entries;
+    }
+
+    /**
+     * Invoices whose customer name shares a word with the given name. Words shared by more
+     * than {@value #MAX_NAME_POSTINGS} invoices are ignored.
+     */
+    List<List<Entry>> findByName(String[] words) {
+        List<List<Entry>> postings = new ArrayList<>(words.length);
+        for (String word : words) {
+            List<Entry> entries = byNameWord.get(word);
+            if (entries != null && entries.size() <= MAX_NAME_POSTINGS) {
+                postings.add(entries);
+            }
+        }
+        return postings;
+    }
+
+    /**
+     * Reserves part of an invoice's balance for a statement line.
+     *
+     * @param entry Invoice to reserve on
+     * @param cents Amount to reserve, at most the remaining balance
+     */
+    void reserve(Entry entry, long cents) {
+        entry.remainingCents -= cents;
+        if (entry.remainingCents == 0) {
+            Bucket bucket = byAmount.get(entry.balanceCents);
+            bucket.reserved++;
+            // Drop settled invoices once they are the majority, so busy amounts stay cheap to scan
+            if (bucket.reserved * 2 > bucket.entries.size()) {
+                bucket.entries.removeIf(e -> e.remainingCents == 0);
+                bucket.reserved = 0;
+            }
+        }
+    }
+
+    /**
+     * Number printed on invoices stored without an invoice number.
+     */
+    static String idNumber(UUID id) {
+        return "INV-" + referenceToken(id);
+    }
+
+    static String referenceToken(UUID id) {
+        return id.toString().substring(0, 8).toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Extracts invoice reference tokens from free-text remittance information: invoice
+     * numbers ("INV-2025-000042", also without separators or padding), ID-derived numbers
+     * ("INV-1A2B3C4D", also without the dash) and full invoice IDs.
+     */
+    static Set<String> referenceTokens(String reference) {
+        String text = reference.toUpperCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>(InvoiceNumber.findAll(text));
+        Matcher number = ID_NUMBER.matcher(text);
+        while (number.find()) {
+            tokens.add(number.group(1));
+        }
+        Matcher uuid = UUID_TEXT.matcher(text);
+        while (uuid.find()) {
+            tokens.add(uuid.group(1));
+        }
+        return tokens;
+    }
+
+    /**
+     * Lower-cased, accent-free words of a name, without legal-form and filler words.
+     */
+    static String[] words(String name) {
+        if (name == null) {
+            return new String[0];
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : NON_WORD.split(normalized)) {
+            if (word.length() >= 2 && !NAME_STOP_WORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words.toArray(String[]::new);
+    }
+
+    /**
+     * An open invoice and the part of its balance not yet reserved by a statement line.
+     */
+    static final class Entry {
+        private final UUID id;
+        private final String invoiceNumber;
+        private final String customerName;
+        private final String currency;
+        private final long balanceCents;
+        private final String[] nameWords;
+        private long remainingCents;
+
+        private Entry(UUID id, String invoiceNumber, String customerName, String currency,
+                      long balanceCents, String[] nameWords) {
+            this.id = id;
+            this.invoiceNumber = invoiceNumber;
+            this.customerName = customerName;
+            this.currency = currency;
+            this.balanceCents = balanceCents;
+            this.nameWords = nameWords;
+            this.remainingCents = balanceCents;
+        }
+
+        UUID id() {
+            return id;
+        }
+
+        String invoiceNumber() {
+            return invoiceNumber;
+        }
+
+        String customerName() {
+            return customerName;
+        }
+
+        String currency() {
+            return currency;
+        }
+
+        String[] nameWords() {
+            return nameWords;
+        }
+
+        long remainingCents() {
+            return remainingCents;
+        }
+    }
+
+    private static final class Bucket {
+        private final List<Entry> entries = new ArrayList<>(1);
+        private int reserved;
+    }
+}
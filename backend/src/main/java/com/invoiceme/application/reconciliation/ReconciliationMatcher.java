@@ -0,0 +1,196 @@
+package com.invoiceme.application.reconciliation;
+
+import com.invoiceme.application.reconciliation.OpenInvoiceIndex.Entry;
+import com.invoiceme.application.reconciliation.dto.MatchCandidateResponse;
+import com.invoiceme.application.reconciliation.dto.StatementLineResponse;
+import com.invoiceme.domain.shared.Money;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Proposes invoices for statement lines, strongest evidence first.
+ *
+ * A line is matched by reference first (an invoice number or ID in the remittance text),
+ * then by an open balance equal to the amount, ranked by how well the payer name matches
+ * the customer. Only if neither finds anything are invoices of similarly named customers
+ * ranked by name and amount closeness. When one candidate is unambiguous, its balance is
+ * reserved so later lines in the same statement are not matched to it again.
+ *
+ * Every step is a hash lookup plus a bounded scan, so the cost per line does not grow
+ * with the number of open invoices.
+ */
+public class ReconciliationMatcher {
+
+    static final int MAX_CANDIDATES = 5;
+    // Live invoices scanned per amount; busy amounts fall back to the payer's name
+    static final int AMOUNT_SCAN_LIMIT = 256;
+    static final int NAME_SCAN_LIMIT = 2_000;
+    static final double MIN_FUZZY_SCORE = 0.4;
+
+    private static final Comparator<Candidate> BY_SCORE = Comparator
+            .comparingDouble(Candidate::score).reversed()
+            .thenComparing(candidate -> candidate.entry().id());
+
+    private final OpenInvoiceIndex index;
+
+    public ReconciliationMatcher(OpenInvoiceIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Matches one statement line against the open invoices.
+     *
+     * @param line Statement line
+     * @return The line with its status and up to {@value #MAX_CANDIDATES} ranked candidates
+     */
+    public StatementLineResponse match(StatementLine line) {
+        long cents = Money.of(line.amount()).cents();
+        String[] payerWords = OpenInvoiceIndex.words(line.counterpartyName());
+
+        List<Candidate> candidates = byReference(line, cents);
+        boolean confident = candidates.size() == 1;
+        if (candidates.isEmpty()) {
+            candidates = byAmount(line, cents, payerWords);
+            confident = candidates.size() == 1 || (candidates.size() > 1
+                    && candidates.get(0).score() - candidates.get(1).score() >= 0.1);
+        }
+        if (candidates.isEmpty()) {
+            candidates = fuzzy(line, cents, payerWords);
+            confident = false;
+        }
+
+        List<MatchCandidateResponse> responses = candidates.stream()
+                .limit(MAX_CANDIDATES)
+                .map(this::toResponse)
+                .toList();
+        ReconciliationStatus status;
+        if (confident) {
+            Candidate top = candidates.get(0);
+            index.reserve(top.entry(), top.proposedCents());
+            status = ReconciliationStatus.MATCHED;
+        } else {
+            status = candidates.isEmpty() ? ReconciliationStatus.UNMATCHED : ReconciliationStatus.AMBIGUOUS;
+        }
+        return new StatementLineResponse(line.lineNumber(), line.bookingDate(), line.amount(), line.currency(),
+                line.reference(), line.counterpartyName(), status, responses);
+    }
+
+    private List<Candidate> byReference(StatementLine line, long cents) {
+        List<Candidate> candidates = new ArrayList<>(1);
+        for (Entry entry : index.findByReference(line.reference())) {
+            if (!sameCurrency(line, entry)) {
+                continue;
+            }
+            if (entry.remainingCents() == cents) {
+                candidates.add(new Candidate(entry, MatchType.REFERENCE_AND_AMOUNT, 1.0, cents));
+            } else {
+                candidates.add(new Candidate(entry, MatchType.REFERENCE, 0.9, Math.min(cents, entry.remainingCents())));
+            }
+        }
+        candidates.sort(BY_SCORE);
+        return candidates;
+    }
+
+    private List<Candidate> byAmount(StatementLine line, long cents, String[] payerWords) {
+        List<Candidate> candidates = new ArrayList<>();
+        Set<Entry> seen = new HashSet<>();
+        int scanned = 0;
+        for (Entry entry : index.findByAmount(cents)) {
+            if (entry.remainingCents() != cents || !sameCurrency(line, entry)) {
+                continue;
+            }
+            if (++scanned > AMOUNT_SCAN_LIMIT) {
+                break;
+            }
+            seen.add(entry);
+            candidates.add(amountCandidate(entry, cents, payerWords));
+        }
+        if (scanned > AMOUNT_SCAN_LIMIT) {
+            // Too many invoices share this amount to rank them all; add the payer's own invoices
+            forEachByName(payerWords, entry -> {
+                if (entry.remainingCents() == cents && sameCurrency(line, entry) && seen.add(entry)) {
+                    candidates.add(amountCandidate(entry, cents, payerWords));
+                }
+            });
+        }
+        candidates.sort(BY_SCORE);
+        return candidates;
+    }
+
+    private Candidate amountCandidate(Entry entry, long cents, String[] payerWords) {
+        return new Candidate(entry, MatchType.AMOUNT, 0.6 + 0.3 * similarity(payerWords, entry.nameWords()), cents);
+    }
+
+    private List<Candidate> fuzzy(StatementLine line, long cents, String[] payerWords) {
+        List<Candidate> candidates = new ArrayList<>();
+        Set<Entry> seen = new HashSet<>();
+        forEachByName(payerWords, entry -> {
+            if (entry.remainingCents() <= 0 || !sameCurrency(line, entry) || !seen.add(entry)) {
+                return;
+            }
+            double closeness = (double) Math.min(cents, entry.remainingCents()) / Math.max(cents, entry.remainingCents());
+            double score = 0.5 * similarity(payerWords, entry.nameWords()) + 0.4 * closeness;
+            if (score >= MIN_FUZZY_SCORE) {
+                candidates.add(new Candidate(entry, MatchType.FUZZY, score, Math.min(cents, entry.remainingCents())));
+            }
+        });
+        candidates.sort(BY_SCORE);
+        return candidates;
+    }
+
+    private void forEachByName(String[] payerWords, Consumer<Entry> action) {
+        int scanned = 0;
+        for (List<Entry> posting : index.findByName(payerWords)) {
+            for (Entry entry : posting) {
+                if (++scanned > NAME_SCAN_LIMIT) {
+                    return;
+                }
+                action.accept(entry);
+            }
+        }
+    }
+
+    private static boolean sameCurrency(StatementLine line, Entry entry) {
+        return line.currency() == null || line.currency().equalsIgnoreCase(entry.currency());
+    }
+
+    /**
+     * Jaccard similarity of two word sets (0 when either is empty).
+     */
+    static double similarity(String[] a, String[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return 0;
+        }
+        int common = 0;
+        for (String x : a) {
+            for (String y : b) {
+                if (x.equals(y)) {
+                    common++;
+                    break;
+                }
+            }
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    private MatchCandidateResponse toResponse(Candidate candidate) {
+        Entry entry = candidate.entry();
+        return new MatchCandidateResponse(
+                entry.id(),
+                entry.invoiceNumber(),
+                entry.customerName(),
+                BigDecimal.valueOf(entry.remainingCents(), 2),
+                candidate.type(),
+                Math.round(candidate.score() * 100) / 100.0,
+                BigDecimal.valueOf(candidate.proposedCents(), 2));
+    }
+
+    private record Candidate(Entry entry, MatchType type, double score, long proposedCents) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.invoiceme.application.reconciliation;
+
+import com.invoiceme.application.payment.PaymentCommandService;
+import com.invoiceme.application.payment.dto.PaymentRequest;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import com.invoiceme.application.reconciliation.dto.ApplyMatchesRequest;
+import com.invoiceme.application.reconciliation.dto.ApplyMatchesResponse;
+import com.invoiceme.application.reconciliation.dto.FailedMatchResponse;
+import com.invoiceme.application.reconciliation.dto.ReconciliationResponse;
+import com.invoiceme.application.reconciliation.dto.StatementLineResponse;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Reconciles bank statements against open invoices.
+ *
+ * Proposing matches is read-only: the open invoices are streamed into an
+ * {@link OpenInvoiceIndex}, then the statement is read line by line and each line is
+ * matched as it arrives. Nothing is recorded until the caller applies the matches it
+ * accepts, which go through {@link PaymentCommandService} one payment at a time.
+ */
+@Service
+@Slf4j
+public class ReconciliationService {
+
+    private static final Set<InvoiceStatus> OPEN_STATUSES = EnumSet.of(InvoiceStatus.SENT, InvoiceStatus.OVERDUE);
+
+    private final InvoiceRepository invoiceRepository;
+    private final PaymentCommandService paymentCommandService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ReconciliationService(
+            InvoiceRepository invoiceRepository,
+            PaymentCommandService paymentCommandService,
+            PlatformTransactionManager transactionManager) {
+        this.invoiceRepository = invoiceRepository;
+        this.paymentCommandService = paymentCommandService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Proposes invoice matches for every credit line of a statement.
+     * The database is only read while the index is built, not while the statement is parsed.
+     *
+     * @param format Statement format
+     * @param statement Statement content
+     * @return Lines with their status and ranked candidates
+     * @throws IOException if reading the statement fails
+     * @throws IllegalArgumentException if the statement is malformed
+     */
+    public ReconciliationResponse propose(StatementFormat format, InputStream statement) throws IOException {
+        long start = System.nanoTime();
+        OpenInvoiceIndex index = loadOpenInvoices();
+        long indexedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        ReconciliationMatcher matcher = new ReconciliationMatcher(index);
+        List<StatementLineResponse> lines = new ArrayList<>();
+        int[] counts = new int[ReconciliationStatus.values().length];
+        try (StatementReader reader = StatementReader.open(format, statement)) {
+            StatementLine line;
+            while ((line = reader.next()) != null) {
+                StatementLineResponse matched = matcher.match(line);
+                counts[matched.status().ordinal()]++;
+                lines.add(matched);
+            }
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Reconciled {} statement lines against {} open invoices in {} ms (index {} ms): {} matched, {} ambiguous, {} unmatched",
+                lines.size(), index.size(), elapsedMillis, indexedMillis,
+                counts[ReconciliationStatus.MATCHED.ordinal()],
+                counts[ReconciliationStatus.AMBIGUOUS.ordinal()],
+                counts[ReconciliationStatus.UNMATCHED.ordinal()]);
+        return new ReconciliationResponse(lines.size(),
+                counts[ReconciliationStatus.MATCHED.ordinal()],
+                counts[ReconciliationStatus.AMBIGUOUS.ordinal()],
+                counts[ReconciliationStatus.UNMATCHED.ordinal()],
+                index.size(), elapsedMillis, lines);
+    }
+
+    /**
+     * Records accepted matches as payments. Each match is its own transaction, so a match
+     * whose invoice changed since the proposal (paid in the meantime, for example) is
+     * reported as failed without affecting the others. So is a match whose write failed in
+     * the database (a lock timeout or deadlock with a concurrent payment, for example); it
+     * can be applied again.
+     *
+     * @param request Accepted matches
+     * @return Recorded payments and rejected matches
+     */
+    public ApplyMatchesResponse apply(ApplyMatchesRequest request) {
+        List<PaymentResponse> applied = new ArrayList<>();
+        List<FailedMatchResponse> failed = new ArrayList<>();
+        for (PaymentRequest match : request.matches()) {
+            try {
+                applied.add(paymentCommandService.recordPayment(match));
+            } catch (IllegalArgumentException | IllegalStateException | EntityNotFoundException e) {
+                failed.add(new FailedMatchResponse(match.invoiceId(), match.amount(), e.getMessage()));
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Could not record statement match for invoice {}", match.invoiceId(), e);
+                failed.add(new FailedMatchResponse(match.invoiceId(), match.amount(),
+                        "Payment could not be recorded, apply the match again"));
+            }
+        }
+        log.info("Applied {} statement matches, {} rejected", applied.size(), failed.size());
+        return new ApplyMatchesResponse(applied, failed);
+    }
+
+    private OpenInvoiceIndex loadOpenInvoices() {
+        return readOnlyTransaction.execute(status -> {
+            OpenInvoiceIndex index = new OpenInvoiceIndex();
+            try (Stream<InvoiceRepository.OpenInvoiceRow> rows = invoiceRepository.streamOpenInvoices(OPEN_STATUSES)) {
+                rows.forEach(row -> index.add(row.getId(), row.getInvoiceNumber(), row.getCustomerName(),
+                        row.getCurrency(), row.getBalance()));
+            }
+            return index;
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.invoiceme.application.reconciliation;
+
+/**
+ * Outcome of matching one statement line.
+ */
+public enum ReconciliationStatus {
+    /** One invoice matches unambiguously; its balance is reserved for this line. */
+    MATCHED,
+    /** Candidates were found but none is certain enough to pick automatically. */
+    AMBIGUOUS,
+    /** No candidate was found. */
+    UNMATCHED
+}
@@ -0,0 +1,11 @@
+package com.invoiceme.application.reconciliation;
+
+/**
+ * Bank statement formats accepted by reconciliation.
+ */
+public enum StatementFormat {
+    /** Delimited text with a header row; comma or semicolon separated. */
+    CSV,
+    /** ISO 20022 bank-to-customer statement (camt.053), any schema version. */
+    CAMT053
+}
@@ -0,0 +1,24 @@
+package com.invoiceme.application.reconciliation;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One incoming payment read from a bank statement.
+ *
+ * @param lineNumber Position in the statement: the CSV row, or the entry number in CAMT.053
+ * @param bookingDate Date the bank booked the payment (null if the statement has none)
+ * @param amount Credited amount (always positive)
+ * @param currency ISO 4217 currency code (null if the statement has none)
+ * @param reference Remittance information as sent by the payer
+ * @param counterpartyName Name of the payer
+ */
+public record StatementLine(
+        int lineNumber,
+        LocalDate bookingDate,
+        BigDecimal amount,
+        String currency,
+        String reference,
+        String counterpartyName
+) {
+}
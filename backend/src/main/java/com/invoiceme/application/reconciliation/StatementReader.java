@@ -0,0 +1,397 @@
+package com.invoiceme.application.reconciliation;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads credit lines from a bank statement one at a time.
+ * Only the current line (or CAMT.053 entry) is held in memory, so statements of any size
+ * are read in constant memory. Debits are skipped: only incoming payments can settle invoices.
+ */
+public abstract class StatementReader implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Opens a reader for the given format.
+     *
+     * @param format Statement format
+     * @param in Statement content (not closed by the reader)
+     * @return Reader positioned before the first line
+     * @throws IOException if reading the start of the statement fails
+     * @throws IllegalArgumentException if the statement is malformed
+     */
+    public static StatementReader open(StatementFormat format, InputStream in) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvReader(in);
+            case CAMT053 -> new Camt053Reader(in);
+        };
+    }
+
+    /**
+     * Reads the next credit line.
+     *
+     * @return The next line, or null at the end of the statement
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if the statement is malformed
+     */
+    public abstract StatementLine next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * CSV with a header row naming the columns (case-insensitive): date, amount, and
+     * optionally currency, reference and name. The delimiter (comma or semicolon) is taken
+     * from the header. Fields may be quoted; quoted fields cannot span lines.
+     */
+    private static final class CsvReader extends StatementReader {
+
+        private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+                DateTimeFormatter.ISO_LOCAL_DATE,
+                DateTimeFormatter.ofPattern("dd.MM.yyyy"),
+                DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+
+        private final BufferedReader reader;
+        private final char delimiter;
+        private final int dateColumn;
+        private final int amountColumn;
+        private final int currencyColumn;
+        private final int referenceColumn;
+        private final int nameColumn;
+        private int lineNumber = 1;
+
+        private CsvReader(InputStream in) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("Statement is empty");
+            }
+            if (header.startsWith("\uFEFF")) {
+                header = header.substring(1);
+            }
+            this.delimiter = header.indexOf(';') >= 0 && header.indexOf(',') < 0 ? ';' : ',';
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names = split(header, delimiter, 1);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            this.dateColumn = column(columns, true, "date", "booking_date", "booking date");
+            this.amountColumn = column(columns, true, "amount");
+            this.currencyColumn = column(columns, false, "currency");
+            this.referenceColumn = column(columns, false, "reference", "remittance", "description");
+            this.nameColumn = column(columns, false, "name", "counterparty", "payer");
+        }
+
+        private static int column(Map<String, Integer> columns, boolean required, String... names) {
+            for (String name : names) {
+                Integer index = columns.get(name);
+                if (index != null) {
+                    return index;
+                }
+            }
+            if (required) {
+                throw new IllegalArgumentException("Statement header has no '" + names[0] + "' column");
+            }
+            return -1;
+        }
+
+        @Override
+        public StatementLine next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = split(line, delimiter, lineNumber);
+                BigDecimal amount = parseAmount(field(fields, amountColumn), lineNumber);
+                if (amount.signum() <= 0) {
+                    continue;
+                }
+                return new StatementLine(
+                        lineNumber,
+                        parseDate(field(fields, dateColumn)),
+                        amount,
+                        blankToNull(field(fields, currencyColumn)),
+                        blankToNull(field(fields, referenceColumn)),
+                        blankToNull(field(fields, nameColumn)));
+            }
+            return null;
+        }
+
+        /**
+         * Either separator may be the decimal one, the other grouping thousands. When both appear
+         * the last is the decimal separator, and a separator that appears more than once groups
+         * thousands. A single separator followed by exactly three digits ("1,234" or "1.234")
+         * reads as a thousand in one convention and as a fraction in the other, so it is rejected.
+         */
+        private static BigDecimal parseAmount(String value, int lineNumber) {
+            String text = value == null ? "" : value.replace(" ", "").replace("\u00a0", "");
+            int comma = text.lastIndexOf(',');
+            int dot = text.lastIndexOf('.');
+            char decimal;
+            if (comma >= 0 && dot >= 0) {
+                decimal = comma > dot ? ',' : '.';
+            } else {
+                int last = Math.max(comma, dot);
+                char separator = comma >= 0 ? ',' : '.';
+                boolean once = last >= 0 && text.indexOf(separator) == last;
+                if (once && text.length() - last - 1 == 3) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": ambiguous amount '" + value
+                            + "', write it with decimals (such as 1,234.00 or 1.234,00)");
+                }
+                decimal = once ? separator : separator == ',' ? '.' : ',';
+            }
+            text = text.replace(decimal == ',' ? "." : ",", "").replace(decimal, '.');
+            try {
+                return new BigDecimal(text);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": invalid amount '" + value + "'");
+            }
+        }
+
+        private static String field(List<String> fields, int column) {
+            return column >= 0 && column < fields.size() ? fields.get(column) : null;
+        }
+
+        private LocalDate parseDate(String value) {
+            String text = blankToNull(value);
+            if (text == null) {
+                return null;
+            }
+            for (DateTimeFormatter format : DATE_FORMATS) {
+                try {
+                    return LocalDate.parse(text, format);
+                } catch (DateTimeParseException e) {
+                    // try the next format
+                }
+            }
+            throw new IllegalArgumentException("Line " + lineNumber + ": invalid date '" + value + "'");
+        }
+
+        private static List<String> split(String line, char delimiter, int lineNumber) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == delimiter) {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": unterminated quoted field");
+            }
+            fields.add(current.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * camt.053 read with StAX. Element names are matched without namespace, so every schema
+     * version is accepted. Each credit entry (Ntry) becomes one line; a batch entry whose
+     * transactions (TxDtls) carry their own amounts becomes one line per transaction.
+     * DTDs and external entities are disabled.
+     */
+    private static final class Camt053Reader extends StatementReader {
+
+        private static final XMLInputFactory XML_INPUT_FACTORY = createFactory();
+
+        private final XMLStreamReader reader;
+        private final Deque<String> path = new ArrayDeque<>();
+        private final Deque<StatementLine> pending = new ArrayDeque<>();
+        private int entryNumber;
+
+        private Entry entry;
+        private Transaction transaction;
+
+        private static XMLInputFactory createFactory() {
+            XMLInputFactory factory = XMLInputFactory.newFactory();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            return factory;
+        }
+
+        private Camt053Reader(InputStream in) {
+            try {
+                this.reader = XML_INPUT_FACTORY.createXMLStreamReader(in, StandardCharsets.UTF_8.name());
+            } catch (XMLStreamException e) {
+                throw new IllegalArgumentException("Invalid CAMT.053 statement: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public StatementLine next() {
+            try {
+                while (pending.isEmpty() && reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        startElement(reader.getLocalName());
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        endElement(path.pop());
+                    }
+                }
+            } catch (XMLStreamException e) {
+                throw new IllegalArgumentException("Invalid CAMT.053 statement: " + e.getMessage(), e);
+            }
+            return pending.poll();
+        }
+
+        private void startElement(String name) throws XMLStreamException {
+            String parent = path.peek();
+            if ("Ntry".equals(name)) {
+                entryNumber++;
+                entry = new Entry();
+            } else if (entry != null && "TxDtls".equals(name)) {
+                transaction = new Transaction();
+            } else if (entry != null && "Amt".equals(name)) {
+                // Entry amount is Ntry/Amt; a transaction's is TxDtls/Amt or TxDtls/AmtDtls/TxAmt/Amt
+                String currency = reader.getAttributeValue(null, "Ccy");
+                BigDecimal amount = parseAmount(reader.getElementText());
+                if (transaction != null && ("TxDtls".equals(parent) || "TxAmt".equals(parent))) {
+                    transaction.amount = amount;
+                    transaction.currency = currency;
+                } else if (transaction == null && "Ntry".equals(parent)) {
+                    entry.amount = amount;
+                    entry.currency = currency;
+                }
+                return;
+            } else if (entry != null && transaction == null && "CdtDbtInd".equals(name) && "Ntry".equals(parent)) {
+                entry.credit = "CRDT".equals(reader.getElementText().trim());
+                return;
+            } else if (entry != null && transaction == null && ("Dt".equals(name) || "DtTm".equals(name))
+                    && "BookgDt".equals(parent)) {
+                String text = reader.getElementText().trim();
+                entry.bookingDate = parseDate(text.length() > 10 ? text.substring(0, 10) : text);
+                return;
+            } else if (transaction != null && ("Ustrd".equals(name) || ("Ref".equals(name) && "CdtrRefInf".equals(parent)))) {
+                transaction.references.add(reader.getElementText().trim());
+                return;
+            } else if (transaction != null && "Nm".equals(name) && transaction.name == null
+                    && (path.contains("Dbtr") || path.contains("UltmtDbtr"))) {
+                transaction.name = reader.getElementText().trim();
+                return;
+            }
+            path.push(name);
+        }
+
+        private void endElement(String name) {
+            if ("TxDtls".equals(name) && transaction != null) {
+                entry.transactions.add(transaction);
+                transaction = null;
+            } else if ("Ntry".equals(name) && entry != null) {
+                if (entry.credit) {
+                    emit(entry);
+                }
+                entry = null;
+            }
+        }
+
+        private void emit(Entry entry) {
+            boolean split = entry.transactions.size() > 1
+                    && entry.transactions.stream().allMatch(tx -> tx.amount != null);
+            if (split) {
+                for (Transaction tx : entry.transactions) {
+                    pending.add(new StatementLine(entryNumber, entry.bookingDate, tx.amount,
+                            tx.currency != null ? tx.currency : entry.currency,
+                            blankToNull(String.join(" ", tx.references)), tx.name));
+                }
+                return;
+            }
+            if (entry.amount == null) {
+                throw new IllegalArgumentException("Entry " + entryNumber + ": missing amount");
+            }
+            List<String> references = new ArrayList<>();
+            String name = null;
+            for (Transaction tx : entry.transactions) {
+                references.addAll(tx.references);
+                if (name == null) {
+                    name = tx.name;
+                }
+            }
+            pending.add(new StatementLine(entryNumber, entry.bookingDate, entry.amount, entry.currency,
+                    blankToNull(String.join(" ", references)), name));
+        }
+
+        /**
+         * ISO 20022 amounts always use a decimal point and no grouping.
+         */
+        private BigDecimal parseAmount(String value) {
+            try {
+                return new BigDecimal(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Entry " + entryNumber + ": invalid amount '" + value + "'");
+            }
+        }
+
+        private LocalDate parseDate(String text) {
+            try {
+                return LocalDate.parse(text);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Entry " + entryNumber + ": invalid booking date '" + text + "'");
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+        }
+
+        private static final class Entry {
+            private BigDecimal amount;
+            private String currency;
+            private boolean credit;
+            private LocalDate bookingDate;
+            private final List<Transaction> transactions = new ArrayList<>();
+        }
+
+        private static final class Transaction {
+            private BigDecimal amount;
+            private String currency;
+            private String name;
+            private final List<String> references = new ArrayList<>();
+        }
+    }
+}
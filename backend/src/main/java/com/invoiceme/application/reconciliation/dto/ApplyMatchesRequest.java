@@ -0,0 +1,21 @@
+package com.invoiceme.application.reconciliation.dto;
+
+import com.invoiceme.application.payment.dto.PaymentRequest;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Accepted statement matches to record as payments")
+public record ApplyMatchesRequest(
+        @NotEmpty(message = "At least one match is required")
+        @Size(max = ApplyMatchesRequest.MAX_MATCHES, message = "At most " + ApplyMatchesRequest.MAX_MATCHES + " matches per request")
+        @Valid
+        @Schema(description = "One payment per accepted match: invoice, amount and booking date")
+        List<PaymentRequest> matches
+) {
+
+    public static final int MAX_MATCHES = 10_000;
+}
@@ -0,0 +1,16 @@
+package com.invoiceme.application.reconciliation.dto;
+
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Result of recording accepted statement matches")
+public record ApplyMatchesResponse(
+        @Schema(description = "Payments recorded")
+        List<PaymentResponse> applied,
+
+        @Schema(description = "Matches rejected, for example because the invoice was paid in the meantime")
+        List<FailedMatchResponse> failed
+) {
+}
@@ -0,0 +1,19 @@
+package com.invoiceme.application.reconciliation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Schema(description = "Accepted match that could not be recorded")
+public record FailedMatchResponse(
+        @Schema(description = "Invoice ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID invoiceId,
+
+        @Schema(description = "Payment amount", example = "500.00")
+        BigDecimal amount,
+
+        @Schema(description = "Reason", example = "Payment amount (500.00) cannot exceed invoice balance (200.00)")
+        String message
+) {
+}
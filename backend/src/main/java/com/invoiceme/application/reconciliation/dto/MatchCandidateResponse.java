@@ -0,0 +1,32 @@
+package com.invoiceme.application.reconciliation.dto;
+
+import com.invoiceme.application.reconciliation.MatchType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Schema(description = "Invoice proposed for a statement line")
+public record MatchCandidateResponse(
+        @Schema(description = "Invoice ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID invoiceId,
+
+        @Schema(description = "Invoice number", example = "INV-550E8400")
+        String invoiceNumber,
+
+        @Schema(description = "Customer name", example = "John Doe")
+        String customerName,
+
+        @Schema(description = "Open balance not yet matched by earlier lines of the statement", example = "500.00")
+        BigDecimal balance,
+
+        @Schema(description = "Evidence for the match", example = "REFERENCE_AND_AMOUNT")
+        MatchType matchType,
+
+        @Schema(description = "Match score between 0 and 1", example = "1.0")
+        double score,
+
+        @Schema(description = "Amount to apply to this invoice if the match is accepted", example = "500.00")
+        BigDecimal proposedAmount
+) {
+}
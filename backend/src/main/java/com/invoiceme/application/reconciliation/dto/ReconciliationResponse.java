@@ -0,0 +1,30 @@
+package com.invoiceme.application.reconciliation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Proposed matches for a bank statement")
+public record ReconciliationResponse(
+        @Schema(description = "Credit lines read from the statement", example = "120")
+        int linesRead,
+
+        @Schema(description = "Lines with one unambiguous match", example = "110")
+        int matched,
+
+        @Schema(description = "Lines with candidates to review", example = "7")
+        int ambiguous,
+
+        @Schema(description = "Lines without candidates", example = "3")
+        int unmatched,
+
+        @Schema(description = "Open invoices matched against", example = "5000")
+        int openInvoices,
+
+        @Schema(description = "Time to index the open invoices and match the statement, in milliseconds", example = "850")
+        long elapsedMillis,
+
+        @Schema(description = "Statement lines in file order")
+        List<StatementLineResponse> lines
+) {
+}
@@ -0,0 +1,36 @@
+package com.invoiceme.application.reconciliation.dto;
+
+import com.invoiceme.application.reconciliation.ReconciliationStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Statement line with its proposed invoice matches")
+public record StatementLineResponse(
+        @Schema(description = "CSV row or CAMT.053 entry number", example = "12")
+        int lineNumber,
+
+        @Schema(description = "Booking date", example = "2024-01-15")
+        LocalDate bookingDate,
+
+        @Schema(description = "Credited amount", example = "500.00")
+        BigDecimal amount,
+
+        @Schema(description = "ISO 4217 currency code", example = "USD")
+        String currency,
+
+        @Schema(description = "Remittance information", example = "INV-550E8400")
+        String reference,
+
+        @Schema(description = "Payer name", example = "John Doe")
+        String counterpartyName,
+
+        @Schema(description = "Match outcome", example = "MATCHED")
+        ReconciliationStatus status,
+
+        @Schema(description = "Candidate invoices, best first; a MATCHED line's first candidate is the match")
+        List<MatchCandidateResponse> candidates
+) {
+}
@@ -0,0 +1,78 @@
+package com.invoiceme.application.recurring;
+
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import com.invoiceme.application.pricing.RateSnapshot;
+import com.invoiceme.application.pricing.RateTables;
+import com.invoiceme.application.recurring.dto.RecurringInvoiceRequest;
+import com.invoiceme.application.recurring.dto.RecurringInvoiceResponse;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import com.invoiceme.domain.recurring.RecurringLineItem;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceTemplateRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RecurringInvoiceCommandService {
+
+    private final RecurringInvoiceTemplateRepository templateRepository;
+    private final CustomerRepository customerRepository;
+    private final RecurringInvoiceMapper recurringInvoiceMapper;
+    private final RateTables rateTables;
+
+    /**
+     * Creates a recurring invoice template. The first invoice is generated by the
+     * scheduler on the start date.
+     * 
+     * @param request Template request with customer, lines and schedule
+     * @return RecurringInvoiceResponse with created template data
+     * @throws EntityNotFoundException if customer not found
+     * @throws IllegalArgumentException if the schedule, currency or a tax code is invalid
+     */
+    public RecurringInvoiceResponse create(RecurringInvoiceRequest request) {
+        Customer customer = customerRepository.findById(request.customerId())
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found with id: " + request.customerId()));
+
+        // Tax codes are resolved again on every run; checking them now catches typos up front
+        RateSnapshot rates = rateTables.current();
+        List<RecurringLineItem> lineItems = new ArrayList<>(request.lineItems().size());
+        for (LineItemRequest lineItemRequest : request.lineItems()) {
+            rates.taxRate(lineItemRequest.taxCode());
+            lineItems.add(new RecurringLineItem(
+                    lineItemRequest.description(),
+                    lineItemRequest.quantity(),
+                    lineItemRequest.unitPrice(),
+                    lineItemRequest.taxCode()
+            ));
+        }
+
+        String currency = request.currency() != null ? request.currency() : rates.baseCurrency();
+        RecurringInvoiceTemplate template = new RecurringInvoiceTemplate(
+                customer, currency, request.intervalMonths(), request.startDate(), request.endDate(), lineItems);
+
+        return recurringInvoiceMapper.toResponse(templateRepository.save(template));
+    }
+
+    /**
+     * Stops generating invoices from a template. Invoices already generated are kept.
+     * 
+     * @param id Template ID
+     * @return RecurringInvoiceResponse with updated template data
+     * @throws EntityNotFoundException if template not found
+     */
+    public RecurringInvoiceResponse deactivate(UUID id) {
+        RecurringInvoiceTemplate template = templateRepository.findByIdWithCustomer(id)
+                .orElseThrow(() -> new EntityNotFoundException("Recurring invoice template not found with id: " + id));
+        template.deactivate();
+        return recurringInvoiceMapper.toResponse(template);
+    }
+}
@@ -0,0 +1,31 @@
+package com.invoiceme.application.recurring;
+
+import com.invoiceme.application.organization.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Daily generation of recurring invoices for all organizations. Every instance runs it;
+ * workers on all instances claim disjoint chunks, so adding instances splits the run.
+ */
+@Component
+public class RecurringInvoiceGenerationJob {
+
+    private final RecurringInvoiceGenerator generator;
+    private final int workerThreads;
+
+    public RecurringInvoiceGenerationJob(
+            RecurringInvoiceGenerator generator,
+            @Value("${app.recurring.worker-threads:2}") int workerThreads) {
+        this.generator = generator;
+        this.workerThreads = workerThreads;
+    }
+
+    @Scheduled(cron = "${app.recurring.cron:0 0 1 * * *}")
+    public void run() {
+        TenantContext.runAs(TenantContext.ALL_ORGANIZATIONS, () -> generator.run(LocalDate.now(), workerThreads));
+    }
+}
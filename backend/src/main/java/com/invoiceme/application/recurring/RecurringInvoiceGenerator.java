@@ -0,0 +1,252 @@
+package com.invoiceme.application.recurring;
+
+import com.invoiceme.application.invoice.InvoiceCommandService;
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.application.recurring.dto.RecurringInvoiceRunResponse;
+import com.invoiceme.domain.recurring.RecurringInvoiceRun;
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import com.invoiceme.domain.recurring.RecurringRunStatus;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceRunOrganizationRepository;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceRunRepository;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceTemplateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates invoices for recurring templates that are due.
+ *
+ * The template table is the work queue. Each worker repeatedly claims a chunk of due
+ * templates with {@code FOR UPDATE SKIP LOCKED}, creates their invoices through
+ * {@link InvoiceCommandService}, advances each template to its next period and adds the
+ * chunk to the run counters (in total and per organization), all in one transaction. A template is therefore billed for a
+ * period exactly when its next run date moves past it: concurrent workers (on this or any
+ * other instance) skip rows another worker holds, and a crash rolls back the open chunk,
+ * which the next run picks up again. Committed chunks are the checkpoint; nothing else
+ * needs to be replayed. A unique (template, billing period) key backs this up: an index on
+ * invoices, or on PostgreSQL, where invoices are partitioned by year, the recurring_invoice_periods
+ * table, so a period generated again after a resume in the next year is still rejected.
+ *
+ * A template whose invoice cannot be created (for example, a tax code that was removed)
+ * fails its whole chunk. The chunk is then retried one template per transaction and the
+ * failing template is paused with the error, so it is not retried on every run.
+ */
+@Service
+@Slf4j
+public class RecurringInvoiceGenerator {
+
+    private final RecurringInvoiceTemplateRepository templateRepository;
+    private final RecurringInvoiceRunRepository runRepository;
+    private final RecurringInvoiceRunOrganizationRepository runOrganizationRepository;
+    private final InvoiceCommandService invoiceCommandService;
+    private final RecurringInvoiceMapper recurringInvoiceMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final boolean virtualThreads;
+
+    public RecurringInvoiceGenerator(
+            RecurringInvoiceTemplateRepository templateRepository,
+            RecurringInvoiceRunRepository runRepository,
+            RecurringInvoiceRunOrganizationRepository runOrganizationRepository,
+            InvoiceCommandService invoiceCommandService,
+            RecurringInvoiceMapper recurringInvoiceMapper,
+            TransactionTemplate transactionTemplate,
+            Environment environment,
+            @Value("${app.recurring.chunk-size:100}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than 0");
+        }
+        this.templateRepository = templateRepository;
+        this.runRepository = runRepository;
+        this.runOrganizationRepository = runOrganizationRepository;
+        this.invoiceCommandService = invoiceCommandService;
+        this.recurringInvoiceMapper = recurringInvoiceMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        // Workers mostly wait on the database, so they follow the request threads onto virtual threads
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    /**
+     * Generates all invoices due on or before the run date, resuming the run for that date
+     * if one was interrupted. Templates more than one period behind get one invoice per
+     * missed period.
+     *
+     * @param runDate Date to generate for
+     * @param workers Number of worker threads claiming chunks in parallel
+     * @return The run with its accumulated counters and throughput
+     * @throws IllegalArgumentException if workers is not positive
+     * @throws IllegalStateException if a worker fails (committed chunks are kept)
+     */
+    public RecurringInvoiceRunResponse run(LocalDate runDate, int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Workers must be greater than 0");
+        }
+        UUID runId = startOrResume(runDate);
+
+        long start = System.nanoTime();
+        AtomicInteger generated = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        // Workers act for the same organizations as the caller
+        UUID tenant = TenantContext.current();
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("recurring-invoice-");
+        executor.setVirtualThreads(virtualThreads);
+        List<Future<?>> futures = new ArrayList<>(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> TenantContext.runAs(tenant, () -> work(runId, runDate, generated, failed))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recurring invoice run for " + runDate + " was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Recurring invoice run for " + runDate + " failed; it resumes on the next run", e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+            executor.close();
+        }
+
+        // A repeated run that found nothing to do leaves the completed run and its throughput as they were
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        boolean processed = generated.get() + failed.get() > 0;
+        RecurringInvoiceRun run = transactionTemplate.execute(status -> {
+            if (processed) {
+                runRepository.addElapsed(runId, elapsedMillis);
+            }
+            RecurringInvoiceRun current = runRepository.findById(runId).orElseThrow();
+            if (processed || current.getStatus() == RecurringRunStatus.RUNNING) {
+                current.complete();
+            }
+            return current;
+        });
+        log.info("Recurring invoice run for {}: {} invoices generated, {} templates paused in {} ms ({} invoices/s, {} workers)",
+                runDate, generated.get(), failed.get(), elapsedMillis,
+                Math.round(generated.get() * 1000.0 / elapsedMillis), workers);
+        return recurringInvoiceMapper.toRunResponse(run);
+    }
+
+    private UUID startOrResume(LocalDate runDate) {
+        try {
+            return transactionTemplate.execute(status -> {
+                UUID runId = runRepository.findByRunDate(runDate)
+                        .map(run -> {
+                            if (run.getStatus() == RecurringRunStatus.RUNNING) {
+                                log.info("Resuming recurring invoice run for {} ({} invoices generated so far)",
+                                        runDate, run.getGeneratedCount());
+                            }
+                            return run.getId();
+                        })
+                        .orElseGet(() -> runRepository.saveAndFlush(new RecurringInvoiceRun(runDate)).getId());
+                // Also covers organizations created since an interrupted run started
+                runOrganizationRepository.createMissing(runId);
+                return runId;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance started the run for this date (or added its counters) at the same time; join it
+            return transactionTemplate.execute(status -> runRepository.findByRunDate(runDate).orElseThrow().getId());
+        }
+    }
+
+    /**
+     * Claims and processes chunks until no due template is left unclaimed.
+     */
+    private void work(UUID runId, LocalDate runDate, AtomicInteger generated, AtomicInteger failed) {
+        while (true) {
+            List<UUID> claimed = new ArrayList<>();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    templateRepository.claimDue(runDate, chunkSize).forEach(template -> claimed.add(template.getId()));
+                    if (!claimed.isEmpty()) {
+                        Map<UUID, Integer> perOrganization = generate(claimed);
+                        runRepository.recordChunk(runId, claimed.size(), 0);
+                        perOrganization.forEach((organizationId, count) ->
+                                recordOrganizationChunk(runId, organizationId, count, 0));
+                    }
+                });
+                generated.addAndGet(claimed.size());
+            } catch (RuntimeException e) {
+                if (claimed.isEmpty()) {
+                    throw e;
+                }
+                log.warn("Recurring invoice chunk of {} templates failed, retrying one at a time: {}",
+                        claimed.size(), e.getMessage());
+                for (UUID templateId : claimed) {
+                    processSingle(runId, runDate, templateId, generated, failed);
+                }
+            }
+            if (claimed.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private void processSingle(UUID runId, LocalDate runDate, UUID templateId,
+                               AtomicInteger generated, AtomicInteger failed) {
+        try {
+            Boolean done = transactionTemplate.execute(status -> {
+                if (templateRepository.claimDueById(templateId, runDate).isEmpty()) {
+                    return false;
+                }
+                Map<UUID, Integer> perOrganization = generate(List.of(templateId));
+                runRepository.recordChunk(runId, 1, 0);
+                perOrganization.forEach((organizationId, count) -> recordOrganizationChunk(runId, organizationId, count, 0));
+                return true;
+            });
+            if (Boolean.TRUE.equals(done)) {
+                generated.incrementAndGet();
+            }
+        } catch (IllegalArgumentException | IllegalStateException | DataIntegrityViolationException e) {
+            log.warn("Pausing recurring invoice template {}: {}", templateId, e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> {
+                templateRepository.claimDueById(templateId, runDate).ifPresent(template -> {
+                    template.pause(e.getMessage());
+                    runRepository.recordChunk(runId, 0, 1);
+                    recordOrganizationChunk(runId, template.getOrganizationId(), 0, 1);
+                    failed.incrementAndGet();
+                });
+            });
+        }
+    }
+
+    /**
+     * @return Invoices generated per organization
+     */
+    private Map<UUID, Integer> generate(List<UUID> templateIds) {
+        Map<UUID, Integer> perOrganization = new HashMap<>();
+        for (RecurringInvoiceTemplate template : templateRepository.findAllWithCustomerByIdIn(templateIds)) {
+            invoiceCommandService.createRecurringInvoice(template);
+            template.advance();
+            perOrganization.merge(template.getOrganizationId(), 1, Integer::sum);
+        }
+        return perOrganization;
+    }
+
+    /**
+     * Adds to an organization's counters. Called after the run's totals are updated, whose row
+     * lock orders concurrent chunks, so workers never lock organization rows in opposite orders.
+     */
+    private void recordOrganizationChunk(UUID runId, UUID organizationId, int generated, int failed) {
+        if (runOrganizationRepository.recordChunk(runId, organizationId, generated, failed) == 0) {
+            // Organization created after the run started
+            runOrganizationRepository.create(runId, organizationId, generated, failed);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.invoiceme.application.recurring;
+
+import com.invoiceme.application.recurring.dto.RecurringInvoiceResponse;
+import com.invoiceme.application.recurring.dto.RecurringInvoiceRunResponse;
+import com.invoiceme.application.recurring.dto.RecurringLineItemResponse;
+import com.invoiceme.domain.recurring.RecurringInvoiceRun;
+import com.invoiceme.domain.recurring.RecurringInvoiceRunOrganization;
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import com.invoiceme.domain.recurring.RecurringLineItem;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface RecurringInvoiceMapper {
+
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "customerName", source = "customer.name")
+    @Mapping(target = "startDate", source = "anchorDate")
+    RecurringInvoiceResponse toResponse(RecurringInvoiceTemplate template);
+
+    RecurringLineItemResponse toLineItemResponse(RecurringLineItem lineItem);
+
+    @Mapping(target = "status", expression = "java(run.getStatus().name())")
+    RecurringInvoiceRunResponse toRunResponse(RecurringInvoiceRun run);
+
+    @Mapping(target = "id", source = "run.id")
+    @Mapping(target = "runDate", source = "run.runDate")
+    @Mapping(target = "status", expression = "java(share.getRun().getStatus().name())")
+    @Mapping(target = "startedAt", source = "run.startedAt")
+    @Mapping(target = "finishedAt", source = "run.finishedAt")
+    RecurringInvoiceRunResponse toRunResponse(RecurringInvoiceRunOrganization share);
+}
@@ -0,0 +1,69 @@
+package com.invoiceme.application.recurring;
+
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.application.recurring.dto.RecurringInvoiceResponse;
+import com.invoiceme.application.recurring.dto.RecurringInvoiceRunResponse;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceRunOrganizationRepository;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceTemplateRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RecurringInvoiceQueryService {
+
+    private static final int MAX_RUNS = 100;
+
+    private final RecurringInvoiceTemplateRepository templateRepository;
+    private final RecurringInvoiceRunOrganizationRepository runOrganizationRepository;
+    private final RecurringInvoiceMapper recurringInvoiceMapper;
+
+    /**
+     * Gets a recurring invoice template by ID.
+     * 
+     * @param id Template ID
+     * @return RecurringInvoiceResponse
+     * @throws EntityNotFoundException if template not found
+     */
+    public RecurringInvoiceResponse getById(UUID id) {
+        return templateRepository.findByIdWithCustomer(id)
+                .map(recurringInvoiceMapper::toResponse)
+                .orElseThrow(() -> new EntityNotFoundException("Recurring invoice template not found with id: " + id));
+    }
+
+    /**
+     * Lists recurring invoice templates by next run date.
+     * 
+     * @param pageable Page request
+     * @return Page of templates
+     */
+    public Page<RecurringInvoiceResponse> getAll(Pageable pageable) {
+        return templateRepository.findAllWithCustomer(pageable).map(recurringInvoiceMapper::toResponse);
+    }
+
+    /**
+     * Lists the most recent generation runs with the current organization's share of them.
+     * 
+     * @param limit Maximum number of runs (capped at {@value #MAX_RUNS})
+     * @return Runs, most recent first
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public List<RecurringInvoiceRunResponse> getRecentRuns(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than 0");
+        }
+        return runOrganizationRepository.findRecent(
+                        TenantContext.currentOrganizationId(), PageRequest.of(0, Math.min(limit, MAX_RUNS))).stream()
+                .map(recurringInvoiceMapper::toRunResponse)
+                .toList();
+    }
+}
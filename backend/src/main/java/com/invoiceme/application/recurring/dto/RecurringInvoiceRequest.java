@@ -0,0 +1,42 @@
+package com.invoiceme.application.recurring.dto;
+
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Request to create a recurring invoice template")
+public record RecurringInvoiceRequest(
+        @NotNull(message = "Customer ID is required")
+        @Schema(description = "Customer ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID customerId,
+
+        @NotEmpty(message = "At least one line item is required")
+        @Valid
+        @Schema(description = "Lines copied onto every generated invoice")
+        List<LineItemRequest> lineItems,
+
+        @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a 3-letter ISO 4217 code")
+        @Schema(description = "ISO 4217 currency code; defaults to the base currency", example = "EUR")
+        String currency,
+
+        @NotNull(message = "Interval is required")
+        @Min(value = 1, message = "Interval must be at least 1 month")
+        @Schema(description = "Months between invoices (1 = monthly)", example = "1")
+        Integer intervalMonths,
+
+        @NotNull(message = "Start date is required")
+        @Schema(description = "Date of the first invoice; later invoices fall on the same day of the month", example = "2025-01-01")
+        LocalDate startDate,
+
+        @Schema(description = "Last date to bill on; omit for no end", example = "2025-12-31")
+        LocalDate endDate
+) {
+}
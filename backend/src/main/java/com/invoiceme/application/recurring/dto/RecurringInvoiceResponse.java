@@ -0,0 +1,54 @@
+package com.invoiceme.application.recurring.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Recurring invoice template")
+public record RecurringInvoiceResponse(
+        @Schema(description = "Template ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID id,
+
+        @Schema(description = "Customer ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID customerId,
+
+        @Schema(description = "Customer name", example = "John Doe")
+        String customerName,
+
+        @Schema(description = "ISO 4217 currency code", example = "USD")
+        String currency,
+
+        @Schema(description = "Months between invoices", example = "1")
+        Integer intervalMonths,
+
+        @Schema(description = "Date of the first invoice", example = "2025-01-01")
+        LocalDate startDate,
+
+        @Schema(description = "Date the next invoice will be generated", example = "2025-02-01")
+        LocalDate nextRunDate,
+
+        @Schema(description = "Last date to bill on (null for no end)")
+        LocalDate endDate,
+
+        @Schema(description = "Number of invoices generated so far", example = "1")
+        Integer periodsGenerated,
+
+        @Schema(description = "Whether invoices are still being generated")
+        boolean active,
+
+        @Schema(description = "Why generation was paused (null if it was not)")
+        String lastError,
+
+        @Schema(description = "Lines copied onto every generated invoice")
+        List<RecurringLineItemResponse> lineItems,
+
+        @Schema(description = "Creation timestamp")
+        LocalDateTime createdAt,
+
+        @Schema(description = "Last update timestamp")
+        LocalDateTime updatedAt
+) {
+}
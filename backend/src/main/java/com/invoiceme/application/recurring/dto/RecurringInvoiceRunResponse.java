@@ -0,0 +1,35 @@
+package com.invoiceme.application.recurring.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Progress and throughput of a recurring invoice run")
+public record RecurringInvoiceRunResponse(
+        @Schema(description = "Run ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID id,
+
+        @Schema(description = "Date templates were generated for", example = "2025-02-01")
+        LocalDate runDate,
+
+        @Schema(description = "Run status", example = "COMPLETED")
+        String status,
+
+        @Schema(description = "When the run started")
+        LocalDateTime startedAt,
+
+        @Schema(description = "When the run finished (null while running)")
+        LocalDateTime finishedAt,
+
+        @Schema(description = "Invoices generated", example = "1200")
+        Integer generatedCount,
+
+        @Schema(description = "Templates paused because generation failed", example = "0")
+        Integer failedCount,
+
+        @Schema(description = "Invoices generated per second of the run's wall-clock time", example = "850.5")
+        double invoicesPerSecond
+) {
+}
@@ -0,0 +1,21 @@
+package com.invoiceme.application.recurring.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Recurring template line")
+public record RecurringLineItemResponse(
+        @Schema(description = "Line item description", example = "Monthly Hosting")
+        String description,
+
+        @Schema(description = "Quantity", example = "1")
+        Integer quantity,
+
+        @Schema(description = "Unit price", example = "49.00")
+        BigDecimal unitPrice,
+
+        @Schema(description = "Tax code, resolved to a rate when each invoice is generated", example = "VAT_STANDARD")
+        String taxCode
+) {
+}
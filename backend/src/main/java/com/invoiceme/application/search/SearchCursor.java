@@ -0,0 +1,47 @@
+package com.invoiceme.application.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset pagination cursor for ranked search results.
+ * Results are ordered by rank descending, then id ascending, so the position
+ * after the last returned row is fully described by its (rank, id) pair.
+ */
+public record SearchCursor(double rank, UUID id) {
+
+    /**
+     * Cursor positioned before the first result. Every finite rank sorts below
+     * positive infinity, so queries need no special first-page branch.
+     */
+    public static final SearchCursor FIRST = new SearchCursor(Double.POSITIVE_INFINITY, new UUID(0L, 0L));
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param value Encoded cursor, or null/blank for the first page
+     * @return Decoded cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static SearchCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            return new SearchCursor(
+                    Double.parseDouble(decoded.substring(0, separator)),
+                    UUID.fromString(decoded.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid search cursor: " + value, e);
+        }
+    }
+
+    public String encode() {
+        String raw = Double.toString(rank) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
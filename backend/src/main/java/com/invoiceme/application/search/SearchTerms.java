@@ -0,0 +1,84 @@
+package com.invoiceme.application.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalized search input shared by the full-text search endpoints.
+ * Splits user input into letter/digit tokens so that the generated tsquery
+ * can never contain tsquery operators supplied by the caller.
+ */
+public final class SearchTerms {
+
+    private static final int MAX_TOKENS = 8;
+
+    private final String term;
+    private final List<String> tokens;
+
+    private SearchTerms(String term, List<String> tokens) {
+        this.term = term;
+        this.tokens = tokens;
+    }
+
+    /**
+     * Parses raw search input.
+     *
+     * @param query Raw query string from the request
+     * @return Parsed search terms
+     * @throws IllegalArgumentException if the query contains no letters or digits
+     */
+    public static SearchTerms parse(String query) {
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < normalized.length() && tokens.size() < MAX_TOKENS; ) {
+            int codePoint = normalized.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                current.appendCodePoint(codePoint);
+            } else if (!current.isEmpty()) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (!current.isEmpty() && tokens.size() < MAX_TOKENS) {
+            tokens.add(current.toString());
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one letter or digit");
+        }
+        return new SearchTerms(normalized, List.copyOf(tokens));
+    }
+
+    /**
+     * Lower-cased, trimmed query used for trigram similarity.
+     */
+    public String term() {
+        return term;
+    }
+
+    public List<String> tokens() {
+        return tokens;
+    }
+
+    /**
+     * Builds a tsquery where every token is a prefix match and all tokens must match,
+     * e.g. {@code "acme co"} becomes {@code "acme:* & co:*"}.
+     */
+    public String toPrefixTsQuery() {
+        return String.join(" & ", tokens.stream().map(token -> token + ":*").toList());
+    }
+
+    /**
+     * Builds a LIKE pattern matching values that start with the query,
+     * with LIKE wildcards in the input escaped.
+     */
+    public String toLikePrefix() {
+        String escaped = term
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+}
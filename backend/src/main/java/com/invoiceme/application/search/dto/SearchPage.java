@@ -0,0 +1,29 @@
+package com.invoiceme.application.search.dto;
+
+import com.invoiceme.application.search.SearchCursor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Schema(description = "A page of ranked search results using keyset pagination")
+public record SearchPage<T>(
+        @Schema(description = "Results ordered by relevance")
+        List<T> items,
+
+        @Schema(description = "Cursor for the next page, null when there are no more results")
+        String nextCursor
+) {
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}; the extra row only
+     * signals that another page exists and is not returned.
+     */
+    public static <T> SearchPage<T> of(List<T> rows, int limit, Function<T, SearchCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new SearchPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new SearchPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+}
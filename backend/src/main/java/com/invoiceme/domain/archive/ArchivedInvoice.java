@@ -0,0 +1,98 @@
+package com.invoiceme.domain.archive;
+
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Stub of a paid invoice moved out of the live tables.
+ *
+ * Keeps the invoice's ID and the columns it is looked up by, plus a compressed document
+ * holding the invoice as last served with its payments and ledger entries. Archived
+ * invoices are read-only.
+ */
+@Entity
+@Table(name = "archived_invoices")
+@NoArgsConstructor
+@Getter
+public class ArchivedInvoice implements Persistable<UUID> {
+
+    // Same ID as the live invoice, so lookups by ID fall through to the archive
+    @Id
+    private UUID id;
+
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private UUID organizationId;
+
+    @Column(name = "customer_id", nullable = false, updatable = false)
+    private UUID customerId;
+
+    @Column(name = "invoice_number", updatable = false, length = 30)
+    private String invoiceNumber;
+
+    @Column(nullable = false, updatable = false, length = 3)
+    private String currency;
+
+    @Column(name = "total_amount", nullable = false, updatable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Last change of the live invoice, i.e. when it was settled
+    @Column(name = "paid_at", nullable = false, updatable = false)
+    private LocalDateTime paidAt;
+
+    @Column(name = "archived_at", nullable = false, updatable = false)
+    private LocalDateTime archivedAt;
+
+    // Gzip-compressed JSON document
+    @Column(nullable = false, updatable = false, columnDefinition = "BYTEA")
+    private byte[] document;
+
+    @Transient
+    private boolean isNew = true;
+
+    /**
+     * Constructor for archiving a paid invoice.
+     *
+     * @param invoice Paid invoice being archived
+     * @param document Compressed document describing the invoice
+     * @throws IllegalStateException if the invoice is not PAID
+     */
+    public ArchivedInvoice(Invoice invoice, byte[] document) {
+        if (invoice.getStatus() != InvoiceStatus.PAID) {
+            throw new IllegalStateException("Only paid invoices can be archived");
+        }
+        this.id = invoice.getId();
+        this.organizationId = invoice.getOrganizationId();
+        this.customerId = invoice.getCustomer().getId();
+        this.invoiceNumber = invoice.getInvoiceNumber();
+        this.currency = invoice.getCurrency();
+        this.totalAmount = invoice.getTotalAmount();
+        this.createdAt = invoice.getCreatedAt();
+        this.paidAt = invoice.getUpdatedAt();
+        this.archivedAt = LocalDateTime.now();
+        this.document = document;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,77 @@
+package com.invoiceme.domain.archive;
+
+import com.invoiceme.domain.payment.Payment;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Payment of an archived invoice, moved out of the live payments table with it.
+ *
+ * Keeps the payment's ID and the columns exports need; the payment as last served is in
+ * the archived invoice's document. Archived payments are read-only.
+ */
+@Entity
+@Table(name = "archived_payments")
+@NoArgsConstructor
+@Getter
+public class ArchivedPayment implements Persistable<UUID> {
+
+    // Same ID as the live payment, so lookups by ID fall through to the archive
+    @Id
+    private UUID id;
+
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private UUID organizationId;
+
+    @Column(name = "invoice_id", nullable = false, updatable = false)
+    private UUID invoiceId;
+
+    @Column(name = "customer_id", nullable = false, updatable = false)
+    private UUID customerId;
+
+    @Column(nullable = false, updatable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "payment_date", nullable = false, updatable = false)
+    private LocalDateTime paymentDate;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    /**
+     * Constructor for archiving a payment together with its invoice.
+     *
+     * @param payment Payment of the invoice being archived
+     */
+    public ArchivedPayment(Payment payment) {
+        this.id = payment.getId();
+        this.organizationId = payment.getOrganizationId();
+        this.invoiceId = payment.getInvoice().getId();
+        this.customerId = payment.getInvoice().getCustomer().getId();
+        this.amount = payment.getAmount();
+        this.paymentDate = payment.getPaymentDate();
+        this.createdAt = payment.getCreatedAt();
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,10 @@
+package com.invoiceme.domain.changelog;
+
+/**
+ * Aggregate types recorded in the change log.
+ */
+public enum ChangeEntityType {
+    CUSTOMER,
+    INVOICE,
+    PAYMENT
+}
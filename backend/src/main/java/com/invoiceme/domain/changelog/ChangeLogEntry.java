@@ -0,0 +1,69 @@
+package com.invoiceme.domain.changelog;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Append-only record of a mutation to a customer, invoice or payment.
+ * The database-assigned sequence gives consumers a total order to resume from; each
+ * organization reads its own entries, so its feed skips sequences of other organizations.
+ */
+@Entity
+@Table(name = "change_log")
+@NoArgsConstructor
+@Getter
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long sequence;
+
+    // Organization of the changed aggregate; added to every query by Hibernate
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private UUID organizationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private ChangeEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ChangeOperation operation;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+
+    /**
+     * Constructor for recording a new change.
+     *
+     * @param organizationId Organization the aggregate belongs to
+     * @param entityType Type of the changed aggregate
+     * @param entityId ID of the changed aggregate
+     * @param operation Kind of change
+     * @param payload JSON snapshot of the aggregate after the change (null for deletes)
+     */
+    public ChangeLogEntry(UUID organizationId, ChangeEntityType entityType, UUID entityId,
+                          ChangeOperation operation, String payload) {
+        if (organizationId == null || entityType == null || entityId == null || operation == null) {
+            throw new IllegalArgumentException("Organization, entity type, entity ID and operation are required");
+        }
+        this.organizationId = organizationId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.payload = payload;
+        this.changedAt = LocalDateTime.now();
+    }
+}
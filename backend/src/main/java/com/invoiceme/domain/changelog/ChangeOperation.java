@@ -0,0 +1,10 @@
+package com.invoiceme.domain.changelog;
+
+/**
+ * Kinds of mutation recorded in the change log.
+ */
+public enum ChangeOperation {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.TenantId;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -24,10 +25,16 @@ public class Customer {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    // Owning organization; set from the current tenant on insert and added to every query by Hibernate
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private UUID organizationId;
+
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false, unique = true)
+    // Unique per organization
+    @Column(nullable = false)
     private String email;
 
     @Column(columnDefinition = "TEXT")
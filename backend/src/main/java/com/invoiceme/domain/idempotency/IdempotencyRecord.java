@@ -0,0 +1,38 @@
+package com.invoiceme.domain.idempotency;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored outcome of a request made with an Idempotency-Key.
+ * Rows are claimed and completed in the same transaction as the write they protect,
+ * so a committed row always carries the response of a committed write.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@NoArgsConstructor
+@Getter
+public class IdempotencyRecord {
+
+    @EmbeddedId
+    private IdempotencyRecordId id;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt.isBefore(now);
+    }
+}
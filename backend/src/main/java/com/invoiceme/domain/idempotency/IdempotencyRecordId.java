@@ -0,0 +1,36 @@
+package com.invoiceme.domain.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Composite key of an idempotency record: the organization, the endpoint scope and the
+ * client-supplied key, so two organizations can use the same key independently.
+ */
+@Embeddable
+@NoArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class IdempotencyRecordId implements Serializable {
+
+    @Column(name = "organization_id", nullable = false)
+    private UUID organizationId;
+
+    @Column(nullable = false, length = 50)
+    private String scope;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String key;
+
+    public IdempotencyRecordId(UUID organizationId, String scope, String key) {
+        this.organizationId = organizationId;
+        this.scope = scope;
+        this.key = key;
+    }
+}
@@ -1,15 +1,19 @@
 package com.invoiceme.domain.invoice;
 
 import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.shared.Money;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.TenantId;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Currency;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,10 +28,21 @@ import java.util.UUID;
 @Setter
 public class Invoice {
 
+    public static final String DEFAULT_CURRENCY = "USD";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    // Organization of the customer; added to every query by Hibernate
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private UUID organizationId;
+
+    // Allocated at creation, e.g. INV-2025-000042; unique per organization
+    @Column(name = "invoice_number", updatable = false, length = 30)
+    private String invoiceNumber;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
@@ -41,12 +56,42 @@ public class Invoice {
     @OrderColumn(name = "line_order")
     private List<LineItem> lineItems = new ArrayList<>();
 
+    @Column(nullable = false, length = 3)
+    private String currency = DEFAULT_CURRENCY;
+
+    // Total including tax
     @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
     private BigDecimal totalAmount = BigDecimal.ZERO;
 
+    @Column(name = "tax_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal taxAmount = BigDecimal.ZERO;
+
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal balance = BigDecimal.ZERO;
 
+    // Assigned when the invoice is sent, unless given at creation
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    // Number of payment reminders sent since the invoice became overdue
+    @Column(name = "dunning_level", nullable = false)
+    private Integer dunningLevel = 0;
+
+    // When the next reminder is due; null when none is scheduled
+    @Column(name = "next_dunning_date")
+    private LocalDate nextDunningDate;
+
+    // Set on invoices generated from a recurring template; unique per template and period
+    @Column(name = "recurring_template_id", updatable = false)
+    private UUID recurringTemplateId;
+
+    @Column(name = "billing_period", updatable = false)
+    private LocalDate billingPeriod;
+
+    // Number of ledger entries appended; advanced under the invoice row lock
+    @Column(name = "ledger_sequence", nullable = false)
+    private Integer ledgerSequence = 0;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -60,19 +105,91 @@ public class Invoice {
      * @param customer The customer this invoice belongs to
      */
     public Invoice(Customer customer) {
+        this(customer, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Constructor for creating a new invoice in the given currency.
+     * Invoice is created in DRAFT status.
+     * 
+     * @param customer The customer this invoice belongs to
+     * @param currency ISO 4217 currency code
+     * @throws IllegalArgumentException if customer is missing or currency is not a valid ISO 4217 code
+     */
+    public Invoice(Customer customer, String currency) {
         if (customer == null) {
             throw new IllegalArgumentException("Customer is required");
         }
         this.customer = customer;
+        this.organizationId = customer.getOrganizationId();
+        this.currency = validateCurrency(currency);
         this.status = InvoiceStatus.DRAFT;
         this.lineItems = new ArrayList<>();
         this.totalAmount = BigDecimal.ZERO;
+        this.taxAmount = BigDecimal.ZERO;
         this.balance = BigDecimal.ZERO;
+        this.dunningLevel = 0;
+        this.ledgerSequence = 0;
+    }
+
+    private static String validateCurrency(String currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency is required");
+        }
+        try {
+            return Currency.getInstance(currency).getCurrencyCode();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown currency: " + currency, e);
+        }
+    }
+
+    /**
+     * Marks this invoice as generated from a recurring template for the given billing period.
+     *
+     * @param templateId Source template ID
+     * @param billingPeriod Date the billed period starts
+     * @throws IllegalArgumentException if either value is missing
+     */
+    public void assignRecurringSource(UUID templateId, LocalDate billingPeriod) {
+        if (templateId == null || billingPeriod == null) {
+            throw new IllegalArgumentException("Template ID and billing period are required");
+        }
+        this.recurringTemplateId = templateId;
+        this.billingPeriod = billingPeriod;
+    }
+
+    /**
+     * Assigns the invoice number. Numbers never change once assigned.
+     *
+     * @param invoiceNumber Allocated invoice number
+     * @throws IllegalArgumentException if the number is missing
+     * @throws IllegalStateException if the invoice already has a number
+     */
+    public void assignNumber(String invoiceNumber) {
+        if (invoiceNumber == null || invoiceNumber.isBlank()) {
+            throw new IllegalArgumentException("Invoice number is required");
+        }
+        if (this.invoiceNumber != null) {
+            throw new IllegalStateException("Invoice already has number " + this.invoiceNumber);
+        }
+        this.invoiceNumber = invoiceNumber;
+    }
+
+    /**
+     * Number shown on documents: the invoice number, or a reference derived from the ID
+     * for invoices stored without one.
+     */
+    public String displayNumber() {
+        if (this.invoiceNumber != null) {
+            return this.invoiceNumber;
+        }
+        return this.id == null ? null : "INV-" + this.id.toString().substring(0, 8).toUpperCase();
     }
 
     @PrePersist
     protected void onCreate() {
-        LocalDateTime now = LocalDateTime.now();
+        // Stored precision, so the opening ledger entry can be recorded at exactly this time
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         this.createdAt = now;
         this.updatedAt = now;
     }
@@ -83,25 +200,31 @@ public class Invoice {
     }
 
     /**
-     * Calculates the total amount by summing all line item subtotals.
-     * Updates the totalAmount field and returns it.
+     * Calculates the total amount by summing all line item subtotals and taxes.
+     * Updates the totalAmount and taxAmount fields and returns the total.
      * 
-     * @return The calculated total amount
+     * @return The calculated total amount (including tax)
      */
     public BigDecimal calculateTotal() {
         if (lineItems == null || lineItems.isEmpty()) {
             this.totalAmount = BigDecimal.ZERO;
+            this.taxAmount = BigDecimal.ZERO;
             return BigDecimal.ZERO;
         }
 
-        BigDecimal total = lineItems.stream()
-                .map(LineItem::calculateSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        this.totalAmount = total.setScale(2, RoundingMode.HALF_UP);
+        Totals totals = Totals.of(lineItems, fractionDigits());
+        this.totalAmount = totals.total().toBigDecimal();
+        this.taxAmount = totals.tax().toBigDecimal();
         return this.totalAmount;
     }
 
+    /**
+     * Returns the amount before tax.
+     */
+    public BigDecimal getSubtotalAmount() {
+        return Money.of(totalAmount).minus(Money.of(taxAmount)).toBigDecimal();
+    }
+
     /**
      * Calculates the balance (totalAmount - sum of payments).
      * For now, returns totalAmount if payments are not available.
@@ -117,7 +240,7 @@ public class Invoice {
     }
 
     /**
-     * Adds a line item to the invoice and recalculates the total.
+     * Adds a line item to the invoice and adds its subtotal to the total.
      * 
      * @param description Line item description
      * @param quantity Quantity (must be > 0)
@@ -127,22 +250,133 @@ public class Invoice {
     public Invoice addLineItem(String description, Integer quantity, BigDecimal unitPrice) {
         LineItem lineItem = new LineItem(description, quantity, unitPrice);
         this.lineItems.add(lineItem);
-        calculateTotal();
+        adjustTotals(Totals.of(lineItem, fractionDigits()));
+        return this;
+    }
+
+    /**
+     * Adds several line items and updates the total once.
+     * 
+     * @param newLineItems Line items to append
+     * @return this for method chaining
+     */
+    public Invoice addLineItems(List<LineItem> newLineItems) {
+        if (newLineItems == null || newLineItems.isEmpty()) {
+            return this;
+        }
+        this.lineItems.addAll(newLineItems);
+        adjustTotals(Totals.of(newLineItems, fractionDigits()));
         return this;
     }
 
+    /**
+     * Removes the line item at the given position and subtracts its subtotal from the total.
+     * 
+     * @param index Position of the line item
+     * @return The removed line item
+     * @throws IndexOutOfBoundsException if there is no line item at the position
+     */
+    public LineItem removeLineItem(int index) {
+        LineItem removed = this.lineItems.remove(index);
+        adjustTotals(Totals.of(removed, fractionDigits()).negate());
+        return removed;
+    }
+
+    /**
+     * Replaces the line item at the given position and adjusts the total by the difference.
+     * 
+     * @param index Position of the line item
+     * @param lineItem Replacement line item
+     * @return The replaced line item
+     * @throws IndexOutOfBoundsException if there is no line item at the position
+     */
+    public LineItem replaceLineItem(int index, LineItem lineItem) {
+        if (lineItem == null) {
+            throw new IllegalArgumentException("Line item is required");
+        }
+        LineItem replaced = this.lineItems.set(index, lineItem);
+        int fractionDigits = fractionDigits();
+        adjustTotals(Totals.of(lineItem, fractionDigits).plus(Totals.of(replaced, fractionDigits).negate()));
+        return replaced;
+    }
+
     /**
      * Updates line items and recalculates total.
+     * The balance moves by the change in total, so amounts already paid stay applied; callers
+     * record a non-zero change as an ADJUSTMENT ledger entry.
      * 
      * @param newLineItems New list of line items
+     * @return The change in total and balance (new total minus old total)
+     * @throws IllegalArgumentException if there are no line items or the new total is below the amount already paid
      */
-    public void updateLineItems(List<LineItem> newLineItems) {
+    public BigDecimal updateLineItems(List<LineItem> newLineItems) {
         if (newLineItems == null || newLineItems.isEmpty()) {
             throw new IllegalArgumentException("Invoice must have at least one line item");
         }
+        Money settled = Money.of(this.totalAmount).minus(Money.of(this.balance));
+        Totals totals = Totals.of(newLineItems, fractionDigits());
+        if (totals.total().compareTo(settled) < 0) {
+            throw new IllegalArgumentException(
+                    "Invoice total (" + totals.total().toBigDecimal() + ") cannot be less than the amount already paid ("
+                            + settled.toBigDecimal() + ")"
+            );
+        }
+        Money change = totals.total().minus(Money.of(this.totalAmount));
         this.lineItems.clear();
         this.lineItems.addAll(newLineItems);
-        calculateTotal();
+        this.totalAmount = totals.total().toBigDecimal();
+        this.taxAmount = totals.tax().toBigDecimal();
+        this.balance = totals.total().minus(settled).toBigDecimal();
+        return change.toBigDecimal();
+    }
+
+    private void adjustTotals(Totals delta) {
+        Money total = this.totalAmount == null ? Money.ZERO : Money.of(this.totalAmount);
+        Money tax = this.taxAmount == null ? Money.ZERO : Money.of(this.taxAmount);
+        Money balance = this.balance == null ? Money.ZERO : Money.of(this.balance);
+        this.totalAmount = total.plus(delta.total()).toBigDecimal();
+        this.taxAmount = tax.plus(delta.tax()).toBigDecimal();
+        this.balance = balance.plus(delta.total()).toBigDecimal();
+    }
+
+    /**
+     * Decimal places of this invoice's currency (2 for USD, 0 for JPY); line subtotals and
+     * taxes are rounded to them.
+     */
+    public int fractionDigits() {
+        return Currency.getInstance(currency).getDefaultFractionDigits();
+    }
+
+    /**
+     * Sum of line totals (including tax) and of line taxes, in fixed-point cents.
+     */
+    private record Totals(Money total, Money tax) {
+
+        static Totals of(LineItem item, int fractionDigits) {
+            return new Totals(item.total(fractionDigits), item.tax(fractionDigits));
+        }
+
+        /**
+         * @throws ArithmeticException if a sum overflows
+         */
+        static Totals of(List<LineItem> items, int fractionDigits) {
+            long total = 0;
+            long tax = 0;
+            for (LineItem item : items) {
+                long itemTax = item.tax(fractionDigits).cents();
+                total = Math.addExact(total, Math.addExact(item.subtotal(fractionDigits).cents(), itemTax));
+                tax = Math.addExact(tax, itemTax);
+            }
+            return new Totals(Money.ofCents(total), Money.ofCents(tax));
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(total.plus(other.total), tax.plus(other.tax));
+        }
+
+        Totals negate() {
+            return new Totals(Money.ZERO.minus(total), Money.ZERO.minus(tax));
+        }
     }
 
     /**
@@ -180,6 +414,63 @@ public class Invoice {
         this.status = InvoiceStatus.SENT;
     }
 
+    /**
+     * Checks whether a SENT invoice is past its due date.
+     * 
+     * @param today Current date
+     * @return true if the invoice is SENT and its due date is before today
+     */
+    public boolean isPastDue(LocalDate today) {
+        return this.status == InvoiceStatus.SENT && this.dueDate != null && this.dueDate.isBefore(today);
+    }
+
+    /**
+     * Marks a SENT invoice as OVERDUE and schedules the first reminder.
+     * 
+     * @param firstReminderDate When the first reminder is due (null for no reminders)
+     * @throws IllegalStateException if the invoice is not SENT
+     */
+    public void markAsOverdue(LocalDate firstReminderDate) {
+        if (this.status != InvoiceStatus.SENT) {
+            throw new IllegalStateException("Only SENT invoices can become OVERDUE. Current status: " + this.status);
+        }
+        this.status = InvoiceStatus.OVERDUE;
+        this.dunningLevel = 0;
+        this.nextDunningDate = firstReminderDate;
+    }
+
+    /**
+     * Records that a payment reminder was sent and schedules the next one.
+     * 
+     * @param nextReminderDate When the next reminder is due (null after the last one)
+     * @throws IllegalStateException if the invoice is not OVERDUE
+     */
+    public void recordReminder(LocalDate nextReminderDate) {
+        if (this.status != InvoiceStatus.OVERDUE) {
+            throw new IllegalStateException("Reminders are only sent for OVERDUE invoices. Current status: " + this.status);
+        }
+        this.dunningLevel = this.dunningLevel + 1;
+        this.nextDunningDate = nextReminderDate;
+    }
+
+    /**
+     * Takes back a recorded reminder that then failed to send and schedules it again,
+     * so it is not counted as sent. Does nothing if the invoice has moved on since the reminder
+     * was recorded (paid, or a later reminder recorded).
+     * 
+     * @param reminderNumber The reminder that failed (1 for the first)
+     * @param retryDate When to try again
+     * @return true if the reminder was taken back
+     */
+    public boolean postponeReminder(int reminderNumber, LocalDate retryDate) {
+        if (this.status != InvoiceStatus.OVERDUE || this.dunningLevel != reminderNumber) {
+            return false;
+        }
+        this.dunningLevel = reminderNumber - 1;
+        this.nextDunningDate = retryDate;
+        return true;
+    }
+
     /**
      * Checks if the invoice can be edited.
      * Only DRAFT invoices can be edited.
@@ -198,24 +489,95 @@ public class Invoice {
      * @throws IllegalArgumentException if amount is invalid
      */
     public void applyPayment(BigDecimal amount) {
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Payment amount must be greater than 0");
-        }
+        Money payment = positive(amount, "Payment");
         if (this.balance == null) {
             calculateBalance();
         }
-        if (amount.compareTo(this.balance) > 0) {
+        Money balance = Money.of(this.balance);
+        if (payment.compareTo(balance) > 0) {
             throw new IllegalArgumentException(
-                    "Payment amount (" + amount + ") cannot exceed invoice balance (" + this.balance + ")"
+                    "Payment amount (" + payment + ") cannot exceed invoice balance (" + balance + ")"
             );
         }
 
-        this.balance = this.balance.subtract(amount).setScale(2, RoundingMode.HALF_UP);
+        Money remaining = balance.minus(payment);
+        this.balance = remaining.toBigDecimal();
         
         // If balance reaches zero, mark invoice as PAID
-        if (this.balance.compareTo(BigDecimal.ZERO) == 0) {
+        if (remaining.isZero()) {
             this.status = InvoiceStatus.PAID;
+            this.nextDunningDate = null;
+        }
+    }
+
+    /**
+     * Reduces the balance by a credit note or write-off.
+     * Only issued invoices can be credited; the invoice becomes PAID when nothing is left open.
+     * 
+     * @param amount Credited amount (must be > 0 and <= balance)
+     * @throws IllegalStateException if the invoice is not SENT or OVERDUE
+     * @throws IllegalArgumentException if amount is invalid
+     */
+    public void applyCredit(BigDecimal amount) {
+        if (this.status != InvoiceStatus.SENT && this.status != InvoiceStatus.OVERDUE) {
+            throw new IllegalStateException(
+                    "Only SENT or OVERDUE invoices can be credited or written off. Current status: " + this.status);
         }
+        Money credit = positive(amount, "Credit");
+        Money balance = Money.of(this.balance);
+        if (credit.compareTo(balance) > 0) {
+            throw new IllegalArgumentException(
+                    "Credit amount (" + credit + ") cannot exceed invoice balance (" + balance + ")"
+            );
+        }
+        applyPayment(credit.toBigDecimal());
+    }
+
+    /**
+     * Adds a refunded amount back to the balance.
+     * A PAID invoice is reopened as SENT, so the dunning job picks it up again if it is past due.
+     * 
+     * @param amount Refunded amount (must be > 0 and <= the amount already settled)
+     * @throws IllegalArgumentException if amount is invalid
+     */
+    public void applyRefund(BigDecimal amount) {
+        Money refund = positive(amount, "Refund");
+        Money balance = Money.of(this.balance);
+        Money total = Money.of(this.totalAmount);
+        Money reopened = balance.plus(refund);
+        if (reopened.compareTo(total) > 0) {
+            throw new IllegalArgumentException(
+                    "Refund amount (" + refund + ") cannot exceed the settled amount (" + total.minus(balance) + ")"
+            );
+        }
+        this.balance = reopened.toBigDecimal();
+        if (this.status == InvoiceStatus.PAID) {
+            this.status = InvoiceStatus.SENT;
+            this.dunningLevel = 0;
+        }
+    }
+
+    /**
+     * Converts an amount applied to the balance, rounded HALF_UP to cents like the balance.
+     *
+     * @throws IllegalArgumentException if the amount is missing or not positive once rounded
+     */
+    private static Money positive(BigDecimal amount, String kind) {
+        if (amount == null || !Money.of(amount).isPositive()) {
+            throw new IllegalArgumentException(kind + " amount must be greater than 0");
+        }
+        return Money.of(amount);
+    }
+
+    /**
+     * Reserves the sequence number of the next ledger entry.
+     * Callers hold the invoice row lock, so numbers are gap-free per invoice.
+     * 
+     * @return The next sequence number, starting at 1
+     */
+    public int nextLedgerSequence() {
+        this.ledgerSequence = this.ledgerSequence + 1;
+        return this.ledgerSequence;
     }
 }
 
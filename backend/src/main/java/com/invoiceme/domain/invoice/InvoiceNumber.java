@@ -0,0 +1,69 @@
+package com.invoiceme.domain.invoice;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Invoice number format: series, issue year and a per-series, per-year sequence value,
+ * e.g. {@code INV-2025-000042}.
+ */
+public final class InvoiceNumber {
+
+    private static final Pattern SERIES = Pattern.compile("[A-Z]{1,10}");
+    // Also accepts numbers written without separators or padding, as they appear in remittance text
+    private static final Pattern IN_TEXT = Pattern.compile("\\b([A-Z]{1,10})[-/ ]?((?:19|20)\\d{2})[-/ ]?(\\d{1,12})\\b");
+
+    private InvoiceNumber() {
+    }
+
+    /**
+     * Formats an invoice number.
+     *
+     * @param series Number series (1-10 upper-case letters)
+     * @param year Issue year
+     * @param value Sequence value within the series and year (must be > 0)
+     * @return The invoice number, with the value padded to six digits
+     * @throws IllegalArgumentException if the series or value is invalid
+     */
+    public static String format(String series, int year, long value) {
+        validateSeries(series);
+        if (value <= 0) {
+            throw new IllegalArgumentException("Invoice number value must be greater than 0");
+        }
+        return String.format(Locale.ROOT, "%s-%04d-%06d", series, year, value);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the series is not 1-10 upper-case letters
+     */
+    public static String validateSeries(String series) {
+        if (series == null || !SERIES.matcher(series).matches()) {
+            throw new IllegalArgumentException("Invoice number series must be 1-10 upper-case letters: " + series);
+        }
+        return series;
+    }
+
+    /**
+     * Finds invoice numbers in free text and returns them in the canonical format.
+     *
+     * @param text Text to search, e.g. a payment reference
+     * @return Numbers found, in order of appearance
+     */
+    public static Set<String> findAll(String text) {
+        Set<String> numbers = new LinkedHashSet<>();
+        if (text == null) {
+            return numbers;
+        }
+        Matcher matcher = IN_TEXT.matcher(text.toUpperCase(Locale.ROOT));
+        while (matcher.find()) {
+            long value = Long.parseLong(matcher.group(3));
+            if (value > 0) {
+                numbers.add(format(matcher.group(1), Integer.parseInt(matcher.group(2)), value));
+            }
+        }
+        return numbers;
+    }
+}
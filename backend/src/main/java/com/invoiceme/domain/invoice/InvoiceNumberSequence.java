@@ -0,0 +1,22 @@
+package com.invoiceme.domain.invoice;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last invoice number value reserved for an organization, series and year.
+ * Only advanced with an atomic update, which locks the row until the transaction ends.
+ */
+@Entity
+@Table(name = "invoice_number_sequences")
+@NoArgsConstructor
+@Getter
+public class InvoiceNumberSequence {
+
+    @EmbeddedId
+    private InvoiceNumberSequenceId id;
+
+    @Column(name = "last_number", nullable = false)
+    private Long lastNumber;
+}
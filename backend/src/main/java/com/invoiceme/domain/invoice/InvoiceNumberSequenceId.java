@@ -0,0 +1,35 @@
+package com.invoiceme.domain.invoice;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Composite key of an invoice number sequence: the organization, the number series and the issue year.
+ */
+@Embeddable
+@NoArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class InvoiceNumberSequenceId implements Serializable {
+
+    @Column(name = "organization_id", nullable = false)
+    private UUID organizationId;
+
+    @Column(nullable = false, length = 10)
+    private String series;
+
+    @Column(name = "fiscal_year", nullable = false)
+    private Integer fiscalYear;
+
+    public InvoiceNumberSequenceId(UUID organizationId, String series, Integer fiscalYear) {
+        this.organizationId = organizationId;
+        this.series = series;
+        this.fiscalYear = fiscalYear;
+    }
+}
@@ -5,11 +5,13 @@ package com.invoiceme.domain.invoice;
  * 
  * DRAFT: Invoice is being created and can be edited
  * SENT: Invoice has been sent to the customer and cannot be edited
+ * OVERDUE: Invoice was not fully paid by its due date; dunning reminders are sent
  * PAID: Invoice has been fully paid
  */
 public enum InvoiceStatus {
     DRAFT,
     SENT,
+    OVERDUE,
     PAID
 }
 
@@ -1,7 +1,10 @@
 package com.invoiceme.domain.invoice;
 
+import com.invoiceme.domain.shared.Money;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -28,6 +31,29 @@ public class LineItem {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal unitPrice;
 
+    @Column(name = "tax_code", length = 20)
+    private String taxCode;
+
+    // Rate in effect when the line was added, so later rate changes don't alter issued invoices
+    @Column(name = "tax_rate", nullable = false, precision = 9, scale = 6)
+    private BigDecimal taxRate = BigDecimal.ZERO;
+
+    // Computed once per line and currency; reset when quantity or unit price changes
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Money subtotal;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Money tax;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient int fractionDigits;
+
     /**
      * Constructor with validation.
      * 
@@ -37,6 +63,23 @@ public class LineItem {
      * @throws IllegalArgumentException if validation fails
      */
     public LineItem(String description, Integer quantity, BigDecimal unitPrice) {
+        this(description, quantity, unitPrice, null, BigDecimal.ZERO);
+    }
+
+    /**
+     * Constructor for a taxed line item.
+     * 
+     * @param description Line item description
+     * @param quantity Quantity (must be > 0)
+     * @param unitPrice Unit price (must be >= 0)
+     * @param taxCode Tax code the rate was looked up by (null for untaxed lines)
+     * @param taxRate Tax rate as a fraction (must be >= 0 and < 1)
+     * @throws IllegalArgumentException if validation fails
+     */
+    public LineItem(String description, Integer quantity, BigDecimal unitPrice, String taxCode, BigDecimal taxRate) {
+        if (taxRate == null || taxRate.signum() < 0 || taxRate.compareTo(BigDecimal.ONE) >= 0) {
+            throw new IllegalArgumentException("Tax rate must be between 0 and 1");
+        }
         if (quantity == null || quantity <= 0) {
             throw new IllegalArgumentException("Quantity must be greater than 0");
         }
@@ -50,21 +93,95 @@ public class LineItem {
         this.description = description;
         this.quantity = quantity;
         this.unitPrice = unitPrice.setScale(2, RoundingMode.HALF_UP);
+        this.taxCode = taxCode;
+        this.taxRate = taxRate.setScale(Money.RATE_SCALE, RoundingMode.HALF_UP);
     }
 
     /**
-     * Calculates the subtotal for this line item.
-     * Uses BigDecimal arithmetic to ensure precision.
-     * 
+     * Sets the unit price, rounded HALF_UP to cents like the constructor and the column.
+     *
+     * @param unitPrice Unit price
+     */
+    public void setUnitPrice(BigDecimal unitPrice) {
+        this.unitPrice = unitPrice == null ? null : unitPrice.setScale(2, RoundingMode.HALF_UP);
+        this.subtotal = null;
+        this.tax = null;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+        this.subtotal = null;
+        this.tax = null;
+    }
+
+    public void setTaxRate(BigDecimal taxRate) {
+        this.taxRate = taxRate == null ? null : taxRate.setScale(Money.RATE_SCALE, RoundingMode.HALF_UP);
+        this.tax = null;
+    }
+
+    /**
+     * Returns the subtotal for this line item in fixed-point cents, rounded HALF_UP to the
+     * currency's decimal places and computed on first use.
+     *
+     * @param fractionDigits Decimal places of the invoice currency (2 for USD, 0 for JPY)
      * @return Subtotal (quantity * unitPrice)
+     * @throws ArithmeticException if the subtotal overflows
      */
-    public BigDecimal calculateSubtotal() {
+    public Money subtotal(int fractionDigits) {
         if (quantity == null || unitPrice == null) {
-            return BigDecimal.ZERO;
+            return Money.ZERO;
+        }
+        if (subtotal == null || this.fractionDigits != fractionDigits) {
+            subtotal = Money.of(unitPrice).times(quantity).roundTo(fractionDigits);
+            tax = null;
+            this.fractionDigits = fractionDigits;
         }
-        return unitPrice
-                .multiply(BigDecimal.valueOf(quantity))
-                .setScale(2, RoundingMode.HALF_UP);
+        return subtotal;
+    }
+
+    /**
+     * Returns the tax on this line item (subtotal * taxRate, rounded HALF_UP to the currency's
+     * decimal places), computed on first use.
+     *
+     * @param fractionDigits Decimal places of the invoice currency
+     * @return Tax amount
+     * @throws ArithmeticException if the tax overflows
+     */
+    public Money tax(int fractionDigits) {
+        if (taxRate == null || taxRate.signum() == 0) {
+            return Money.ZERO;
+        }
+        Money base = subtotal(fractionDigits);
+        if (tax == null) {
+            tax = base.applyRate(Money.rateMicros(taxRate), fractionDigits);
+        }
+        return tax;
     }
-}
 
+    /**
+     * Returns subtotal plus tax.
+     */
+    public Money total(int fractionDigits) {
+        return subtotal(fractionDigits).plus(tax(fractionDigits));
+    }
+
+    /**
+     * Calculates the subtotal for this line item.
+     *
+     * @param fractionDigits Decimal places of the invoice currency
+     * @return Subtotal (quantity * unitPrice) at scale 2
+     */
+    public BigDecimal calculateSubtotal(int fractionDigits) {
+        return subtotal(fractionDigits).toBigDecimal();
+    }
+
+    /**
+     * Calculates the tax for this line item.
+     *
+     * @param fractionDigits Decimal places of the invoice currency
+     * @return Tax amount at scale 2
+     */
+    public BigDecimal calculateTax(int fractionDigits) {
+        return tax(fractionDigits).toBigDecimal();
+    }
+}
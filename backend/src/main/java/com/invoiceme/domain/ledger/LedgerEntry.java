@@ -0,0 +1,153 @@
+package com.invoiceme.domain.ledger;
+
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.payment.Payment;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * One entry in an invoice's append-only ledger.
+ *
+ * The amount is signed (negative entries reduce the balance) and {@code balanceAfter} is the
+ * invoice balance once the entry is applied, so the latest entry is the current balance and
+ * the latest entry recorded at or before a point in time is the balance at that time.
+ * Every ledger starts with an OPENING entry for the invoice total, so the balance at any time
+ * since the invoice was created is read from the ledger alone.
+ * Entries are never updated or deleted; corrections are new entries.
+ */
+@Entity
+@Immutable
+@Table(name = "invoice_ledger_entries")
+@NoArgsConstructor
+@Getter
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "invoice_id", nullable = false, updatable = false)
+    private Invoice invoice;
+
+    @Column(name = "sequence_number", nullable = false, updatable = false)
+    private Integer sequenceNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20, updatable = false)
+    private LedgerEntryType entryType;
+
+    @Column(nullable = false, precision = 19, scale = 2, updatable = false)
+    private BigDecimal amount;
+
+    @Column(name = "balance_after", nullable = false, precision = 19, scale = 2, updatable = false)
+    private BigDecimal balanceAfter;
+
+    // Set on PAYMENT and REFUND entries
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_id", updatable = false)
+    private Payment payment;
+
+    @Column(length = 500, updatable = false)
+    private String reason;
+
+    @Column(name = "recorded_at", nullable = false, updatable = false)
+    private LocalDateTime recordedAt;
+
+    private LedgerEntry(Invoice invoice, int sequenceNumber, LedgerEntryType entryType, BigDecimal signedAmount,
+                        Payment payment, String reason, LocalDateTime recordedAt) {
+        this.invoice = invoice;
+        this.sequenceNumber = sequenceNumber;
+        this.entryType = entryType;
+        this.amount = signedAmount.setScale(2, RoundingMode.HALF_UP);
+        this.balanceAfter = invoice.getBalance();
+        this.payment = payment;
+        this.reason = reason;
+        this.recordedAt = recordedAt;
+    }
+
+    /**
+     * Records the invoice total as the opening balance of a new invoice's ledger.
+     * The entry takes sequence number 0 and the invoice's creation time, so a balance as of any
+     * time since the invoice was created has an entry to read from.
+     *
+     * @param invoice Invoice that has just been persisted, before any other entry
+     * @return The OPENING entry
+     * @throws IllegalArgumentException if the invoice is missing
+     * @throws IllegalStateException if the invoice is not persisted yet or already has entries
+     */
+    public static LedgerEntry opening(Invoice invoice) {
+        if (invoice == null) {
+            throw new IllegalArgumentException("Invoice is required");
+        }
+        if (invoice.getCreatedAt() == null || invoice.getLedgerSequence() != 0) {
+            throw new IllegalStateException("Opening entries are recorded once, when the invoice is created");
+        }
+        return new LedgerEntry(invoice, 0, LedgerEntryType.OPENING, invoice.getTotalAmount(), null, null,
+                invoice.getCreatedAt());
+    }
+
+    /**
+     * Records a change in total from editing the invoice's line items.
+     * Like {@link #record}, it must be called after the edit was applied, with the invoice locked.
+     *
+     * @param invoice Invoice whose line items changed
+     * @param change Signed change in total (and balance)
+     * @param reason Free-text reason, or null
+     * @return The ADJUSTMENT entry
+     * @throws IllegalArgumentException if the invoice is missing or the change is zero
+     */
+    public static LedgerEntry adjustment(Invoice invoice, BigDecimal change, String reason) {
+        if (invoice == null) {
+            throw new IllegalArgumentException("Invoice is required");
+        }
+        if (change == null || change.signum() == 0) {
+            throw new IllegalArgumentException("Adjustment amount must not be zero");
+        }
+        return new LedgerEntry(invoice, invoice.nextLedgerSequence(), LedgerEntryType.ADJUSTMENT, change, null,
+                reason, now());
+    }
+
+    /**
+     * Records a change that has just been applied to the invoice's balance.
+     * Takes the invoice's next sequence number and its current balance as the running balance,
+     * so it must be called after the invoice method that applied the change, with the invoice locked.
+     *
+     * @param invoice Invoice whose balance changed
+     * @param entryType Kind of change (not OPENING or ADJUSTMENT, which have their own factories)
+     * @param amount Unsigned amount of the change (must be > 0)
+     * @param payment Payment the change belongs to (required for PAYMENT and REFUND)
+     * @param reason Free-text reason, or null
+     * @return The new entry
+     * @throws IllegalArgumentException if a required value is missing
+     */
+    public static LedgerEntry record(Invoice invoice, LedgerEntryType entryType, BigDecimal amount,
+                                     Payment payment, String reason) {
+        if (invoice == null || entryType == null) {
+            throw new IllegalArgumentException("Invoice and entry type are required");
+        }
+        if (entryType == LedgerEntryType.OPENING || entryType == LedgerEntryType.ADJUSTMENT) {
+            throw new IllegalArgumentException(entryType + " entries are recorded with their own factory method");
+        }
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Ledger amount must be greater than 0");
+        }
+        if (payment == null && (entryType == LedgerEntryType.PAYMENT || entryType == LedgerEntryType.REFUND)) {
+            throw new IllegalArgumentException(entryType + " entries require a payment");
+        }
+        return new LedgerEntry(invoice, invoice.nextLedgerSequence(), entryType,
+                entryType.increasesBalance() ? amount : amount.negate(), payment, reason, now());
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
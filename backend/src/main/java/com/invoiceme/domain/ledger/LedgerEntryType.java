@@ -0,0 +1,28 @@
+package com.invoiceme.domain.ledger;
+
+/**
+ * Kinds of invoice ledger entries.
+ * 
+ * OPENING: The invoice total when the invoice was created (first entry, sequence number 0)
+ * ADJUSTMENT: Change in total from editing line items (signed)
+ * PAYMENT: Money received against the invoice (reduces the balance)
+ * REFUND: Part of a payment returned to the customer (increases the balance)
+ * CREDIT_NOTE: Amount credited to the customer, e.g. for returned goods (reduces the balance)
+ * WRITE_OFF: Amount that will not be collected (reduces the balance)
+ */
+public enum LedgerEntryType {
+    OPENING,
+    ADJUSTMENT,
+    PAYMENT,
+    REFUND,
+    CREDIT_NOTE,
+    WRITE_OFF;
+
+    /**
+     * Whether entries of this type increase the balance.
+     * ADJUSTMENT entries carry their own sign.
+     */
+    public boolean increasesBalance() {
+        return this == OPENING || this == REFUND;
+    }
+}
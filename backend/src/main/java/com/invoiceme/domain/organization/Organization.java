@@ -0,0 +1,58 @@
+package com.invoiceme.domain.organization;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A business using InvoiceMe. Customers, invoices, payments and everything derived from
+ * them belong to exactly one organization and are only visible to its members.
+ */
+@Entity
+@Table(name = "organizations")
+@NoArgsConstructor
+@Getter
+public class Organization {
+
+    /**
+     * Organization that owns all data created before multi-tenancy, and the one used in dev mode.
+     */
+    public static final UUID DEFAULT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String name;
+
+    // Google Workspace domain whose users join this organization; null for personal organizations
+    @Column(unique = true)
+    private String domain;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Constructor for creating a new organization.
+     *
+     * @param name Display name
+     * @param domain Hosted domain whose users join it, or null
+     * @throws IllegalArgumentException if the name is blank
+     */
+    public Organization(String name, String domain) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Organization name is required");
+        }
+        this.name = name;
+        this.domain = domain != null ? domain.toLowerCase() : null;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
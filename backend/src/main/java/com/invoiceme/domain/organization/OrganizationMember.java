@@ -0,0 +1,44 @@
+package com.invoiceme.domain.organization;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Links an OAuth2 user (by subject) to the organization whose data they work on.
+ */
+@Entity
+@Table(name = "organization_members")
+@NoArgsConstructor
+@Getter
+public class OrganizationMember {
+
+    @Id
+    @Column(length = 255)
+    private String subject;
+
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private UUID organizationId;
+
+    private String email;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public OrganizationMember(String subject, UUID organizationId, String email) {
+        if (subject == null || subject.isBlank() || organizationId == null) {
+            throw new IllegalArgumentException("Subject and organization are required");
+        }
+        this.subject = subject;
+        this.organizationId = organizationId;
+        this.email = email;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -1,11 +1,13 @@
 package com.invoiceme.domain.payment;
 
 import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.shared.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.TenantId;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -26,6 +28,11 @@ public class Payment {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    // Organization of the invoice; added to every query by Hibernate
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private UUID organizationId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "invoice_id", nullable = false)
     @NotNull
@@ -51,11 +58,12 @@ public class Payment {
         if (invoice == null) {
             throw new IllegalArgumentException("Invoice is required");
         }
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (amount == null || !Money.of(amount).isPositive()) {
             throw new IllegalArgumentException("Payment amount must be greater than 0");
         }
         this.invoice = invoice;
-        this.amount = amount;
+        this.organizationId = invoice.getOrganizationId();
+        this.amount = Money.of(amount).toBigDecimal();
         this.paymentDate = paymentDate != null ? paymentDate : LocalDateTime.now();
     }
 
@@ -80,7 +88,7 @@ public class Payment {
         if (invoice == null) {
             throw new IllegalArgumentException("Invoice is required for payment validation");
         }
-        if (this.amount == null || this.amount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (this.amount == null || !Money.of(this.amount).isPositive()) {
             throw new IllegalArgumentException("Payment amount must be greater than 0");
         }
         
@@ -89,10 +97,11 @@ public class Payment {
             invoice.calculateBalance();
         }
         
-        BigDecimal invoiceBalance = invoice.getBalance();
-        if (this.amount.compareTo(invoiceBalance) > 0) {
+        Money payment = Money.of(this.amount);
+        Money invoiceBalance = Money.of(invoice.getBalance());
+        if (payment.compareTo(invoiceBalance) > 0) {
             throw new IllegalArgumentException(
-                    "Payment amount (" + this.amount + ") cannot exceed invoice balance (" + invoiceBalance + ")"
+                    "Payment amount (" + payment + ") cannot exceed invoice balance (" + invoiceBalance + ")"
             );
         }
     }
@@ -0,0 +1,50 @@
+package com.invoiceme.domain.pricing;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Exchange rate of a currency into the base currency (base units per unit of currency).
+ */
+@Entity
+@Table(name = "fx_rates")
+@NoArgsConstructor
+@Getter
+public class FxRate {
+
+    @Id
+    @Column(length = 3)
+    private String currency;
+
+    @Column(name = "rate_to_base", nullable = false, precision = 19, scale = 8)
+    private BigDecimal rateToBase;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public FxRate(String currency, BigDecimal rateToBase) {
+        if (currency == null || currency.length() != 3) {
+            throw new IllegalArgumentException("Currency must be a 3-letter ISO 4217 code");
+        }
+        if (rateToBase == null || rateToBase.signum() <= 0) {
+            throw new IllegalArgumentException("Exchange rate must be greater than 0");
+        }
+        this.currency = currency;
+        this.rateToBase = rateToBase;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,42 @@
+package com.invoiceme.domain.pricing;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Tax rate for a tax code, as a fraction (0.19 = 19%).
+ */
+@Entity
+@Table(name = "tax_rates")
+@NoArgsConstructor
+@Getter
+public class TaxRate {
+
+    @Id
+    @Column(length = 20)
+    private String code;
+
+    @Column(nullable = false, precision = 9, scale = 6)
+    private BigDecimal rate;
+
+    @Column
+    private String description;
+
+    public TaxRate(String code, BigDecimal rate, String description) {
+        if (code == null || code.isBlank()) {
+            throw new IllegalArgumentException("Tax code is required");
+        }
+        if (rate == null || rate.signum() < 0 || rate.compareTo(BigDecimal.ONE) >= 0) {
+            throw new IllegalArgumentException("Tax rate must be between 0 and 1");
+        }
+        this.code = code;
+        this.rate = rate;
+        this.description = description;
+    }
+}
@@ -0,0 +1,86 @@
+package com.invoiceme.domain.recurring;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of generating recurring invoices for one run date.
+ *
+ * All workers and instances processing the same date share this row. Counters are
+ * incremented in the transaction that commits each chunk, so after a crash they match
+ * the invoices that actually exist and the resumed run keeps counting from there.
+ * Updates only write changed columns so status changes never overwrite counters
+ * incremented by other workers.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "recurring_invoice_runs")
+@NoArgsConstructor
+@Getter
+public class RecurringInvoiceRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "run_date", nullable = false, unique = true, updatable = false)
+    private LocalDate runDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RecurringRunStatus status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "generated_count", nullable = false)
+    private Integer generatedCount = 0;
+
+    @Column(name = "failed_count", nullable = false)
+    private Integer failedCount = 0;
+
+    // Wall-clock processing time summed over every invocation for this date
+    @Column(name = "elapsed_millis", nullable = false)
+    private Long elapsedMillis = 0L;
+
+    /**
+     * Constructor for starting a run.
+     *
+     * @param runDate Date templates are generated for
+     */
+    public RecurringInvoiceRun(LocalDate runDate) {
+        if (runDate == null) {
+            throw new IllegalArgumentException("Run date is required");
+        }
+        this.runDate = runDate;
+        this.status = RecurringRunStatus.RUNNING;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Marks the run as finished. Called again when a later run for the same date
+     * generates invoices for templates that became due after it completed.
+     */
+    public void complete() {
+        this.status = RecurringRunStatus.COMPLETED;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Invoices generated per second of processing time.
+     *
+     * @return Throughput, or 0 if nothing has been generated
+     */
+    public double getInvoicesPerSecond() {
+        return generatedCount * 1000.0 / Math.max(1, elapsedMillis);
+    }
+}
@@ -0,0 +1,39 @@
+package com.invoiceme.domain.recurring;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One organization's share of a recurring invoice run.
+ * A run processes the templates of every organization; these counters are incremented in
+ * the same transaction as the run's totals, so organizations only ever see their own progress.
+ */
+@Entity
+@Table(name = "recurring_invoice_run_organizations")
+@NoArgsConstructor
+@Getter
+public class RecurringInvoiceRunOrganization {
+
+    @EmbeddedId
+    private RecurringInvoiceRunOrganizationId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", insertable = false, updatable = false)
+    private RecurringInvoiceRun run;
+
+    @Column(name = "generated_count", nullable = false)
+    private Integer generatedCount = 0;
+
+    @Column(name = "failed_count", nullable = false)
+    private Integer failedCount = 0;
+
+    /**
+     * Invoices of this organization generated per second of the run's processing time.
+     *
+     * @return Throughput, or 0 if nothing has been generated
+     */
+    public double getInvoicesPerSecond() {
+        return generatedCount * 1000.0 / Math.max(1, run.getElapsedMillis());
+    }
+}
@@ -0,0 +1,31 @@
+package com.invoiceme.domain.recurring;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Composite key of a run's counters for one organization.
+ */
+@Embeddable
+@NoArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class RecurringInvoiceRunOrganizationId implements Serializable {
+
+    @Column(name = "run_id", nullable = false)
+    private UUID runId;
+
+    @Column(name = "organization_id", nullable = false)
+    private UUID organizationId;
+
+    public RecurringInvoiceRunOrganizationId(UUID runId, UUID organizationId) {
+        this.runId = runId;
+        this.organizationId = organizationId;
+    }
+}
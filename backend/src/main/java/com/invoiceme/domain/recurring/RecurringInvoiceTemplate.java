@@ -0,0 +1,192 @@
+package com.invoiceme.domain.recurring;
+
+import com.invoiceme.domain.customer.Customer;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Template for invoices billed to a customer every {@code intervalMonths} months.
+ *
+ * Billing dates are computed from the anchor date and the number of periods generated so
+ * far, so a template anchored on the 31st bills on the last day of shorter months without
+ * drifting to the 28th afterwards. {@code nextRunDate} is the work-queue key the scheduler
+ * claims templates by; advancing it in the transaction that creates the invoice is what
+ * makes each period billed exactly once.
+ */
+@Entity
+@Table(name = "recurring_invoice_templates")
+@NoArgsConstructor
+@Getter
+public class RecurringInvoiceTemplate {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // Organization of the customer; added to every query by Hibernate
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private UUID organizationId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id", nullable = false)
+    private Customer customer;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "interval_months", nullable = false)
+    private Integer intervalMonths;
+
+    @Column(name = "anchor_date", nullable = false)
+    private LocalDate anchorDate;
+
+    @Column(name = "periods_generated", nullable = false)
+    private Integer periodsGenerated = 0;
+
+    @Column(name = "next_run_date", nullable = false)
+    private LocalDate nextRunDate;
+
+    // Last billing period to generate (inclusive); null for open-ended subscriptions
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    // Why the template was paused; generation skips inactive templates until they are fixed
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    // Lines of a whole claimed chunk are loaded in batches rather than one query per template
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "recurring_invoice_template_lines", joinColumns = @JoinColumn(name = "template_id"))
+    @OrderColumn(name = "line_order")
+    @BatchSize(size = 100)
+    private List<RecurringLineItem> lineItems = new ArrayList<>();
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Constructor for creating a new recurring template.
+     *
+     * @param customer Customer to bill
+     * @param currency ISO 4217 currency code of generated invoices
+     * @param intervalMonths Months between invoices (1 = monthly)
+     * @param startDate Date of the first invoice
+     * @param endDate Last date to bill on (null for no end)
+     * @param lineItems Lines copied onto each invoice (at least one)
+     * @throws IllegalArgumentException if validation fails
+     */
+    public RecurringInvoiceTemplate(Customer customer, String currency, Integer intervalMonths,
+                                    LocalDate startDate, LocalDate endDate, List<RecurringLineItem> lineItems) {
+        if (customer == null) {
+            throw new IllegalArgumentException("Customer is required");
+        }
+        if (intervalMonths == null || intervalMonths <= 0) {
+            throw new IllegalArgumentException("Interval must be at least one month");
+        }
+        if (startDate == null) {
+            throw new IllegalArgumentException("Start date is required");
+        }
+        if (endDate != null && endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
+        if (lineItems == null || lineItems.isEmpty()) {
+            throw new IllegalArgumentException("At least one line item is required");
+        }
+        this.customer = customer;
+        this.organizationId = customer.getOrganizationId();
+        this.currency = validateCurrency(currency);
+        this.intervalMonths = intervalMonths;
+        this.anchorDate = startDate;
+        this.nextRunDate = startDate;
+        this.endDate = endDate;
+        this.lineItems = new ArrayList<>(lineItems);
+    }
+
+    private static String validateCurrency(String currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency is required");
+        }
+        try {
+            return Currency.getInstance(currency).getCurrencyCode();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown currency: " + currency, e);
+        }
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Checks whether an invoice is due on the given date.
+     *
+     * @param date Run date
+     * @return true if the template is active and its next run date is on or before the date
+     */
+    public boolean isDue(LocalDate date) {
+        return active && !nextRunDate.isAfter(date);
+    }
+
+    /**
+     * Records that the period starting at {@code nextRunDate} has been billed and moves to
+     * the next one. The template is deactivated once the next period starts after the end date.
+     *
+     * @throws IllegalStateException if the template is inactive
+     */
+    public void advance() {
+        if (!active) {
+            throw new IllegalStateException("Inactive recurring template cannot be advanced");
+        }
+        this.periodsGenerated = periodsGenerated + 1;
+        this.nextRunDate = anchorDate.plusMonths((long) intervalMonths * periodsGenerated);
+        if (endDate != null && nextRunDate.isAfter(endDate)) {
+            this.active = false;
+        }
+    }
+
+    /**
+     * Stops generation after a failure so the template is not retried on every run.
+     *
+     * @param error Reason shown to the user (truncated to fit the column)
+     */
+    public void pause(String error) {
+        this.active = false;
+        this.lastError = error == null || error.length() <= MAX_ERROR_LENGTH
+                ? error
+                : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * Stops generating invoices from this template.
+     */
+    public void deactivate() {
+        this.active = false;
+    }
+}
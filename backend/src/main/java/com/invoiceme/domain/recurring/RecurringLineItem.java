@@ -0,0 +1,56 @@
+package com.invoiceme.domain.recurring;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Line copied onto every invoice generated from a recurring template.
+ * Holds the tax code only; the rate is resolved when each invoice is generated.
+ */
+@Embeddable
+@NoArgsConstructor
+@Getter
+public class RecurringLineItem {
+
+    @Column(nullable = false, length = 500)
+    private String description;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "unit_price", nullable = false, precision = 19, scale = 2)
+    private BigDecimal unitPrice;
+
+    @Column(name = "tax_code", length = 20)
+    private String taxCode;
+
+    /**
+     * Constructor with validation.
+     *
+     * @param description Line description
+     * @param quantity Quantity (must be > 0)
+     * @param unitPrice Unit price (must be >= 0)
+     * @param taxCode Tax code (null for untaxed lines)
+     * @throws IllegalArgumentException if validation fails
+     */
+    public RecurringLineItem(String description, Integer quantity, BigDecimal unitPrice, String taxCode) {
+        if (description == null || description.isBlank()) {
+            throw new IllegalArgumentException("Description is required");
+        }
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than 0");
+        }
+        if (unitPrice == null || unitPrice.signum() < 0) {
+            throw new IllegalArgumentException("Unit price must be greater than or equal to 0");
+        }
+        this.description = description;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice.setScale(2, RoundingMode.HALF_UP);
+        this.taxCode = taxCode;
+    }
+}
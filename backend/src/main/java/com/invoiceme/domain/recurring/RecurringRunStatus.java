@@ -0,0 +1,12 @@
+package com.invoiceme.domain.recurring;
+
+/**
+ * Status of a recurring invoice run.
+ * 
+ * RUNNING: Workers are generating invoices, or an interrupted run is waiting to be resumed
+ * COMPLETED: No templates were left due for the run date
+ */
+public enum RecurringRunStatus {
+    RUNNING,
+    COMPLETED
+}
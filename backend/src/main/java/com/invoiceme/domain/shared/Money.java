@@ -0,0 +1,171 @@
+package com.invoiceme.domain.shared;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Monetary amount as a whole number of cents (scale 2).
+ *
+ * Domain arithmetic uses this type; {@link BigDecimal} is kept at the persistence and JSON
+ * boundary. Conversion from {@link BigDecimal} rounds HALF_UP to scale 2, matching
+ * {@code setScale(2, RoundingMode.HALF_UP)}. Arithmetic is overflow-checked and throws
+ * {@link ArithmeticException} instead of wrapping.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    /** Scale of rates passed to {@link #applyRate(long)}: 1_000_000 micros = 100%. */
+    public static final int RATE_SCALE = 6;
+
+    private static final long RATE_ONE = 1_000_000L;
+
+    public static final Money ZERO = new Money(0);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Converts a decimal amount, rounding HALF_UP to cents.
+     *
+     * @throws ArithmeticException if the amount does not fit in a long number of cents
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount is required");
+        }
+        return ofCents(amount.setScale(SCALE, RoundingMode.HALF_UP).movePointRight(SCALE).longValueExact());
+    }
+
+    public long cents() {
+        return cents;
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money times(long factor) {
+        return ofCents(Math.multiplyExact(cents, factor));
+    }
+
+    /**
+     * Multiplies by a rate given in millionths and rounds HALF_UP to cents,
+     * matching {@code amount.multiply(rate).setScale(2, RoundingMode.HALF_UP)}.
+     *
+     * @param rateMicros Rate in millionths (190_000 = 19%)
+     * @return Rounded product
+     * @throws ArithmeticException if the rounded product does not fit in a long
+     */
+    public Money applyRate(long rateMicros) {
+        return applyRate(rateMicros, SCALE);
+    }
+
+    /**
+     * Multiplies by a rate given in millionths and rounds HALF_UP once, to the given number of
+     * decimal places (see {@link #roundTo}).
+     *
+     * @param rateMicros Rate in millionths (190_000 = 19%)
+     * @param fractionDigits Decimal places of the currency
+     * @return Rounded product
+     * @throws ArithmeticException if the rounded product does not fit in a long
+     */
+    public Money applyRate(long rateMicros, int fractionDigits) {
+        long unit = unitCents(fractionDigits);
+        long divisor = RATE_ONE * unit;
+        long high = Math.multiplyHigh(cents, rateMicros);
+        long product = cents * rateMicros;
+        if (high != (product >> 63)) {
+            // Intermediate product exceeds 64 bits (amounts above ~92 billion cents at 100%)
+            return ofCents(BigDecimal.valueOf(cents)
+                    .multiply(BigDecimal.valueOf(rateMicros))
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(unit))
+                    .longValueExact());
+        }
+        return ofCents(Math.multiplyExact(divideHalfUp(product, divisor), unit));
+    }
+
+    /**
+     * Rounds HALF_UP to the given number of decimal places, for currencies with fewer minor
+     * units than cents (0 for JPY). Two or more places, and the -1 that
+     * {@link java.util.Currency#getDefaultFractionDigits()} reports for pseudo-currencies,
+     * leave the amount unchanged.
+     *
+     * @param fractionDigits Decimal places of the currency
+     * @return Rounded amount, still counted in cents
+     */
+    public Money roundTo(int fractionDigits) {
+        long unit = unitCents(fractionDigits);
+        return unit == 1 ? this : ofCents(Math.multiplyExact(divideHalfUp(cents, unit), unit));
+    }
+
+    private static long unitCents(int fractionDigits) {
+        return fractionDigits < 0 || fractionDigits >= SCALE ? 1 : fractionDigits == 1 ? 10 : 100;
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+
+    /**
+     * Converts a decimal rate (0.19 = 19%) to millionths, rounding HALF_UP.
+     *
+     * @throws ArithmeticException if the rate does not fit in a long
+     */
+    public static long rateMicros(BigDecimal rate) {
+        return rate.setScale(RATE_SCALE, RoundingMode.HALF_UP).movePointRight(RATE_SCALE).longValueExact();
+    }
+
+    public boolean isZero() {
+        return cents == 0;
+    }
+
+    public boolean isPositive() {
+        return cents > 0;
+    }
+
+    public boolean isNegative() {
+        return cents < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && cents == other.cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.invoiceme.infrastructure.config;
+
+import com.invoiceme.infrastructure.persistence.ConnectionPoolMonitor;
+import com.invoiceme.infrastructure.persistence.ConnectionPoolSizer;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sizing and saturation metrics for every Hikari pool (the primary and, when configured,
+ * the read replica).
+ */
+@Configuration
+public class ConnectionPoolConfig {
+
+    @Bean
+    public static ConnectionPoolSizer connectionPoolSizer(
+            @Value("${app.datasource.pool.io-wait-ratio:4}") double ioWaitRatio,
+            @Value("${app.datasource.pool.max-size:20}") int maxSize) {
+        return new ConnectionPoolSizer(Runtime.getRuntime().availableProcessors(), ioWaitRatio, maxSize);
+    }
+
+    /**
+     * Publishes percentile histograms of acquire time and waiting threads, and keeps a
+     * client-side p99 for {@link ConnectionPoolMonitor}.
+     */
+    @Bean
+    public MeterFilter connectionPoolDistributions() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (ConnectionPoolMonitor.ACQUIRE_TIMER.equals(id.getName())
+                        || ConnectionPoolMonitor.PENDING_SUMMARY.equals(id.getName())) {
+                    return DistributionStatisticConfig.builder()
+                            .percentiles(0.5, 0.95, 0.99)
+                            .percentilesHistogram(true)
+                            .build()
+                            .merge(config);
+                }
+                return config;
+            }
+        };
+    }
+}
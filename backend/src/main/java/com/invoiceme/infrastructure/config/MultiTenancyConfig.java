@@ -0,0 +1,46 @@
+package com.invoiceme.infrastructure.config;
+
+import com.invoiceme.application.organization.TenantContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+
+/**
+ * Discriminator-based multi-tenancy: entities with an {@code @TenantId} column are filtered to
+ * the organization in {@link TenantContext} when a session opens, and new ones are stamped with it.
+ *
+ * The filter applies to queries but not to loads by primary key, so repositories of tenant
+ * entities redeclare {@code findById} and {@code existsById} as queries.
+ */
+@Configuration
+public class MultiTenancyConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer tenantIdentifierResolverCustomizer() {
+        return properties -> properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER,
+                new OrganizationIdentifierResolver());
+    }
+
+    static class OrganizationIdentifierResolver implements CurrentTenantIdentifierResolver<UUID> {
+
+        @Override
+        public UUID resolveCurrentTenantIdentifier() {
+            return TenantContext.current();
+        }
+
+        @Override
+        public boolean validateExistingCurrentSessions() {
+            return false;
+        }
+
+        // Sessions of system work see every organization and may write rows of any of them
+        @Override
+        public boolean isRoot(UUID tenantId) {
+            return TenantContext.ALL_ORGANIZATIONS.equals(tenantId);
+        }
+    }
+}
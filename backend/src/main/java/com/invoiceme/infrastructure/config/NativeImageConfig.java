@@ -0,0 +1,48 @@
+package com.invoiceme.infrastructure.config;
+
+import com.invoiceme.application.archive.dto.ArchivedInvoiceDocument;
+import com.invoiceme.application.customer.dto.CustomerResponse;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import db.migration.V11_1__Allow_overdue_invoice_status;
+import db.migration.V13_1__Number_existing_invoices;
+import db.migration.V14_1__Scope_keys_to_organization;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.NativeDetector;
+
+/**
+ * Native executable support. Has no effect on the JVM.
+ *
+ * Types serialized with the ObjectMapper outside of controllers (archives, change feed
+ * payloads) need binding hints of their own.
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageRuntimeHints.class)
+@RegisterReflectionForBinding({
+        ArchivedInvoiceDocument.class,
+        CustomerResponse.class,
+        InvoiceResponse.class,
+        PaymentResponse.class
+})
+public class NativeImageConfig {
+
+    /**
+     * Flyway finds Java migrations by scanning class files, which a native executable does
+     * not have, so they are registered explicitly there.
+     */
+    @Bean
+    public FlywayConfigurationCustomizer nativeJavaMigrations() {
+        return configuration -> {
+            if (NativeDetector.inNativeImage()) {
+                configuration.javaMigrations(
+                        new V11_1__Allow_overdue_invoice_status(),
+                        new V13_1__Number_existing_invoices(),
+                        new V14_1__Scope_keys_to_organization());
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.invoiceme.infrastructure.config;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.RegexPatternTypeFilter;
+import org.springframework.core.type.filter.TypeFilter;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Reflection and resource hints for the native executable (mvn -Pnative).
+ *
+ * Evaluated at build time only; classes are found by scanning so new entities and mappers
+ * are covered without touching this class.
+ */
+public class NativeImageRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final MemberCategory[] ALL_MEMBERS = {
+            MemberCategory.DECLARED_FIELDS,
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_DECLARED_METHODS
+    };
+
+    /** Content handlers named in Jakarta Mail's META-INF/mailcap, created reflectively per MIME part. */
+    private static final List<String> MAIL_CONTENT_HANDLERS = List.of(
+            "org.eclipse.angus.mail.handlers.text_plain",
+            "org.eclipse.angus.mail.handlers.text_html",
+            "org.eclipse.angus.mail.handlers.text_xml",
+            "org.eclipse.angus.mail.handlers.multipart_mixed",
+            "org.eclipse.angus.mail.handlers.message_rfc822");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Hibernate entities and their embedded ids: fields are accessed reflectively
+        for (String entity : scan(classLoader, "com.invoiceme.domain",
+                new AnnotationTypeFilter(Entity.class), new AnnotationTypeFilter(Embeddable.class))) {
+            hints.reflection().registerType(TypeReference.of(entity), ALL_MEMBERS);
+        }
+
+        // MapStruct mappers: the generated implementations (@Mapper itself is not retained at runtime)
+        for (String mapper : scan(classLoader, "com.invoiceme.application", new RegexPatternTypeFilter(Pattern.compile(".*MapperImpl")))) {
+            hints.reflection().registerType(TypeReference.of(mapper),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        // OpenPDF: metrics of the standard Type 1 fonts used by InvoicePdfService
+        hints.resources()
+                .registerPattern("com/lowagie/text/pdf/fonts/*.afm")
+                .registerPattern("com/lowagie/text/pdf/fonts/glyphlist.txt")
+                .registerPattern("com/lowagie/text/version.properties")
+                .registerPattern("com/lowagie/text/error_messages/*.lng");
+
+        // Jakarta Mail: providers are registered by Angus Mail itself, the content handlers are not
+        hints.resources().registerPattern("META-INF/mailcap");
+        for (String handler : MAIL_CONTENT_HANDLERS) {
+            hints.reflection().registerType(TypeReference.of(handler), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+
+        // Flyway: Boot only includes db/migration; PostgreSQL-only migrations live under db/vendor
+        hints.resources().registerPattern("db/vendor/**");
+    }
+
+    private static List<String> scan(ClassLoader classLoader, String basePackage, TypeFilter... filters) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        for (TypeFilter filter : filters) {
+            scanner.addIncludeFilter(filter);
+        }
+        return scanner.findCandidateComponents(basePackage).stream()
+                .map(BeanDefinition::getBeanClassName)
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,51 @@
+package com.invoiceme.infrastructure.config;
+
+import com.invoiceme.infrastructure.persistence.ReactiveReadRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking read API ({@code /api/v2}), enabled by setting {@code app.reactive.url}.
+ *
+ * The R2DBC pool is owned by {@link ReactiveReadRepository} rather than exposed as a
+ * ConnectionFactory bean, because Spring Boot drops its JDBC DataSource when one exists.
+ * A handful of connections serves many concurrent requests, since none is held while
+ * waiting on the client.
+ */
+@Configuration
+@ConditionalOnProperty("app.reactive.url")
+public class ReactiveReadConfig {
+
+    @Bean
+    public ReactiveReadRepository reactiveReadRepository(
+            @Value("${app.reactive.url}") String url,
+            @Value("${app.reactive.username:${spring.datasource.username:}}") String username,
+            @Value("${app.reactive.password:${spring.datasource.password:}}") String password,
+            @Value("${app.reactive.pool.max-size:10}") int maxSize,
+            @Value("${app.reactive.pool.max-acquire-time:PT5S}") Duration maxAcquireTime) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (StringUtils.hasText(username)) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (StringUtils.hasText(password)) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        ConnectionPoolConfiguration pool = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("reactive")
+                .initialSize(1)
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build();
+        return new ReactiveReadRepository(new ConnectionPool(pool));
+    }
+}
@@ -1,6 +1,7 @@
 package com.invoiceme.infrastructure.email;
 
 import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.pricing.CurrencyFormatter;
 import com.invoiceme.domain.invoice.Invoice;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -13,10 +14,7 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import java.text.NumberFormat;
 import java.time.format.DateTimeFormatter;
-import java.util.Locale;
-import java.util.UUID;
 
 /**
  * Implementation of EmailService for sending invoice emails.
@@ -32,7 +30,6 @@ public class EmailServiceImpl implements EmailService {
     private String fromEmail;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM dd, yyyy");
-    private static final NumberFormat CURRENCY_FORMATTER = NumberFormat.getCurrencyInstance(Locale.US);
 
     @Override
     public void sendInvoiceEmail(Invoice invoice, byte[] pdfBytes) throws EmailException {
@@ -62,7 +59,7 @@ public class EmailServiceImpl implements EmailService {
             helper.setTo(invoice.getCustomer().getEmail());
 
             // Set subject
-            String invoiceNumber = formatInvoiceNumber(invoice.getId());
+            String invoiceNumber = invoice.displayNumber();
             helper.setSubject("Invoice #" + invoiceNumber + " from InvoiceMe");
 
             // Set HTML body
@@ -70,7 +67,7 @@ public class EmailServiceImpl implements EmailService {
             helper.setText(htmlBody, true);
 
             // Attach PDF
-            String filename = "invoice-" + invoice.getId().toString().substring(0, 8) + ".pdf";
+            String filename = "invoice-" + invoiceNumber + ".pdf";
             helper.addAttachment(filename, new ByteArrayDataSource(pdfBytes, "application/pdf"));
 
             // Send email
@@ -90,12 +87,54 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
+    @Override
+    public void sendReminderEmail(Invoice invoice, int reminderNumber) throws EmailException {
+        if (invoice == null) {
+            throw new EmailException("Invoice cannot be null");
+        }
+
+        if (invoice.getCustomer() == null || invoice.getCustomer().getEmail() == null) {
+            throw new EmailException("Customer email is required to send reminder");
+        }
+
+        try {
+            MimeMessage message = javaMailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+
+            String from = fromEmail != null && !fromEmail.isEmpty() 
+                ? fromEmail 
+                : "noreply@invoiceme.com";
+            helper.setFrom(from);
+            helper.setTo(invoice.getCustomer().getEmail());
+
+            String invoiceNumber = invoice.displayNumber();
+            helper.setSubject((reminderNumber > 1 ? "Reminder " + reminderNumber + ": " : "Reminder: ")
+                + "Invoice #" + invoiceNumber + " is overdue");
+            helper.setText(generateReminderBody(invoice), true);
+
+            javaMailSender.send(message);
+            log.info("Reminder {} sent to {} for invoice {}", 
+                reminderNumber, invoice.getCustomer().getEmail(), invoiceNumber);
+
+        } catch (MessagingException e) {
+            log.error("Failed to create reminder message for invoice {}", invoice.getId(), e);
+            throw new EmailException("Failed to create email message: " + e.getMessage(), e);
+        } catch (MailException e) {
+            log.error("Failed to send reminder for invoice {}", invoice.getId(), e);
+            throw new EmailException("Failed to send email: " + e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Unexpected error sending reminder for invoice {}", invoice.getId(), e);
+            throw new EmailException("Unexpected error sending email: " + e.getMessage(), e);
+        }
+    }
+
     private String generateEmailBody(Invoice invoice) {
-        String invoiceNumber = formatInvoiceNumber(invoice.getId());
+        String invoiceNumber = invoice.displayNumber();
         String customerName = invoice.getCustomer().getName();
         String invoiceDate = invoice.getCreatedAt().format(DATE_FORMATTER);
-        String totalAmount = CURRENCY_FORMATTER.format(invoice.getTotalAmount());
-        String balance = CURRENCY_FORMATTER.format(invoice.getBalance());
+        String dueDate = invoice.getDueDate() != null ? invoice.getDueDate().format(DATE_FORMATTER) : "Upon receipt";
+        String totalAmount = CurrencyFormatter.format(invoice.getTotalAmount(), invoice.getCurrency());
+        String balance = CurrencyFormatter.format(invoice.getBalance(), invoice.getCurrency());
 
         return """
             <!DOCTYPE html>
@@ -134,6 +173,10 @@ public class EmailServiceImpl implements EmailService {
                                 <span class="detail-label">Date:</span>
                                 <span class="detail-value">%s</span>
                             </div>
+                            <div class="detail-row">
+                                <span class="detail-label">Due Date:</span>
+                                <span class="detail-value">%s</span>
+                            </div>
                             <div class="detail-row">
                                 <span class="detail-label">Total Amount:</span>
                                 <span class="detail-value">%s</span>
@@ -154,11 +197,68 @@ public class EmailServiceImpl implements EmailService {
                 </div>
             </body>
             </html>
-            """.formatted(customerName, invoiceNumber, invoiceDate, totalAmount, balance);
+            """.formatted(customerName, invoiceNumber, invoiceDate, dueDate, totalAmount, balance);
     }
 
-    private String formatInvoiceNumber(UUID id) {
-        return "INV-" + id.toString().substring(0, 8).toUpperCase();
+    private String generateReminderBody(Invoice invoice) {
+        String invoiceNumber = invoice.displayNumber();
+        String customerName = invoice.getCustomer().getName();
+        String dueDate = invoice.getDueDate() != null ? invoice.getDueDate().format(DATE_FORMATTER) : "-";
+        String balance = CurrencyFormatter.format(invoice.getBalance(), invoice.getCurrency());
+
+        return """
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <meta charset="UTF-8">
+                <meta name="viewport" content="width=device-width, initial-scale=1.0">
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background-color: #dc2626; color: white; padding: 20px; text-align: center; }
+                    .content { padding: 20px; background-color: #f9fafb; }
+                    .invoice-details { background-color: white; padding: 15px; margin: 20px 0; border-radius: 5px; }
+                    .detail-row { display: flex; justify-content: space-between; padding: 8px 0; border-bottom: 1px solid #e5e7eb; }
+                    .detail-row:last-child { border-bottom: none; }
+                    .detail-label { font-weight: bold; color: #6b7280; }
+                    .detail-value { color: #111827; }
+                    .footer { text-align: center; padding: 20px; color: #6b7280; font-size: 12px; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>Payment Reminder</h1>
+                    </div>
+                    <div class="content">
+                        <p>Dear %s,</p>
+                        <p>Our records show that the following invoice is past due. If you have already paid, please disregard this reminder.</p>
+                        
+                        <div class="invoice-details">
+                            <div class="detail-row">
+                                <span class="detail-label">Invoice Number:</span>
+                                <span class="detail-value">%s</span>
+                            </div>
+                            <div class="detail-row">
+                                <span class="detail-label">Due Date:</span>
+                                <span class="detail-value">%s</span>
+                            </div>
+                            <div class="detail-row">
+                                <span class="detail-label">Balance Due:</span>
+                                <span class="detail-value">%s</span>
+                            </div>
+                        </div>
+                        
+                        <p>If you have any questions, please don't hesitate to contact us.</p>
+                        <p>Best regards,<br>The InvoiceMe Team</p>
+                    </div>
+                    <div class="footer">
+                        <p>This is an automated email. Please do not reply to this message.</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """.formatted(customerName, invoiceNumber, dueDate, balance);
     }
 }
 
@@ -0,0 +1,22 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.archive.ArchivedInvoice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedInvoiceRepository extends JpaRepository<ArchivedInvoice, UUID> {
+
+    /**
+     * Finds an archived invoice of the current organization.
+     * A query rather than a primary key load, so the tenant filter applies.
+     */
+    @Override
+    @Query("SELECT a FROM ArchivedInvoice a WHERE a.id = :id")
+    Optional<ArchivedInvoice> findById(@Param("id") UUID id);
+}
@@ -0,0 +1,22 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.archive.ArchivedPayment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedPaymentRepository extends JpaRepository<ArchivedPayment, UUID> {
+
+    /**
+     * Finds an archived payment of the current organization.
+     * A query rather than a primary key load, so the tenant filter applies.
+     */
+    @Override
+    @Query("SELECT a FROM ArchivedPayment a WHERE a.id = :id")
+    Optional<ArchivedPayment> findById(@Param("id") UUID id);
+}
@@ -0,0 +1,95 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.changelog.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    /**
+     * Finds change log entries of the current organization after the given sequence, in
+     * sequence order. Served from the (organization_id, sequence) index.
+     *
+     * @param after Exclusive lower bound on sequence
+     * @param pageable Page size (use page 0)
+     * @return Entries ordered by sequence
+     */
+    @Query("SELECT c FROM ChangeLogEntry c WHERE c.sequence > :after ORDER BY c.sequence")
+    List<ChangeLogEntry> findAfter(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Locks the change log writer rows of the given organizations until the transaction ends,
+     * in id order so writers for several organizations cannot deadlock. Entries are inserted
+     * while holding them, so each organization's sequences are assigned in commit order.
+     *
+     * @param organizationIds Organizations the transaction writes entries for
+     * @return IDs of the locked rows (organizations without a row are left out)
+     */
+    @Query(value = """
+            SELECT organization_id FROM change_log_writer
+            WHERE organization_id IN :organizationIds
+            ORDER BY organization_id
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<UUID> lockWriters(@Param("organizationIds") Collection<UUID> organizationIds);
+
+    /**
+     * Creates an organization's writer row unless it exists (PostgreSQL). A concurrent creator
+     * waits for this transaction instead of failing.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO change_log_writer (organization_id) VALUES (:organizationId)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    void createWriter(@Param("organizationId") UUID organizationId);
+
+    /**
+     * {@link #createWriter} for H2, which has no ON CONFLICT clause.
+     */
+    @Modifying
+    @Query(value = """
+            MERGE INTO change_log_writer (organization_id) KEY (organization_id) VALUES (:organizationId)
+            """, nativeQuery = true)
+    void createWriterOnH2(@Param("organizationId") UUID organizationId);
+
+    /**
+     * Deletes entries older than the cutoff.
+     *
+     * @param cutoff Entries changed before this time are deleted
+     * @return Number of deleted entries
+     */
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.changedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Compacts the log by deleting entries older than the horizon that are superseded
+     * by a later entry for the same entity. The latest entry per entity is always kept.
+     *
+     * @param horizon Only entries changed before this time are compacted
+     * @return Number of deleted entries
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM ChangeLogEntry c
+            WHERE c.changedAt < :horizon
+              AND EXISTS (
+                  SELECT 1 FROM ChangeLogEntry n
+                  WHERE n.entityType = c.entityType
+                    AND n.entityId = c.entityId
+                    AND n.sequence > c.sequence
+              )
+            """)
+    int deleteSupersededOlderThan(@Param("horizon") LocalDateTime horizon);
+}
@@ -0,0 +1,103 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the connection pools for saturation.
+ *
+ * Hikari publishes the time to acquire a connection ({@value #ACQUIRE_TIMER}) and the number
+ * of threads waiting for one as a gauge. The gauge is sampled into {@value #PENDING_SUMMARY}
+ * so that waits between scrapes show up in its percentiles. A warning is logged whenever a
+ * pool's p99 acquire time crosses {@code app.datasource.pool.acquire-p99-warning}.
+ */
+@Component
+@Slf4j
+public class ConnectionPoolMonitor {
+
+    public static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+    public static final String PENDING_SUMMARY = "invoiceme.datasource.pending";
+
+    private final List<HikariDataSource> pools;
+    private final MeterRegistry meterRegistry;
+    private final Duration acquireP99Warning;
+    private final Map<String, DistributionSummary> pending = new ConcurrentHashMap<>();
+
+    public ConnectionPoolMonitor(
+            List<HikariDataSource> pools,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.pool.acquire-p99-warning:50ms}") Duration acquireP99Warning) {
+        this.pools = pools;
+        this.meterRegistry = meterRegistry;
+        this.acquireP99Warning = acquireP99Warning;
+    }
+
+    /**
+     * Records how many threads are waiting for a connection in each started pool.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.pool.sample-interval:PT1S}")
+    public void sample() {
+        for (HikariDataSource pool : pools) {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            if (mxBean != null) {
+                pending.computeIfAbsent(pool.getPoolName(), name -> DistributionSummary.builder(PENDING_SUMMARY)
+                                .description("Threads waiting for a connection, sampled")
+                                .tag("pool", name)
+                                .register(meterRegistry))
+                        .record(mxBean.getThreadsAwaitingConnection());
+            }
+        }
+    }
+
+    /**
+     * Logs a warning for every pool whose recent p99 acquire time is above the threshold.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.pool.check-interval:PT1M}")
+    public void checkAcquireTime() {
+        for (HikariDataSource pool : pools) {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            Optional<Duration> p99 = acquireP99(pool.getPoolName());
+            if (mxBean != null && p99.isPresent() && p99.get().compareTo(acquireP99Warning) > 0) {
+                log.warn("Connection pool {} is saturated: p99 acquire time {} ms exceeds {} ms "
+                                + "({} active, {} idle, {} waiting, maximum {})",
+                        pool.getPoolName(), p99.get().toMillis(), acquireP99Warning.toMillis(),
+                        mxBean.getActiveConnections(), mxBean.getIdleConnections(),
+                        mxBean.getThreadsAwaitingConnection(), pool.getMaximumPoolSize());
+            }
+        }
+    }
+
+    /**
+     * Recent p99 time to acquire a connection from the pool, if it has been measured.
+     *
+     * @param poolName Hikari pool name
+     * @return The p99 over the timer's sliding window
+     */
+    public Optional<Duration> acquireP99(String poolName) {
+        Timer timer = meterRegistry.find(ACQUIRE_TIMER).tag("pool", poolName).timer();
+        if (timer == null) {
+            return Optional.empty();
+        }
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.99) {
+                return Optional.of(Duration.ofNanos((long) percentile.value(TimeUnit.NANOSECONDS)));
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,59 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Gives every Hikari pool without an explicit {@code maximum-pool-size} a size derived from the
+ * number of cores and how long transactions wait on I/O.
+ *
+ * A transaction holds its connection while it waits on database round trips and on calls made
+ * inside it (such as SMTP when an invoice is sent), so a core can keep {@code 1 + wait/compute}
+ * connections busy, up to a ceiling that keeps all instances together within the database's
+ * connection limit. Pools are left fixed-size unless {@code minimum-idle} is set, as Hikari
+ * recommends.
+ */
+@Slf4j
+public class ConnectionPoolSizer implements BeanPostProcessor {
+
+    private final int maximumPoolSize;
+
+    /**
+     * @param cores Available processors
+     * @param ioWaitRatio Time a transaction waits on I/O per unit of CPU time
+     * @param maxSize Largest pool size to derive
+     * @throws IllegalArgumentException if the ratio is negative or the ceiling is below 1
+     */
+    public ConnectionPoolSizer(int cores, double ioWaitRatio, int maxSize) {
+        this.maximumPoolSize = maximumPoolSize(cores, ioWaitRatio, maxSize);
+    }
+
+    /**
+     * Pool size keeping every core busy while the other connections wait: {@code cores * (1 + ratio)},
+     * at least 2 and at most {@code maxSize}.
+     */
+    static int maximumPoolSize(int cores, double ioWaitRatio, int maxSize) {
+        if (ioWaitRatio < 0) {
+            throw new IllegalArgumentException("I/O wait ratio must not be negative");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum pool size must be at least 1");
+        }
+        return Math.min(maxSize, Math.max(2, (int) Math.ceil(cores * (1 + ioWaitRatio))));
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // Hikari leaves the size unset (-1) until the pool starts
+        if (bean instanceof HikariDataSource dataSource && dataSource.getMaximumPoolSize() < 1) {
+            dataSource.setMaximumPoolSize(maximumPoolSize);
+            log.info("Sized connection pool {} to {} connections", beanName, maximumPoolSize);
+        }
+        return bean;
+    }
+}
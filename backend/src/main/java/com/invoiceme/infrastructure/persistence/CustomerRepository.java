@@ -2,20 +2,127 @@ package com.invoiceme.infrastructure.persistence;
 
 import com.invoiceme.domain.customer.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, UUID> {
-    
+
+    /**
+     * Finds a customer of the current organization by ID.
+     * Declared as a query so the tenant filter applies
+     * (see {@link com.invoiceme.infrastructure.config.MultiTenancyConfig}).
+     *
+     * @param id Customer ID
+     * @return Optional containing the customer if it belongs to the current organization
+     */
+    @Override
+    @Query("SELECT c FROM Customer c WHERE c.id = :id")
+    Optional<Customer> findById(@Param("id") UUID id);
+
+    /**
+     * Checks whether a customer of the current organization exists (see {@link #findById}).
+     */
+    @Override
+    @Query("SELECT COUNT(c) > 0 FROM Customer c WHERE c.id = :id")
+    boolean existsById(@Param("id") UUID id);
+
     /**
-     * Finds a customer by email address.
+     * Finds a customer of the current organization by email address.
      * 
      * @param email Customer email address
      * @return Optional containing the customer if found
      */
     Optional<Customer> findByEmail(String email);
-}
 
+    /**
+     * Loads the organization, id, name and email of every customer visible to the current
+     * session without materializing entities. Used to build the in-memory suggestion index at
+     * startup, with the tenant filter off so all organizations are loaded.
+     *
+     * @return Lightweight rows for all visible customers
+     */
+    @Query("SELECT c.organizationId AS organizationId, c.id AS id, c.name AS name, c.email AS email FROM Customer c")
+    List<SuggestionRow> findAllSuggestionRows();
+
+    /**
+     * Ranked customer search (PostgreSQL only).
+     * Matches prefix tokens against the search_vector GIN index, typo-tolerant names via
+     * trigram similarity, and email prefixes via the trigram index. Results are keyset
+     * paginated on (rank DESC, id ASC) starting after the given position.
+     * Native queries bypass the tenant filter, so the organization is an explicit parameter.
+     *
+     * Only the first {@code maxCandidates} matches the index scan finds are ranked, so a short
+     * term matching most customers costs no more than one matching a few. The scan stops there
+     * without an ORDER BY; past the cap, results are the best of those matches rather than of all.
+     *
+     * @param organizationId Organization to search in
+     * @param tsQuery Prefix tsquery built by SearchTerms
+     * @param term Lower-cased raw term for trigram similarity
+     * @param likePrefix Escaped LIKE pattern for email prefix matching
+     * @param afterRank Rank of the last row of the previous page
+     * @param afterId Id of the last row of the previous page
+     * @param maxCandidates Maximum number of matches to rank
+     * @param limit Maximum number of rows to return
+     * @return Matching customers ordered by relevance
+     */
+    @Query(value = """
+            SELECT r.id AS id, r.name AS name, r.email AS email, r.rank AS rank
+            FROM (
+                SELECT c.id, c.name, c.email,
+                       CAST(ts_rank_cd(c.search_vector, to_tsquery('simple', :tsQuery))
+                            + similarity(lower(c.name), :term) AS DOUBLE PRECISION) AS rank
+                FROM (
+                    SELECT m.id, m.name, m.email, m.search_vector
+                    FROM customers m
+                    WHERE m.organization_id = :organizationId
+                      AND (m.search_vector @@ to_tsquery('simple', :tsQuery)
+                           OR lower(m.name) % :term
+                           OR lower(m.email) LIKE :likePrefix)
+                    LIMIT :maxCandidates
+                ) c
+            ) r
+            WHERE r.rank < :afterRank OR (r.rank = :afterRank AND r.id > :afterId)
+            ORDER BY r.rank DESC, r.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SearchRow> search(@Param("organizationId") UUID organizationId,
+                           @Param("tsQuery") String tsQuery,
+                           @Param("term") String term,
+                           @Param("likePrefix") String likePrefix,
+                           @Param("afterRank") double afterRank,
+                           @Param("afterId") UUID afterId,
+                           @Param("maxCandidates") int maxCandidates,
+                           @Param("limit") int limit);
+
+    /**
+     * Projection for suggestion index rows.
+     */
+    interface SuggestionRow {
+        UUID getOrganizationId();
+
+        UUID getId();
+
+        String getName();
+
+        String getEmail();
+    }
+
+    /**
+     * Projection for customer search rows.
+     */
+    interface SearchRow {
+        UUID getId();
+
+        String getName();
+
+        String getEmail();
+
+        Double getRank();
+    }
+}
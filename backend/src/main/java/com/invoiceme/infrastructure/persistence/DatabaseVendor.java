@@ -0,0 +1,34 @@
+package com.invoiceme.infrastructure.persistence;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells which database the application runs on, for the statements that differ between
+ * PostgreSQL and H2 (repository methods with an {@code OnH2} variant).
+ * Asked of the database on first use, then cached.
+ */
+@Component
+public class DatabaseVendor {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public DatabaseVendor(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Whether the database is PostgreSQL; otherwise it is H2.
+     */
+    public boolean isPostgres() {
+        Boolean current = postgres;
+        if (current == null) {
+            current = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())));
+            postgres = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,68 @@
+package com.invoiceme.infrastructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.ValidateResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs Flyway at startup, or defers it when {@code app.flyway.deferred} is set.
+ *
+ * By default pending migrations are applied before the application starts. Deferred, startup
+ * skips Flyway entirely and the schema is validated against the migrations in the background
+ * once the application is ready; mismatches (pending, missing or changed migrations) are logged
+ * as errors. Meant for instances started after a release step has migrated the database, such
+ * as scale-out on traffic spikes; that release step still runs with the default.
+ */
+@Component
+@Slf4j
+public class FlywayStartupStrategy implements FlywayMigrationStrategy {
+
+    private final boolean deferred;
+    private volatile Flyway deferredFlyway;
+
+    public FlywayStartupStrategy(@Value("${app.flyway.deferred:false}") boolean deferred) {
+        this.deferred = deferred;
+    }
+
+    @Override
+    public void migrate(Flyway flyway) {
+        if (!deferred) {
+            flyway.migrate();
+            return;
+        }
+        log.info("Skipping Flyway at startup; the schema is validated once the application is ready");
+        deferredFlyway = flyway;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        Flyway flyway = deferredFlyway;
+        if (flyway == null) {
+            return;
+        }
+        Thread check = new Thread(() -> validate(flyway), "flyway-validate");
+        check.setDaemon(true);
+        check.start();
+    }
+
+    private void validate(Flyway flyway) {
+        long start = System.nanoTime();
+        try {
+            ValidateResult result = flyway.validateWithResult();
+            if (result.validationSuccessful) {
+                log.info("Database schema matches the migrations (validated in {} ms)",
+                        (System.nanoTime() - start) / 1_000_000);
+            } else {
+                log.error("Database schema does not match the migrations; run them before starting deferred instances: {}",
+                        result.getAllErrorMessages());
+            }
+        } catch (RuntimeException e) {
+            log.error("Deferred Flyway validation failed", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.pricing.FxRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FxRateRepository extends JpaRepository<FxRate, String> {
+}
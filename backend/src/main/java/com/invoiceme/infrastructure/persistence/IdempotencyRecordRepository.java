@@ -0,0 +1,49 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.idempotency.IdempotencyRecord;
+import com.invoiceme.domain.idempotency.IdempotencyRecordId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecordId> {
+
+    /**
+     * Claims a key by inserting its row immediately (not at flush), so a concurrent request
+     * with the same key blocks on the primary key until this transaction ends and then fails
+     * with a unique violation.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (organization_id, scope, idempotency_key, request_hash, created_at, expires_at)
+            VALUES (:organizationId, :scope, :key, :requestHash, :createdAt, :expiresAt)
+            """, nativeQuery = true)
+    void claim(@Param("organizationId") UUID organizationId,
+               @Param("scope") String scope,
+               @Param("key") String key,
+               @Param("requestHash") String requestHash,
+               @Param("createdAt") LocalDateTime createdAt,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseBody = :responseBody WHERE r.id = :id")
+    void complete(@Param("id") IdempotencyRecordId id, @Param("responseBody") String responseBody);
+
+    /**
+     * Deletes the key's record if it has expired but not been purged yet, so the key can be
+     * claimed again.
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.expiresAt < :now")
+    int deleteIfExpired(@Param("id") IdempotencyRecordId id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,78 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.invoice.InvoiceNumberSequence;
+import com.invoiceme.domain.invoice.InvoiceNumberSequenceId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface InvoiceNumberSequenceRepository extends JpaRepository<InvoiceNumberSequence, InvoiceNumberSequenceId> {
+
+    /**
+     * Creates the sequence for an organization, series and year, starting at 0, unless it exists
+     * (PostgreSQL). Runs in the calling transaction: a concurrent creation waits for the other
+     * transaction and then does nothing.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO invoice_number_sequences (organization_id, series, fiscal_year, last_number)
+            VALUES (:organizationId, :series, :year, 0)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    void createIfMissing(@Param("organizationId") UUID organizationId,
+                         @Param("series") String series,
+                         @Param("year") int year);
+
+    /**
+     * {@link #createIfMissing} for H2, which has no ON CONFLICT clause. Leaves the last value
+     * of an existing sequence alone.
+     */
+    @Modifying
+    @Query(value = """
+            MERGE INTO invoice_number_sequences (organization_id, series, fiscal_year)
+            KEY (organization_id, series, fiscal_year)
+            VALUES (:organizationId, :series, :year)
+            """, nativeQuery = true)
+    void createIfMissingOnH2(@Param("organizationId") UUID organizationId,
+                             @Param("series") String series,
+                             @Param("year") int year);
+
+    /**
+     * Reserves the next {@code count} values of a sequence and returns the new last value,
+     * in one statement (PostgreSQL). The row stays locked until the calling transaction ends.
+     *
+     * @return The new last value, or empty if the sequence does not exist
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = """
+            UPDATE invoice_number_sequences SET last_number = last_number + :count
+            WHERE organization_id = :organizationId AND series = :series AND fiscal_year = :year
+            RETURNING last_number
+            """, nativeQuery = true)
+    Optional<Long> reserve(@Param("organizationId") UUID organizationId,
+                           @Param("series") String series,
+                           @Param("year") int year,
+                           @Param("count") long count);
+
+    /**
+     * {@link #reserve} for H2, which has no RETURNING clause.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = """
+            SELECT last_number FROM FINAL TABLE (
+                UPDATE invoice_number_sequences SET last_number = last_number + :count
+                WHERE organization_id = :organizationId AND series = :series AND fiscal_year = :year)
+            """, nativeQuery = true)
+    Optional<Long> reserveOnH2(@Param("organizationId") UUID organizationId,
+                               @Param("series") String series,
+                               @Param("year") int year,
+                               @Param("count") long count);
+}
@@ -2,20 +2,52 @@ package com.invoiceme.infrastructure.persistence;
 
 import com.invoiceme.domain.invoice.Invoice;
 import com.invoiceme.domain.invoice.InvoiceStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
 
+    /**
+     * Finds an invoice of the current organization by ID.
+     * Declared as a query so the tenant filter applies
+     * (see {@link com.invoiceme.infrastructure.config.MultiTenancyConfig}).
+     *
+     * @param id Invoice ID
+     * @return Optional containing the invoice if it belongs to the current organization
+     */
+    @Override
+    @Query("SELECT i FROM Invoice i WHERE i.id = :id")
+    Optional<Invoice> findById(@Param("id") UUID id);
+
+    /**
+     * Checks whether an invoice of the current organization exists (see {@link #findById}).
+     */
+    @Override
+    @Query("SELECT COUNT(i) > 0 FROM Invoice i WHERE i.id = :id")
+    boolean existsById(@Param("id") UUID id);
+
     /**
      * Finds all invoices with pagination.
      * Eagerly fetches customer to avoid N+1 queries and ensure customerName is available.
@@ -60,5 +92,244 @@ public interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
     @EntityGraph(attributePaths = {"customer"})
     @Query("SELECT i FROM Invoice i WHERE i.id = :id")
     Optional<Invoice> findByIdWithCustomer(@Param("id") UUID id);
-}
 
+    /**
+     * Locks the given invoices for a payment, in id order.
+     * Every payment path locks invoices through this ordering, so two payments touching
+     * overlapping invoices wait for each other instead of deadlocking.
+     * 
+     * @param ids Invoice IDs
+     * @return Locked invoices ordered by id (missing IDs are left out)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Invoice i WHERE i.id IN :ids ORDER BY i.id")
+    List<Invoice> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Locks a customer's invoices in the given statuses for a payment, in id order.
+     * 
+     * @param customerId Customer ID
+     * @param statuses Statuses to include
+     * @return Locked invoices ordered by id
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Invoice i WHERE i.customer.id = :customerId AND i.status IN :statuses ORDER BY i.id")
+    List<Invoice> findByCustomerIdAndStatusForUpdate(@Param("customerId") UUID customerId,
+                                                     @Param("statuses") Collection<InvoiceStatus> statuses);
+
+    /**
+     * Claims up to {@code limit} SENT invoices whose due date has passed, oldest first,
+     * across all organizations.
+     * Served from the (status, due_date) index, so only invoices actually coming due are read.
+     * Rows locked by another dunning worker are skipped.
+     * 
+     * @param today Current date (invoices due before it are past due)
+     * @param limit Batch size
+     * @return Locked past-due invoices
+     */
+    @Query(value = """
+            SELECT * FROM invoices
+            WHERE status = 'SENT' AND due_date < :today
+            ORDER BY due_date
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    List<Invoice> claimPastDue(@Param("today") LocalDate today, @Param("limit") int limit);
+
+    /**
+     * Claims up to {@code limit} PAID invoices last changed before the cutoff, oldest first,
+     * across all organizations.
+     * Served from the (status, updated_at) index. Rows locked by another archival worker
+     * are skipped.
+     *
+     * @param cutoff Invoices settled before this time are claimed
+     * @param limit Batch size
+     * @return Locked paid invoices
+     */
+    @Query(value = """
+            SELECT * FROM invoices
+            WHERE status = 'PAID' AND updated_at < :cutoff
+            ORDER BY updated_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    List<Invoice> claimPaidBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Claims up to {@code limit} OVERDUE invoices whose next reminder is due, oldest first,
+     * across all organizations.
+     * Served from the (status, next_dunning_date) index. Rows locked by another dunning
+     * worker are skipped.
+     * 
+     * @param today Current date
+     * @param limit Batch size
+     * @return Locked invoices with a reminder due
+     */
+    @Query(value = """
+            SELECT * FROM invoices
+            WHERE status = 'OVERDUE' AND next_dunning_date <= :today
+            ORDER BY next_dunning_date
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    List<Invoice> claimRemindersDue(@Param("today") LocalDate today, @Param("limit") int limit);
+
+    /**
+     * Streams invoice headers updated at or after the given time, oldest first.
+     * Uses a forward-only cursor (fetch size) and a projection, so rows are neither
+     * buffered by the driver nor tracked by the persistence context.
+     * Must be consumed inside a transaction and closed by the caller.
+     *
+     * @param since Lower bound (inclusive) on updated_at
+     * @return Stream of export rows ordered by (updatedAt, id)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT i.id AS id, c.id AS customerId, c.name AS customerName, i.status AS status,
+                   i.currency AS currency, i.taxAmount AS taxAmount,
+                   i.totalAmount AS totalAmount, i.balance AS balance,
+                   i.createdAt AS createdAt, i.updatedAt AS updatedAt
+            FROM Invoice i JOIN i.customer c
+            WHERE i.updatedAt >= :since
+            ORDER BY i.updatedAt, i.id
+            """)
+    Stream<ExportRow> streamForExport(@Param("since") LocalDateTime since);
+
+    /**
+     * Streams invoices in the given statuses that still have a balance, for building the
+     * reconciliation index. Same cursor and read-only hints as the export stream; must be
+     * consumed inside a transaction and closed by the caller.
+     *
+     * @param statuses Statuses of invoices that can still receive payments
+     * @return Stream of open invoice rows
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT i.id AS id, i.invoiceNumber AS invoiceNumber, c.name AS customerName,
+                   i.currency AS currency, i.balance AS balance
+            FROM Invoice i JOIN i.customer c
+            WHERE i.status IN :statuses AND i.balance > 0
+            """)
+    Stream<OpenInvoiceRow> streamOpenInvoices(@Param("statuses") Collection<InvoiceStatus> statuses);
+
+    /**
+     * Ranked invoice search over line item descriptions (PostgreSQL only).
+     * Each invoice is ranked by its best matching line item, combining stemmed prefix
+     * full-text matches with trigram word similarity for typos. Results are keyset
+     * paginated on (rank DESC, id ASC) starting after the given position.
+     * Native queries bypass the tenant filter, so the organization is an explicit parameter,
+     * applied inside the ranking subquery so only the organization's line items are ranked.
+     *
+     * Only the first {@code maxCandidates} matching line items the index scan finds are ranked,
+     * so a short term matching most lines costs no more than one matching a few. Past the cap,
+     * results are the best of those lines rather than of all.
+     *
+     * @param organizationId Organization to search in
+     * @param tsQuery Prefix tsquery built by SearchTerms
+     * @param term Lower-cased raw term for trigram word similarity
+     * @param afterRank Rank of the last row of the previous page
+     * @param afterId Id of the last row of the previous page
+     * @param maxCandidates Maximum number of matching line items to rank
+     * @param limit Maximum number of rows to return
+     * @return Matching invoices ordered by relevance
+     */
+    @Query(value = """
+            SELECT i.id AS id, c.id AS customerId, c.name AS customerName, i.status AS status,
+                   i.total_amount AS totalAmount, i.created_at AS createdAt, m.rank AS rank
+            FROM (
+                SELECT li.invoice_id,
+                       CAST(max(ts_rank_cd(li.search_vector, to_tsquery('english', :tsQuery))
+                                + word_similarity(:term, lower(li.description))) AS DOUBLE PRECISION) AS rank
+                FROM (
+                    SELECT ml.invoice_id, ml.search_vector, ml.description
+                    FROM invoice_line_items ml
+                    JOIN invoices oi ON oi.id = ml.invoice_id
+                    WHERE oi.organization_id = :organizationId
+                      AND (ml.search_vector @@ to_tsquery('english', :tsQuery)
+                           OR :term <% lower(ml.description))
+                    LIMIT :maxCandidates
+                ) li
+                GROUP BY li.invoice_id
+            ) m
+            JOIN invoices i ON i.id = m.invoice_id
+            JOIN customers c ON c.id = i.customer_id
+            WHERE m.rank < :afterRank OR (m.rank = :afterRank AND i.id > :afterId)
+            ORDER BY m.rank DESC, i.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SearchRow> searchByLineItems(@Param("organizationId") UUID organizationId,
+                                      @Param("tsQuery") String tsQuery,
+                                      @Param("term") String term,
+                                      @Param("afterRank") double afterRank,
+                                      @Param("afterId") UUID afterId,
+                                      @Param("maxCandidates") int maxCandidates,
+                                      @Param("limit") int limit);
+
+    /**
+     * Projection for invoice export rows.
+     */
+    interface ExportRow {
+        UUID getId();
+
+        UUID getCustomerId();
+
+        String getCustomerName();
+
+        InvoiceStatus getStatus();
+
+        String getCurrency();
+
+        BigDecimal getTaxAmount();
+
+        BigDecimal getTotalAmount();
+
+        BigDecimal getBalance();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * Projection for open invoices loaded into the reconciliation index.
+     */
+    interface OpenInvoiceRow {
+        UUID getId();
+
+        String getInvoiceNumber();
+
+        String getCustomerName();
+
+        String getCurrency();
+
+        BigDecimal getBalance();
+    }
+
+    /**
+     * Projection for invoice search rows.
+     */
+    interface SearchRow {
+        UUID getId();
+
+        UUID getCustomerId();
+
+        String getCustomerName();
+
+        String getStatus();
+
+        BigDecimal getTotalAmount();
+
+        LocalDateTime getCreatedAt();
+
+        Double getRank();
+    }
+}
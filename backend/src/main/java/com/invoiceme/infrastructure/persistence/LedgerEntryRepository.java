@@ -0,0 +1,64 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.ledger.LedgerEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID> {
+
+    /**
+     * Finds the ledger entries of an invoice with pagination.
+     *
+     * @param invoiceId Invoice ID
+     * @param pageable Pagination parameters
+     * @return Page of ledger entries
+     */
+    Page<LedgerEntry> findByInvoice_Id(UUID invoiceId, Pageable pageable);
+
+    /**
+     * Finds all ledger entries of an invoice in the order they were appended.
+     *
+     * @param invoiceId Invoice ID
+     * @return Ledger entries of the invoice
+     */
+    List<LedgerEntry> findByInvoice_IdOrderBySequenceNumberAsc(UUID invoiceId);
+
+    /**
+     * Finds the running balance of the latest entry recorded at or before the given time.
+     * A single descending seek on (invoice_id, recorded_at, sequence_number).
+     *
+     * @param invoiceId Invoice ID
+     * @param asOf Point in time (inclusive)
+     * @return The balance after that entry, or empty if nothing was recorded by then
+     */
+    @Query("""
+            SELECT e.balanceAfter FROM LedgerEntry e
+            WHERE e.invoice.id = :invoiceId AND e.recordedAt <= :asOf
+            ORDER BY e.recordedAt DESC, e.sequenceNumber DESC
+            LIMIT 1
+            """)
+    Optional<BigDecimal> findBalanceAsOf(@Param("invoiceId") UUID invoiceId, @Param("asOf") LocalDateTime asOf);
+
+    /**
+     * Sums the refunds recorded against a payment.
+     *
+     * @param paymentId Payment ID
+     * @return Refunded total (zero if there are none)
+     */
+    @Query("""
+            SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntry e
+            WHERE e.payment.id = :paymentId AND e.entryType = com.invoiceme.domain.ledger.LedgerEntryType.REFUND
+            """)
+    BigDecimal sumRefundedByPaymentId(@Param("paymentId") UUID paymentId);
+}
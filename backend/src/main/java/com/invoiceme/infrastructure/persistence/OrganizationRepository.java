@@ -0,0 +1,20 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.organization.Organization;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface OrganizationRepository extends JpaRepository<Organization, UUID> {
+
+    /**
+     * Finds the organization that users of a Google Workspace domain join.
+     *
+     * @param domain Lower-cased hosted domain
+     * @return Optional containing the organization if one claims the domain
+     */
+    Optional<Organization> findByDomain(String domain);
+}
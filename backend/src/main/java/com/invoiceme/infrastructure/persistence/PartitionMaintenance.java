@@ -0,0 +1,229 @@
+package com.invoiceme.infrastructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Creates the range partitions of invoices (one per year) and payments (one per month)
+ * ahead of time, and drops partitions past the archive age once they are empty.
+ *
+ * Partitioning is set up by a PostgreSQL-only migration; on other databases, or before that
+ * migration ran, every operation does nothing. Rows leave the partitions one invoice at a time:
+ * InvoiceArchiveService moves a settled invoice, its line items, payments and ledger entries
+ * into the archive tables together. A partition is only dropped when nothing is left in it, so
+ * open invoices stay, and payments stay as long as their invoice does.
+ */
+@Component
+@Slf4j
+public class PartitionMaintenance {
+
+    private static final Pattern INVOICE_PARTITION = Pattern.compile("invoices_(\\d{4})");
+    private static final Pattern PAYMENT_PARTITION = Pattern.compile("payments_(\\d{4})_(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseVendor databaseVendor;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final Period archiveAfter;
+    private volatile Boolean partitioned;
+
+    public PartitionMaintenance(
+            JdbcTemplate jdbcTemplate,
+            DatabaseVendor databaseVendor,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.partitioning.months-ahead:3}") int monthsAhead,
+            @Value("${app.partitioning.archive-after:#{null}}") Period archiveAfter) {
+        if (monthsAhead < 1) {
+            throw new IllegalArgumentException("Partitions must be created at least 1 month ahead");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseVendor = databaseVendor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.archiveAfter = archiveAfter;
+    }
+
+    /**
+     * Creates the partitions from the current month up to the configured number of months ahead
+     * and checks that they are all attached.
+     *
+     * @param today Current date
+     * @throws IllegalStateException if a partition in that range is missing
+     */
+    public void createUpcoming(LocalDate today) {
+        LocalDate ahead = today.plusMonths(monthsAhead);
+        createPartitions(today, ahead);
+        verifyPartitions(today, ahead);
+    }
+
+    /**
+     * Creates any missing partitions covering the given dates (inclusive).
+     *
+     * @param from First date to cover
+     * @param to Last date to cover
+     */
+    public void createPartitions(LocalDate from, LocalDate to) {
+        if (!isPartitioned()) {
+            return;
+        }
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            jdbcTemplate.queryForObject("SELECT create_invoice_partition(?)", String.class, year);
+        }
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            jdbcTemplate.queryForObject("SELECT create_payment_partition(?)", String.class, month.atDay(1));
+        }
+    }
+
+    /**
+     * Checks that the partitions covering the given dates (inclusive) are attached.
+     * There is no default partition, so a missing one would fail every insert in its range;
+     * for example, creation silently does nothing when a table of the partition's name exists
+     * outside the partitioned table.
+     *
+     * @param from First date to cover
+     * @param to Last date to cover
+     * @throws IllegalStateException naming the missing partitions
+     */
+    public void verifyPartitions(LocalDate from, LocalDate to) {
+        if (!isPartitioned()) {
+            return;
+        }
+        List<String> missing = new ArrayList<>();
+        List<String> invoicePartitions = partitionsOf("invoices");
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            String partition = "invoices_" + year;
+            if (!invoicePartitions.contains(partition)) {
+                missing.add(partition);
+            }
+        }
+        List<String> paymentPartitions = partitionsOf("payments");
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            String partition = String.format("payments_%d_%02d", month.getYear(), month.getMonthValue());
+            if (!paymentPartitions.contains(partition)) {
+                missing.add(partition);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Partitions covering " + from + " to " + to
+                    + " are not attached, inserts in their range will fail: " + missing);
+        }
+    }
+
+    /**
+     * Drops the empty partitions that ended more than the configured archive age ago.
+     * Does nothing unless {@code app.partitioning.archive-after} is set.
+     *
+     * @param today Current date
+     * @return Names of the dropped partitions
+     */
+    public List<String> dropArchived(LocalDate today) {
+        if (archiveAfter == null) {
+            return List.of();
+        }
+        return dropArchivedBefore(today.minus(archiveAfter));
+    }
+
+    /**
+     * Drops every partition whose range ends on or before the cutoff and whose rows have all
+     * been archived. Partitions still holding rows, such as an open invoice or a payment of one,
+     * are kept and picked up by a later run once the invoice archive has emptied them.
+     *
+     * Each partition is detached first and checked afterwards, in one transaction: the detach
+     * locks it, so no row can arrive between the check and the drop, and a partition that turns
+     * out not to be empty is attached again by rolling back.
+     *
+     * @param cutoff Partitions holding only rows created before this date are dropped
+     * @return Names of the dropped partitions
+     */
+    public List<String> dropArchivedBefore(LocalDate cutoff) {
+        if (!isPartitioned()) {
+            return List.of();
+        }
+        List<String> dropped = new ArrayList<>();
+        List<String> kept = new ArrayList<>();
+        for (String table : List.of("invoices", "payments")) {
+            for (String partition : partitionsOf(table)) {
+                Optional<LocalDate> end = endOf(partition);
+                if (end.isPresent() && !end.get().isAfter(cutoff)) {
+                    (dropIfEmpty(table, partition) ? dropped : kept).add(partition);
+                }
+            }
+        }
+        if (!dropped.isEmpty()) {
+            log.info("Dropped archived partitions ending on or before {}: {}", cutoff, dropped);
+        }
+        if (!kept.isEmpty()) {
+            log.info("Kept partitions ending on or before {} with rows not archived yet: {}", cutoff, kept);
+        }
+        return dropped;
+    }
+
+    private boolean dropIfEmpty(String table, String partition) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class))) {
+                status.setRollbackOnly();
+                return false;
+            }
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            return true;
+        }));
+    }
+
+    /**
+     * Names of the table's partitions, oldest first.
+     */
+    public List<String> partitionsOf(String table) {
+        if (!isPartitioned()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = ?::regclass
+                ORDER BY c.relname
+                """, String.class, table);
+    }
+
+    /**
+     * First date after the partition's range, derived from the name the create functions give it.
+     */
+    static Optional<LocalDate> endOf(String partition) {
+        Matcher invoice = INVOICE_PARTITION.matcher(partition);
+        if (invoice.matches()) {
+            return Optional.of(LocalDate.of(Integer.parseInt(invoice.group(1)) + 1, 1, 1));
+        }
+        Matcher payment = PAYMENT_PARTITION.matcher(partition);
+        if (payment.matches()) {
+            YearMonth month = YearMonth.of(Integer.parseInt(payment.group(1)), Integer.parseInt(payment.group(2)));
+            return Optional.of(month.plusMonths(1).atDay(1));
+        }
+        return Optional.empty();
+    }
+
+    private boolean isPartitioned() {
+        Boolean current = partitioned;
+        if (current == null) {
+            current = databaseVendor.isPostgres() && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'invoices'::regclass)",
+                    Boolean.class));
+            partitioned = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,41 @@
+package com.invoiceme.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Creates upcoming invoice and payment partitions at startup and nightly, and drops expired
+ * ones emptied by the invoice archive when an archive age is configured.
+ *
+ * Startup fails if the upcoming partitions are not attached afterwards, rather than leaving
+ * inserts to fail once the current ones run out; nightly, the same check logs an error.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionMaintenanceJob {
+
+    private final PartitionMaintenance partitionMaintenance;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        partitionMaintenance.createUpcoming(LocalDate.now());
+    }
+
+    @Scheduled(cron = "${app.partitioning.cron:0 0 2 * * *}")
+    public void run() {
+        LocalDate today = LocalDate.now();
+        try {
+            partitionMaintenance.createUpcoming(today);
+        } catch (IllegalStateException e) {
+            log.error("Upcoming partitions are missing; attach them before the current ones run out", e);
+        }
+        partitionMaintenance.dropArchived(today);
+    }
+}
@@ -1,20 +1,46 @@
 package com.invoiceme.infrastructure.persistence;
 
 import com.invoiceme.domain.payment.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, UUID> {
 
+    /**
+     * Finds a payment of the current organization by ID.
+     * Declared as a query so the tenant filter applies
+     * (see {@link com.invoiceme.infrastructure.config.MultiTenancyConfig}).
+     *
+     * @param id Payment ID
+     * @return Optional containing the payment if it belongs to the current organization
+     */
+    @Override
+    @Query("SELECT p FROM Payment p WHERE p.id = :id")
+    Optional<Payment> findById(@Param("id") UUID id);
+
+    /**
+     * Checks whether a payment of the current organization exists (see {@link #findById}).
+     */
+    @Override
+    @Query("SELECT COUNT(p) > 0 FROM Payment p WHERE p.id = :id")
+    boolean existsById(@Param("id") UUID id);
+
     /**
      * Finds payments by invoice ID with pagination.
      * Uses invoice.id property path for the @ManyToOne relationship.
@@ -25,6 +51,14 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
      */
     Page<Payment> findByInvoice_Id(UUID invoiceId, Pageable pageable);
 
+    /**
+     * Finds all payments of an invoice, oldest first.
+     *
+     * @param invoiceId Invoice ID
+     * @return Payments of the invoice
+     */
+    List<Payment> findByInvoice_IdOrderByCreatedAtAsc(UUID invoiceId);
+
     /**
      * Finds a payment by ID with invoice and customer eagerly fetched.
      * 
@@ -55,5 +89,48 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     @EntityGraph(attributePaths = {"invoice", "invoice.customer"})
     @Query("SELECT p FROM Payment p WHERE p.invoice.id = :invoiceId")
     Page<Payment> findByInvoiceIdWithInvoiceAndCustomer(@Param("invoiceId") UUID invoiceId, Pageable pageable);
-}
 
+    /**
+     * Streams payments recorded at or after the given time, oldest first, including the
+     * payments of archived invoices.
+     * Payments are immutable, so created_at is their change timestamp.
+     * Uses a forward-only cursor (fetch size) and a projection; must be consumed
+     * inside a transaction and closed by the caller.
+     *
+     * @param since Lower bound (inclusive) on created_at
+     * @return Stream of export rows ordered by (createdAt, id)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT p.id AS id, i.id AS invoiceId, i.customer.id AS customerId, p.amount AS amount,
+                   p.paymentDate AS paymentDate, p.createdAt AS createdAt
+            FROM Payment p JOIN p.invoice i
+            WHERE p.createdAt >= :since
+            UNION ALL
+            SELECT a.id, a.invoiceId, a.customerId, a.amount, a.paymentDate, a.createdAt
+            FROM ArchivedPayment a
+            WHERE a.createdAt >= :since
+            ORDER BY 6, 1
+            """)
+    Stream<ExportRow> streamForExport(@Param("since") LocalDateTime since);
+
+    /**
+     * Projection for payment export rows.
+     */
+    interface ExportRow {
+        UUID getId();
+
+        UUID getInvoiceId();
+
+        UUID getCustomerId();
+
+        BigDecimal getAmount();
+
+        LocalDateTime getPaymentDate();
+
+        LocalDateTime getCreatedAt();
+    }
+}
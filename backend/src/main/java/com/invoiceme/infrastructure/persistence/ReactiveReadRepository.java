@@ -0,0 +1,213 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.domain.payment.Payment;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking reads of invoices, customers and payments over R2DBC, for the v2 read API.
+ *
+ * Rows are loaded into detached entities so the usual mappers turn them into responses; they
+ * are never attached to a persistence context. Hibernate's tenant filter does not apply here,
+ * so every query takes the organization explicitly.
+ */
+public class ReactiveReadRepository implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveReadRepository(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    /**
+     * Invoices of the organization, newest first, with their customer and line items.
+     *
+     * @param organizationId Organization whose invoices are read
+     * @param status Status to filter by, or null
+     * @param customerId Customer to filter by, or null
+     * @param limit Maximum number of invoices
+     * @param offset Number of invoices to skip
+     */
+    public Flux<Invoice> findInvoices(UUID organizationId, InvoiceStatus status, UUID customerId, int limit, long offset) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT i.*, c.name AS customer_name
+                FROM invoices i
+                JOIN customers c ON c.id = i.customer_id
+                WHERE i.organization_id = :organizationId
+                """);
+        if (status != null) {
+            sql.append(" AND i.status = :status");
+        }
+        if (customerId != null) {
+            sql.append(" AND i.customer_id = :customerId");
+        }
+        sql.append(" ORDER BY i.created_at DESC, i.id LIMIT :limit OFFSET :offset");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("organizationId", organizationId)
+                .bind("limit", limit)
+                .bind("offset", offset);
+        if (status != null) {
+            spec = spec.bind("status", status.name());
+        }
+        if (customerId != null) {
+            spec = spec.bind("customerId", customerId);
+        }
+        // One query for the page, one for the line items of all its invoices
+        return spec.map(ReactiveReadRepository::toInvoice).all()
+                .collectList()
+                .flatMapMany(invoices -> invoices.isEmpty()
+                        ? Flux.empty()
+                        : findLineItems(invoices).flatMapIterable(lineItems -> {
+                            invoices.forEach(invoice -> invoice.setLineItems(
+                                    lineItems.getOrDefault(invoice.getId(), new ArrayList<>())));
+                            return invoices;
+                        }));
+    }
+
+    /**
+     * Customers of the organization ordered by name.
+     */
+    public Flux<Customer> findCustomers(UUID organizationId, int limit, long offset) {
+        return databaseClient.sql("""
+                        SELECT * FROM customers
+                        WHERE organization_id = :organizationId
+                        ORDER BY name, id LIMIT :limit OFFSET :offset
+                        """)
+                .bind("organizationId", organizationId)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveReadRepository::toCustomer)
+                .all();
+    }
+
+    /**
+     * Payments of the organization, latest payment date first, with their invoice and customer name.
+     *
+     * @param organizationId Organization whose payments are read
+     * @param invoiceId Invoice to filter by, or null
+     * @param limit Maximum number of payments
+     * @param offset Number of payments to skip
+     */
+    public Flux<Payment> findPayments(UUID organizationId, UUID invoiceId, int limit, long offset) {
+        String sql = """
+                SELECT p.id, p.organization_id, p.amount, p.payment_date, p.created_at,
+                       i.id AS invoice_id, i.invoice_number, c.name AS customer_name
+                FROM payments p
+                JOIN invoices i ON i.id = p.invoice_id
+                JOIN customers c ON c.id = i.customer_id
+                WHERE p.organization_id = :organizationId
+                """
+                + (invoiceId != null ? " AND p.invoice_id = :invoiceId" : "")
+                + " ORDER BY p.payment_date DESC, p.id LIMIT :limit OFFSET :offset";
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("organizationId", organizationId)
+                .bind("limit", limit)
+                .bind("offset", offset);
+        if (invoiceId != null) {
+            spec = spec.bind("invoiceId", invoiceId);
+        }
+        return spec.map(ReactiveReadRepository::toPayment).all();
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private Mono<Map<UUID, List<LineItem>>> findLineItems(List<Invoice> invoices) {
+        List<UUID> invoiceIds = invoices.stream().map(Invoice::getId).toList();
+        return databaseClient.sql("""
+                        SELECT invoice_id, description, quantity, unit_price, tax_code, tax_rate
+                        FROM invoice_line_items
+                        WHERE invoice_id IN (:invoiceIds)
+                        ORDER BY invoice_id, line_order
+                        """)
+                .bind("invoiceIds", invoiceIds)
+                .map(row -> Map.entry(row.get("invoice_id", UUID.class), new LineItem(
+                        row.get("description", String.class),
+                        row.get("quantity", Integer.class),
+                        row.get("unit_price", BigDecimal.class),
+                        row.get("tax_code", String.class),
+                        row.get("tax_rate", BigDecimal.class))))
+                .all()
+                .collect(Collectors.groupingBy(Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue,
+                        Collectors.toCollection(ArrayList::new))));
+    }
+
+    private static Invoice toInvoice(Readable row) {
+        Customer customer = new Customer();
+        customer.setId(row.get("customer_id", UUID.class));
+        customer.setName(row.get("customer_name", String.class));
+
+        Invoice invoice = new Invoice();
+        invoice.setId(row.get("id", UUID.class));
+        invoice.setOrganizationId(row.get("organization_id", UUID.class));
+        invoice.setInvoiceNumber(row.get("invoice_number", String.class));
+        invoice.setCustomer(customer);
+        invoice.setStatus(InvoiceStatus.valueOf(row.get("status", String.class)));
+        invoice.setCurrency(row.get("currency", String.class));
+        invoice.setTotalAmount(row.get("total_amount", BigDecimal.class));
+        invoice.setTaxAmount(row.get("tax_amount", BigDecimal.class));
+        invoice.setBalance(row.get("balance", BigDecimal.class));
+        invoice.setDueDate(row.get("due_date", LocalDate.class));
+        invoice.setDunningLevel(row.get("dunning_level", Integer.class));
+        invoice.setRecurringTemplateId(row.get("recurring_template_id", UUID.class));
+        invoice.setBillingPeriod(row.get("billing_period", LocalDate.class));
+        invoice.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        invoice.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return invoice;
+    }
+
+    private static Customer toCustomer(Readable row) {
+        Customer customer = new Customer();
+        customer.setId(row.get("id", UUID.class));
+        customer.setOrganizationId(row.get("organization_id", UUID.class));
+        customer.setName(row.get("name", String.class));
+        customer.setEmail(row.get("email", String.class));
+        customer.setAddress(row.get("address", String.class));
+        customer.setPhone(row.get("phone", String.class));
+        customer.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        customer.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return customer;
+    }
+
+    private static Payment toPayment(Readable row) {
+        Customer customer = new Customer();
+        customer.setName(row.get("customer_name", String.class));
+
+        Invoice invoice = new Invoice();
+        invoice.setId(row.get("invoice_id", UUID.class));
+        invoice.setInvoiceNumber(row.get("invoice_number", String.class));
+        invoice.setCustomer(customer);
+
+        Payment payment = new Payment();
+        payment.setId(row.get("id", UUID.class));
+        payment.setOrganizationId(row.get("organization_id", UUID.class));
+        payment.setInvoice(invoice);
+        payment.setAmount(row.get("amount", BigDecimal.class));
+        payment.setPaymentDate(row.get("payment_date", LocalDateTime.class));
+        payment.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        return payment;
+    }
+}
@@ -0,0 +1,77 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.recurring.RecurringInvoiceRunOrganization;
+import com.invoiceme.domain.recurring.RecurringInvoiceRunOrganizationId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RecurringInvoiceRunOrganizationRepository
+        extends JpaRepository<RecurringInvoiceRunOrganization, RecurringInvoiceRunOrganizationId> {
+
+    /**
+     * Most recent runs of an organization first, with the run fetched.
+     *
+     * @param organizationId Organization whose counters to return
+     * @param pageable Page size (use page 0)
+     * @return Counters ordered by run date descending
+     */
+    @Query("""
+            SELECT o FROM RecurringInvoiceRunOrganization o JOIN FETCH o.run r
+            WHERE o.id.organizationId = :organizationId
+            ORDER BY r.runDate DESC
+            """)
+    List<RecurringInvoiceRunOrganization> findRecent(@Param("organizationId") UUID organizationId, Pageable pageable);
+
+    /**
+     * Creates zeroed counters for every organization that has none for the run yet, so
+     * workers only ever increment existing rows.
+     *
+     * @param runId Run ID
+     * @return Number of created rows
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO recurring_invoice_run_organizations (run_id, organization_id)
+            SELECT :runId, o.id FROM organizations o
+            WHERE NOT EXISTS (
+                SELECT 1 FROM recurring_invoice_run_organizations r
+                WHERE r.run_id = :runId AND r.organization_id = o.id
+            )
+            """, nativeQuery = true)
+    int createMissing(@Param("runId") UUID runId);
+
+    /**
+     * Adds an organization's part of a committed chunk to its counters, in place.
+     *
+     * @return Number of updated rows (0 if the organization was created after the run started)
+     */
+    @Modifying
+    @Query("""
+            UPDATE RecurringInvoiceRunOrganization o
+            SET o.generatedCount = o.generatedCount + :generated,
+                o.failedCount = o.failedCount + :failed
+            WHERE o.id.runId = :runId AND o.id.organizationId = :organizationId
+            """)
+    int recordChunk(@Param("runId") UUID runId,
+                    @Param("organizationId") UUID organizationId,
+                    @Param("generated") int generated,
+                    @Param("failed") int failed);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO recurring_invoice_run_organizations (run_id, organization_id, generated_count, failed_count)
+            VALUES (:runId, :organizationId, :generated, :failed)
+            """, nativeQuery = true)
+    void create(@Param("runId") UUID runId,
+                @Param("organizationId") UUID organizationId,
+                @Param("generated") int generated,
+                @Param("failed") int failed);
+}
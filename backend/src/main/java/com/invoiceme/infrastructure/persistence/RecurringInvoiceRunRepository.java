@@ -0,0 +1,58 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.recurring.RecurringInvoiceRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RecurringInvoiceRunRepository extends JpaRepository<RecurringInvoiceRun, UUID> {
+
+    Optional<RecurringInvoiceRun> findByRunDate(LocalDate runDate);
+
+    /**
+     * Most recent runs first.
+     *
+     * @param pageable Page size (use page 0)
+     * @return Runs ordered by run date descending
+     */
+    @Query("SELECT r FROM RecurringInvoiceRun r ORDER BY r.runDate DESC")
+    List<RecurringInvoiceRun> findRecent(Pageable pageable);
+
+    /**
+     * Adds a committed chunk to the run counters. Done as an in-place increment so
+     * concurrent workers never overwrite each other's progress.
+     *
+     * @param id Run ID
+     * @param generated Invoices generated in the chunk
+     * @param failed Templates paused in the chunk
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("""
+            UPDATE RecurringInvoiceRun r
+            SET r.generatedCount = r.generatedCount + :generated,
+                r.failedCount = r.failedCount + :failed
+            WHERE r.id = :id
+            """)
+    int recordChunk(@Param("id") UUID id, @Param("generated") int generated, @Param("failed") int failed);
+
+    /**
+     * Adds the processing time of one invocation to the run.
+     *
+     * @param id Run ID
+     * @param millis Wall-clock time the invocation spent generating
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE RecurringInvoiceRun r SET r.elapsedMillis = r.elapsedMillis + :millis WHERE r.id = :id")
+    int addElapsed(@Param("id") UUID id, @Param("millis") long millis);
+}
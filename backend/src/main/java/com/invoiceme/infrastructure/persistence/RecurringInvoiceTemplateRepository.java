@@ -0,0 +1,86 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.recurring.RecurringInvoiceTemplate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RecurringInvoiceTemplateRepository extends JpaRepository<RecurringInvoiceTemplate, UUID> {
+
+    /**
+     * Claims up to {@code limit} templates due on or before the run date.
+     * Rows are locked until the calling transaction ends; rows already locked by another
+     * worker are skipped instead of waited on, so concurrent workers and app instances
+     * take disjoint chunks of the work queue. Must run inside the transaction that
+     * processes the chunk.
+     *
+     * @param runDate Run date
+     * @param limit Chunk size
+     * @return The claimed templates, oldest due first
+     */
+    @Query(value = """
+            SELECT * FROM recurring_invoice_templates
+            WHERE active = TRUE AND next_run_date <= :runDate
+            ORDER BY next_run_date, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    List<RecurringInvoiceTemplate> claimDue(@Param("runDate") LocalDate runDate, @Param("limit") int limit);
+
+    /**
+     * Claims a single template if it is still due and not locked by another worker.
+     *
+     * @param id Template ID
+     * @param runDate Run date
+     * @return The template if claimed
+     */
+    @Query(value = """
+            SELECT * FROM recurring_invoice_templates
+            WHERE id = :id AND active = TRUE AND next_run_date <= :runDate
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    Optional<RecurringInvoiceTemplate> claimDueById(@Param("id") UUID id, @Param("runDate") LocalDate runDate);
+
+    /**
+     * Loads claimed templates with their customers in one query (the templates are
+     * already in the persistence context; this fetches the customers).
+     *
+     * @param ids Template IDs
+     * @return Templates with customer fetched
+     */
+    @Query("SELECT t FROM RecurringInvoiceTemplate t JOIN FETCH t.customer WHERE t.id IN :ids ORDER BY t.nextRunDate, t.id")
+    List<RecurringInvoiceTemplate> findAllWithCustomerByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Finds a template with its customer eagerly loaded.
+     *
+     * @param id Template ID
+     * @return Optional template
+     */
+    @Query("SELECT t FROM RecurringInvoiceTemplate t JOIN FETCH t.customer WHERE t.id = :id")
+    Optional<RecurringInvoiceTemplate> findByIdWithCustomer(@Param("id") UUID id);
+
+    /**
+     * Lists templates with their customers, ordered by next run date.
+     *
+     * @param pageable Page request
+     * @return Page of templates
+     */
+    @Query(value = "SELECT t FROM RecurringInvoiceTemplate t JOIN FETCH t.customer ORDER BY t.nextRunDate, t.id",
+           countQuery = "SELECT COUNT(t) FROM RecurringInvoiceTemplate t")
+    Page<RecurringInvoiceTemplate> findAllWithCustomer(Pageable pageable);
+}
@@ -0,0 +1,111 @@
+package com.invoiceme.infrastructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Tracks how far the read replica trails the primary and whether reads may be sent to it.
+ *
+ * Polls the replica's replay position: a replica that has replayed everything it received
+ * reports no lag, otherwise the lag is the age of the last replayed transaction. A database
+ * that is not in recovery (a simulated replica) always reports no lag. A replica whose WAL
+ * receiver is not streaming has soon replayed all it received before losing the primary and
+ * would look caught up, so its lag counts as unknown instead. The replica counts as unusable until the
+ * first successful check, while its lag is unknown or exceeds the maximum, and after it
+ * failed to answer or hand out a connection.
+ *
+ * The replica user needs {@code pg_read_all_stats} (or {@code pg_monitor}) to see the WAL
+ * receiver status; without it the replica never counts as streaming.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // Null while the replica is not streaming from the primary
+    static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END
+            """;
+
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    // Null until the first check
+    private volatile Boolean usable;
+    private volatile Duration lastLag;
+
+    public ReplicaLagMonitor(JdbcTemplate replica, Duration maxLag) {
+        if (maxLag.isNegative()) {
+            throw new IllegalArgumentException("Maximum replica lag must not be negative");
+        }
+        this.replica = replica;
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * Measures the replica lag and updates whether reads may use the replica.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT1S}")
+    public void check() {
+        Double seconds;
+        try {
+            seconds = replica.queryForObject(LAG_QUERY, Double.class);
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+            return;
+        }
+        if (seconds == null) {
+            lastLag = null;
+            setUsable(false, "not streaming from the primary");
+            return;
+        }
+        Duration lag = Duration.ofMillis(Math.round(seconds * 1000));
+        lastLag = lag;
+        if (lag.compareTo(maxLag) > 0) {
+            setUsable(false, "lagging " + lag.toMillis() + " ms behind the primary");
+        } else {
+            setUsable(true, "lag " + lag.toMillis() + " ms");
+        }
+    }
+
+    /**
+     * Stops routing reads to the replica until the next successful check.
+     *
+     * @param cause Why the replica could not be used
+     */
+    public void markUnavailable(Exception cause) {
+        setUsable(false, "unavailable: " + cause.getMessage());
+    }
+
+    /**
+     * Whether read-only transactions may currently use the replica.
+     */
+    public boolean isReplicaUsable() {
+        return Boolean.TRUE.equals(usable);
+    }
+
+    /**
+     * Lag measured by the last successful check, or null before the first one and while the
+     * replica is not streaming.
+     */
+    public Duration getLastLag() {
+        return lastLag;
+    }
+
+    private void setUsable(boolean usable, String reason) {
+        if (!Boolean.valueOf(usable).equals(this.usable)) {
+            if (usable) {
+                log.info("Routing read-only transactions to the replica ({})", reason);
+            } else {
+                log.warn("Routing read-only transactions to the primary, replica is {}", reason);
+            }
+        }
+        this.usable = usable;
+    }
+}
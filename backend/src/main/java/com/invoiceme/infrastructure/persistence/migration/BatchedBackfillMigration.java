@@ -0,0 +1,186 @@
+package com.invoiceme.infrastructure.persistence.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Base class for migrations that fill a column on a large table while it takes writes.
+ *
+ * Rows are updated in chunks of consecutive keys, each committed on its own, so row locks are
+ * held for one chunk only and the table stays writable. After each chunk the migration pauses
+ * as long as the chunk took, and at least {@code backfill-pause-ms}, so it backs off when the
+ * database is busy and never keeps it busy more than half the time. Chunks that hit a lock
+ * timeout or a deadlock are retried.
+ *
+ * Chunk size and pause come from the Flyway placeholders {@code backfill-batch-size} (default
+ * 1000) and {@code backfill-pause-ms} (default 50), e.g.
+ * {@code spring.flyway.placeholders.backfill-batch-size}. The pending condition must exclude rows
+ * already backfilled, so a failed run can be repaired and rerun, continuing where it stopped.
+ *
+ * <pre>
+ * public class V101_1__Backfill_amount_paid extends BatchedBackfillMigration {
+ *     public V101_1__Backfill_amount_paid() {
+ *         super("invoices", "amount_paid = total_amount - balance", "amount_paid IS NULL");
+ *     }
+ * }
+ * </pre>
+ */
+@Slf4j
+public abstract class BatchedBackfillMigration extends BaseJavaMigration {
+
+    static final String BATCH_SIZE_PLACEHOLDER = "backfill-batch-size";
+    static final String PAUSE_PLACEHOLDER = "backfill-pause-ms";
+
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final long DEFAULT_PAUSE_MILLIS = 50;
+    private static final int MAX_ATTEMPTS = 5;
+    /** Lock not available (lock_timeout), deadlock, serialization failure */
+    private static final Set<String> RETRYABLE_STATES = Set.of("55P03", "40P01", "40001");
+
+    private final String table;
+    private final String assignments;
+    private final String pendingCondition;
+
+    /**
+     * @param table Table to backfill, keyed by {@link #keyColumn()}
+     * @param assignments SET clause of the update, e.g. {@code amount_paid = total_amount - balance}
+     * @param pendingCondition Rows that still need the update, e.g. {@code amount_paid IS NULL}
+     */
+    protected BatchedBackfillMigration(String table, String assignments, String pendingCondition) {
+        this.table = table;
+        this.assignments = assignments;
+        this.pendingCondition = pendingCondition;
+    }
+
+    /**
+     * Column the chunks are ranges of; must be indexed (the primary key, or its first column).
+     */
+    protected String keyColumn() {
+        return "id";
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Map<String, String> placeholders = context.getConfiguration().getPlaceholders();
+        int batchSize = Integer.parseInt(placeholders.getOrDefault(BATCH_SIZE_PLACEHOLDER, String.valueOf(DEFAULT_BATCH_SIZE)));
+        long pauseMillis = Long.parseLong(placeholders.getOrDefault(PAUSE_PLACEHOLDER, String.valueOf(DEFAULT_PAUSE_MILLIS)));
+        if (batchSize < 1 || pauseMillis < 0) {
+            throw new IllegalArgumentException("Backfill batch size must be positive and the pause not negative");
+        }
+        Connection connection = context.getConnection();
+        boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        if (postgres) {
+            // Give way to application writes instead of queueing them behind the chunk
+            execute(connection, "SET lock_timeout = '2s'");
+        }
+        try {
+            backfill(connection, batchSize, pauseMillis);
+        } finally {
+            if (postgres) {
+                execute(connection, "RESET lock_timeout");
+            }
+        }
+    }
+
+    private void backfill(Connection connection, int batchSize, long pauseMillis) throws SQLException {
+        String key = keyColumn();
+        // Last key of the next chunk (no MAX: PostgreSQL has no max(uuid) before 16)
+        String nextBound = "SELECT " + key + " FROM (SELECT " + key + " FROM " + table
+                + " WHERE " + key + " > ? ORDER BY " + key + " LIMIT ?) chunk ORDER BY " + key + " DESC LIMIT 1";
+        String firstBound = "SELECT " + key + " FROM (SELECT " + key + " FROM " + table
+                + " ORDER BY " + key + " LIMIT ?) chunk ORDER BY " + key + " DESC LIMIT 1";
+        String update = "UPDATE " + table + " SET " + assignments
+                + " WHERE " + key + " > ? AND " + key + " <= ? AND (" + pendingCondition + ")";
+        String firstUpdate = "UPDATE " + table + " SET " + assignments
+                + " WHERE " + key + " <= ? AND (" + pendingCondition + ")";
+
+        long start = System.nanoTime();
+        long chunks = 0;
+        long updated = 0;
+        Object lower = null;
+        while (true) {
+            Object upper = lower == null
+                    ? queryBound(connection, firstBound, batchSize)
+                    : queryBound(connection, nextBound, lower, batchSize);
+            if (upper == null) {
+                break;
+            }
+            long chunkStart = System.nanoTime();
+            updated += lower == null
+                    ? updateChunk(connection, firstUpdate, upper)
+                    : updateChunk(connection, update, lower, upper);
+            long chunkMillis = (System.nanoTime() - chunkStart) / 1_000_000;
+            lower = upper;
+            if (++chunks % 100 == 0) {
+                log.info("Backfill of {}: {} rows updated in {} chunks", table, updated, chunks);
+            }
+            pause(Math.max(pauseMillis, chunkMillis));
+        }
+        log.info("Backfilled {} rows of {} in {} chunks ({} ms)",
+                updated, table, chunks, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static Object queryBound(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                select.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next() ? rows.getObject(1) : null;
+            }
+        }
+    }
+
+    private static int updateChunk(Connection connection, String sql, Object... bounds) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            try (PreparedStatement update = connection.prepareStatement(sql)) {
+                for (int i = 0; i < bounds.length; i++) {
+                    update.setObject(i + 1, bounds[i]);
+                }
+                int count = update.executeUpdate();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                return count;
+            } catch (SQLException e) {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                if (attempt == MAX_ATTEMPTS || !RETRYABLE_STATES.contains(e.getSQLState())) {
+                    throw e;
+                }
+                log.warn("Backfill chunk failed ({}), retrying: {}", e.getSQLState(), e.getMessage());
+                pause(100L << attempt);
+            }
+        }
+    }
+
+    private static void pause(long millis) throws SQLException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Backfill interrupted", e);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
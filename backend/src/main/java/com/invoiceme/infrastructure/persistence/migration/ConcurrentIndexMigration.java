@@ -0,0 +1,145 @@
+package com.invoiceme.infrastructure.persistence.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for migrations that add an index without blocking writes to the table.
+ *
+ * On PostgreSQL the index is built with {@code CREATE INDEX CONCURRENTLY}, outside a
+ * transaction. Partitioned tables (invoices, payments) cannot be indexed concurrently, so the
+ * index is declared on the parent only, built concurrently on each partition and attached;
+ * partitions created later get it automatically. On other databases a plain index is created.
+ *
+ * The migration can be rerun after a failure: an invalid index left behind by an interrupted
+ * concurrent build is dropped and built again, finished ones are kept. Flyway must not hold its
+ * lock in a transaction ({@code spring.flyway.postgresql.transactional-lock: false}), as
+ * concurrent builds wait for every open transaction to end.
+ *
+ * <pre>
+ * public class V100__Index_invoices_by_due_date extends ConcurrentIndexMigration {
+ *     public V100__Index_invoices_by_due_date() {
+ *         super("idx_invoices_organization_due_date", "invoices", "organization_id, due_date");
+ *     }
+ * }
+ * </pre>
+ */
+@Slf4j
+public abstract class ConcurrentIndexMigration extends BaseJavaMigration {
+
+    private static final int MAX_IDENTIFIER_LENGTH = 63;
+
+    private final String indexName;
+    private final String table;
+    private final String columns;
+
+    /**
+     * @param indexName Name of the index (partition indexes are named after it)
+     * @param table Table to index
+     * @param columns Indexed columns or expressions, as in {@code CREATE INDEX}
+     */
+    protected ConcurrentIndexMigration(String indexName, String table, String columns) {
+        this.indexName = indexName;
+        this.table = table;
+        this.columns = columns;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+            execute(connection, "CREATE INDEX IF NOT EXISTS " + indexName + " ON " + table + " (" + columns + ")");
+            return;
+        }
+        List<String> partitions = partitionsOf(connection);
+        if (partitions == null) {
+            createConcurrently(connection, indexName, table);
+            return;
+        }
+        // Declared on the parent only: stays invalid until every partition has its index attached
+        execute(connection, "CREATE INDEX IF NOT EXISTS " + indexName + " ON ONLY " + table + " (" + columns + ")");
+        for (String partition : partitions) {
+            String partitionIndex = indexName + "_" + partition;
+            if (partitionIndex.length() > MAX_IDENTIFIER_LENGTH) {
+                throw new IllegalStateException("Index name too long for partition " + partition + ": " + partitionIndex);
+            }
+            createConcurrently(connection, partitionIndex, partition);
+            execute(connection, "ALTER INDEX " + indexName + " ATTACH PARTITION " + partitionIndex);
+        }
+        log.info("Created index {} on {} partitions of {}", indexName, partitions.size(), table);
+    }
+
+    private void createConcurrently(Connection connection, String name, String target) throws SQLException {
+        if (Boolean.FALSE.equals(isValid(connection, name))) {
+            log.warn("Dropping invalid index {} left by an interrupted build", name);
+            execute(connection, "DROP INDEX CONCURRENTLY " + name);
+        }
+        long start = System.nanoTime();
+        execute(connection, "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " ON " + target + " (" + columns + ")");
+        log.info("Built index {} on {} in {} ms", name, target, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return Whether the index is valid, or null if it does not exist
+     */
+    private static Boolean isValid(Connection connection, String name) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)")) {
+            select.setString(1, name);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next() ? rows.getBoolean(1) : null;
+            }
+        }
+    }
+
+    /**
+     * @return Partitions of the table in name order, or null if it is not partitioned
+     */
+    private List<String> partitionsOf(Connection connection) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT relkind = 'p' FROM pg_class WHERE oid = to_regclass(?)")) {
+            select.setString(1, table);
+            try (ResultSet rows = select.executeQuery()) {
+                if (!rows.next()) {
+                    throw new IllegalStateException("Table not found: " + table);
+                }
+                if (!rows.getBoolean(1)) {
+                    return null;
+                }
+            }
+        }
+        List<String> partitions = new ArrayList<>();
+        try (PreparedStatement select = connection.prepareStatement("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass(?) ORDER BY c.relname
+                """)) {
+            select.setString(1, table);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    partitions.add(rows.getString(1));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package com.invoiceme.infrastructure.security;
 
+import com.invoiceme.application.organization.OrganizationService;
 import com.invoiceme.infrastructure.config.CorsConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final CorsConfig corsConfig;
+    private final OrganizationService organizationService;
 
     @Value("${app.auth.dev-mode:false}")
     private boolean devMode;
@@ -20,31 +26,52 @@ public class SecurityConfig {
     @Value("${FRONTEND_URL:http://localhost:5173}")
     private String frontendUrl;
 
-    public SecurityConfig(CorsConfig corsConfig) {
+    @Value("${springdoc.api-docs.enabled:true}")
+    private boolean apiDocsEnabled;
+
+    @Value("${spring.h2.console.enabled:false}")
+    private boolean h2ConsoleEnabled;
+
+    public SecurityConfig(CorsConfig corsConfig, OrganizationService organizationService) {
         this.corsConfig = corsConfig;
+        this.organizationService = organizationService;
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        // Every request past authentication works on one organization's data
+        http.addFilterAfter(new TenantFilter(organizationService, devMode), AnonymousAuthenticationFilter.class);
+
         // Enable OAuth2 login when dev mode is disabled
         if (!devMode) {
             http
                     .cors(cors -> cors.configurationSource(corsConfig.corsConfigurationSource()))
                     .csrf(csrf -> csrf.disable()) // Will be enabled in PRD 08 with proper OAuth setup
-                    .authorizeHttpRequests(auth -> auth
-                            .requestMatchers("/oauth2/**", "/login/oauth2/**").permitAll()
-                            .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
-                            .requestMatchers("/h2-console/**").permitAll()
-                            .requestMatchers("/api/auth/logout").permitAll() // Allow logout without auth
-                            .requestMatchers("/api/auth/user").authenticated() // Require auth for user info
-                            .requestMatchers("/api/**").permitAll() // Permissive for now, will be secured in PRD 08
-                            .anyRequest().authenticated()
-                    )
+                    .authorizeHttpRequests(auth -> {
+                        auth.requestMatchers("/oauth2/**", "/login/oauth2/**").permitAll()
+                                .requestMatchers("/openapi.json").permitAll(); // Static API docs built with -Popenapi
+                        // Documentation and the H2 console are only open when they are switched on (not in prod)
+                        if (apiDocsEnabled) {
+                            auth.requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll();
+                        }
+                        if (h2ConsoleEnabled) {
+                            auth.requestMatchers("/h2-console/**").permitAll();
+                        }
+                        auth.requestMatchers("/api/auth/logout").permitAll() // Allow logout without auth
+                                .requestMatchers("/api/auth/user").authenticated() // Require auth for user info
+                                .requestMatchers("/api/**").authenticated() // Data is per organization, so the user must be known
+                                .anyRequest().authenticated();
+                    })
+                    // API clients get a 401 instead of a redirect to the login page
+                    .exceptionHandling(exceptions -> exceptions.defaultAuthenticationEntryPointFor(
+                            new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED), new AntPathRequestMatcher("/api/**")))
                     .oauth2Login(oauth2 -> oauth2
                             .defaultSuccessUrl(frontendUrl + "/customers", true)
                             .failureUrl(frontendUrl + "/login?error=true")
-                    )
-                    .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable())); // For H2 console
+                    );
+            if (h2ConsoleEnabled) {
+                http.headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable())); // For H2 console
+            }
         } else {
             // Dev mode: Disable all authentication
             http
@@ -0,0 +1,80 @@
+package com.invoiceme.infrastructure.security;
+
+import com.invoiceme.application.organization.OrganizationService;
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.domain.organization.Organization;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Sets the organization of the request in {@link TenantContext} for the rest of the chain.
+ *
+ * Authenticated users work on their own organization. In dev mode, where nobody logs in,
+ * requests use the default organization or the one named in the {@value #ORGANIZATION_HEADER}
+ * header, so several tenants can be exercised locally.
+ */
+class TenantFilter extends OncePerRequestFilter {
+
+    static final String ORGANIZATION_HEADER = "X-Organization-Id";
+
+    private final OrganizationService organizationService;
+    private final boolean devMode;
+
+    TenantFilter(OrganizationService organizationService, boolean devMode) {
+        this.organizationService = organizationService;
+        this.devMode = devMode;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        UUID organizationId;
+        try {
+            organizationId = resolve(request);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        if (organizationId == null) {
+            // Anonymous request; the authorization rules decide whether it may continue
+            chain.doFilter(request, response);
+            return;
+        }
+        try (TenantContext.Scope ignored = TenantContext.enter(organizationId)) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private UUID resolve(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof OAuth2User user) {
+            String subject = user.getAttribute("sub");
+            return organizationService.resolve(
+                    subject != null ? subject : user.getName(),
+                    user.getAttribute("email"),
+                    user.getAttribute("name"),
+                    user.getAttribute("hd"));
+        }
+        if (!devMode) {
+            return null;
+        }
+        String header = request.getHeader(ORGANIZATION_HEADER);
+        if (header == null || header.isBlank()) {
+            return Organization.DEFAULT_ID;
+        }
+        UUID organizationId = UUID.fromString(header.trim());
+        if (!organizationService.exists(organizationId)) {
+            throw new IllegalArgumentException("Unknown organization: " + organizationId);
+        }
+        return organizationId;
+    }
+}
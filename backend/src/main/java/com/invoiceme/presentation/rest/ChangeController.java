@@ -0,0 +1,34 @@
+package com.invoiceme.presentation.rest;
+
+import com.invoiceme.application.changelog.ChangeLogService;
+import com.invoiceme.application.changelog.dto.ChangeFeedResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/changes")
+@Tag(name = "Changes", description = "Incremental change feed for downstream sync")
+@RequiredArgsConstructor
+public class ChangeController {
+
+    private final ChangeLogService changeLogService;
+
+    @GetMapping
+    @Operation(summary = "Get changes after a sequence",
+               description = "Customer, invoice and payment mutations in sequence order. Start with after=0 and pass nextAfter on each subsequent call")
+    @ApiResponse(responseCode = "200", description = "Page of changes")
+    @ApiResponse(responseCode = "400", description = "Invalid after or limit")
+    public ResponseEntity<ChangeFeedResponse> getChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        ChangeFeedResponse response = changeLogService.getChanges(after, limit);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -4,6 +4,9 @@ import com.invoiceme.application.customer.CustomerCommandService;
 import com.invoiceme.application.customer.CustomerQueryService;
 import com.invoiceme.application.customer.dto.CustomerRequest;
 import com.invoiceme.application.customer.dto.CustomerResponse;
+import com.invoiceme.application.customer.dto.CustomerSearchResult;
+import com.invoiceme.application.customer.dto.CustomerSuggestion;
+import com.invoiceme.application.search.dto.SearchPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -17,6 +20,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -56,6 +60,30 @@ public class CustomerController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest customers for type-ahead",
+               description = "Prefix match on customer name, any word of the name, or email, served from an in-memory index")
+    @ApiResponse(responseCode = "200", description = "Matching customers")
+    public ResponseEntity<List<CustomerSuggestion>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<CustomerSuggestion> response = queryService.suggest(q, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search customers",
+               description = "Ranked full-text and typo-tolerant search over customer names and emails. Uses keyset pagination via nextCursor")
+    @ApiResponse(responseCode = "200", description = "Ranked search results")
+    @ApiResponse(responseCode = "400", description = "Invalid query or cursor")
+    public ResponseEntity<SearchPage<CustomerSearchResult>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        SearchPage<CustomerSearchResult> response = queryService.search(q, cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update customer")
     @ApiResponse(responseCode = "200", description = "Customer updated successfully")
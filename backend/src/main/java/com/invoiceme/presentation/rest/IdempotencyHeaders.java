@@ -0,0 +1,16 @@
+package com.invoiceme.presentation.rest;
+
+/**
+ * Header names for idempotent POST endpoints.
+ */
+public final class IdempotencyHeaders {
+
+    /** Client-chosen key identifying a logical request across retries. */
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    /** Set to true when the response was replayed from an earlier request with the same key. */
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private IdempotencyHeaders() {
+    }
+}
@@ -1,14 +1,20 @@
 package com.invoiceme.presentation.rest;
 
+import com.invoiceme.application.idempotency.IdempotencyService;
+import com.invoiceme.application.idempotency.IdempotentResult;
 import com.invoiceme.application.invoice.InvoiceCommandService;
 import com.invoiceme.application.invoice.InvoiceQueryService;
 import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
 import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.InvoiceSearchResult;
 import com.invoiceme.application.invoice.dto.UpdateInvoiceRequest;
+import com.invoiceme.application.search.dto.SearchPage;
 import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.application.export.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -17,10 +23,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -36,15 +45,38 @@ public class InvoiceController {
     private final InvoiceCommandService invoiceCommandService;
     private final InvoiceQueryService invoiceQueryService;
     private final com.invoiceme.application.invoice.InvoicePdfService invoicePdfService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     @Operation(summary = "Create a new invoice", description = "Creates a new invoice in DRAFT status with line items")
     @ApiResponse(responseCode = "201", description = "Invoice created successfully")
     @ApiResponse(responseCode = "400", description = "Invalid request data")
     @ApiResponse(responseCode = "404", description = "Customer not found")
-    public ResponseEntity<InvoiceResponse> create(@RequestBody @Valid CreateInvoiceRequest request) {
-        InvoiceResponse response = invoiceCommandService.createInvoice(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    @ApiResponse(responseCode = "422", description = "Idempotency-Key reused with a different request")
+    public ResponseEntity<InvoiceResponse> create(
+            @RequestBody @Valid CreateInvoiceRequest request,
+            @RequestHeader(name = IdempotencyHeaders.IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        IdempotentResult<InvoiceResponse> result = idempotencyService.execute(
+                "invoices", idempotencyKey, request, InvoiceResponse.class,
+                () -> invoiceCommandService.createInvoice(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyHeaders.IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                .body(result.body());
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export invoices",
+               description = "Streams all invoices as CSV or NDJSON in constant memory. Use since= (ISO date-time, inclusive, compared to updated_at) for incremental exports")
+    @ApiResponse(responseCode = "200", description = "Export stream")
+    public void export(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"invoices." + format.fileExtension() + "\"");
+        invoiceQueryService.exportInvoices(since, format, response.getOutputStream());
     }
 
     @GetMapping("/{id}")
@@ -90,6 +122,19 @@ public class InvoiceController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search invoices by line item description",
+               description = "Ranked full-text and typo-tolerant search over line item descriptions. Uses keyset pagination via nextCursor")
+    @ApiResponse(responseCode = "200", description = "Ranked search results")
+    @ApiResponse(responseCode = "400", description = "Invalid query or cursor")
+    public ResponseEntity<SearchPage<InvoiceSearchResult>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        SearchPage<InvoiceSearchResult> response = invoiceQueryService.search(q, cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update invoice (only if DRAFT)", 
                description = "Updates invoice line items. Only allowed if invoice is in DRAFT status")
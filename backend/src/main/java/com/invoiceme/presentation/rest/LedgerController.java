@@ -0,0 +1,95 @@
+package com.invoiceme.presentation.rest;
+
+import com.invoiceme.application.idempotency.IdempotencyService;
+import com.invoiceme.application.idempotency.IdempotentResult;
+import com.invoiceme.application.ledger.LedgerCommandService;
+import com.invoiceme.application.ledger.LedgerQueryService;
+import com.invoiceme.application.ledger.dto.InvoiceBalanceResponse;
+import com.invoiceme.application.ledger.dto.LedgerAdjustmentRequest;
+import com.invoiceme.application.ledger.dto.LedgerEntryResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/invoices/{invoiceId}")
+@Tag(name = "Ledger", description = "Invoice ledger, credit note and write-off endpoints")
+@RequiredArgsConstructor
+public class LedgerController {
+
+    private final LedgerCommandService ledgerCommandService;
+    private final LedgerQueryService ledgerQueryService;
+    private final IdempotencyService idempotencyService;
+
+    @GetMapping("/ledger")
+    @Operation(summary = "List ledger entries",
+               description = "Lists the payments, refunds, credit notes and write-offs of an invoice with the running balance after each")
+    @ApiResponse(responseCode = "200", description = "Ledger entries")
+    @ApiResponse(responseCode = "404", description = "Invoice not found")
+    public ResponseEntity<Page<LedgerEntryResponse>> getLedger(
+            @PathVariable UUID invoiceId,
+            @PageableDefault(size = 50, sort = "sequenceNumber", direction = Sort.Direction.ASC) Pageable pageable) {
+        return ResponseEntity.ok(ledgerQueryService.getLedger(invoiceId, pageable));
+    }
+
+    @GetMapping("/balance")
+    @Operation(summary = "Get invoice balance",
+               description = "Returns the current balance, or the balance as of a point in time with asOf= (ISO date-time, inclusive)")
+    @ApiResponse(responseCode = "200", description = "Balance")
+    @ApiResponse(responseCode = "400", description = "asOf is not an ISO date-time")
+    @ApiResponse(responseCode = "404", description = "Invoice not found")
+    public ResponseEntity<InvoiceBalanceResponse> getBalance(
+            @PathVariable UUID invoiceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(ledgerQueryService.getBalance(invoiceId, asOf));
+    }
+
+    @PostMapping("/credit-notes")
+    @Operation(summary = "Issue a credit note", description = "Reduces the balance of a SENT or OVERDUE invoice; the invoice becomes PAID at zero")
+    @ApiResponse(responseCode = "201", description = "Credit note recorded")
+    @ApiResponse(responseCode = "400", description = "Invalid request data or amount exceeds the balance")
+    @ApiResponse(responseCode = "404", description = "Invoice not found")
+    @ApiResponse(responseCode = "422", description = "Invoice is not SENT or OVERDUE, or Idempotency-Key reused with a different request")
+    public ResponseEntity<LedgerEntryResponse> issueCreditNote(
+            @PathVariable UUID invoiceId,
+            @RequestBody @Valid LedgerAdjustmentRequest request,
+            @RequestHeader(name = IdempotencyHeaders.IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        IdempotentResult<LedgerEntryResponse> result = idempotencyService.execute(
+                "credit-notes:" + invoiceId, idempotencyKey, request, LedgerEntryResponse.class,
+                () -> ledgerCommandService.issueCreditNote(invoiceId, request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyHeaders.IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                .body(result.body());
+    }
+
+    @PostMapping("/write-offs")
+    @Operation(summary = "Write off an amount", description = "Writes off part or all of the balance of a SENT or OVERDUE invoice; the invoice becomes PAID at zero")
+    @ApiResponse(responseCode = "201", description = "Write-off recorded")
+    @ApiResponse(responseCode = "400", description = "Invalid request data or amount exceeds the balance")
+    @ApiResponse(responseCode = "404", description = "Invoice not found")
+    @ApiResponse(responseCode = "422", description = "Invoice is not SENT or OVERDUE, or Idempotency-Key reused with a different request")
+    public ResponseEntity<LedgerEntryResponse> writeOff(
+            @PathVariable UUID invoiceId,
+            @RequestBody @Valid LedgerAdjustmentRequest request,
+            @RequestHeader(name = IdempotencyHeaders.IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        IdempotentResult<LedgerEntryResponse> result = idempotencyService.execute(
+                "write-offs:" + invoiceId, idempotencyKey, request, LedgerEntryResponse.class,
+                () -> ledgerCommandService.writeOff(invoiceId, request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyHeaders.IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                .body(result.body());
+    }
+}
@@ -1,22 +1,35 @@
 package com.invoiceme.presentation.rest;
 
+import com.invoiceme.application.idempotency.IdempotencyService;
+import com.invoiceme.application.idempotency.IdempotentResult;
+import com.invoiceme.application.ledger.LedgerCommandService;
+import com.invoiceme.application.ledger.dto.LedgerAdjustmentRequest;
+import com.invoiceme.application.ledger.dto.LedgerEntryResponse;
 import com.invoiceme.application.payment.PaymentCommandService;
 import com.invoiceme.application.payment.PaymentQueryService;
+import com.invoiceme.application.payment.dto.PaymentAllocationRequest;
+import com.invoiceme.application.payment.dto.PaymentAllocationResponse;
 import com.invoiceme.application.payment.dto.PaymentRequest;
 import com.invoiceme.application.payment.dto.PaymentResponse;
+import com.invoiceme.application.export.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @RestController
@@ -27,16 +40,77 @@ public class PaymentController {
 
     private final PaymentCommandService paymentCommandService;
     private final PaymentQueryService paymentQueryService;
+    private final LedgerCommandService ledgerCommandService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     @Operation(summary = "Record a payment", description = "Records a payment for an invoice and updates invoice balance")
     @ApiResponse(responseCode = "201", description = "Payment recorded successfully")
     @ApiResponse(responseCode = "400", description = "Invalid request data")
     @ApiResponse(responseCode = "404", description = "Invoice not found")
-    @ApiResponse(responseCode = "422", description = "Payment amount exceeds invoice balance")
-    public ResponseEntity<PaymentResponse> recordPayment(@RequestBody @Valid PaymentRequest request) {
-        PaymentResponse response = paymentCommandService.recordPayment(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    @ApiResponse(responseCode = "422", description = "Payment amount exceeds invoice balance, or Idempotency-Key reused with a different request")
+    public ResponseEntity<PaymentResponse> recordPayment(
+            @RequestBody @Valid PaymentRequest request,
+            @RequestHeader(name = IdempotencyHeaders.IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        IdempotentResult<PaymentResponse> result = idempotencyService.execute(
+                "payments", idempotencyKey, request, PaymentResponse.class,
+                () -> paymentCommandService.recordPayment(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyHeaders.IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                .body(result.body());
+    }
+
+    @PostMapping("/allocations")
+    @Operation(summary = "Apply one payment to several invoices",
+               description = "Splits one payment over several invoices, either with explicit amounts per invoice, "
+                       + "oldest invoice first, or in proportion to the open balances. All payments are recorded in one transaction")
+    @ApiResponse(responseCode = "201", description = "Payments recorded successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid request data, allocations that do not add up, or an amount above the open balance")
+    @ApiResponse(responseCode = "404", description = "Invoice not found")
+    @ApiResponse(responseCode = "422", description = "Idempotency-Key reused with a different request")
+    public ResponseEntity<PaymentAllocationResponse> allocatePayment(
+            @RequestBody @Valid PaymentAllocationRequest request,
+            @RequestHeader(name = IdempotencyHeaders.IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        IdempotentResult<PaymentAllocationResponse> result = idempotencyService.execute(
+                "payment-allocations", idempotencyKey, request, PaymentAllocationResponse.class,
+                () -> paymentCommandService.allocatePayment(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyHeaders.IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                .body(result.body());
+    }
+
+    @PostMapping("/{id}/refunds")
+    @Operation(summary = "Refund a payment",
+               description = "Refunds part or all of a payment. The amount is added back to the invoice balance and a PAID invoice is reopened as SENT")
+    @ApiResponse(responseCode = "201", description = "Refund recorded")
+    @ApiResponse(responseCode = "400", description = "Invalid request data or amount exceeds what is left of the payment")
+    @ApiResponse(responseCode = "404", description = "Payment not found")
+    @ApiResponse(responseCode = "422", description = "Idempotency-Key reused with a different request")
+    public ResponseEntity<LedgerEntryResponse> refundPayment(
+            @PathVariable UUID id,
+            @RequestBody @Valid LedgerAdjustmentRequest request,
+            @RequestHeader(name = IdempotencyHeaders.IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        IdempotentResult<LedgerEntryResponse> result = idempotencyService.execute(
+                "refunds:" + id, idempotencyKey, request, LedgerEntryResponse.class,
+                () -> ledgerCommandService.refundPayment(id, request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyHeaders.IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                .body(result.body());
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export payments",
+               description = "Streams all payments as CSV or NDJSON in constant memory. Use since= (ISO date-time, inclusive, compared to created_at) for incremental exports")
+    @ApiResponse(responseCode = "200", description = "Export stream")
+    public void export(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"payments." + format.fileExtension() + "\"");
+        paymentQueryService.exportPayments(since, format, response.getOutputStream());
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,69 @@
+package com.invoiceme.presentation.rest;
+
+import com.invoiceme.application.customer.dto.CustomerResponse;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import com.invoiceme.application.reactive.ReactiveQueryService;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Read-only endpoints served without blocking a request thread on the database: the
+ * request thread is released as soon as the query is issued and the response is written
+ * when the rows arrive. Responses are plain JSON arrays, or one object per line when
+ * {@code application/x-ndjson} is accepted.
+ */
+@RestController
+@RequestMapping("/api/v2")
+@Tag(name = "Read API (v2)", description = "Non-blocking read-only endpoints for high fan-out clients")
+@RequiredArgsConstructor
+@ConditionalOnProperty("app.reactive.url")
+public class ReactiveReadController {
+
+    private final ReactiveQueryService reactiveQueryService;
+
+    @GetMapping("/invoices")
+    @Operation(summary = "List invoices", description = "Newest first. Can filter by status and/or customerId")
+    @ApiResponse(responseCode = "200", description = "List of invoices")
+    @ApiResponse(responseCode = "400", description = "Invalid page or size")
+    public Flux<InvoiceResponse> listInvoices(
+            @RequestParam(required = false) InvoiceStatus status,
+            @RequestParam(required = false) UUID customerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return reactiveQueryService.getInvoices(TenantContext.currentOrganizationId(), status, customerId, page, size);
+    }
+
+    @GetMapping("/customers")
+    @Operation(summary = "List customers", description = "Ordered by name")
+    @ApiResponse(responseCode = "200", description = "List of customers")
+    @ApiResponse(responseCode = "400", description = "Invalid page or size")
+    public Flux<CustomerResponse> listCustomers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return reactiveQueryService.getCustomers(TenantContext.currentOrganizationId(), page, size);
+    }
+
+    @GetMapping("/payments")
+    @Operation(summary = "List payments", description = "Latest payment date first. Can filter by invoiceId")
+    @ApiResponse(responseCode = "200", description = "List of payments")
+    @ApiResponse(responseCode = "400", description = "Invalid page or size")
+    public Flux<PaymentResponse> listPayments(
+            @RequestParam(required = false) UUID invoiceId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return reactiveQueryService.getPayments(TenantContext.currentOrganizationId(), invoiceId, page, size);
+    }
+}
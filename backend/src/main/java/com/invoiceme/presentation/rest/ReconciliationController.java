@@ -0,0 +1,56 @@
+package com.invoiceme.presentation.rest;
+
+import com.invoiceme.application.reconciliation.ReconciliationService;
+import com.invoiceme.application.reconciliation.StatementFormat;
+import com.invoiceme.application.reconciliation.dto.ApplyMatchesRequest;
+import com.invoiceme.application.reconciliation.dto.ApplyMatchesResponse;
+import com.invoiceme.application.reconciliation.dto.ReconciliationResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/reconciliation")
+@Tag(name = "Reconciliation", description = "Bank statement reconciliation endpoints")
+@RequiredArgsConstructor
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    @PostMapping(value = "/statements", consumes = {"text/csv", "text/plain", "application/xml", "text/xml"})
+    @Operation(summary = "Propose matches for a bank statement",
+               description = "Reads the request body as a CSV (header with date, amount and optional currency, reference and name columns) "
+                       + "or CAMT.053 statement and proposes open invoices for each credit line. Nothing is recorded")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+            @Content(mediaType = "text/csv"),
+            @Content(mediaType = "application/xml")
+    })
+    @ApiResponse(responseCode = "200", description = "Proposed matches")
+    @ApiResponse(responseCode = "400", description = "Malformed statement")
+    public ResponseEntity<ReconciliationResponse> propose(
+            @RequestParam(defaultValue = "CSV") StatementFormat format,
+            InputStream statement) throws IOException {
+        return ResponseEntity.ok(reconciliationService.propose(format, statement));
+    }
+
+    @PostMapping("/apply")
+    @Operation(summary = "Apply accepted matches",
+               description = "Records one payment per accepted match. Matches that can no longer be applied are returned as failed")
+    @ApiResponse(responseCode = "200", description = "Matches applied")
+    @ApiResponse(responseCode = "400", description = "Invalid request data")
+    public ResponseEntity<ApplyMatchesResponse> apply(@RequestBody @Valid ApplyMatchesRequest request) {
+        return ResponseEntity.ok(reconciliationService.apply(request));
+    }
+}
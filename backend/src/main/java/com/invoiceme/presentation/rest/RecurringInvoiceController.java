@@ -0,0 +1,78 @@
+package com.invoiceme.presentation.rest;
+
+import com.invoiceme.application.recurring.RecurringInvoiceCommandService;
+import com.invoiceme.application.recurring.RecurringInvoiceQueryService;
+import com.invoiceme.application.recurring.dto.RecurringInvoiceRequest;
+import com.invoiceme.application.recurring.dto.RecurringInvoiceResponse;
+import com.invoiceme.application.recurring.dto.RecurringInvoiceRunResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/recurring-invoices")
+@Tag(name = "Recurring Invoices", description = "Recurring invoice templates and generation runs")
+@RequiredArgsConstructor
+public class RecurringInvoiceController {
+
+    private final RecurringInvoiceCommandService commandService;
+    private final RecurringInvoiceQueryService queryService;
+
+    @PostMapping
+    @Operation(summary = "Create a recurring invoice template",
+               description = "A DRAFT invoice is generated on the start date and every intervalMonths months after it")
+    @ApiResponse(responseCode = "201", description = "Template created successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid request data or unknown tax code")
+    @ApiResponse(responseCode = "404", description = "Customer not found")
+    public ResponseEntity<RecurringInvoiceResponse> create(@RequestBody @Valid RecurringInvoiceRequest request) {
+        RecurringInvoiceResponse response = commandService.create(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get recurring invoice template by ID")
+    @ApiResponse(responseCode = "200", description = "Template found")
+    @ApiResponse(responseCode = "404", description = "Template not found")
+    public ResponseEntity<RecurringInvoiceResponse> getById(@PathVariable UUID id) {
+        RecurringInvoiceResponse response = queryService.getById(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping
+    @Operation(summary = "List recurring invoice templates", description = "Ordered by next run date")
+    @ApiResponse(responseCode = "200", description = "List of templates")
+    public ResponseEntity<Page<RecurringInvoiceResponse>> list(@PageableDefault(size = 20) Pageable pageable) {
+        Page<RecurringInvoiceResponse> response = queryService.getAll(pageable);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{id}/deactivate")
+    @Operation(summary = "Stop generating invoices from a template")
+    @ApiResponse(responseCode = "200", description = "Template deactivated")
+    @ApiResponse(responseCode = "404", description = "Template not found")
+    public ResponseEntity<RecurringInvoiceResponse> deactivate(@PathVariable UUID id) {
+        RecurringInvoiceResponse response = commandService.deactivate(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/runs")
+    @Operation(summary = "List recent generation runs",
+               description = "The current organization's invoices generated, templates paused and throughput per run date, most recent first")
+    @ApiResponse(responseCode = "200", description = "Recent runs")
+    @ApiResponse(responseCode = "400", description = "Invalid limit")
+    public ResponseEntity<List<RecurringInvoiceRunResponse>> runs(@RequestParam(defaultValue = "30") int limit) {
+        List<RecurringInvoiceRunResponse> response = queryService.getRecentRuns(limit);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -3,6 +3,7 @@ package com.invoiceme.presentation.rest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -13,6 +14,9 @@ import java.util.Map;
 @Tag(name = "Root", description = "Root endpoint")
 public class RootController {
 
+    @Value("${app.docs-url:/swagger-ui.html}")
+    private String docsUrl;
+
     @GetMapping("/")
     @Operation(summary = "API root endpoint")
     @ApiResponse(responseCode = "200", description = "API information")
@@ -21,7 +25,7 @@ public class RootController {
                 "name", "InvoiceMe API",
                 "version", "1.0.0",
                 "status", "running",
-                "docs", "/swagger-ui.html",
+                "docs", docsUrl,
                 "api", "/api"
         ));
     }
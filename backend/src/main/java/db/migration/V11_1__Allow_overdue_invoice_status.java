@@ -0,0 +1,51 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the invoice status check constraint with one that allows OVERDUE.
+ *
+ * V3 declared the check inline, so its name is chosen by the database
+ * ({@code invoices_status_check} on PostgreSQL, {@code CONSTRAINT_nn} on H2). It is looked
+ * up in the standard information schema and replaced by an explicitly named constraint.
+ */
+public class V11_1__Allow_overdue_invoice_status extends BaseJavaMigration {
+
+    private static final String FIND_STATUS_CHECKS = """
+            SELECT tc.constraint_name
+            FROM information_schema.table_constraints tc
+            JOIN information_schema.check_constraints cc
+              ON cc.constraint_schema = tc.constraint_schema
+             AND cc.constraint_name = tc.constraint_name
+            WHERE UPPER(tc.table_name) = 'INVOICES'
+              AND tc.constraint_type = 'CHECK'
+              AND cc.check_clause LIKE '%PAID%'
+            """;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        List<String> constraints = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(FIND_STATUS_CHECKS)) {
+            while (rows.next()) {
+                constraints.add(rows.getString(1));
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String constraint : constraints) {
+                statement.execute("ALTER TABLE invoices DROP CONSTRAINT \"" + constraint + "\"");
+            }
+            statement.execute("ALTER TABLE invoices ADD CONSTRAINT invoices_status_check "
+                    + "CHECK (status IN ('DRAFT', 'SENT', 'OVERDUE', 'PAID'))");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Numbers existing invoices in the default series, per year of creation and in creation
+ * order, and seeds the sequences so new numbers continue after them.
+ *
+ * Invoices are read through a forward-only cursor and updated in JDBC batches, so the
+ * migration runs in constant memory. A series configured later only applies to new numbers.
+ */
+public class V13_1__Number_existing_invoices extends BaseJavaMigration {
+
+    private static final String SERIES = "INV";
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        Map<Integer, Long> lastNumbers = new HashMap<>();
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE invoices SET invoice_number = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            int pending = 0;
+            try (ResultSet rows = select.executeQuery(
+                    "SELECT id, created_at FROM invoices WHERE invoice_number IS NULL ORDER BY created_at, id")) {
+                while (rows.next()) {
+                    LocalDateTime createdAt = rows.getObject("created_at", LocalDateTime.class);
+                    int year = (createdAt != null ? createdAt : LocalDateTime.now()).getYear();
+                    long number = lastNumbers.merge(year, 1L, Long::sum);
+                    // Same format as InvoiceNumber.format, kept here so the migration does not change with the code
+                    update.setString(1, String.format(Locale.ROOT, "%s-%04d-%06d", SERIES, year, number));
+                    update.setObject(2, rows.getObject("id", UUID.class));
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO invoice_number_sequences (series, fiscal_year, last_number) VALUES (?, ?, ?)")) {
+            for (Map.Entry<Integer, Long> entry : lastNumbers.entrySet()) {
+                insert.setString(1, SERIES);
+                insert.setInt(2, entry.getKey());
+                insert.setLong(3, entry.getValue());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Makes the keys that were unique across the whole database unique per organization:
+ * customer emails, idempotency keys and invoice number sequences.
+ *
+ * Their constraints were declared inline, so their names are chosen by the database
+ * ({@code customers_email_key} and {@code *_pkey} on PostgreSQL, {@code CONSTRAINT_nn} on H2).
+ * They are looked up in the standard information schema and dropped; V14 already created
+ * the organization-scoped unique index on customers.
+ */
+public class V14_1__Scope_keys_to_organization extends BaseJavaMigration {
+
+    private static final String FIND_CONSTRAINTS = """
+            SELECT DISTINCT tc.constraint_name
+            FROM information_schema.table_constraints tc
+            JOIN information_schema.key_column_usage kcu
+              ON kcu.constraint_schema = tc.constraint_schema
+             AND kcu.constraint_name = tc.constraint_name
+            WHERE UPPER(tc.table_name) = ?
+              AND tc.constraint_type = ?
+              AND UPPER(kcu.column_name) = ?
+            """;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        List<String> emailUniques = find(connection, "CUSTOMERS", "UNIQUE", "EMAIL");
+        List<String> idempotencyKeys = find(connection, "IDEMPOTENCY_KEYS", "PRIMARY KEY", "SCOPE");
+        List<String> sequenceKeys = find(connection, "INVOICE_NUMBER_SEQUENCES", "PRIMARY KEY", "SERIES");
+        try (Statement statement = connection.createStatement()) {
+            for (String constraint : emailUniques) {
+                statement.execute("ALTER TABLE customers DROP CONSTRAINT \"" + constraint + "\"");
+            }
+            for (String constraint : idempotencyKeys) {
+                statement.execute("ALTER TABLE idempotency_keys DROP CONSTRAINT \"" + constraint + "\"");
+            }
+            statement.execute("ALTER TABLE idempotency_keys ADD CONSTRAINT pk_idempotency_keys "
+                    + "PRIMARY KEY (organization_id, scope, idempotency_key)");
+            for (String constraint : sequenceKeys) {
+                statement.execute("ALTER TABLE invoice_number_sequences DROP CONSTRAINT \"" + constraint + "\"");
+            }
+            statement.execute("ALTER TABLE invoice_number_sequences ADD CONSTRAINT pk_invoice_number_sequences "
+                    + "PRIMARY KEY (organization_id, series, fiscal_year)");
+        }
+    }
+
+    private static List<String> find(Connection connection, String table, String type, String column) throws SQLException {
+        List<String> constraints = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_CONSTRAINTS)) {
+            statement.setString(1, table);
+            statement.setString(2, type);
+            statement.setString(3, column);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    constraints.add(rows.getString(1));
+                }
+            }
+        }
+        return constraints;
+    }
+}
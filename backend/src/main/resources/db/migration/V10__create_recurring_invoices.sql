@@ -0,0 +1,59 @@
+-- Recurring invoice templates: one invoice per interval, generated by the recurring invoice scheduler
+CREATE TABLE recurring_invoice_templates (
+    id UUID PRIMARY KEY,
+    customer_id UUID NOT NULL REFERENCES customers(id) ON DELETE RESTRICT,
+    currency VARCHAR(3) NOT NULL,
+    interval_months INTEGER NOT NULL CHECK (interval_months > 0),
+    anchor_date DATE NOT NULL,
+    periods_generated INTEGER NOT NULL DEFAULT 0,
+    next_run_date DATE NOT NULL,
+    end_date DATE,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Work queue lookup: active templates due on or before the run date
+CREATE INDEX idx_recurring_templates_due ON recurring_invoice_templates(active, next_run_date, id);
+CREATE INDEX idx_recurring_templates_customer_id ON recurring_invoice_templates(customer_id);
+
+CREATE TABLE recurring_invoice_template_lines (
+    template_id UUID NOT NULL REFERENCES recurring_invoice_templates(id) ON DELETE CASCADE,
+    description VARCHAR(500) NOT NULL,
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    unit_price DECIMAL(19,2) NOT NULL CHECK (unit_price >= 0),
+    tax_code VARCHAR(20),
+    line_order INTEGER NOT NULL,
+    PRIMARY KEY (template_id, line_order)
+);
+
+-- One row per run date; counters are advanced in the same transaction as each generated chunk
+CREATE TABLE recurring_invoice_runs (
+    id UUID PRIMARY KEY,
+    run_date DATE NOT NULL UNIQUE,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED')),
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    generated_count INTEGER NOT NULL DEFAULT 0,
+    failed_count INTEGER NOT NULL DEFAULT 0,
+    elapsed_millis BIGINT NOT NULL DEFAULT 0
+);
+
+-- Per-organization counters of each run; runs process every organization, but
+-- GET /api/recurring-invoices/runs only reports the caller's share (organizations
+-- arrive in V14, which adds the foreign key)
+CREATE TABLE recurring_invoice_run_organizations (
+    run_id UUID NOT NULL REFERENCES recurring_invoice_runs(id) ON DELETE CASCADE,
+    organization_id UUID NOT NULL,
+    generated_count INTEGER NOT NULL DEFAULT 0,
+    failed_count INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (run_id, organization_id)
+);
+
+CREATE INDEX idx_recurring_run_organizations_organization ON recurring_invoice_run_organizations(organization_id);
+
+-- Source template and billing period of generated invoices; at most one invoice per template and period
+ALTER TABLE invoices ADD COLUMN recurring_template_id UUID REFERENCES recurring_invoice_templates(id) ON DELETE SET NULL;
+ALTER TABLE invoices ADD COLUMN billing_period DATE;
+CREATE UNIQUE INDEX uq_invoices_recurring_period ON invoices(recurring_template_id, billing_period);
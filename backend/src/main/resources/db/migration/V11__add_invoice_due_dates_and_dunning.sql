@@ -0,0 +1,9 @@
+-- Due dates and dunning state. V11_1 widens the status check to allow OVERDUE.
+ALTER TABLE invoices ADD COLUMN due_date DATE;
+ALTER TABLE invoices ADD COLUMN dunning_level INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE invoices ADD COLUMN next_dunning_date DATE;
+
+-- Each dunning tick reads only invoices coming due: SENT past their due date,
+-- OVERDUE past their next reminder date
+CREATE INDEX idx_invoices_status_due_date ON invoices(status, due_date);
+CREATE INDEX idx_invoices_status_next_dunning_date ON invoices(status, next_dunning_date);
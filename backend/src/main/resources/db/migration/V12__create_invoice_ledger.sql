@@ -0,0 +1,64 @@
+-- Append-only ledger of everything that changes an invoice's balance.
+-- Every ledger opens with an OPENING entry of the invoice total (sequence 0, at creation;
+-- zero for an invoice created without a total), and edits to a draft's line items append
+-- signed ADJUSTMENT entries. Other amounts are signed too (payments, credit notes and
+-- write-offs are negative, refunds positive); balance_after is the running balance, so the
+-- latest entry is the current balance and the balance before the invoice existed is zero.
+CREATE TABLE invoice_ledger_entries (
+    id UUID PRIMARY KEY,
+    invoice_id UUID NOT NULL REFERENCES invoices(id) ON DELETE RESTRICT,
+    sequence_number INTEGER NOT NULL,
+    entry_type VARCHAR(20) NOT NULL,
+    amount DECIMAL(19,2) NOT NULL,
+    balance_after DECIMAL(19,2) NOT NULL,
+    payment_id UUID REFERENCES payments(id) ON DELETE RESTRICT,
+    reason VARCHAR(500),
+    recorded_at TIMESTAMP NOT NULL,
+    CONSTRAINT uq_invoice_ledger_sequence UNIQUE (invoice_id, sequence_number),
+    CONSTRAINT ck_invoice_ledger_entry_type
+        CHECK (entry_type IN ('OPENING', 'ADJUSTMENT', 'PAYMENT', 'REFUND', 'CREDIT_NOTE', 'WRITE_OFF')),
+    CONSTRAINT ck_invoice_ledger_amount CHECK (amount <> 0 OR entry_type = 'OPENING')
+);
+
+-- Balance as of a point in time: one descending seek per invoice
+CREATE INDEX idx_invoice_ledger_as_of ON invoice_ledger_entries(invoice_id, recorded_at, sequence_number);
+-- Refunded total per payment
+CREATE INDEX idx_invoice_ledger_payment_id ON invoice_ledger_entries(payment_id);
+
+-- Entries appended after the opening one; the next entry takes ledger_sequence + 1 under the
+-- invoice row lock
+ALTER TABLE invoices ADD COLUMN ledger_sequence INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill: one PAYMENT entry per existing payment, in the order they were recorded, after
+-- each invoice's opening entry. The entry reuses the payment's id, so re-deriving the ledger
+-- is deterministic.
+INSERT INTO invoice_ledger_entries
+    (id, invoice_id, sequence_number, entry_type, amount, balance_after, payment_id, reason, recorded_at)
+SELECT p.id,
+       p.invoice_id,
+       ROW_NUMBER() OVER (PARTITION BY p.invoice_id ORDER BY COALESCE(p.created_at, p.payment_date), p.id),
+       'PAYMENT',
+       -p.amount,
+       i.total_amount - SUM(p.amount) OVER (
+           PARTITION BY p.invoice_id ORDER BY COALESCE(p.created_at, p.payment_date), p.id
+           ROWS BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW),
+       p.id,
+       NULL,
+       COALESCE(p.created_at, p.payment_date)
+FROM payments p
+JOIN invoices i ON i.id = p.invoice_id;
+
+-- Stored balances become authoritative: align them with the ledger
+UPDATE invoices
+SET ledger_sequence = (SELECT COUNT(*) FROM invoice_ledger_entries e WHERE e.invoice_id = invoices.id),
+    balance = total_amount + COALESCE((SELECT SUM(e.amount) FROM invoice_ledger_entries e WHERE e.invoice_id = invoices.id), 0)
+WHERE EXISTS (SELECT 1 FROM invoice_ledger_entries e WHERE e.invoice_id = invoices.id);
+
+-- Open the ledger of every existing invoice with its total, at its creation time, after the
+-- alignment above so it only counts payment entries. The entry reuses the invoice's id;
+-- edits made before the ledger existed are not recoverable.
+INSERT INTO invoice_ledger_entries
+    (id, invoice_id, sequence_number, entry_type, amount, balance_after, payment_id, reason, recorded_at)
+SELECT i.id, i.id, 0, 'OPENING', i.total_amount, i.total_amount, NULL, NULL,
+       COALESCE(i.created_at, i.updated_at, CURRENT_TIMESTAMP)
+FROM invoices i;
@@ -0,0 +1,11 @@
+-- Invoice numbers (SERIES-YEAR-NNNNNN), allocated from one counter row per series and issue year.
+-- V13_1 numbers existing invoices and seeds the counters.
+CREATE TABLE invoice_number_sequences (
+    series VARCHAR(10) NOT NULL,
+    fiscal_year INTEGER NOT NULL,
+    last_number BIGINT NOT NULL DEFAULT 0 CHECK (last_number >= 0),
+    PRIMARY KEY (series, fiscal_year)
+);
+
+ALTER TABLE invoices ADD COLUMN invoice_number VARCHAR(30);
+CREATE UNIQUE INDEX uq_invoices_invoice_number ON invoices(invoice_number);
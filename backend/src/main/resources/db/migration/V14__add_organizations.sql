@@ -0,0 +1,71 @@
+-- Organizations (tenants). Customers, invoices, payments and the rows derived from them belong
+-- to one organization; V14_1 scopes the unique keys that were global to the organization.
+CREATE TABLE organizations (
+    id UUID PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    domain VARCHAR(255) UNIQUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Owns all existing data. Setting its domain to a Google Workspace domain lets that
+-- domain's users join it on first login instead of getting an organization of their own.
+INSERT INTO organizations (id, name, created_at)
+VALUES ('00000000-0000-0000-0000-000000000001', 'Default organization', CURRENT_TIMESTAMP);
+
+CREATE TABLE organization_members (
+    subject VARCHAR(255) PRIMARY KEY,
+    organization_id UUID NOT NULL REFERENCES organizations(id),
+    email VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_organization_members_organization_id ON organization_members(organization_id);
+
+-- Existing rows go to the default organization; new rows always carry their organization
+ALTER TABLE customers ADD COLUMN organization_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000001';
+ALTER TABLE customers ALTER COLUMN organization_id DROP DEFAULT;
+ALTER TABLE customers ADD CONSTRAINT fk_customers_organization FOREIGN KEY (organization_id) REFERENCES organizations(id);
+
+ALTER TABLE invoices ADD COLUMN organization_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000001';
+ALTER TABLE invoices ALTER COLUMN organization_id DROP DEFAULT;
+ALTER TABLE invoices ADD CONSTRAINT fk_invoices_organization FOREIGN KEY (organization_id) REFERENCES organizations(id);
+
+ALTER TABLE payments ADD COLUMN organization_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000001';
+ALTER TABLE payments ALTER COLUMN organization_id DROP DEFAULT;
+ALTER TABLE payments ADD CONSTRAINT fk_payments_organization FOREIGN KEY (organization_id) REFERENCES organizations(id);
+
+ALTER TABLE recurring_invoice_templates ADD COLUMN organization_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000001';
+ALTER TABLE recurring_invoice_templates ALTER COLUMN organization_id DROP DEFAULT;
+ALTER TABLE recurring_invoice_templates ADD CONSTRAINT fk_recurring_templates_organization FOREIGN KEY (organization_id) REFERENCES organizations(id);
+
+ALTER TABLE recurring_invoice_run_organizations ADD CONSTRAINT fk_recurring_run_organizations_organization FOREIGN KEY (organization_id) REFERENCES organizations(id);
+
+ALTER TABLE change_log ADD COLUMN organization_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000001';
+ALTER TABLE change_log ALTER COLUMN organization_id DROP DEFAULT;
+
+ALTER TABLE idempotency_keys ADD COLUMN organization_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000001';
+ALTER TABLE idempotency_keys ALTER COLUMN organization_id DROP DEFAULT;
+
+ALTER TABLE invoice_number_sequences ADD COLUMN organization_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000001';
+ALTER TABLE invoice_number_sequences ALTER COLUMN organization_id DROP DEFAULT;
+
+-- Every tenant-filtered query starts with organization_id = ?, so the indexes lead with it
+-- and one organization's rows stay together instead of interleaving with everyone else's
+CREATE UNIQUE INDEX uq_customers_organization_email ON customers(organization_id, email);
+DROP INDEX idx_customers_email;
+
+CREATE INDEX idx_invoices_organization_status ON invoices(organization_id, status, created_at);
+CREATE INDEX idx_invoices_organization_customer ON invoices(organization_id, customer_id);
+CREATE INDEX idx_invoices_organization_updated_at ON invoices(organization_id, updated_at, id);
+DROP INDEX idx_invoices_status;
+DROP INDEX idx_invoices_updated_at;
+
+CREATE UNIQUE INDEX uq_invoices_organization_invoice_number ON invoices(organization_id, invoice_number);
+DROP INDEX uq_invoices_invoice_number;
+
+CREATE INDEX idx_payments_organization_created_at ON payments(organization_id, created_at, id);
+DROP INDEX idx_payments_created_at;
+
+CREATE INDEX idx_recurring_templates_organization ON recurring_invoice_templates(organization_id, next_run_date, id);
+
+CREATE INDEX idx_change_log_organization ON change_log(organization_id, sequence);
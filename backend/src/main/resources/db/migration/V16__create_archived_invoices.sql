@@ -0,0 +1,39 @@
+-- Cold storage for paid invoices. A settled invoice is moved out of the live tables together
+-- with its line items, payments and ledger entries; what remains is this stub row, keyed by the
+-- invoice's id, with the columns lookups need and the full invoice as a gzip-compressed JSON
+-- document, plus a row per payment in archived_payments. Live listing queries never see
+-- archived invoices, lookups by id fall through here.
+CREATE TABLE archived_invoices (
+    id UUID PRIMARY KEY,
+    organization_id UUID NOT NULL REFERENCES organizations(id),
+    customer_id UUID NOT NULL REFERENCES customers(id) ON DELETE RESTRICT,
+    invoice_number VARCHAR(30),
+    currency VARCHAR(3) NOT NULL,
+    total_amount DECIMAL(19,2) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    paid_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    document BYTEA NOT NULL
+);
+
+CREATE INDEX idx_archived_invoices_organization_customer ON archived_invoices(organization_id, customer_id);
+
+-- Payments of archived invoices, moved out of the live payments table with their invoice.
+-- Lookups by id and exports fall through to this table; the payment as last served, and the
+-- invoice's ledger entries, are kept in the invoice's archived document.
+CREATE TABLE archived_payments (
+    id UUID PRIMARY KEY,
+    organization_id UUID NOT NULL REFERENCES organizations(id),
+    invoice_id UUID NOT NULL REFERENCES archived_invoices(id) ON DELETE CASCADE,
+    customer_id UUID NOT NULL,
+    amount DECIMAL(19,2) NOT NULL,
+    payment_date TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_archived_payments_invoice_id ON archived_payments(invoice_id);
+-- Payment export
+CREATE INDEX idx_archived_payments_organization_created_at ON archived_payments(organization_id, created_at, id);
+
+-- Archival claims PAID invoices by the time they were settled
+CREATE INDEX idx_invoices_status_updated_at ON invoices(status, updated_at);
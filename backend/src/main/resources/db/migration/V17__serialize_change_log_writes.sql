@@ -0,0 +1,9 @@
+-- Change log entries are inserted at commit while holding the writer row of their
+-- organization, so each organization's sequences follow commit order and a consumer never
+-- skips an entry committed after a higher one. Organizations do not wait for each other;
+-- rows of organizations created later are added on their first change.
+CREATE TABLE change_log_writer (
+    organization_id UUID PRIMARY KEY
+);
+
+INSERT INTO change_log_writer (organization_id) SELECT id FROM organizations;
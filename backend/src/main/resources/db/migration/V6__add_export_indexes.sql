@@ -0,0 +1,3 @@
+-- Indexes supporting incremental exports ordered by change timestamp
+CREATE INDEX idx_invoices_updated_at ON invoices(updated_at, id);
+CREATE INDEX idx_payments_created_at ON payments(created_at, id);
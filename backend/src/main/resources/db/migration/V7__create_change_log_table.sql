@@ -0,0 +1,13 @@
+-- Append-only change log feeding GET /api/changes
+CREATE TABLE change_log (
+    sequence BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id UUID NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    payload TEXT,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Retention purges by age; compaction looks up later entries for the same entity
+CREATE INDEX idx_change_log_changed_at ON change_log(changed_at);
+CREATE INDEX idx_change_log_entity ON change_log(entity_type, entity_id, sequence);
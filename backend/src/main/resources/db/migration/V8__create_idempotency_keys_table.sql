@@ -0,0 +1,13 @@
+-- Stored responses for Idempotency-Key retries on POST endpoints
+CREATE TABLE idempotency_keys (
+    scope VARCHAR(50) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (scope, idempotency_key)
+);
+
+-- TTL cleanup deletes by expiry
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
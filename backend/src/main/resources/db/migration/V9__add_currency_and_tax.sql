@@ -0,0 +1,23 @@
+-- Invoice currency (ISO 4217) and tax; total_amount now includes tax_amount
+ALTER TABLE invoices ADD COLUMN currency VARCHAR(3) NOT NULL DEFAULT 'USD';
+ALTER TABLE invoices ADD COLUMN tax_amount DECIMAL(19,2) NOT NULL DEFAULT 0;
+
+-- Tax code and the rate in effect when the line was added
+ALTER TABLE invoice_line_items ADD COLUMN tax_code VARCHAR(20);
+ALTER TABLE invoice_line_items ADD COLUMN tax_rate DECIMAL(9,6) NOT NULL DEFAULT 0;
+
+-- Tax rates by code, as a fraction (0.190000 = 19%)
+CREATE TABLE tax_rates (
+    code VARCHAR(20) PRIMARY KEY,
+    rate DECIMAL(9,6) NOT NULL CHECK (rate >= 0 AND rate < 1),
+    description VARCHAR(255)
+);
+
+INSERT INTO tax_rates (code, rate, description) VALUES ('EXEMPT', 0, 'Tax exempt');
+
+-- Exchange rates: units of the base currency per unit of currency
+CREATE TABLE fx_rates (
+    currency VARCHAR(3) PRIMARY KEY,
+    rate_to_base DECIMAL(19,8) NOT NULL CHECK (rate_to_base > 0),
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,208 @@
+package com.invoiceme;
+
+import com.invoiceme.application.changelog.ChangeLogService;
+import com.invoiceme.application.changelog.dto.ChangeFeedResponse;
+import com.invoiceme.application.changelog.dto.ChangeResponse;
+import com.invoiceme.application.customer.CustomerCommandService;
+import com.invoiceme.application.customer.dto.CustomerRequest;
+import com.invoiceme.application.customer.dto.CustomerResponse;
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.InvoiceCommandService;
+import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import com.invoiceme.application.payment.PaymentCommandService;
+import com.invoiceme.application.payment.dto.PaymentRequest;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import com.invoiceme.domain.changelog.ChangeEntityType;
+import com.invoiceme.domain.changelog.ChangeOperation;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ChangeFeedIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private CustomerCommandService customerCommandService;
+
+    @Autowired
+    private InvoiceCommandService invoiceCommandService;
+
+    @Autowired
+    private PaymentCommandService paymentCommandService;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        paymentRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testMutationsAppearInFeedInOrder() {
+        // Given
+        CustomerResponse customer = customerCommandService.createCustomer(
+                new CustomerRequest("Feed Customer", "feed@example.com", null, null));
+        InvoiceResponse invoice = invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                customer.id(), List.of(new LineItemRequest("Service", 1, BigDecimal.valueOf(100.00)))));
+        invoiceCommandService.sendInvoiceViaEmail(invoice.id());
+        PaymentResponse payment = paymentCommandService.recordPayment(
+                new PaymentRequest(invoice.id(), BigDecimal.valueOf(100.00), LocalDateTime.now()));
+
+        // When
+        ChangeFeedResponse feed = changeLogService.getChanges(0, 100);
+
+        // Then
+        assertThat(feed.changes())
+                .extracting(ChangeResponse::entityType, ChangeResponse::entityId, ChangeResponse::operation)
+                .containsExactly(
+                        tuple(ChangeEntityType.CUSTOMER, customer.id(), ChangeOperation.CREATED),
+                        tuple(ChangeEntityType.INVOICE, invoice.id(), ChangeOperation.CREATED),
+                        tuple(ChangeEntityType.INVOICE, invoice.id(), ChangeOperation.UPDATED),
+                        tuple(ChangeEntityType.PAYMENT, payment.id(), ChangeOperation.CREATED),
+                        tuple(ChangeEntityType.INVOICE, invoice.id(), ChangeOperation.UPDATED)
+                );
+        assertThat(feed.changes().get(4).payload()).contains("\"status\":\"PAID\"");
+        assertThat(feed.nextAfter()).isEqualTo(feed.changes().get(4).sequence());
+        assertThat(feed.hasMore()).isFalse();
+    }
+
+    @Test
+    void testFeedResumesAfterSequence() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            customerCommandService.createCustomer(
+                    new CustomerRequest("Customer " + i, "customer" + i + "@example.com", null, null));
+        }
+
+        // When
+        ChangeFeedResponse first = changeLogService.getChanges(0, 2);
+        ChangeFeedResponse second = changeLogService.getChanges(first.nextAfter(), 2);
+
+        // Then
+        assertThat(first.changes()).hasSize(2);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.changes()).hasSize(1);
+        assertThat(second.changes().get(0).sequence()).isGreaterThan(first.nextAfter());
+        assertThat(second.hasMore()).isFalse();
+    }
+
+    @Test
+    void testSequencesFollowCommitOrder() throws Exception {
+        // Given - a transaction records a change, then commits after a later one
+        CustomerResponse slow = customerCommandService.createCustomer(
+                new CustomerRequest("Slow Customer", "slow@example.com", null, null));
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch otherCommitted = new CountDownLatch(1);
+        Thread slowTransaction = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            customerCommandService.updateCustomer(slow.id(),
+                    new CustomerRequest("Slow Customer", "slow2@example.com", null, null));
+            recorded.countDown();
+            try {
+                otherCommitted.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        slowTransaction.start();
+        assertThat(recorded.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CustomerResponse fast = customerCommandService.createCustomer(
+                new CustomerRequest("Fast Customer", "fast@example.com", null, null));
+        ChangeFeedResponse beforeSlowCommit = changeLogService.getChanges(0, 100);
+        otherCommitted.countDown();
+        slowTransaction.join();
+
+        // Then - the late commit comes after the position the consumer already reached
+        assertThat(beforeSlowCommit.changes()).extracting(ChangeResponse::entityId)
+                .containsExactly(slow.id(), fast.id());
+        assertThat(changeLogService.getChanges(beforeSlowCommit.nextAfter(), 100).changes())
+                .extracting(ChangeResponse::entityId, ChangeResponse::operation)
+                .containsExactly(tuple(slow.id(), ChangeOperation.UPDATED));
+    }
+
+    @Test
+    void testDeleteIsRecordedWithoutPayload() {
+        // Given
+        CustomerResponse customer = customerCommandService.createCustomer(
+                new CustomerRequest("Deleted Customer", "deleted@example.com", null, null));
+
+        // When
+        customerCommandService.deleteCustomer(customer.id());
+
+        // Then
+        ChangeResponse last = changeLogService.getChanges(0, 100).changes().get(1);
+        assertThat(last.operation()).isEqualTo(ChangeOperation.DELETED);
+        assertThat(last.payload()).isNull();
+    }
+
+    @Test
+    void testCompactKeepsLatestChangePerEntity() {
+        // Given
+        CustomerResponse customer = customerCommandService.createCustomer(
+                new CustomerRequest("Compacted Customer", "compact@example.com", null, null));
+        customerCommandService.updateCustomer(customer.id(),
+                new CustomerRequest("Compacted Customer", "compact2@example.com", null, null));
+
+        // When (compaction-age is 1d, so nothing recent is compacted)
+        int deleted = changeLogService.compact();
+
+        // Then
+        assertThat(deleted).isZero();
+        assertThat(changeLogRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testInvalidLimitRejected() {
+        assertThatThrownBy(() -> changeLogService.getChanges(0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.invoiceme;
+
+import com.invoiceme.application.changelog.ChangeLogService;
+import com.invoiceme.application.customer.CustomerMapper;
+import com.invoiceme.domain.changelog.ChangeEntityType;
+import com.invoiceme.domain.changelog.ChangeOperation;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the per-mutation cost of writing the change log.
+ * Each iteration is one committed transaction saving a customer, with and without the
+ * change log entry. Run with {@code mvn test -Pbenchmark}; iterations via -Dbenchmark.iterations.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ChangeLogWriteBenchmark extends BaseIntegrationTest {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 2_000);
+    private static final int WARMUP = ITERATIONS / 4;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerMapper customerMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void changeLogWriteOverhead() {
+        run("warmup-baseline", WARMUP, false);
+        run("warmup-logged", WARMUP, true);
+
+        long baselineNanos = run("baseline", ITERATIONS, false);
+        long loggedNanos = run("logged", ITERATIONS, true);
+
+        double baselineMicros = baselineNanos / 1_000.0 / ITERATIONS;
+        double loggedMicros = loggedNanos / 1_000.0 / ITERATIONS;
+        System.out.printf("Change log write overhead: baseline %.1f us/op, with change log %.1f us/op, overhead %.1f us/op (%.1f%%)%n",
+                baselineMicros, loggedMicros, loggedMicros - baselineMicros,
+                (loggedMicros - baselineMicros) / baselineMicros * 100);
+
+        assertThat(changeLogRepository.count()).isEqualTo(WARMUP + ITERATIONS);
+    }
+
+    private long run(String label, int iterations, boolean logged) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            String suffix = label + "-" + i;
+            transactionTemplate.executeWithoutResult(status -> {
+                Customer customer = customerRepository.save(
+                        new Customer("Benchmark " + suffix, suffix + "@example.com", null, null));
+                if (logged) {
+                    changeLogService.record(customer.getOrganizationId(), ChangeEntityType.CUSTOMER, customer.getId(),
+                            ChangeOperation.CREATED, customerMapper.toResponse(customer));
+                }
+            });
+        }
+        return System.nanoTime() - start;
+    }
+}
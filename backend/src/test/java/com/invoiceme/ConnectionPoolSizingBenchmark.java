@@ -0,0 +1,167 @@
+package com.invoiceme;
+
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.InvoiceCommandService;
+import com.invoiceme.application.invoice.InvoiceQueryService;
+import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.ConnectionPoolMonitor;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Load test of the two requests that compete for connections: sending an invoice
+ * (POST /api/invoices/{id}/send), which holds its connection during the SMTP call, and the
+ * invoice list (GET /api/invoices). SMTP is simulated with a fixed delay.
+ * Run with {@code mvn test -Pbenchmark} to use the derived pool size, and again with
+ * -Dbenchmark.pool-size=10 (the former fixed size) to compare; size the load via
+ * -Dbenchmark.threads, -Dbenchmark.requests and -Dbenchmark.smtp-millis.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ConnectionPoolSizingBenchmark extends BaseIntegrationTest {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 32);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 400);
+    private static final int SMTP_MILLIS = Integer.getInteger("benchmark.smtp-millis", 100);
+
+    @DynamicPropertySource
+    static void configurePool(DynamicPropertyRegistry registry) {
+        String poolSize = System.getProperty("benchmark.pool-size");
+        if (poolSize != null) {
+            registry.add("spring.datasource.hikari.maximum-pool-size", () -> poolSize);
+        }
+    }
+
+    @Autowired
+    private InvoiceCommandService invoiceCommandService;
+
+    @Autowired
+    private InvoiceQueryService invoiceQueryService;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private ConnectionPoolMonitor connectionPoolMonitor;
+
+    @MockBean
+    private EmailService emailService;
+
+    private final Queue<UUID> drafts = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        Customer customer = customerRepository.save(new Customer("Pool Customer", "pool@example.com", null, null));
+        for (int i = 0; i < REQUESTS; i++) {
+            drafts.add(invoiceCommandService.createInvoice(new CreateInvoiceRequest(customer.getId(),
+                    List.of(new LineItemRequest("Service " + i, 1, new BigDecimal("100.00"))))).id());
+        }
+        doAnswer(invocation -> {
+            Thread.sleep(SMTP_MILLIS);
+            return null;
+        }).when(emailService).sendInvoiceEmail(any(Invoice.class), any(byte[].class));
+    }
+
+    @Test
+    void sendsAndListsUnderLoad() throws Exception {
+        Queue<Long> sends = new ConcurrentLinkedQueue<>();
+        Queue<Long> lists = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> clients = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                boolean sender = t % 2 == 0;
+                clients.add(executor.submit(() -> {
+                    for (int i = 0; i < REQUESTS / THREADS * 2; i++) {
+                        long requestStart = System.nanoTime();
+                        if (sender) {
+                            UUID id = drafts.poll();
+                            if (id == null) {
+                                return;
+                            }
+                            invoiceCommandService.sendInvoiceViaEmail(id);
+                            sends.add(System.nanoTime() - requestStart);
+                        } else {
+                            invoiceQueryService.getAll(PageRequest.of(0, 20));
+                            lists.add(System.nanoTime() - requestStart);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Pool %s: %d connections, %d client threads, SMTP %d ms%n",
+                dataSource.getPoolName(), dataSource.getMaximumPoolSize(), THREADS, SMTP_MILLIS);
+        System.out.printf("POST /api/invoices/{id}/send: %d in %.1f s, p50 %.1f ms, p99 %.1f ms%n",
+                sends.size(), seconds, percentile(sends, 50), percentile(sends, 99));
+        System.out.printf("GET /api/invoices:            %d in %.1f s, p50 %.1f ms, p99 %.1f ms%n",
+                lists.size(), seconds, percentile(lists, 50), percentile(lists, 99));
+        System.out.printf("Connection acquire p99: %s ms%n", connectionPoolMonitor.acquireP99(dataSource.getPoolName())
+                .map(Duration::toMillis).map(String::valueOf).orElse("n/a"));
+
+        assertThat(sends).isNotEmpty();
+        assertThat(lists).isNotEmpty();
+    }
+
+    private static double percentile(Queue<Long> nanos, int percentile) {
+        long[] sorted = nanos.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
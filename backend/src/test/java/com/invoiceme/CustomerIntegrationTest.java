@@ -4,6 +4,8 @@ import com.invoiceme.application.customer.CustomerCommandService;
 import com.invoiceme.application.customer.CustomerQueryService;
 import com.invoiceme.application.customer.dto.CustomerRequest;
 import com.invoiceme.application.customer.dto.CustomerResponse;
+import com.invoiceme.application.customer.dto.CustomerSearchResult;
+import com.invoiceme.application.search.dto.SearchPage;
 import com.invoiceme.domain.customer.Customer;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -364,5 +366,36 @@ class CustomerIntegrationTest extends BaseIntegrationTest {
         assertThat(customer.getAddress()).isEqualTo("Original Address"); // Unchanged
         assertThat(customer.getPhone()).isEqualTo("Original Phone"); // Unchanged
     }
-}
 
+    @Test
+    void testSearchCustomers_PrefixTypoAndKeysetPagination() {
+        // Given
+        customerRepository.saveAndFlush(new Customer("Acme Corporation", "billing@acme.com", null, null));
+        customerRepository.saveAndFlush(new Customer("Acme Labs", "labs@acme.io", null, null));
+        customerRepository.saveAndFlush(new Customer("Globex", "contact@globex.com", null, null));
+
+        // When - prefix match
+        SearchPage<CustomerSearchResult> prefix = queryService.search("acm", null, 10);
+
+        // Then
+        assertThat(prefix.items()).extracting(CustomerSearchResult::name)
+                .containsExactlyInAnyOrder("Acme Corporation", "Acme Labs");
+        assertThat(prefix.nextCursor()).isNull();
+
+        // When - typo match
+        SearchPage<CustomerSearchResult> typo = queryService.search("globx", null, 10);
+
+        // Then
+        assertThat(typo.items()).extracting(CustomerSearchResult::name).containsExactly("Globex");
+
+        // When - keyset pagination
+        SearchPage<CustomerSearchResult> page1 = queryService.search("acme", null, 1);
+        SearchPage<CustomerSearchResult> page2 = queryService.search("acme", page1.nextCursor(), 1);
+
+        // Then
+        assertThat(page1.items()).hasSize(1);
+        assertThat(page1.nextCursor()).isNotNull();
+        assertThat(page2.items()).hasSize(1);
+        assertThat(page2.items().get(0).id()).isNotEqualTo(page1.items().get(0).id());
+    }
+}
@@ -0,0 +1,157 @@
+package com.invoiceme;
+
+import com.invoiceme.application.dunning.DunningResult;
+import com.invoiceme.application.dunning.DunningService;
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.InvoiceCommandService;
+import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.infrastructure.email.EmailException;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class DunningIntegrationTest extends BaseIntegrationTest {
+
+    private static final LocalDate DUE = LocalDate.of(2025, 3, 1);
+
+    @Autowired
+    private DunningService dunningService;
+
+    @Autowired
+    private InvoiceCommandService invoiceCommandService;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        customerRepository.deleteAll();
+        customer = customerRepository.save(new Customer("Late Payer", "late@example.com", null, null));
+    }
+
+    @Test
+    void testRun_MarksOnlyPastDueInvoicesOverdue() {
+        // Given
+        InvoiceResponse pastDue = sentInvoice(DUE);
+        InvoiceResponse dueToday = sentInvoice(DUE.plusDays(1));
+
+        // When
+        DunningResult result = dunningService.run(DUE.plusDays(1));
+
+        // Then
+        assertThat(result.markedOverdue()).isEqualTo(1);
+        assertThat(result.remindersSent()).isZero();
+        Invoice overdue = invoiceRepository.findById(pastDue.id()).orElseThrow();
+        assertThat(overdue.getStatus()).isEqualTo(InvoiceStatus.OVERDUE);
+        assertThat(overdue.getNextDunningDate()).isEqualTo(DUE.plusDays(7));
+        assertThat(invoiceRepository.findById(dueToday.id()).orElseThrow().getStatus()).isEqualTo(InvoiceStatus.SENT);
+    }
+
+    @Test
+    void testRun_SendsEachReminderOnce() {
+        // Given
+        InvoiceResponse invoice = sentInvoice(DUE);
+        dunningService.run(DUE.plusDays(1));
+
+        // When - the first reminder is due; a second pass the same day sends nothing
+        DunningResult first = dunningService.run(DUE.plusDays(7));
+        DunningResult repeat = dunningService.run(DUE.plusDays(7));
+
+        // Then
+        assertThat(first.remindersSent()).isEqualTo(1);
+        assertThat(repeat.remindersSent()).isZero();
+        verify(emailService).sendReminderEmail(any(Invoice.class), eq(1));
+        Invoice reminded = invoiceRepository.findById(invoice.id()).orElseThrow();
+        assertThat(reminded.getDunningLevel()).isEqualTo(1);
+        assertThat(reminded.getNextDunningDate()).isEqualTo(DUE.plusDays(14));
+    }
+
+    @Test
+    void testRun_PostponesReminderWhenEmailFails() {
+        // Given
+        InvoiceResponse invoice = sentInvoice(DUE);
+        dunningService.run(DUE.plusDays(1));
+        doThrow(new EmailException("SMTP unavailable")).when(emailService).sendReminderEmail(any(Invoice.class), anyInt());
+
+        // When
+        DunningResult result = dunningService.run(DUE.plusDays(7));
+
+        // Then
+        assertThat(result.remindersSent()).isZero();
+        assertThat(result.remindersPostponed()).isEqualTo(1);
+        Invoice postponed = invoiceRepository.findById(invoice.id()).orElseThrow();
+        assertThat(postponed.getDunningLevel()).isZero();
+        assertThat(postponed.getNextDunningDate()).isEqualTo(DUE.plusDays(8));
+    }
+
+    @Test
+    void testRun_PaidInvoiceGetsNoReminder() {
+        // Given
+        InvoiceResponse invoice = sentInvoice(DUE);
+        dunningService.run(DUE.plusDays(1));
+        Invoice overdue = invoiceRepository.findById(invoice.id()).orElseThrow();
+        overdue.applyPayment(overdue.getBalance());
+        invoiceRepository.saveAndFlush(overdue);
+
+        // When
+        DunningResult result = dunningService.run(DUE.plusDays(7));
+
+        // Then
+        assertThat(result.remindersSent()).isZero();
+        verify(emailService, never()).sendReminderEmail(any(Invoice.class), anyInt());
+    }
+
+    private InvoiceResponse sentInvoice(LocalDate dueDate) {
+        InvoiceResponse draft = invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                customer.getId(),
+                List.of(new LineItemRequest("Consulting", 1, new BigDecimal("250.00"))),
+                null,
+                dueDate));
+        return invoiceCommandService.sendInvoiceViaEmail(draft.id());
+    }
+}
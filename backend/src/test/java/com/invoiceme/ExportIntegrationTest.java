@@ -0,0 +1,269 @@
+package com.invoiceme;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.application.archive.InvoiceArchiveService;
+import com.invoiceme.application.customer.CustomerCommandService;
+import com.invoiceme.application.customer.dto.CustomerRequest;
+import com.invoiceme.application.export.ExportFormat;
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.InvoiceCommandService;
+import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.application.payment.PaymentCommandService;
+import com.invoiceme.application.payment.dto.PaymentRequest;
+import com.invoiceme.domain.organization.Organization;
+import com.invoiceme.infrastructure.persistence.ArchivedInvoiceRepository;
+import com.invoiceme.infrastructure.persistence.ArchivedPaymentRepository;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.OrganizationRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import com.invoiceme.presentation.rest.InvoiceController;
+import com.invoiceme.presentation.rest.PaymentController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: the export streams need their own read transaction, and each call
+ * sees the organization set in the tenant context at that point.
+ *
+ * Ties are broken by id in PostgreSQL's uuid order, which is the order of the lower-case
+ * text form.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private InvoiceController invoiceController;
+
+    @Autowired
+    private PaymentController paymentController;
+
+    @Autowired
+    private CustomerCommandService customerCommandService;
+
+    @Autowired
+    private InvoiceCommandService invoiceCommandService;
+
+    @Autowired
+    private PaymentCommandService paymentCommandService;
+
+    @Autowired
+    private InvoiceArchiveService invoiceArchiveService;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private ArchivedInvoiceRepository archivedInvoiceRepository;
+
+    @Autowired
+    private ArchivedPaymentRepository archivedPaymentRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private EmailService emailService;
+
+    private UUID acme;
+    private UUID globex;
+
+    @BeforeEach
+    void setUp() {
+        deleteAllOrganizationsData();
+        acme = organizationRepository.save(new Organization("Acme", null)).getId();
+        globex = organizationRepository.save(new Organization("Globex", null)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteAllOrganizationsData();
+        organizationRepository.deleteAllById(List.of(acme, globex));
+    }
+
+    @Test
+    void testStreamInvoices_FromSinceInclusiveOrderedByUpdatedAtThenId() {
+        // Given - two invoices changed exactly at the boundary, one before and one after it
+        LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        UUID before = TenantContext.callAs(acme, () -> sentInvoice("Before")).id();
+        UUID first = TenantContext.callAs(acme, () -> sentInvoice("Boundary One")).id();
+        UUID second = TenantContext.callAs(acme, () -> sentInvoice("Boundary Two")).id();
+        UUID after = TenantContext.callAs(acme, () -> sentInvoice("After")).id();
+        UUID other = TenantContext.callAs(globex, () -> sentInvoice("Other Organization")).id();
+        setUpdatedAt(before, since.minusSeconds(1));
+        setUpdatedAt(first, since);
+        setUpdatedAt(second, since);
+        setUpdatedAt(after, since.plusSeconds(1));
+        setUpdatedAt(other, since);
+
+        // When
+        List<UUID> exported = TenantContext.callAs(acme, () -> transactionTemplate.execute(status -> {
+            try (Stream<InvoiceRepository.ExportRow> rows = invoiceRepository.streamForExport(since)) {
+                return rows.map(InvoiceRepository.ExportRow::getId).toList();
+            }
+        }));
+
+        // Then
+        List<UUID> boundary = inIdOrder(first, second);
+        assertThat(exported).containsExactly(boundary.get(0), boundary.get(1), after);
+    }
+
+    @Test
+    void testStreamPayments_IncludesArchivedPaymentsInCreatedAtThenIdOrder() {
+        // Given - a payment before the boundary, and after it one of an archived invoice,
+        // two of an open one and a later one
+        InvoiceResponse open = TenantContext.callAs(acme, () -> sentInvoice("Open Customer"));
+        UUID before = TenantContext.callAs(acme, () -> pay(open, "50.00"));
+        UUID archived = TenantContext.callAs(acme, () -> pay(sentInvoice("Settled Customer"), "500.00"));
+        UUID first = TenantContext.callAs(acme, () -> pay(open, "50.00"));
+        UUID second = TenantContext.callAs(acme, () -> pay(open, "50.00"));
+        UUID after = TenantContext.callAs(acme, () -> pay(open, "50.00"));
+        UUID other = TenantContext.callAs(globex, () -> pay(sentInvoice("Other Organization"), "50.00"));
+        TenantContext.runAs(TenantContext.ALL_ORGANIZATIONS,
+                () -> invoiceArchiveService.archivePaidBefore(LocalDateTime.now().plusMinutes(1)));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM archived_payments WHERE id = ?", Long.class, archived)).isEqualTo(1);
+
+        // Payments are not moved across monthly partitions: the tie copies an existing created_at
+        LocalDateTime since = jdbcTemplate.queryForObject(
+                "SELECT created_at FROM payments WHERE id = ?", LocalDateTime.class, first);
+        jdbcTemplate.update("UPDATE payments SET created_at = ? WHERE id = ?", since, second);
+        jdbcTemplate.update("UPDATE archived_payments SET created_at = ? WHERE id = ?", since, archived);
+        jdbcTemplate.update("UPDATE payments SET created_at = ? WHERE id = ?", since, other);
+
+        // When
+        List<UUID> exported = TenantContext.callAs(acme, () -> transactionTemplate.execute(status -> {
+            try (Stream<PaymentRepository.ExportRow> rows = paymentRepository.streamForExport(since)) {
+                return rows.map(PaymentRepository.ExportRow::getId).toList();
+            }
+        }));
+
+        // Then
+        assertThat(exported).doesNotContain(before, other);
+        assertThat(exported).containsExactlyElementsOf(
+                Stream.concat(inIdOrder(archived, first, second).stream(), Stream.of(after)).toList());
+    }
+
+    @Test
+    void testExportEndpoints_WriteOnlyTheCurrentOrganizationsRows() throws Exception {
+        // Given
+        InvoiceResponse settled = TenantContext.callAs(acme, () -> sentInvoice("Settled Customer"));
+        UUID archived = TenantContext.callAs(acme, () -> pay(settled, "500.00"));
+        InvoiceResponse open = TenantContext.callAs(acme, () -> sentInvoice("Open Customer"));
+        UUID live = TenantContext.callAs(acme, () -> pay(open, "100.00"));
+        InvoiceResponse other = TenantContext.callAs(globex, () -> sentInvoice("Other Organization"));
+        UUID otherPayment = TenantContext.callAs(globex, () -> pay(other, "100.00"));
+        TenantContext.runAs(TenantContext.ALL_ORGANIZATIONS,
+                () -> invoiceArchiveService.archivePaidBefore(LocalDateTime.now().plusMinutes(1)));
+
+        // When
+        MockHttpServletResponse payments = new MockHttpServletResponse();
+        MockHttpServletResponse invoices = new MockHttpServletResponse();
+        try (TenantContext.Scope ignored = TenantContext.enter(acme)) {
+            paymentController.export(ExportFormat.CSV, null, payments);
+            invoiceController.export(ExportFormat.NDJSON, null, invoices);
+        }
+
+        // Then - archived payments are exported, archived invoices are not
+        List<String> paymentLines = Arrays.asList(payments.getContentAsString().split("\r\n"));
+        assertThat(payments.getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains("payments.csv");
+        assertThat(paymentLines.get(0)).isEqualTo("id,invoice_id,customer_id,amount,payment_date,created_at");
+        assertThat(paymentLines.subList(1, paymentLines.size()))
+                .extracting(line -> UUID.fromString(line.substring(0, line.indexOf(','))))
+                .containsExactly(archived, live)
+                .doesNotContain(otherPayment);
+
+        List<UUID> invoiceIds = invoices.getContentAsString().lines()
+                .map(line -> UUID.fromString(readField(line, "id")))
+                .toList();
+        assertThat(invoiceIds).containsExactly(open.id());
+    }
+
+    private InvoiceResponse sentInvoice(String customerName) {
+        UUID customerId = customerCommandService.createCustomer(new CustomerRequest(
+                customerName, customerName.toLowerCase().replace(' ', '.') + "@example.com", null, null)).id();
+        InvoiceResponse draft = invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                customerId, List.of(new LineItemRequest("Service", 1, new BigDecimal("500.00")))));
+        return invoiceCommandService.sendInvoiceViaEmail(draft.id());
+    }
+
+    private UUID pay(InvoiceResponse invoice, String amount) {
+        return paymentCommandService.recordPayment(
+                new PaymentRequest(invoice.id(), new BigDecimal(amount), LocalDateTime.now())).id();
+    }
+
+    private void setUpdatedAt(UUID invoiceId, LocalDateTime updatedAt) {
+        jdbcTemplate.update("UPDATE invoices SET updated_at = ? WHERE id = ?", updatedAt, invoiceId);
+    }
+
+    private static List<UUID> inIdOrder(UUID... ids) {
+        return Stream.of(ids).sorted(Comparator.comparing(UUID::toString)).toList();
+    }
+
+    private String readField(String line, String field) {
+        try {
+            return objectMapper.readTree(line).get(field).asText();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void deleteAllOrganizationsData() {
+        TenantContext.runAs(TenantContext.ALL_ORGANIZATIONS, () -> {
+            changeLogRepository.deleteAll();
+            archivedPaymentRepository.deleteAll();
+            archivedInvoiceRepository.deleteAll();
+            ledgerEntryRepository.deleteAll();
+            paymentRepository.deleteAll();
+            invoiceRepository.deleteAll();
+            customerRepository.deleteAll();
+        });
+    }
+}
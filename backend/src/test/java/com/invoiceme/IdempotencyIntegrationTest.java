@@ -0,0 +1,176 @@
+package com.invoiceme;
+
+import com.invoiceme.application.idempotency.IdempotencyService;
+import com.invoiceme.application.idempotency.IdempotentResult;
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.InvoiceCommandService;
+import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import com.invoiceme.application.payment.PaymentCommandService;
+import com.invoiceme.application.payment.dto.PaymentRequest;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.IdempotencyRecordRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class IdempotencyIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private PaymentCommandService paymentCommandService;
+
+    @Autowired
+    private InvoiceCommandService invoiceCommandService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private EmailService emailService;
+
+    private InvoiceResponse sentInvoice;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        paymentRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        Customer customer = customerRepository.save(new Customer("Idempotent Customer", "idempotent@example.com", null, null));
+        InvoiceResponse invoice = invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                customer.getId(), List.of(new LineItemRequest("Service", 10, BigDecimal.valueOf(100.00)))));
+        sentInvoice = invoiceCommandService.sendInvoiceViaEmail(invoice.id());
+    }
+
+    @Test
+    void testRetryWithSameKeyReplaysOriginalPayment() {
+        // Given
+        PaymentRequest request = new PaymentRequest(sentInvoice.id(), BigDecimal.valueOf(300.00), LocalDateTime.now());
+
+        // When
+        IdempotentResult<PaymentResponse> first = recordPayment("key-1", request);
+        IdempotentResult<PaymentResponse> retry = recordPayment("key-1", request);
+
+        // Then
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.body().id()).isEqualTo(first.body().id());
+        assertThat(paymentRepository.count()).isEqualTo(1);
+        assertThat(invoiceRepository.findById(sentInvoice.id()).orElseThrow().getBalance())
+                .isEqualByComparingTo(BigDecimal.valueOf(700.00));
+    }
+
+    @Test
+    void testExpiredKeyRunsAgainBeforePurge() {
+        // Given - the key expired but the purge has not run yet
+        PaymentRequest request = new PaymentRequest(sentInvoice.id(), BigDecimal.valueOf(100.00), LocalDateTime.now());
+        IdempotentResult<PaymentResponse> first = recordPayment("key-expired", request);
+        jdbcTemplate.update("UPDATE idempotency_keys SET expires_at = ? WHERE idempotency_key = ?",
+                LocalDateTime.now().minusMinutes(1), "key-expired");
+
+        // When
+        IdempotentResult<PaymentResponse> retry = recordPayment("key-expired", request);
+
+        // Then
+        assertThat(retry.replayed()).isFalse();
+        assertThat(retry.body().id()).isNotEqualTo(first.body().id());
+        assertThat(paymentRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testKeyReusedWithDifferentRequestRejected() {
+        // Given
+        recordPayment("key-2", new PaymentRequest(sentInvoice.id(), BigDecimal.valueOf(300.00), LocalDateTime.now()));
+
+        // When & Then
+        assertThatThrownBy(() -> recordPayment("key-2",
+                new PaymentRequest(sentInvoice.id(), BigDecimal.valueOf(400.00), LocalDateTime.now())))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("different request");
+    }
+
+    @Test
+    void testKeysAreScopedPerEndpoint() {
+        // Given
+        CreateInvoiceRequest request = new CreateInvoiceRequest(
+                sentInvoice.customerId(), List.of(new LineItemRequest("Other", 1, BigDecimal.valueOf(50.00))));
+
+        // When
+        IdempotentResult<InvoiceResponse> invoice = idempotencyService.execute(
+                "invoices", "shared-key", request, InvoiceResponse.class,
+                () -> invoiceCommandService.createInvoice(request));
+        IdempotentResult<PaymentResponse> payment = recordPayment("shared-key",
+                new PaymentRequest(sentInvoice.id(), BigDecimal.valueOf(100.00), LocalDateTime.now()));
+
+        // Then
+        assertThat(invoice.replayed()).isFalse();
+        assertThat(payment.replayed()).isFalse();
+    }
+
+    @Test
+    void testWithoutKeyEveryRequestRuns() {
+        // Given
+        PaymentRequest request = new PaymentRequest(sentInvoice.id(), BigDecimal.valueOf(100.00), LocalDateTime.now());
+
+        // When
+        recordPayment(null, request);
+        recordPayment(null, request);
+
+        // Then
+        assertThat(paymentRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testBlankKeyRejected() {
+        PaymentRequest request = new PaymentRequest(sentInvoice.id(), BigDecimal.valueOf(100.00), LocalDateTime.now());
+
+        assertThatThrownBy(() -> recordPayment(" ", request))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private IdempotentResult<PaymentResponse> recordPayment(String key, PaymentRequest request) {
+        return idempotencyService.execute("payments", key, request, PaymentResponse.class,
+                () -> paymentCommandService.recordPayment(request));
+    }
+}
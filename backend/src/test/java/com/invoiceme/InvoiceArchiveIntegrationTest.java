@@ -0,0 +1,179 @@
+package com.invoiceme;
+
+import com.invoiceme.application.archive.InvoiceArchiveService;
+import com.invoiceme.application.export.ExportFormat;
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.InvoiceCommandService;
+import com.invoiceme.application.invoice.InvoiceQueryService;
+import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import com.invoiceme.application.ledger.LedgerQueryService;
+import com.invoiceme.application.ledger.dto.LedgerEntryResponse;
+import com.invoiceme.application.payment.PaymentCommandService;
+import com.invoiceme.application.payment.PaymentQueryService;
+import com.invoiceme.application.payment.dto.PaymentRequest;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.persistence.ArchivedInvoiceRepository;
+import com.invoiceme.infrastructure.persistence.ArchivedPaymentRepository;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class InvoiceArchiveIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private InvoiceArchiveService invoiceArchiveService;
+
+    @Autowired
+    private InvoiceCommandService invoiceCommandService;
+
+    @Autowired
+    private InvoiceQueryService invoiceQueryService;
+
+    @Autowired
+    private PaymentCommandService paymentCommandService;
+
+    @Autowired
+    private PaymentQueryService paymentQueryService;
+
+    @Autowired
+    private LedgerQueryService ledgerQueryService;
+
+    @Autowired
+    private ArchivedInvoiceRepository archivedInvoiceRepository;
+
+    @Autowired
+    private ArchivedPaymentRepository archivedPaymentRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        archivedPaymentRepository.deleteAll();
+        archivedInvoiceRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        paymentRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        customerRepository.deleteAll();
+        customer = customerRepository.save(new Customer("Settled Customer", "settled@example.com", null, null));
+    }
+
+    @Test
+    void testArchivePaidBefore_MovesOnlySettledInvoices() {
+        // Given
+        InvoiceResponse paid = paidInvoice();
+        InvoiceResponse open = sentInvoice();
+
+        // When - nothing was settled before yesterday, everything so far is settled before the next minute
+        int none = invoiceArchiveService.archivePaidBefore(LocalDateTime.now().minusDays(1));
+        int archived = invoiceArchiveService.archivePaidBefore(LocalDateTime.now().plusMinutes(1));
+
+        // Then
+        assertThat(none).isZero();
+        assertThat(archived).isEqualTo(1);
+        assertThat(invoiceRepository.existsById(paid.id())).isFalse();
+        assertThat(invoiceRepository.existsById(open.id())).isTrue();
+        assertThat(paymentRepository.findByInvoice_IdOrderByCreatedAtAsc(paid.id())).isEmpty();
+        assertThat(ledgerEntryRepository.findByInvoice_IdOrderBySequenceNumberAsc(paid.id())).isEmpty();
+        assertThat(archivedInvoiceRepository.findById(paid.id())).hasValueSatisfying(stub -> {
+            assertThat(stub.getCustomerId()).isEqualTo(customer.getId());
+            assertThat(stub.getTotalAmount()).isEqualByComparingTo("500.00");
+        });
+    }
+
+    @Test
+    void testGetById_FallsThroughToArchive() {
+        // Given
+        InvoiceResponse paid = invoiceQueryService.getById(paidInvoice().id());
+        invoiceArchiveService.archivePaidBefore(LocalDateTime.now().plusMinutes(1));
+
+        // When
+        InvoiceResponse archived = invoiceQueryService.getById(paid.id());
+
+        // Then - served as it was when archived, but no longer listed
+        assertThat(archived).isEqualTo(paid);
+        assertThat(archived.lineItems()).hasSize(1);
+        assertThat(invoiceQueryService.getAll(PageRequest.of(0, 10)).getContent())
+                .extracting(InvoiceResponse::id).doesNotContain(paid.id());
+    }
+
+    @Test
+    void testPaymentsAndLedger_FallThroughToArchive() throws Exception {
+        // Given
+        InvoiceResponse invoice = sentInvoice();
+        LocalDateTime beforePayment = invoice.createdAt();
+        PaymentResponse payment = paymentCommandService.recordPayment(
+                new PaymentRequest(invoice.id(), new BigDecimal("500.00"), LocalDateTime.now()));
+        List<LedgerEntryResponse> ledger = ledgerQueryService.getLedger(invoice.id(), PageRequest.of(0, 10)).getContent();
+
+        // When
+        invoiceArchiveService.archivePaidBefore(LocalDateTime.now().plusMinutes(1));
+
+        // Then
+        assertThat(paymentRepository.existsById(payment.id())).isFalse();
+        assertThat(paymentQueryService.getById(payment.id())).isEqualTo(payment);
+        assertThat(paymentQueryService.getByInvoiceId(invoice.id(), PageRequest.of(0, 10)).getContent())
+                .containsExactly(payment);
+        assertThat(ledgerQueryService.getLedger(invoice.id(), PageRequest.of(0, 10)).getContent())
+                .isEqualTo(ledger);
+        assertThat(ledgerQueryService.getBalance(invoice.id(), null).balance()).isEqualByComparingTo("0.00");
+        assertThat(ledgerQueryService.getBalance(invoice.id(), beforePayment).balance()).isEqualByComparingTo("500.00");
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        paymentQueryService.exportPayments(null, ExportFormat.CSV, export);
+        assertThat(export.toString(StandardCharsets.UTF_8)).contains(payment.id().toString());
+    }
+
+    private InvoiceResponse sentInvoice() {
+        InvoiceResponse draft = invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                customer.getId(), List.of(new LineItemRequest("Service", 1, new BigDecimal("500.00")))));
+        return invoiceCommandService.sendInvoiceViaEmail(draft.id());
+    }
+
+    private InvoiceResponse paidInvoice() {
+        InvoiceResponse invoice = sentInvoice();
+        paymentCommandService.recordPayment(new PaymentRequest(invoice.id(), new BigDecimal("500.00"), LocalDateTime.now()));
+        return invoice;
+    }
+}
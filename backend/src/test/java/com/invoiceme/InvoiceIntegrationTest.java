@@ -6,13 +6,21 @@ import com.invoiceme.application.invoice.InvoiceCommandService;
 import com.invoiceme.application.invoice.InvoiceQueryService;
 import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
 import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.InvoiceSearchResult;
 import com.invoiceme.application.invoice.dto.LineItemRequest;
 import com.invoiceme.application.invoice.dto.UpdateInvoiceRequest;
+import com.invoiceme.application.search.dto.SearchPage;
+import com.invoiceme.application.pricing.RateTables;
 import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.pricing.FxRate;
+import com.invoiceme.domain.pricing.TaxRate;
 import com.invoiceme.domain.invoice.Invoice;
 import com.invoiceme.domain.invoice.InvoiceStatus;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.FxRateRepository;
+import com.invoiceme.infrastructure.persistence.TaxRateRepository;
 import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -48,9 +56,21 @@ class InvoiceIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private InvoiceRepository invoiceRepository;
 
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private TaxRateRepository taxRateRepository;
+
+    @Autowired
+    private FxRateRepository fxRateRepository;
+
+    @Autowired
+    private RateTables rateTables;
+
     @MockBean
     private EmailService emailService;
 
@@ -58,6 +78,7 @@ class InvoiceIntegrationTest extends BaseIntegrationTest {
 
     @BeforeEach
     void setUp() {
+        ledgerEntryRepository.deleteAll();
         invoiceRepository.deleteAll();
         customerRepository.deleteAll();
         testCustomer = customerRepository.save(new Customer("Test Customer", "test@example.com", null, null));
@@ -464,10 +485,73 @@ class InvoiceIntegrationTest extends BaseIntegrationTest {
         );
 
         // When
-        BigDecimal subtotal = lineItem.calculateSubtotal();
+        BigDecimal subtotal = lineItem.calculateSubtotal(2);
 
         // Then
         assertThat(subtotal).isEqualByComparingTo(BigDecimal.valueOf(1000.00));
     }
-}
 
+    @Test
+    void testSearchInvoices_ByLineItemDescription() {
+        // Given
+        Invoice webInvoice = new Invoice(testCustomer);
+        webInvoice.addLineItem("Website development", 10, BigDecimal.valueOf(100.00));
+        invoiceRepository.saveAndFlush(webInvoice);
+
+        Invoice hostingInvoice = new Invoice(testCustomer);
+        hostingInvoice.addLineItem("Annual hosting plan", 1, BigDecimal.valueOf(240.00));
+        invoiceRepository.saveAndFlush(hostingInvoice);
+
+        // When
+        SearchPage<InvoiceSearchResult> results = queryService.search("develop", null, 10);
+
+        // Then
+        assertThat(results.items()).hasSize(1);
+        assertThat(results.items().get(0).id()).isEqualTo(webInvoice.getId());
+        assertThat(results.items().get(0).customerName()).isEqualTo("Test Customer");
+        assertThat(results.nextCursor()).isNull();
+    }
+
+    @Test
+    void testCreateInvoice_WithCurrencyAndTaxCodes() {
+        // Given
+        taxRateRepository.save(new TaxRate("VAT_STANDARD", new BigDecimal("0.19"), "Standard VAT"));
+        fxRateRepository.save(new FxRate("EUR", new BigDecimal("1.10")));
+        rateTables.refresh();
+
+        CreateInvoiceRequest request = new CreateInvoiceRequest(
+                testCustomer.getId(),
+                List.of(
+                        new LineItemRequest("Consulting", 10, BigDecimal.valueOf(100.00), "VAT_STANDARD"),
+                        new LineItemRequest("Expenses", 1, BigDecimal.valueOf(50.00), null)
+                ),
+                "EUR"
+        );
+
+        // When
+        InvoiceResponse response = commandService.createInvoice(request);
+
+        // Then
+        assertThat(response.currency()).isEqualTo("EUR");
+        assertThat(response.subtotalAmount()).isEqualByComparingTo("1050.00");
+        assertThat(response.taxAmount()).isEqualByComparingTo("190.00");
+        assertThat(response.totalAmount()).isEqualByComparingTo("1240.00");
+        assertThat(response.balance()).isEqualByComparingTo("1240.00");
+        assertThat(response.totalInBaseCurrency()).isEqualByComparingTo("1364.00");
+        assertThat(response.lineItems().get(0).taxAmount()).isEqualByComparingTo("190.00");
+    }
+
+    @Test
+    void testCreateInvoice_UnknownTaxCode() {
+        // Given
+        CreateInvoiceRequest request = new CreateInvoiceRequest(
+                testCustomer.getId(),
+                List.of(new LineItemRequest("Consulting", 1, BigDecimal.valueOf(100.00), "NO_SUCH_CODE"))
+        );
+
+        // When & Then
+        assertThatThrownBy(() -> commandService.createInvoice(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("NO_SUCH_CODE");
+    }
+}
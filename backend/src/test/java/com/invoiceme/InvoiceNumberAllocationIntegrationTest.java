@@ -0,0 +1,218 @@
+package com.invoiceme;
+
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.InvoiceCommandService;
+import com.invoiceme.application.invoice.InvoiceNumberAllocator;
+import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceNumber;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.DatabaseVendor;
+import com.invoiceme.infrastructure.persistence.InvoiceNumberSequenceRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Allocates invoice numbers from 64 threads at once, in block and in gap-free mode,
+ * and checks that no number is handed out twice.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InvoiceNumberAllocationIntegrationTest extends BaseIntegrationTest {
+
+    private static final int THREADS = 64;
+    private static final int PER_THREAD = 10;
+
+    @Autowired
+    private InvoiceCommandService invoiceCommandService;
+
+    @Autowired
+    private InvoiceNumberSequenceRepository sequenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DatabaseVendor databaseVendor;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        paymentRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        customer = customerRepository.save(new Customer("Numbered Customer", "numbers@example.com", null, null));
+    }
+
+    @Test
+    void testConcurrentInvoiceCreation_NumbersAreUniqueAndConsecutive() throws Exception {
+        // When
+        List<String> numbers = runConcurrently(() -> invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                customer.getId(), List.of(new LineItemRequest("Service", 1, new BigDecimal("10.00")))))
+                .invoiceNumber());
+
+        // Then - one value per invoice, gap-free
+        assertThat(new HashSet<>(numbers)).hasSize(THREADS * PER_THREAD);
+        List<Long> values = numbers.stream().map(InvoiceNumberAllocationIntegrationTest::value).sorted().toList();
+        assertThat(values.get(values.size() - 1) - values.get(0)).isEqualTo(THREADS * PER_THREAD - 1);
+        assertThat(invoiceRepository.findAll()).extracting(Invoice::getInvoiceNumber)
+                .doesNotHaveDuplicates()
+                .hasSize(THREADS * PER_THREAD);
+    }
+
+    @Test
+    void testConcurrentBlockAllocation_NumbersAreUnique() throws Exception {
+        // Given - two instances sharing one sequence, as two application nodes would
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        InvoiceNumberAllocator first = allocator("BLK", 16);
+        InvoiceNumberAllocator second = allocator("BLK", 16);
+        LocalDate issueDate = LocalDate.now();
+
+        // When - more callers than the application pool has connections, each holding one
+        List<String> numbers = runConcurrently(() -> transaction.execute(status ->
+                (Thread.currentThread().getId() % 2 == 0 ? first : second).next(customer.getOrganizationId(), issueDate)));
+
+        // Then - refills reserved on the caller's connection
+        assertThat(numbers).doesNotHaveDuplicates().hasSize(THREADS * PER_THREAD);
+        assertThat(numbers).allMatch(number -> number.startsWith("BLK-" + issueDate.getYear() + "-"));
+    }
+
+    @Test
+    void testBlockAllocation_RolledBackRefillIsNotHandedOut() {
+        // Given - a transaction reserves a block and rolls back
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        InvoiceNumberAllocator allocator = allocator("RBK", 4);
+        LocalDate issueDate = LocalDate.now();
+        String rolledBack = transaction.execute(status -> {
+            status.setRollbackOnly();
+            return allocator.next(customer.getOrganizationId(), issueDate);
+        });
+
+        // When
+        List<String> numbers = transaction.execute(status -> List.of(
+                allocator.next(customer.getOrganizationId(), issueDate),
+                allocator.next(customer.getOrganizationId(), issueDate)));
+        String shared = transaction.execute(status -> allocator.next(customer.getOrganizationId(), issueDate));
+
+        // Then - the block is reserved again, and its rest handed out only after the commit
+        assertThat(numbers).containsExactly(rolledBack, InvoiceNumber.format("RBK", issueDate.getYear(), value(rolledBack) + 1));
+        assertThat(shared).isEqualTo(InvoiceNumber.format("RBK", issueDate.getYear(), value(rolledBack) + 2));
+    }
+
+    @Test
+    void testConcurrentGapFreeAllocation_RolledBackNumbersAreReused() throws Exception {
+        // Given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        InvoiceNumberAllocator allocator = allocator("GAP", 1);
+        LocalDate issueDate = LocalDate.now();
+        String first = transaction.execute(status -> allocator.next(customer.getOrganizationId(), issueDate));
+        transaction.executeWithoutResult(status -> {
+            allocator.next(customer.getOrganizationId(), issueDate);
+            status.setRollbackOnly();
+        });
+
+        // When
+        List<String> numbers = runConcurrently(() -> transaction.execute(status ->
+                allocator.next(customer.getOrganizationId(), issueDate)));
+
+        // Then - the rolled-back number is handed out again, so the run continues from the first
+        List<Long> values = numbers.stream().map(InvoiceNumberAllocationIntegrationTest::value).sorted().toList();
+        assertThat(values).doesNotHaveDuplicates().hasSize(THREADS * PER_THREAD);
+        assertThat(values.get(0)).isEqualTo(value(first) + 1);
+        assertThat(values.get(values.size() - 1) - values.get(0)).isEqualTo(THREADS * PER_THREAD - 1);
+    }
+
+    @Test
+    void testUniqueIndex_RejectsDuplicateNumber() {
+        // Given
+        Invoice invoice = new Invoice(customer);
+        invoice.assignNumber("DUP-2025-000001");
+        invoiceRepository.saveAndFlush(invoice);
+
+        // When / Then
+        Invoice duplicate = new Invoice(customer);
+        duplicate.assignNumber("DUP-2025-000001");
+        assertThatThrownBy(() -> invoiceRepository.saveAndFlush(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private InvoiceNumberAllocator allocator(String series, int blockSize) {
+        return new InvoiceNumberAllocator(sequenceRepository, databaseVendor, series, blockSize);
+    }
+
+    private static List<String> runConcurrently(Callable<String> allocation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    List<String> allocated = new ArrayList<>(PER_THREAD);
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        allocated.add(allocation.call());
+                    }
+                    return allocated;
+                }));
+            }
+            List<String> numbers = new ArrayList<>(THREADS * PER_THREAD);
+            for (Future<List<String>> future : futures) {
+                numbers.addAll(future.get());
+            }
+            return numbers;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long value(String number) {
+        return Long.parseLong(number.substring(number.lastIndexOf('-') + 1));
+    }
+}
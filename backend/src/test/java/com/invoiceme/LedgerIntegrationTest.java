@@ -0,0 +1,198 @@
+package com.invoiceme;
+
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.InvoiceCommandService;
+import com.invoiceme.application.invoice.InvoiceQueryService;
+import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import com.invoiceme.application.invoice.dto.UpdateInvoiceRequest;
+import com.invoiceme.application.ledger.LedgerCommandService;
+import com.invoiceme.application.ledger.LedgerQueryService;
+import com.invoiceme.application.ledger.dto.LedgerAdjustmentRequest;
+import com.invoiceme.application.ledger.dto.LedgerEntryResponse;
+import com.invoiceme.application.payment.PaymentCommandService;
+import com.invoiceme.application.payment.dto.PaymentRequest;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.ledger.LedgerEntry;
+import com.invoiceme.domain.ledger.LedgerEntryType;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class LedgerIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private LedgerCommandService ledgerCommandService;
+
+    @Autowired
+    private LedgerQueryService ledgerQueryService;
+
+    @Autowired
+    private PaymentCommandService paymentCommandService;
+
+    @Autowired
+    private InvoiceCommandService invoiceCommandService;
+
+    @Autowired
+    private InvoiceQueryService invoiceQueryService;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    private InvoiceResponse invoice;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        paymentRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        Customer customer = customerRepository.save(new Customer("Ledger Customer", "ledger@example.com", null, null));
+        InvoiceResponse draft = invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                customer.getId(), List.of(new LineItemRequest("Service", 1, new BigDecimal("500.00")))));
+        invoice = invoiceCommandService.sendInvoiceViaEmail(draft.id());
+    }
+
+    @Test
+    void testLedger_RecordsRunningBalanceForEveryChange() {
+        // Given
+        PaymentResponse payment = pay("500.00");
+
+        // When - part of the payment is refunded, then credited and the rest written off
+        ledgerCommandService.refundPayment(payment.id(), adjustment("200.00"));
+        assertThat(invoiceQueryService.getById(invoice.id()).status()).isEqualTo("SENT");
+        ledgerCommandService.issueCreditNote(invoice.id(), adjustment("150.00"));
+        ledgerCommandService.writeOff(invoice.id(), adjustment("50.00"));
+
+        // Then
+        List<LedgerEntryResponse> entries = ledgerQueryService.getLedger(
+                invoice.id(), PageRequest.of(0, 10, Sort.by("sequenceNumber"))).getContent();
+        assertThat(entries).extracting(LedgerEntryResponse::entryType)
+                .containsExactly("OPENING", "PAYMENT", "REFUND", "CREDIT_NOTE", "WRITE_OFF");
+        assertThat(entries).extracting(LedgerEntryResponse::sequenceNumber).containsExactly(0, 1, 2, 3, 4);
+        assertThat(entries).extracting(LedgerEntryResponse::balanceAfter)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("500.00"), new BigDecimal("0.00"), new BigDecimal("200.00"),
+                        new BigDecimal("50.00"), new BigDecimal("0.00"));
+        assertThat(entries.get(2).paymentId()).isEqualTo(payment.id());
+
+        InvoiceResponse settled = invoiceQueryService.getById(invoice.id());
+        assertThat(settled.status()).isEqualTo("PAID");
+        assertThat(settled.balance()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void testRefund_LimitedToWhatIsLeftOfThePayment() {
+        // Given
+        PaymentResponse payment = pay("300.00");
+        ledgerCommandService.refundPayment(payment.id(), adjustment("250.00"));
+
+        // When / Then
+        assertThatThrownBy(() -> ledgerCommandService.refundPayment(payment.id(), adjustment("50.01")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("refundable amount");
+        assertThat(invoiceQueryService.getById(invoice.id()).balance()).isEqualByComparingTo("450.00");
+    }
+
+    @Test
+    void testBalanceAsOf_ReturnsBalanceAtThatTime() {
+        // Given
+        pay("100.00");
+        pay("150.00");
+        List<LedgerEntry> entries = ledgerEntryRepository.findByInvoice_IdOrderBySequenceNumberAsc(invoice.id());
+        LocalDateTime opened = entries.get(0).getRecordedAt();
+        LocalDateTime firstPayment = entries.get(1).getRecordedAt();
+
+        // When / Then - as of the recorded times themselves, so nothing depends on the clock
+        assertThat(ledgerQueryService.getBalance(invoice.id(), opened.minusNanos(1_000)).balance()).isEqualByComparingTo("0.00");
+        assertThat(ledgerQueryService.getBalance(invoice.id(), opened).balance()).isEqualByComparingTo("500.00");
+        assertThat(ledgerQueryService.getBalance(invoice.id(), firstPayment).balance()).isEqualByComparingTo("400.00");
+        assertThat(ledgerQueryService.getBalance(invoice.id(), null).balance()).isEqualByComparingTo("250.00");
+    }
+
+    @Test
+    void testUpdateLineItems_AppendsAdjustmentToPaidDraft() {
+        // Given - DRAFT invoices can take payments
+        InvoiceResponse draft = invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                invoice.customerId(), List.of(new LineItemRequest("Draft work", 1, new BigDecimal("80.00")))));
+        paymentCommandService.recordPayment(new PaymentRequest(draft.id(), new BigDecimal("30.00"), LocalDateTime.now()));
+
+        // When
+        InvoiceResponse updated = invoiceCommandService.updateInvoice(draft.id(), new UpdateInvoiceRequest(
+                List.of(new LineItemRequest("Draft work", 2, new BigDecimal("80.00")))));
+
+        // Then - the latest running balance is the stored balance
+        List<LedgerEntry> entries = ledgerEntryRepository.findByInvoice_IdOrderBySequenceNumberAsc(draft.id());
+        assertThat(entries).extracting(LedgerEntry::getEntryType)
+                .containsExactly(LedgerEntryType.OPENING, LedgerEntryType.PAYMENT, LedgerEntryType.ADJUSTMENT);
+        LedgerEntry adjustment = entries.get(2);
+        assertThat(adjustment.getAmount()).isEqualByComparingTo("80.00");
+        assertThat(adjustment.getBalanceAfter()).isEqualByComparingTo("130.00");
+        assertThat(updated.balance()).isEqualByComparingTo("130.00");
+        assertThat(ledgerQueryService.getBalance(draft.id(), adjustment.getRecordedAt()).balance())
+                .isEqualByComparingTo("130.00");
+    }
+
+    @Test
+    void testCreditNote_RejectsDraftInvoice() {
+        // Given
+        InvoiceResponse draft = invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                invoice.customerId(), List.of(new LineItemRequest("Draft work", 1, new BigDecimal("80.00")))));
+
+        // When / Then
+        assertThatThrownBy(() -> ledgerCommandService.issueCreditNote(draft.id(), adjustment("10.00")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(ledgerEntryRepository.findByInvoice_IdOrderBySequenceNumberAsc(draft.id()))
+                .extracting(LedgerEntry::getEntryType)
+                .containsExactly(LedgerEntryType.OPENING);
+    }
+
+    private PaymentResponse pay(String amount) {
+        return paymentCommandService.recordPayment(
+                new PaymentRequest(invoice.id(), new BigDecimal(amount), LocalDateTime.now()));
+    }
+
+    private static LedgerAdjustmentRequest adjustment(String amount) {
+        return new LedgerAdjustmentRequest(new BigDecimal(amount), "Test");
+    }
+}
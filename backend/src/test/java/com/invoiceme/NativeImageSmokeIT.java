@@ -0,0 +1,205 @@
+package com.invoiceme;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the native executable against PostgreSQL and a MailHog SMTP stub, then creates,
+ * sends and downloads an invoice. Prints time to first request and resident memory.
+ * Run with {@code mvn -Pnative verify} (builds target/invoiceme-backend first).
+ */
+@Testcontainers
+class NativeImageSmokeIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static GenericContainer<?> mailhog = new GenericContainer<>("mailhog/mailhog:v1.0.1")
+            .withExposedPorts(1025, 8025);
+
+    private static final HttpClient http = HttpClient.newHttpClient();
+    private static final ObjectMapper json = new ObjectMapper();
+
+    private static HttpServer oidcStub;
+    private static Process app;
+    private static String baseUrl;
+    private static long startupMillis;
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        Path executable = Path.of(System.getProperty("native.executable", "target/invoiceme-backend"));
+        assertThat(executable).as("native executable (mvn -Pnative package)").isExecutable();
+
+        // The prod profile resolves the Google OIDC issuer at startup; serve a local discovery document instead
+        oidcStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        String issuer = "http://localhost:" + oidcStub.getAddress().getPort();
+        oidcStub.createContext("/.well-known/openid-configuration", exchange -> {
+            byte[] body = json.writeValueAsBytes(Map.of(
+                    "issuer", issuer,
+                    "authorization_endpoint", issuer + "/auth",
+                    "token_endpoint", issuer + "/token",
+                    "jwks_uri", issuer + "/jwks",
+                    "userinfo_endpoint", issuer + "/userinfo",
+                    "subject_types_supported", new String[]{"public"},
+                    "response_types_supported", new String[]{"code"}));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        oidcStub.start();
+
+        int port = freePort();
+        baseUrl = "http://localhost:" + port;
+
+        Map<String, String> env = new HashMap<>();
+        env.put("SPRING_PROFILES_ACTIVE", "prod");
+        env.put("PORT", String.valueOf(port));
+        env.put("DB_HOST", postgres.getHost());
+        env.put("DB_PORT", String.valueOf(postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT)));
+        env.put("DB_NAME", postgres.getDatabaseName());
+        env.put("DB_USERNAME", postgres.getUsername());
+        env.put("DB_PASSWORD", postgres.getPassword());
+        env.put("SMTP_HOST", mailhog.getHost());
+        env.put("SMTP_PORT", String.valueOf(mailhog.getMappedPort(1025)));
+        env.put("GOOGLE_CLIENT_ID", "smoke");
+        env.put("GOOGLE_CLIENT_SECRET", "smoke");
+
+        ProcessBuilder builder = new ProcessBuilder(executable.toString(),
+                "--spring.security.oauth2.client.provider.google.issuer-uri=" + issuer,
+                "--spring.mail.properties.mail.smtp.auth=false",
+                "--app.auth.dev-mode=true")
+                .redirectErrorStream(true)
+                .redirectOutput(Files.createTempFile("invoiceme-native", ".log").toFile());
+        builder.environment().putAll(env);
+
+        long start = System.nanoTime();
+        app = builder.start();
+        awaitFirstResponse();
+        startupMillis = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        if (app != null) {
+            app.destroy();
+        }
+        if (oidcStub != null) {
+            oidcStub.stop(0);
+        }
+    }
+
+    @Test
+    void createSendAndDownloadInvoice() throws Exception {
+        // Create
+        JsonNode customer = send("POST", "/api/customers", Map.of(
+                "name", "Wile E. Coyote", "email", "wile@example.com"), 201);
+        JsonNode invoice = send("POST", "/api/invoices", Map.of(
+                "customerId", customer.get("id").asText(),
+                "lineItems", new Object[]{Map.of("description", "Service", "quantity", 2, "unitPrice", 50.00)}), 201);
+        UUID invoiceId = UUID.fromString(invoice.get("id").asText());
+        assertThat(invoice.get("status").asText()).isEqualTo("DRAFT");
+
+        // Send - renders the PDF and mails it to the customer
+        JsonNode sent = send("POST", "/api/invoices/" + invoiceId + "/send", null, 200);
+        assertThat(sent.get("status").asText()).isEqualTo("SENT");
+        JsonNode messages = json.readTree(get("http://" + mailhog.getHost() + ":" + mailhog.getMappedPort(8025)
+                + "/api/v2/messages").body());
+        assertThat(messages.get("total").asInt()).isEqualTo(1);
+        assertThat(messages.at("/items/0/Content/Headers/To/0").asText()).isEqualTo("wile@example.com");
+
+        // Download
+        HttpResponse<byte[]> pdf = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/invoices/" + invoiceId + "/pdf"))
+                .GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(pdf.statusCode()).isEqualTo(200);
+        assertThat(new String(pdf.body(), 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+
+        System.out.printf("Native startup: %d ms to first request, RSS after smoke test: %s%n",
+                startupMillis, residentSetSize());
+    }
+
+    private static void awaitFirstResponse() throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertThat(app.isAlive()).as("native executable exited during startup").isTrue();
+            try {
+                get(baseUrl + "/actuator/health");
+                return;
+            } catch (ConnectException e) {
+                Thread.sleep(10);
+            }
+        }
+        throw new IllegalStateException("Native executable did not start within " + STARTUP_TIMEOUT);
+    }
+
+    private static JsonNode send(String method, String path, Object body, int expectedStatus) throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body));
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, publisher)
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as(method + " " + path + ": " + response.body()).isEqualTo(expectedStatus);
+        return json.readTree(response.body());
+    }
+
+    private static HttpResponse<String> get(String url) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * VmRSS of the application process (Linux only).
+     */
+    private static String residentSetSize() throws IOException {
+        Path status = Path.of("/proc", String.valueOf(app.pid()), "status");
+        if (!Files.exists(status)) {
+            return "n/a";
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> line.substring("VmRSS:".length()).trim())
+                .findFirst()
+                .orElse("n/a");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
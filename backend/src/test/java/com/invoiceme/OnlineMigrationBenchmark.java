@@ -0,0 +1,239 @@
+package com.invoiceme;
+
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.organization.Organization;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PartitionMaintenance;
+import com.invoiceme.infrastructure.persistence.migration.BatchedBackfillMigration;
+import com.invoiceme.infrastructure.persistence.migration.ConcurrentIndexMigration;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Seeds a large invoices table and runs the online migrations against their blocking
+ * equivalents while writer threads insert and update invoices: a plain CREATE INDEX vs
+ * {@link ConcurrentIndexMigration}, and a single UPDATE vs {@link BatchedBackfillMigration}.
+ * Prints each migration's duration and the write latencies seen meanwhile.
+ * Run with {@code mvn test -Pbenchmark}; size via -Dbenchmark.invoices, -Dbenchmark.writers
+ * and -Dbenchmark.batch-size.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OnlineMigrationBenchmark extends BaseIntegrationTest {
+
+    private static final int INVOICES = Integer.getInteger("benchmark.invoices", 10_000_000);
+    private static final int WRITERS = Integer.getInteger("benchmark.writers", 4);
+    private static final int BATCH_SIZE = Integer.getInteger("benchmark.batch-size", 5_000);
+    private static final int SEED_BATCH = 1_000_000;
+    private static final int YEARS = 3;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PartitionMaintenance partitionMaintenance;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    private UUID customerId;
+    private List<Object[]> updateTargets;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM payments");
+        jdbcTemplate.update("DELETE FROM invoice_line_items");
+        jdbcTemplate.update("DELETE FROM invoices");
+        customerRepository.deleteAll();
+
+        LocalDateTime oldest = LocalDate.now().minusYears(YEARS).atStartOfDay();
+        partitionMaintenance.createPartitions(oldest.toLocalDate(), LocalDate.now());
+        customerId = customerRepository.save(new Customer("Online", "online@example.com", null, null)).getId();
+
+        // Evenly spread over the period, generated server side
+        double step = (double) Duration.between(oldest, LocalDateTime.now().minusDays(1)).getSeconds() / INVOICES;
+        for (int from = 0; from < INVOICES; from += SEED_BATCH) {
+            jdbcTemplate.update("""
+                    INSERT INTO invoices (id, customer_id, organization_id, status, total_amount, balance, due_date, created_at, updated_at)
+                    SELECT gen_random_uuid(), ?, ?, 'SENT', 100, g % 100, CAST(ts AS DATE) + 30, ts, ts
+                    FROM (SELECT g, ? + g * ? * INTERVAL '1 second' AS ts FROM generate_series(?, ?) g) generated
+                    """, customerId, Organization.DEFAULT_ID, Timestamp.valueOf(oldest), step,
+                    from, Math.min(INVOICES, from + SEED_BATCH) - 1);
+        }
+        jdbcTemplate.execute("ANALYZE invoices");
+        updateTargets = jdbcTemplate.query("SELECT id, created_at FROM invoices TABLESAMPLE SYSTEM (1) LIMIT 10000",
+                (rs, row) -> new Object[]{rs.getObject(1), rs.getTimestamp(2)});
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_invoices_benchmark_due_date");
+        jdbcTemplate.execute("ALTER TABLE invoices DROP COLUMN IF EXISTS amount_paid");
+    }
+
+    @Test
+    void onlineMigrationsKeepWritesFlowing() throws Exception {
+        System.out.printf("%d invoices, %d writer threads%n", INVOICES, WRITERS);
+        report("No migration", 0, run(() -> Thread.sleep(5_000)));
+
+        // Indexes
+        long start = System.nanoTime();
+        List<Long> latencies = run(() -> jdbcTemplate.execute(
+                "CREATE INDEX idx_invoices_benchmark_due_date ON invoices (organization_id, due_date)"));
+        report("CREATE INDEX", start, latencies);
+        jdbcTemplate.execute("DROP INDEX idx_invoices_benchmark_due_date");
+
+        start = System.nanoTime();
+        latencies = run(() -> migrate(new V1__Index_invoices_by_due_date(), Map.of()));
+        report("ConcurrentIndexMigration", start, latencies);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT indisvalid FROM pg_index WHERE indexrelid = 'idx_invoices_benchmark_due_date'::regclass",
+                Boolean.class)).isTrue();
+
+        // Backfills
+        jdbcTemplate.execute("ALTER TABLE invoices ADD COLUMN amount_paid DECIMAL(19,2)");
+        start = System.nanoTime();
+        latencies = run(() -> jdbcTemplate.update("UPDATE invoices SET amount_paid = total_amount - balance"));
+        report("Single UPDATE", start, latencies);
+        jdbcTemplate.execute("ALTER TABLE invoices DROP COLUMN amount_paid");
+        jdbcTemplate.execute("ALTER TABLE invoices ADD COLUMN amount_paid DECIMAL(19,2)");
+        jdbcTemplate.execute("VACUUM invoices");
+
+        start = System.nanoTime();
+        latencies = run(() -> migrate(new V1__Backfill_amount_paid(),
+                Map.of("backfill-batch-size", String.valueOf(BATCH_SIZE))));
+        report("BatchedBackfillMigration", start, latencies);
+        // Only the seeded rows: the writers' inserts leave balance at 100 and amount_paid unset
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM invoices WHERE balance < 100 AND amount_paid IS NULL",
+                Long.class)).isZero();
+    }
+
+    /**
+     * Runs the migration while the writer threads insert and update invoices.
+     *
+     * @return Latencies of the writes made meanwhile, in nanoseconds
+     */
+    private List<Long> run(Migration migration) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            Thread writer = new Thread(() -> {
+                while (running.get()) {
+                    long start = System.nanoTime();
+                    write();
+                    latencies.add(System.nanoTime() - start);
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        try {
+            migration.run();
+        } finally {
+            running.set(false);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        }
+        return latencies;
+    }
+
+    private void write() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextBoolean()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.update("""
+                    INSERT INTO invoices (id, customer_id, organization_id, status, total_amount, balance, created_at, updated_at)
+                    VALUES (?, ?, ?, 'SENT', 100, 100, ?, ?)
+                    """, UUID.randomUUID(), customerId, Organization.DEFAULT_ID, now, now);
+        } else {
+            Object[] target = updateTargets.get(random.nextInt(updateTargets.size()));
+            jdbcTemplate.update("UPDATE invoices SET balance = ?, updated_at = now() WHERE id = ? AND created_at = ?",
+                    random.nextInt(100), target[0], target[1]);
+        }
+    }
+
+    private void migrate(JavaMigration migration, Map<String, String> placeholders) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            Configuration configuration = mock(Configuration.class);
+            when(configuration.getPlaceholders()).thenReturn(placeholders);
+            Context context = mock(Context.class);
+            when(context.getConfiguration()).thenReturn(configuration);
+            when(context.getConnection()).thenReturn(connection);
+            migration.migrate(context);
+        }
+    }
+
+    private static void report(String name, long start, List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("%-26s %8s  %7d writes  p50 %7.2f ms  p99 %8.2f ms  max %9.2f ms%n",
+                name, start == 0 ? "" : String.format("%.1f s", (System.nanoTime() - start) / 1e9), sorted.size(),
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+    }
+
+    private static double percentile(List<Long> sorted, double fraction) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.ceil(fraction * sorted.size()) - 1) / 1e6;
+    }
+
+    @FunctionalInterface
+    private interface Migration {
+        void run() throws Exception;
+    }
+
+    static class V1__Index_invoices_by_due_date extends ConcurrentIndexMigration {
+        V1__Index_invoices_by_due_date() {
+            super("idx_invoices_benchmark_due_date", "invoices", "organization_id, due_date");
+        }
+    }
+
+    static class V1__Backfill_amount_paid extends BatchedBackfillMigration {
+        V1__Backfill_amount_paid() {
+            super("invoices", "amount_paid = total_amount - balance", "amount_paid IS NULL");
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.invoiceme;
+
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.organization.Organization;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PartitionMaintenance;
+import com.invoiceme.infrastructure.persistence.migration.BatchedBackfillMigration;
+import com.invoiceme.infrastructure.persistence.migration.ConcurrentIndexMigration;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OnlineMigrationIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PartitionMaintenance partitionMaintenance;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM payments");
+        jdbcTemplate.update("DELETE FROM invoice_line_items");
+        jdbcTemplate.update("DELETE FROM invoices");
+        customerRepository.deleteAll();
+
+        // Rows in three yearly partitions
+        LocalDate oldest = LocalDate.now().minusYears(2).withDayOfYear(1);
+        partitionMaintenance.createPartitions(oldest, LocalDate.now());
+        UUID customerId = customerRepository.save(new Customer("Online", "online@example.com", null, null)).getId();
+        List<Object[]> invoices = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().minusDays(i % 3 * 365L));
+            invoices.add(new Object[]{UUID.randomUUID(), customerId, Organization.DEFAULT_ID, i % 100, createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO invoices (id, customer_id, organization_id, status, total_amount, balance, created_at, updated_at)
+                VALUES (?, ?, ?, 'SENT', 100, ?, ?, ?)
+                """, invoices);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_invoices_online_test");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_customers_online_test");
+        jdbcTemplate.execute("ALTER TABLE invoices DROP COLUMN IF EXISTS amount_paid");
+    }
+
+    @Test
+    void testConcurrentIndex_BuildsAndAttachesOneIndexPerPartition() throws Exception {
+        // When - a second run is harmless
+        migrate(new V1__Index_invoices(), Map.of());
+        migrate(new V1__Index_invoices(), Map.of());
+
+        // Then
+        assertThat(isValid("idx_invoices_online_test")).isTrue();
+        List<String> partitions = partitionMaintenance.partitionsOf("invoices");
+        List<String> attached = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'idx_invoices_online_test'::regclass
+                """, String.class);
+        assertThat(attached).hasSameSizeAs(partitions)
+                .allSatisfy(index -> assertThat(isValid(index)).isTrue());
+    }
+
+    @Test
+    void testConcurrentIndex_NewPartitionsInheritTheIndex() throws Exception {
+        // Given
+        migrate(new V1__Index_invoices(), Map.of());
+
+        // When
+        int year = LocalDate.now().getYear() + 5;
+        partitionMaintenance.createPartitions(LocalDate.of(year, 1, 1), LocalDate.of(year, 1, 1));
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_indexes WHERE tablename = ? AND indexdef LIKE '%(organization_id, due_date)'",
+                Integer.class, "invoices_" + year)).isEqualTo(1);
+        jdbcTemplate.execute("DROP TABLE invoices_" + year + ", payments_" + year + "_01");
+    }
+
+    @Test
+    void testConcurrentIndex_PlainTable() throws Exception {
+        migrate(new V1__Index_customers(), Map.of());
+
+        assertThat(isValid("idx_customers_online_test")).isTrue();
+    }
+
+    @Test
+    void testBackfill_UpdatesEveryPartition() throws Exception {
+        // Given
+        jdbcTemplate.execute("ALTER TABLE invoices ADD COLUMN amount_paid DECIMAL(19,2)");
+
+        // When
+        migrate(new V1__Backfill_amount_paid(), Map.of("backfill-batch-size", "500", "backfill-pause-ms", "0"));
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM invoices WHERE amount_paid IS DISTINCT FROM total_amount - balance",
+                Integer.class)).isZero();
+    }
+
+    private void migrate(JavaMigration migration, Map<String, String> placeholders) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            Configuration configuration = mock(Configuration.class);
+            when(configuration.getPlaceholders()).thenReturn(placeholders);
+            Context context = mock(Context.class);
+            when(context.getConfiguration()).thenReturn(configuration);
+            when(context.getConnection()).thenReturn(connection);
+            migration.migrate(context);
+        }
+    }
+
+    private Boolean isValid(String index) {
+        return jdbcTemplate.queryForObject(
+                "SELECT indisvalid FROM pg_index WHERE indexrelid = ?::regclass", Boolean.class, index);
+    }
+
+    static class V1__Index_invoices extends ConcurrentIndexMigration {
+        V1__Index_invoices() {
+            super("idx_invoices_online_test", "invoices", "organization_id, due_date");
+        }
+    }
+
+    static class V1__Index_customers extends ConcurrentIndexMigration {
+        V1__Index_customers() {
+            super("idx_customers_online_test", "customers", "lower(email)");
+        }
+    }
+
+    static class V1__Backfill_amount_paid extends BatchedBackfillMigration {
+        V1__Backfill_amount_paid() {
+            super("invoices", "amount_paid = total_amount - balance", "amount_paid IS NULL");
+        }
+    }
+}
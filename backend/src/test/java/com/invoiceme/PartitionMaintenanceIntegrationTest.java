@@ -0,0 +1,176 @@
+package com.invoiceme;
+
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PartitionMaintenance;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PartitionMaintenanceIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private PartitionMaintenance partitionMaintenance;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        paymentRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS invoices_2019, payments_2019_01, payments_2019_02");
+    }
+
+    @Test
+    void testCreatePartitions_CoversCurrentAndUpcomingMonths() {
+        // When - repeated runs are harmless
+        partitionMaintenance.createUpcoming(LocalDate.now());
+        partitionMaintenance.createUpcoming(LocalDate.now());
+
+        // Then
+        LocalDate ahead = LocalDate.now().plusMonths(3);
+        assertThat(partitionMaintenance.partitionsOf("invoices")).contains("invoices_" + ahead.getYear());
+        assertThat(partitionMaintenance.partitionsOf("payments"))
+                .contains(String.format("payments_%d_%02d", ahead.getYear(), ahead.getMonthValue()));
+    }
+
+    @Test
+    void testQueriesBoundedByCreatedAt_SkipOldPartitions() {
+        // Given
+        partitionMaintenance.createPartitions(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 2, 28));
+
+        // When
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM payments WHERE created_at >= DATE '2020-01-01'", String.class));
+
+        // Then
+        assertThat(plan).doesNotContain("payments_2019_01").contains("payments_" + LocalDate.now().getYear());
+    }
+
+    @Test
+    void testDropArchivedBefore_KeepsPartitionsUntilTheirInvoicesAreArchived() {
+        // Given - an open invoice moved into 2019 by updating its partition key
+        partitionMaintenance.createPartitions(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 2, 28));
+        Customer customer = customerRepository.save(new Customer("Old Customer", "old@example.com", null, null));
+        Invoice invoice = new Invoice(customer);
+        invoice.addLineItem("Service", 1, new BigDecimal("100.00"));
+        invoice = invoiceRepository.save(invoice);
+        jdbcTemplate.update("UPDATE invoices SET created_at = TIMESTAMP '2019-06-01 12:00' WHERE id = ?", invoice.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM invoices_2019", Long.class)).isEqualTo(1);
+
+        // When
+        List<String> dropped = partitionMaintenance.dropArchivedBefore(LocalDate.of(2020, 1, 1));
+
+        // Then - the empty payment partitions go, the open invoice stays
+        assertThat(dropped).containsExactlyInAnyOrder("payments_2019_01", "payments_2019_02");
+        assertThat(invoiceRepository.existsById(invoice.getId())).isTrue();
+        assertThat(partitionMaintenance.partitionsOf("invoices")).contains("invoices_2019");
+
+        // When - the invoice leaves the live tables, as the invoice archive does
+        jdbcTemplate.update("DELETE FROM invoices WHERE id = ?", invoice.getId());
+        dropped = partitionMaintenance.dropArchivedBefore(LocalDate.of(2020, 1, 1));
+
+        // Then - its line items went with it, and so does the partition
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM invoice_line_items WHERE invoice_id = ?", Long.class, invoice.getId())).isZero();
+        assertThat(dropped).containsExactly("invoices_2019");
+        assertThat(partitionMaintenance.partitionsOf("invoices")).doesNotContain("invoices_2019");
+    }
+
+    @Test
+    void testVerifyPartitions_FailsWhenAPartitionIsMissing() {
+        assertThatThrownBy(() -> partitionMaintenance.verifyPartitions(LocalDate.of(2018, 1, 1), LocalDate.of(2018, 2, 1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("invoices_2018")
+                .hasMessageContaining("payments_2018_02");
+    }
+
+    @Test
+    void testReferences_EnforcedAcrossPartitions() {
+        // Given
+        Customer customer = customerRepository.save(new Customer("Referenced Customer", "referenced@example.com", null, null));
+        Invoice invoice = new Invoice(customer);
+        invoice.addLineItem("Service", 1, new BigDecimal("100.00"));
+        invoice = invoiceRepository.save(invoice);
+        UUID invoiceId = invoice.getId();
+        UUID organizationId = invoice.getOrganizationId();
+
+        // When / Then - a payment of a missing invoice is rejected
+        assertThatThrownBy(() -> jdbcTemplate.update("""
+                INSERT INTO payments (id, organization_id, invoice_id, amount, payment_date, created_at)
+                VALUES (?, ?, ?, 10.00, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                """, UUID.randomUUID(), organizationId, UUID.randomUUID()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        // When / Then - an invoice with ledger entries cannot be deleted
+        jdbcTemplate.update("""
+                INSERT INTO invoice_ledger_entries (id, invoice_id, sequence_number, entry_type, amount, balance_after, recorded_at)
+                VALUES (?, ?, 0, 'OPENING', 100.00, 100.00, CURRENT_TIMESTAMP)
+                """, UUID.randomUUID(), invoiceId);
+        assertThatThrownBy(() -> jdbcTemplate.update("DELETE FROM invoices WHERE id = ?", invoiceId))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(invoiceRepository.existsById(invoiceId)).isTrue();
+    }
+
+    @Test
+    void testInvoiceNumbers_UniqueAcrossYearlyPartitions() {
+        // Given - a numbered invoice moved into 2019
+        partitionMaintenance.createPartitions(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 2, 28));
+        Customer customer = customerRepository.save(new Customer("Numbered Customer", "numbered@example.com", null, null));
+        Invoice old = new Invoice(customer);
+        old.assignNumber("INV-2019-000001");
+        old = invoiceRepository.save(old);
+        jdbcTemplate.update("UPDATE invoices SET created_at = TIMESTAMP '2019-06-01 12:00' WHERE id = ?", old.getId());
+
+        // When / Then - the same number in this year's partition is rejected
+        Invoice repeated = new Invoice(customer);
+        repeated.assignNumber("INV-2019-000001");
+        assertThatThrownBy(() -> invoiceRepository.saveAndFlush(repeated))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        jdbcTemplate.update("DELETE FROM invoices WHERE id = ?", old.getId());
+    }
+}
@@ -0,0 +1,158 @@
+package com.invoiceme;
+
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.organization.Organization;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PartitionMaintenance;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds invoices and payments spread over several years and measures the hot queries that
+ * bound or order by created_at: the incremental payment export and the newest invoices of a
+ * status. Prints their plans and checks that partitions outside the range are never scanned.
+ * Run with {@code mvn test -Pbenchmark}; size via -Dbenchmark.invoices, -Dbenchmark.years
+ * and -Dbenchmark.requests.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PartitionPruningBenchmark extends BaseIntegrationTest {
+
+    private static final int INVOICES = Integer.getInteger("benchmark.invoices", 200_000);
+    private static final int YEARS = Integer.getInteger("benchmark.years", 3);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 50);
+    private static final int BATCH = 5_000;
+
+    @Autowired
+    private PartitionMaintenance partitionMaintenance;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    private LocalDateTime oldest;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM payments");
+        jdbcTemplate.update("DELETE FROM invoice_line_items");
+        jdbcTemplate.update("DELETE FROM invoices");
+        customerRepository.deleteAll();
+
+        oldest = LocalDate.now().minusYears(YEARS).atStartOfDay();
+        partitionMaintenance.createPartitions(oldest.toLocalDate(), LocalDate.now());
+        UUID customerId = customerRepository.save(new Customer("Partitioned", "partitioned@example.com", null, null)).getId();
+
+        // Evenly spread over the period, one payment per invoice a day after it
+        long spanSeconds = Duration.between(oldest, LocalDateTime.now().minusDays(1)).getSeconds();
+        for (int from = 0; from < INVOICES; from += BATCH) {
+            List<Object[]> invoices = new ArrayList<>(BATCH);
+            List<Object[]> payments = new ArrayList<>(BATCH);
+            for (int i = from; i < Math.min(INVOICES, from + BATCH); i++) {
+                UUID invoiceId = UUID.randomUUID();
+                Timestamp createdAt = Timestamp.valueOf(oldest.plusSeconds(spanSeconds * i / INVOICES));
+                Timestamp paidAt = Timestamp.valueOf(createdAt.toLocalDateTime().plusDays(1));
+                invoices.add(new Object[]{invoiceId, customerId, Organization.DEFAULT_ID, createdAt, createdAt});
+                payments.add(new Object[]{UUID.randomUUID(), invoiceId, Organization.DEFAULT_ID, paidAt, paidAt});
+            }
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO invoices (id, customer_id, organization_id, status, total_amount, balance, created_at, updated_at)
+                    VALUES (?, ?, ?, 'SENT', 100, 0, ?, ?)
+                    """, invoices);
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO payments (id, invoice_id, organization_id, amount, payment_date, created_at)
+                    VALUES (?, ?, ?, 100, ?, ?)
+                    """, payments);
+        }
+        jdbcTemplate.execute("ANALYZE invoices");
+        jdbcTemplate.execute("ANALYZE payments");
+    }
+
+    @Test
+    void createdAtBoundedQueriesOnlyScanMatchingPartitions() {
+        LocalDateTime lastWeek = LocalDateTime.now().minusDays(7);
+
+        // Incremental payment export, as the change feed consumers run it
+        long start = System.nanoTime();
+        long exported = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            exported = transactionTemplate.execute(status -> {
+                try (Stream<PaymentRepository.ExportRow> rows = paymentRepository.streamForExport(lastWeek)) {
+                    return rows.count();
+                }
+            });
+        }
+        double exportMillis = (System.nanoTime() - start) / 1e6 / REQUESTS;
+
+        // Newest invoices of a status, as the first page of the invoice list
+        start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            jdbcTemplate.queryForList("""
+                    SELECT id FROM invoices
+                    WHERE organization_id = ? AND status = 'SENT'
+                    ORDER BY created_at DESC LIMIT 20
+                    """, UUID.class, Organization.DEFAULT_ID);
+        }
+        double listMillis = (System.nanoTime() - start) / 1e6 / REQUESTS;
+
+        String exportPlan = plan("""
+                SELECT p.* FROM payments p JOIN invoices i ON i.id = p.invoice_id
+                WHERE p.created_at >= ? ORDER BY p.created_at, p.id
+                """, Timestamp.valueOf(lastWeek));
+        String listPlan = plan("""
+                SELECT id FROM invoices
+                WHERE organization_id = ? AND status = 'SENT'
+                ORDER BY created_at DESC LIMIT 20
+                """, Organization.DEFAULT_ID);
+
+        System.out.printf("Partitions: %d invoice, %d payment; %d invoices and payments over %d years%n",
+                partitionMaintenance.partitionsOf("invoices").size(), partitionMaintenance.partitionsOf("payments").size(),
+                INVOICES, YEARS);
+        System.out.printf("Payment export since last week: %d rows in %.2f ms%n%s%n", exported, exportMillis, exportPlan);
+        System.out.printf("Newest 20 SENT invoices: %.2f ms%n%s%n", listMillis, listPlan);
+
+        String oldPayments = String.format("payments_%d_%02d", oldest.getYear(), oldest.getMonthValue());
+        assertThat(exportPlan).doesNotContain(oldPayments + " ");
+        assertThat(listPlan).containsPattern("invoices_" + oldest.getYear() + "\\b.*never executed");
+    }
+
+    private String plan(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF) " + sql, String.class, args));
+    }
+}
@@ -0,0 +1,157 @@
+package com.invoiceme;
+
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.payment.AllocationStrategy;
+import com.invoiceme.application.payment.PaymentCommandService;
+import com.invoiceme.application.payment.dto.InvoiceAllocationRequest;
+import com.invoiceme.application.payment.dto.PaymentAllocationRequest;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures one payment allocated over 1k invoices per request, and checks that concurrent
+ * allocations over the same invoices in different orders neither deadlock nor lose updates.
+ * Run with {@code mvn test -Pbenchmark}; size via -Dbenchmark.invoices, -Dbenchmark.requests
+ * and -Dbenchmark.threads.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PaymentAllocationBenchmark extends BaseIntegrationTest {
+
+    private static final int INVOICES = Integer.getInteger("benchmark.invoices", 1_000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 10);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+    private static final BigDecimal INVOICE_AMOUNT = new BigDecimal("100.00");
+
+    @Autowired
+    private PaymentCommandService paymentCommandService;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private EmailService emailService;
+
+    private List<UUID> invoiceIds;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        paymentRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        Customer customer = customerRepository.save(new Customer("Bulk Payer", "bulk@example.com", null, null));
+        List<Invoice> invoices = new ArrayList<>(INVOICES);
+        for (int i = 0; i < INVOICES; i++) {
+            Invoice invoice = new Invoice(customer);
+            invoice.addLineItem("Service " + i, 1, INVOICE_AMOUNT);
+            invoice.calculateBalance();
+            invoice.markAsSent();
+            invoices.add(invoice);
+        }
+        invoiceIds = invoiceRepository.saveAll(invoices).stream().map(Invoice::getId).toList();
+    }
+
+    @Test
+    void allocatesOneKInvoicesPerRequest() {
+        // Each request pays a tenth of every invoice's original amount
+        BigDecimal amount = INVOICE_AMOUNT.multiply(BigDecimal.valueOf(INVOICES)).divide(BigDecimal.TEN);
+        paymentCommandService.allocatePayment(proportional(amount));
+
+        long start = System.nanoTime();
+        for (int i = 1; i < REQUESTS; i++) {
+            paymentCommandService.allocatePayment(proportional(amount));
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / (REQUESTS - 1);
+
+        System.out.printf("Payment allocation: %d invoices per request in %.1f ms (%.0f allocations/s)%n",
+                INVOICES, millis, INVOICES / millis * 1000);
+
+        assertThat(paymentRepository.count()).isEqualTo((long) INVOICES * REQUESTS);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(balance) FROM invoices", BigDecimal.class))
+                .isEqualByComparingTo(INVOICE_AMOUNT.multiply(BigDecimal.valueOf(INVOICES)).subtract(amount.multiply(BigDecimal.valueOf(REQUESTS))));
+    }
+
+    @Test
+    void concurrentAllocationsInShuffledOrderDoNotDeadlock() throws Exception {
+        BigDecimal cent = new BigDecimal("0.01");
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                List<UUID> shuffled = new ArrayList<>(invoiceIds);
+                Collections.shuffle(shuffled, new Random(t));
+                List<InvoiceAllocationRequest> allocations = shuffled.stream()
+                        .map(id -> new InvoiceAllocationRequest(id, cent))
+                        .toList();
+                PaymentAllocationRequest request = new PaymentAllocationRequest(
+                        cent.multiply(BigDecimal.valueOf(INVOICES)), LocalDateTime.now(),
+                        AllocationStrategy.EXPLICIT, null, null, allocations);
+                futures.add(executor.submit(() -> paymentCommandService.allocatePayment(request)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double millis = (System.nanoTime() - start) / 1e6;
+
+        System.out.printf("Concurrent payment allocation: %d requests x %d invoices on %d threads in %.0f ms%n",
+                THREADS, INVOICES, THREADS, millis);
+
+        assertThat(paymentRepository.count()).isEqualTo((long) INVOICES * THREADS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM invoices WHERE balance <> ?", Long.class,
+                INVOICE_AMOUNT.subtract(cent.multiply(BigDecimal.valueOf(THREADS)))))
+                .isZero();
+    }
+
+    private PaymentAllocationRequest proportional(BigDecimal amount) {
+        return new PaymentAllocationRequest(amount, LocalDateTime.now(), AllocationStrategy.PROPORTIONAL,
+                null, invoiceIds, null);
+    }
+}
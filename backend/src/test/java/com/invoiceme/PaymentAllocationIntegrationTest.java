@@ -0,0 +1,189 @@
+package com.invoiceme;
+
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.InvoiceCommandService;
+import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import com.invoiceme.application.payment.AllocationStrategy;
+import com.invoiceme.application.payment.PaymentCommandService;
+import com.invoiceme.application.payment.dto.InvoiceAllocationRequest;
+import com.invoiceme.application.payment.dto.PaymentAllocationRequest;
+import com.invoiceme.application.payment.dto.PaymentAllocationResponse;
+import com.invoiceme.application.payment.dto.PaymentRequest;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PaymentAllocationIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private PaymentCommandService paymentCommandService;
+
+    @Autowired
+    private InvoiceCommandService invoiceCommandService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    private Customer customer;
+    private InvoiceResponse first;
+    private InvoiceResponse second;
+    private InvoiceResponse third;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        paymentRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        customer = customerRepository.save(new Customer("Bulk Payer", "bulk@example.com", null, null));
+        first = sentInvoice("100.00");
+        second = sentInvoice("200.00");
+        third = sentInvoice("300.00");
+    }
+
+    @Test
+    void testAllocate_OldestFirst() {
+        // When
+        PaymentAllocationResponse response = paymentCommandService.allocatePayment(
+                request(new BigDecimal("250.00"), AllocationStrategy.OLDEST_FIRST,
+                        List.of(third.id(), first.id(), second.id()), null));
+
+        // Then
+        assertThat(response.payments()).extracting(PaymentResponse::invoiceId)
+                .containsExactly(first.id(), second.id());
+        assertThat(balance(first)).isEqualByComparingTo("0.00");
+        assertThat(status(first)).isEqualTo(InvoiceStatus.PAID);
+        assertThat(balance(second)).isEqualByComparingTo("50.00");
+        assertThat(balance(third)).isEqualByComparingTo("300.00");
+        assertThat(paymentRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testAllocate_ProportionalAcrossCustomerOpenInvoices() {
+        // When - no invoice IDs, so the customer's open invoices are used
+        PaymentAllocationResponse response = paymentCommandService.allocatePayment(new PaymentAllocationRequest(
+                new BigDecimal("300.00"), LocalDateTime.now(), AllocationStrategy.PROPORTIONAL,
+                customer.getId(), null, null));
+
+        // Then
+        assertThat(response.payments()).hasSize(3);
+        assertThat(balance(first)).isEqualByComparingTo("50.00");
+        assertThat(balance(second)).isEqualByComparingTo("100.00");
+        assertThat(balance(third)).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    void testAllocate_ExplicitAmountsAfterEarlierPayment() {
+        // Given
+        paymentCommandService.recordPayment(new PaymentRequest(first.id(), new BigDecimal("40.00"), LocalDateTime.now()));
+
+        // When
+        paymentCommandService.allocatePayment(new PaymentAllocationRequest(
+                new BigDecimal("110.00"), LocalDateTime.now(), AllocationStrategy.EXPLICIT, null, null,
+                List.of(new InvoiceAllocationRequest(first.id(), new BigDecimal("60.00")),
+                        new InvoiceAllocationRequest(third.id(), new BigDecimal("50.00")))));
+
+        // Then
+        assertThat(status(first)).isEqualTo(InvoiceStatus.PAID);
+        assertThat(balance(third)).isEqualByComparingTo("250.00");
+    }
+
+    @Test
+    void testAllocate_ExplicitAmountsMustAddUp() {
+        assertThatThrownBy(() -> paymentCommandService.allocatePayment(new PaymentAllocationRequest(
+                new BigDecimal("100.00"), LocalDateTime.now(), AllocationStrategy.EXPLICIT, null, null,
+                List.of(new InvoiceAllocationRequest(first.id(), new BigDecimal("60.00"))))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("add up");
+    }
+
+    @Test
+    void testAllocate_ExplicitAmountAboveBalanceRecordsNothing() {
+        assertThatThrownBy(() -> paymentCommandService.allocatePayment(new PaymentAllocationRequest(
+                new BigDecimal("250.00"), LocalDateTime.now(), AllocationStrategy.EXPLICIT, null, null,
+                List.of(new InvoiceAllocationRequest(second.id(), new BigDecimal("100.00")),
+                        new InvoiceAllocationRequest(first.id(), new BigDecimal("150.00"))))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cannot exceed invoice balance");
+
+        assertThat(paymentRepository.count()).isZero();
+    }
+
+    @Test
+    void testAllocate_AmountAboveOpenBalanceRejected() {
+        assertThatThrownBy(() -> paymentCommandService.allocatePayment(
+                request(new BigDecimal("300.01"), AllocationStrategy.PROPORTIONAL, List.of(first.id(), second.id()), null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds the open balance");
+    }
+
+    @Test
+    void testAllocate_UnknownInvoiceRejected() {
+        assertThatThrownBy(() -> paymentCommandService.allocatePayment(
+                request(new BigDecimal("10.00"), AllocationStrategy.OLDEST_FIRST, List.of(first.id(), UUID.randomUUID()), null)))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private PaymentAllocationRequest request(BigDecimal amount, AllocationStrategy strategy,
+                                             List<UUID> invoiceIds, UUID customerId) {
+        return new PaymentAllocationRequest(amount, LocalDateTime.now(), strategy, customerId, invoiceIds, null);
+    }
+
+    private InvoiceResponse sentInvoice(String amount) {
+        InvoiceResponse draft = invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                customer.getId(), List.of(new LineItemRequest("Service", 1, new BigDecimal(amount)))));
+        return invoiceCommandService.sendInvoiceViaEmail(draft.id());
+    }
+
+    private BigDecimal balance(InvoiceResponse invoice) {
+        return invoiceRepository.findById(invoice.id()).map(Invoice::getBalance).orElseThrow();
+    }
+
+    private InvoiceStatus status(InvoiceResponse invoice) {
+        return invoiceRepository.findById(invoice.id()).map(Invoice::getStatus).orElseThrow();
+    }
+}
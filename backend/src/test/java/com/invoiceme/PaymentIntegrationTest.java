@@ -16,6 +16,7 @@ import com.invoiceme.domain.invoice.InvoiceStatus;
 import com.invoiceme.domain.payment.Payment;
 import com.invoiceme.infrastructure.persistence.CustomerRepository;
 import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
 import com.invoiceme.infrastructure.persistence.PaymentRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -53,6 +54,9 @@ class PaymentIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private PaymentRepository paymentRepository;
 
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
     @Autowired
     private InvoiceRepository invoiceRepository;
 
@@ -70,6 +74,7 @@ class PaymentIntegrationTest extends BaseIntegrationTest {
 
     @BeforeEach
     void setUp() {
+        ledgerEntryRepository.deleteAll();
         paymentRepository.deleteAll();
         invoiceRepository.deleteAll();
         customerRepository.deleteAll();
@@ -0,0 +1,179 @@
+package com.invoiceme;
+
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import io.netty.channel.ChannelOption;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares latency of the blocking invoice list (GET /api/invoices) with the non-blocking one
+ * (GET /api/v2/invoices) at 5k concurrent connections, with the server limited to a fixed
+ * number of request threads. Every connection sends its requests back to back for a few
+ * rounds; latencies include the time spent queued for a request thread.
+ * Run with {@code mvn test -Pbenchmark -Dtest=ReactiveReadBenchmark}; size via
+ * -Dbenchmark.connections, -Dbenchmark.rounds, -Dbenchmark.invoices and -Dbenchmark.server-threads.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=${benchmark.server-threads:50}",
+        "server.tomcat.threads.min-spare=${benchmark.server-threads:50}",
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=10000"
+})
+@ActiveProfiles("test")
+class ReactiveReadBenchmark extends BaseIntegrationTest {
+
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 5_000);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 5);
+    private static final int INVOICES = Integer.getInteger("benchmark.invoices", 2_000);
+    private static final int SERVER_THREADS = Integer.getInteger("benchmark.server-threads", 50);
+    private static final int BATCH = 1_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        Customer customer = customerRepository.save(new Customer("Read Customer", "read@example.com", null, null));
+        for (int from = 0; from < INVOICES; from += BATCH) {
+            List<Invoice> invoices = new ArrayList<>(BATCH);
+            for (int i = from; i < Math.min(INVOICES, from + BATCH); i++) {
+                Invoice invoice = new Invoice(customer);
+                invoice.addLineItem("Service " + i, 1, new BigDecimal("100.00"));
+                invoice.addLineItem("Support " + i, 2, new BigDecimal("25.00"));
+                invoice.calculateBalance();
+                invoices.add(invoice);
+            }
+            invoiceRepository.saveAll(invoices);
+        }
+    }
+
+    @Test
+    void latencyAtFiveThousandConcurrentConnections() {
+        ConnectionProvider connections = ConnectionProvider.builder("benchmark")
+                .maxConnections(CONNECTIONS)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofMinutes(5))
+                .build();
+        LoopResources loops = LoopResources.create("benchmark-client", 4, true);
+        try {
+            WebClient client = WebClient.builder()
+                    .baseUrl("http://localhost:" + port)
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)
+                            .runOn(loops)
+                            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 60_000)
+                            .responseTimeout(Duration.ofMinutes(2))))
+                    .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(1024 * 1024))
+                    .build();
+
+            // Warm up both paths (JIT, pools) before measuring
+            run(client, "/api/invoices?size=20", 200, 2);
+            run(client, "/api/v2/invoices?size=20", 200, 2);
+
+            Result blocking = run(client, "/api/invoices?size=20", CONNECTIONS, ROUNDS);
+            Result reactive = run(client, "/api/v2/invoices?size=20", CONNECTIONS, ROUNDS);
+
+            System.out.printf("%d connections x %d rounds, %d server threads, %d invoices%n",
+                    CONNECTIONS, ROUNDS, SERVER_THREADS, INVOICES);
+            System.out.printf("GET /api/invoices    (JDBC):  %s%n", blocking);
+            System.out.printf("GET /api/v2/invoices (R2DBC): %s%n", reactive);
+
+            assertThat(blocking.completed()).isPositive();
+            assertThat(reactive.completed()).isPositive();
+        } finally {
+            connections.dispose();
+            loops.dispose();
+        }
+    }
+
+    /**
+     * Opens {@code connections} concurrent request loops of {@code rounds} requests each.
+     */
+    private Result run(WebClient client, String path, int connections, int rounds) {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(connections * rounds));
+        AtomicLong failed = new AtomicLong();
+        long start = System.nanoTime();
+        Flux.range(0, connections)
+                .flatMap(connection -> Flux.range(0, rounds)
+                        .concatMap(round -> Mono.defer(() -> {
+                            long sent = System.nanoTime();
+                            return client.get().uri(path)
+                                    .retrieve()
+                                    .toBodilessEntity()
+                                    .doOnSuccess(response -> latencies.add(System.nanoTime() - sent))
+                                    .onErrorResume(e -> {
+                                        failed.incrementAndGet();
+                                        return Mono.empty();
+                                    });
+                        })), connections)
+                .blockLast(Duration.ofMinutes(30));
+        long elapsed = System.nanoTime() - start;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Result(sorted, failed.get(), elapsed);
+    }
+
+    private record Result(List<Long> sortedLatencies, long failed, long elapsedNanos) {
+
+        long completed() {
+            return sortedLatencies.size();
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.isEmpty()) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.size()) - 1;
+            return sortedLatencies.get(Math.max(0, index)) / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d ok, %d failed, %.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms",
+                    completed(), failed, completed() / (elapsedNanos / 1e9),
+                    percentileMillis(0.5), percentileMillis(0.99), percentileMillis(1.0));
+        }
+    }
+}
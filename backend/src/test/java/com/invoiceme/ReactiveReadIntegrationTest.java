@@ -0,0 +1,179 @@
+package com.invoiceme;
+
+import com.invoiceme.application.customer.CustomerCommandService;
+import com.invoiceme.application.customer.CustomerQueryService;
+import com.invoiceme.application.customer.dto.CustomerRequest;
+import com.invoiceme.application.customer.dto.CustomerResponse;
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.InvoiceCommandService;
+import com.invoiceme.application.invoice.InvoiceQueryService;
+import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.application.payment.PaymentCommandService;
+import com.invoiceme.application.payment.PaymentQueryService;
+import com.invoiceme.application.payment.dto.PaymentRequest;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import com.invoiceme.application.reactive.ReactiveQueryService;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.domain.organization.Organization;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.OrganizationRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Not transactional: the reactive reads use their own connections, so test data must be committed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReactiveReadIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private ReactiveQueryService reactiveQueryService;
+
+    @Autowired
+    private CustomerCommandService customerCommandService;
+
+    @Autowired
+    private CustomerQueryService customerQueryService;
+
+    @Autowired
+    private InvoiceCommandService invoiceCommandService;
+
+    @Autowired
+    private InvoiceQueryService invoiceQueryService;
+
+    @Autowired
+    private PaymentCommandService paymentCommandService;
+
+    @Autowired
+    private PaymentQueryService paymentQueryService;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    private UUID globex;
+
+    @BeforeEach
+    void setUp() {
+        deleteAllOrganizationsData();
+        globex = organizationRepository.save(new Organization("Globex", null)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteAllOrganizationsData();
+        organizationRepository.deleteById(globex);
+    }
+
+    @Test
+    void testReads_MatchTheBlockingQueryServices() {
+        // Given
+        CustomerResponse customer = createCustomer("Wile E. Coyote", "wile@example.com");
+        createCustomer("Road Runner", "beep@example.com");
+        InvoiceResponse draft = createInvoice(customer.id());
+        InvoiceResponse sent = createInvoice(customer.id());
+        invoiceCommandService.sendInvoiceViaEmail(sent.id());
+        paymentCommandService.recordPayment(new PaymentRequest(sent.id(), new BigDecimal("40.00"), LocalDateTime.now()));
+
+        // When
+        List<InvoiceResponse> invoices = reactiveQueryService
+                .getInvoices(Organization.DEFAULT_ID, null, null, 0, 20).collectList().block();
+        List<CustomerResponse> customers = reactiveQueryService
+                .getCustomers(Organization.DEFAULT_ID, 0, 20).collectList().block();
+        List<PaymentResponse> payments = reactiveQueryService
+                .getPayments(Organization.DEFAULT_ID, sent.id(), 0, 20).collectList().block();
+
+        // Then - same responses as the v1 lists, line items and balances included
+        assertThat(invoices).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(invoiceQueryService.getAll(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"))).getContent());
+        assertThat(invoices).extracting(InvoiceResponse::id).containsExactlyInAnyOrder(draft.id(), sent.id());
+        assertThat(customers).usingRecursiveComparison()
+                .isEqualTo(customerQueryService.getAll(PageRequest.of(0, 20, Sort.by("name"))).getContent());
+        assertThat(payments).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(paymentQueryService.getByInvoiceId(sent.id(), PageRequest.of(0, 20)).getContent());
+        assertThat(reactiveQueryService.getInvoices(Organization.DEFAULT_ID, InvoiceStatus.SENT, customer.id(), 0, 20)
+                .map(InvoiceResponse::id).collectList().block()).containsExactly(sent.id());
+    }
+
+    @Test
+    void testReads_OnlySeeTheGivenOrganization() {
+        // Given
+        CustomerResponse customer = createCustomer("Wile E. Coyote", "wile@example.com");
+        createInvoice(customer.id());
+
+        // When / Then
+        assertThat(reactiveQueryService.getCustomers(globex, 0, 20).collectList().block()).isEmpty();
+        assertThat(reactiveQueryService.getInvoices(globex, null, customer.id(), 0, 20).collectList().block()).isEmpty();
+        assertThat(reactiveQueryService.getPayments(globex, null, 0, 20).collectList().block()).isEmpty();
+    }
+
+    @Test
+    void testReads_RejectInvalidPages() {
+        assertThatThrownBy(() -> reactiveQueryService.getCustomers(Organization.DEFAULT_ID, -1, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> reactiveQueryService.getCustomers(Organization.DEFAULT_ID, 0, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CustomerResponse createCustomer(String name, String email) {
+        return customerCommandService.createCustomer(new CustomerRequest(name, email, null, null));
+    }
+
+    private InvoiceResponse createInvoice(UUID customerId) {
+        return invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                customerId, List.of(new LineItemRequest("Service", 1, new BigDecimal("100.00")),
+                        new LineItemRequest("Support", 2, new BigDecimal("25.00")))));
+    }
+
+    private void deleteAllOrganizationsData() {
+        TenantContext.runAs(TenantContext.ALL_ORGANIZATIONS, () -> {
+            changeLogRepository.deleteAll();
+            ledgerEntryRepository.deleteAll();
+            paymentRepository.deleteAll();
+            invoiceRepository.deleteAll();
+            customerRepository.deleteAll();
+        });
+    }
+}
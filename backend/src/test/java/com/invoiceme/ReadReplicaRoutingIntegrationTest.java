@@ -0,0 +1,73 @@
+package com.invoiceme;
+
+import com.invoiceme.infrastructure.persistence.ReplicaLagMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against a simulated replica: a second pool on the test database that identifies itself
+ * through its application name, so each transaction's pool can be read back from the server.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReadReplicaRoutingIntegrationTest extends BaseIntegrationTest {
+
+    @DynamicPropertySource
+    static void configureReplica(DynamicPropertyRegistry registry) {
+        registry.add("app.datasource.replica.url", postgres::getJdbcUrl);
+        registry.add("app.datasource.replica.hikari.maximum-pool-size", () -> 2);
+        registry.add("app.datasource.replica.hikari.data-source-properties.ApplicationName", () -> "replica");
+        registry.add("spring.datasource.hikari.data-source-properties.ApplicationName", () -> "primary");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        replicaLagMonitor.check();
+    }
+
+    @Test
+    void testReadOnlyTransactions_UseReplica() {
+        assertThat(pool(true)).isEqualTo("replica");
+        assertThat(pool(false)).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class))
+                .isEqualTo("primary");
+    }
+
+    @Test
+    void testReadOnlyTransactions_FallBackToPrimaryWhenReplicaIsUnavailable() {
+        // Given
+        replicaLagMonitor.markUnavailable(new IllegalStateException("simulated outage"));
+
+        // When / Then
+        assertThat(pool(true)).isEqualTo("primary");
+
+        // Recovered on the next check
+        replicaLagMonitor.check();
+        assertThat(pool(true)).isEqualTo("replica");
+    }
+
+    private String pool(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class));
+    }
+}
@@ -0,0 +1,151 @@
+package com.invoiceme;
+
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.InvoiceCommandService;
+import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import com.invoiceme.application.payment.dto.PaymentRequest;
+import com.invoiceme.application.reconciliation.MatchType;
+import com.invoiceme.application.reconciliation.ReconciliationService;
+import com.invoiceme.application.reconciliation.ReconciliationStatus;
+import com.invoiceme.application.reconciliation.StatementFormat;
+import com.invoiceme.application.reconciliation.dto.ApplyMatchesRequest;
+import com.invoiceme.application.reconciliation.dto.ApplyMatchesResponse;
+import com.invoiceme.application.reconciliation.dto.MatchCandidateResponse;
+import com.invoiceme.application.reconciliation.dto.ReconciliationResponse;
+import com.invoiceme.application.reconciliation.dto.StatementLineResponse;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ReconciliationIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private InvoiceCommandService invoiceCommandService;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    private InvoiceResponse acmeInvoice;
+    private InvoiceResponse globexInvoice;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        paymentRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        Customer acme = customerRepository.save(new Customer("Acme Corp", "billing@acme.example", null, null));
+        Customer globex = customerRepository.save(new Customer("Globex", "billing@globex.example", null, null));
+        acmeInvoice = sentInvoice(acme, "500.00");
+        globexInvoice = sentInvoice(globex, "120.00");
+        // Drafts cannot be paid from a statement
+        invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                globex.getId(), List.of(new LineItemRequest("Draft", 1, new BigDecimal("120.00")))));
+    }
+
+    @Test
+    void testProposeAndApply() throws IOException {
+        // Given
+        String csv = "date,amount,reference,name\n"
+                + "2024-01-15,500.00,Invoice " + acmeInvoice.invoiceNumber() + ",ACME CORP\n"
+                + "2024-01-15,120.00,,Globex\n"
+                + "2024-01-16,9.99,,Unknown Payer\n";
+
+        // When
+        ReconciliationResponse proposal = reconciliationService.propose(StatementFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertThat(proposal.openInvoices()).isEqualTo(2);
+        assertThat(proposal.linesRead()).isEqualTo(3);
+        assertThat(proposal.matched()).isEqualTo(2);
+        assertThat(proposal.unmatched()).isEqualTo(1);
+        MatchCandidateResponse byReference = proposal.lines().get(0).candidates().get(0);
+        assertThat(byReference.invoiceId()).isEqualTo(acmeInvoice.id());
+        assertThat(byReference.matchType()).isEqualTo(MatchType.REFERENCE_AND_AMOUNT);
+        MatchCandidateResponse byAmount = proposal.lines().get(1).candidates().get(0);
+        assertThat(byAmount.invoiceId()).isEqualTo(globexInvoice.id());
+        assertThat(byAmount.matchType()).isEqualTo(MatchType.AMOUNT);
+
+        // When - accept the matched lines
+        List<PaymentRequest> accepted = proposal.lines().stream()
+                .filter(line -> line.status() == ReconciliationStatus.MATCHED)
+                .map(StatementLineResponse::candidates)
+                .map(candidates -> candidates.get(0))
+                .map(candidate -> new PaymentRequest(candidate.invoiceId(), candidate.proposedAmount(), LocalDateTime.now()))
+                .toList();
+        ApplyMatchesResponse applied = reconciliationService.apply(new ApplyMatchesRequest(accepted));
+
+        // Then
+        assertThat(applied.applied()).hasSize(2);
+        assertThat(applied.failed()).isEmpty();
+        assertThat(invoiceRepository.findById(acmeInvoice.id()).orElseThrow().getStatus()).isEqualTo(InvoiceStatus.PAID);
+        assertThat(invoiceRepository.findById(globexInvoice.id()).orElseThrow().getStatus()).isEqualTo(InvoiceStatus.PAID);
+    }
+
+    @Test
+    void testApply_ReportsMatchesThatNoLongerFit() {
+        // When - the same statement line is applied twice
+        PaymentRequest match = new PaymentRequest(globexInvoice.id(), new BigDecimal("120.00"), LocalDateTime.now());
+        ApplyMatchesResponse result = reconciliationService.apply(new ApplyMatchesRequest(List.of(match, match)));
+
+        // Then
+        assertThat(result.applied()).hasSize(1);
+        assertThat(result.failed()).singleElement().satisfies(failed -> {
+            assertThat(failed.invoiceId()).isEqualTo(globexInvoice.id());
+            assertThat(failed.message()).contains("cannot exceed invoice balance");
+        });
+        assertThat(paymentRepository.count()).isEqualTo(1);
+    }
+
+    private InvoiceResponse sentInvoice(Customer customer, String amount) {
+        InvoiceResponse draft = invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                customer.getId(), List.of(new LineItemRequest("Service", 1, new BigDecimal(amount)))));
+        return invoiceCommandService.sendInvoiceViaEmail(draft.id());
+    }
+}
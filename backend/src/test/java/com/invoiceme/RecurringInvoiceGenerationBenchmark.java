@@ -0,0 +1,123 @@
+package com.invoiceme;
+
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.recurring.RecurringInvoiceGenerator;
+import com.invoiceme.application.recurring.dto.RecurringInvoiceRunResponse;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceRunRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Generates one invoice for each of 100k due templates with 4 workers claiming chunks
+ * concurrently, then checks that every template was billed exactly once.
+ * Run with {@code mvn test -Pbenchmark}; size via -Dbenchmark.templates and -Dbenchmark.workers.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RecurringInvoiceGenerationBenchmark extends BaseIntegrationTest {
+
+    private static final int TEMPLATES = Integer.getInteger("benchmark.templates", 100_000);
+    private static final int WORKERS = Integer.getInteger("benchmark.workers", 4);
+    private static final int TEMPLATES_PER_CUSTOMER = 100;
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 1, 1);
+
+    @Autowired
+    private RecurringInvoiceGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private RecurringInvoiceRunRepository runRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM change_log");
+        jdbcTemplate.update("DELETE FROM invoice_ledger_entries");
+        jdbcTemplate.update("DELETE FROM invoices");
+        jdbcTemplate.update("DELETE FROM recurring_invoice_templates");
+        runRepository.deleteAll();
+        customerRepository.deleteAll();
+        insertTemplates();
+    }
+
+    @Test
+    void generatesEachDueTemplateExactlyOnce() {
+        long start = System.nanoTime();
+        RecurringInvoiceRunResponse run = generator.run(RUN_DATE, WORKERS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Recurring generation: %d invoices with %d workers in %.1f s (%.0f invoices/s)%n",
+                run.generatedCount(), WORKERS, seconds, run.generatedCount() / seconds);
+
+        assertThat(run.generatedCount()).isEqualTo(TEMPLATES);
+        assertThat(run.failedCount()).isZero();
+        assertThat(invoiceRepository.count()).isEqualTo(TEMPLATES);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT recurring_template_id) FROM invoices", Long.class))
+                .isEqualTo(TEMPLATES);
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM (
+                    SELECT recurring_template_id, billing_period FROM invoices
+                    GROUP BY recurring_template_id, billing_period
+                    HAVING COUNT(*) > 1
+                ) duplicates
+                """, Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM recurring_invoice_templates WHERE periods_generated <> 1", Long.class))
+                .isZero();
+    }
+
+    private void insertTemplates() {
+        List<Object[]> customers = new ArrayList<>();
+        List<Object[]> templates = new ArrayList<>(TEMPLATES);
+        List<Object[]> lines = new ArrayList<>(TEMPLATES);
+        UUID customerId = null;
+        for (int i = 0; i < TEMPLATES; i++) {
+            if (i % TEMPLATES_PER_CUSTOMER == 0) {
+                customerId = UUID.randomUUID();
+                customers.add(new Object[]{customerId, "Subscriber " + i, "subscriber-" + i + "@example.com"});
+            }
+            UUID templateId = UUID.randomUUID();
+            templates.add(new Object[]{templateId, customerId, Date.valueOf(RUN_DATE), Date.valueOf(RUN_DATE)});
+            lines.add(new Object[]{templateId, "Plan " + (i % 5)});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO customers (id, name, email, created_at, updated_at)
+                VALUES (?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                """, customers);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO recurring_invoice_templates
+                    (id, customer_id, currency, interval_months, anchor_date, next_run_date, created_at, updated_at)
+                VALUES (?, ?, 'USD', 1, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                """, templates);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO recurring_invoice_template_lines (template_id, description, quantity, unit_price, line_order)
+                VALUES (?, ?, 1, 49.00, 0)
+                """, lines);
+    }
+}
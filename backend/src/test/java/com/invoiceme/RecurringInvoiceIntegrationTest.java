@@ -0,0 +1,228 @@
+package com.invoiceme;
+
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.application.pricing.RateTables;
+import com.invoiceme.application.recurring.RecurringInvoiceCommandService;
+import com.invoiceme.application.recurring.RecurringInvoiceGenerator;
+import com.invoiceme.application.recurring.RecurringInvoiceQueryService;
+import com.invoiceme.application.recurring.dto.RecurringInvoiceRequest;
+import com.invoiceme.application.recurring.dto.RecurringInvoiceResponse;
+import com.invoiceme.application.recurring.dto.RecurringInvoiceRunResponse;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.organization.Organization;
+import com.invoiceme.domain.pricing.TaxRate;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.OrganizationRepository;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceRunRepository;
+import com.invoiceme.infrastructure.persistence.RecurringInvoiceTemplateRepository;
+import com.invoiceme.infrastructure.persistence.TaxRateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Not @Transactional: the generator commits each chunk from its own worker threads,
+ * so test data has to be committed for the workers to see it.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RecurringInvoiceIntegrationTest extends BaseIntegrationTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 31);
+
+    @Autowired
+    private RecurringInvoiceCommandService commandService;
+
+    @Autowired
+    private RecurringInvoiceQueryService queryService;
+
+    @Autowired
+    private RecurringInvoiceGenerator generator;
+
+    @Autowired
+    private RecurringInvoiceTemplateRepository templateRepository;
+
+    @Autowired
+    private RecurringInvoiceRunRepository runRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private TaxRateRepository taxRateRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private RateTables rateTables;
+
+    @MockBean
+    private EmailService emailService;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        customer = customerRepository.save(new Customer("Subscriber", "subscriber@example.com", null, null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        templateRepository.deleteAll();
+        runRepository.deleteAll();
+        customerRepository.deleteAll();
+        taxRateRepository.deleteAllById(List.of("RECURRING_TAX"));
+        rateTables.refresh();
+    }
+
+    @Test
+    void testRun_GeneratesOneInvoicePerMissedPeriod() {
+        // Given
+        RecurringInvoiceResponse template = commandService.create(monthly(null));
+
+        // When - three periods are due on March 31st
+        RecurringInvoiceRunResponse run = generator.run(LocalDate.of(2025, 3, 31), 2);
+
+        // Then
+        assertThat(run.status()).isEqualTo("COMPLETED");
+        assertThat(run.generatedCount()).isEqualTo(3);
+        assertThat(run.failedCount()).isZero();
+
+        List<Invoice> invoices = invoiceRepository.findAll();
+        assertThat(invoices).extracting(Invoice::getBillingPeriod).containsExactlyInAnyOrder(
+                LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 31));
+        assertThat(invoices).allSatisfy(invoice -> {
+            assertThat(invoice.getRecurringTemplateId()).isEqualTo(template.id());
+            assertThat(invoice.getTotalAmount()).isEqualByComparingTo("49.00");
+        });
+
+        RecurringInvoiceResponse advanced = queryService.getById(template.id());
+        assertThat(advanced.nextRunDate()).isEqualTo(LocalDate.of(2025, 4, 30));
+        assertThat(advanced.periodsGenerated()).isEqualTo(3);
+    }
+
+    @Test
+    void testRun_RerunForSameDateDoesNotDoubleBill() {
+        // Given
+        commandService.create(monthly(null));
+        generator.run(START, 1);
+
+        // When
+        RecurringInvoiceRunResponse rerun = generator.run(START, 4);
+
+        // Then
+        assertThat(invoiceRepository.count()).isEqualTo(1);
+        assertThat(rerun.generatedCount()).isEqualTo(1);
+        assertThat(runRepository.count()).isEqualTo(1);
+        assertThat(queryService.getRecentRuns(10)).hasSize(1);
+    }
+
+    @Test
+    void testRecentRuns_OnlyCountInvoicesOfTheCurrentOrganization() {
+        // Given
+        UUID other = organizationRepository.save(new Organization("Acme", null)).getId();
+        try {
+            commandService.create(monthly(null));
+
+            // When
+            generator.run(START, 1);
+
+            // Then
+            assertThat(queryService.getRecentRuns(10)).singleElement()
+                    .satisfies(run -> assertThat(run.generatedCount()).isEqualTo(1));
+            assertThat(TenantContext.callAs(other, () -> queryService.getRecentRuns(10))).singleElement()
+                    .satisfies(run -> assertThat(run.generatedCount()).isZero());
+        } finally {
+            runRepository.deleteAll();
+            organizationRepository.deleteById(other);
+        }
+    }
+
+    @Test
+    void testRun_PausesTemplateWhoseTaxCodeWasRemoved() {
+        // Given
+        taxRateRepository.save(new TaxRate("RECURRING_TAX", new BigDecimal("0.10"), "Temporary"));
+        rateTables.refresh();
+        RecurringInvoiceResponse broken = commandService.create(monthly("RECURRING_TAX"));
+        RecurringInvoiceResponse healthy = commandService.create(monthly(null));
+        taxRateRepository.deleteById("RECURRING_TAX");
+        rateTables.refresh();
+
+        // When
+        RecurringInvoiceRunResponse run = generator.run(START, 1);
+
+        // Then
+        assertThat(run.generatedCount()).isEqualTo(1);
+        assertThat(run.failedCount()).isEqualTo(1);
+        assertThat(invoiceRepository.findAll()).extracting(Invoice::getRecurringTemplateId)
+                .containsExactly(healthy.id());
+
+        RecurringInvoiceResponse paused = queryService.getById(broken.id());
+        assertThat(paused.active()).isFalse();
+        assertThat(paused.lastError()).contains("Unknown tax code");
+        assertThat(paused.nextRunDate()).isEqualTo(START);
+    }
+
+    @Test
+    void testDeactivate_StopsGeneration() {
+        // Given
+        RecurringInvoiceResponse template = commandService.create(monthly(null));
+
+        // When
+        commandService.deactivate(template.id());
+        generator.run(START, 1);
+
+        // Then
+        assertThat(invoiceRepository.count()).isZero();
+    }
+
+    @Test
+    void testCreate_RejectsUnknownTaxCode() {
+        assertThatThrownBy(() -> commandService.create(monthly("NO_SUCH_CODE")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown tax code");
+    }
+
+    private RecurringInvoiceRequest monthly(String taxCode) {
+        return new RecurringInvoiceRequest(
+                customer.getId(),
+                List.of(new LineItemRequest("Hosting", 1, new BigDecimal("49.00"), taxCode)),
+                null,
+                1,
+                START,
+                null
+        );
+    }
+}
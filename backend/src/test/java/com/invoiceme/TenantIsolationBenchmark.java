@@ -0,0 +1,192 @@
+package com.invoiceme;
+
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.InvoiceQueryService;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.domain.organization.Organization;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.OrganizationRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures a small organization's invoice list latency on its own and while a large
+ * organization keeps the database busy with the same queries, and checks that neither
+ * sees the other's invoices.
+ * Run with {@code mvn test -Pbenchmark}; size via -Dbenchmark.invoices (large organization),
+ * -Dbenchmark.requests and -Dbenchmark.threads (large organization's concurrent readers).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TenantIsolationBenchmark extends BaseIntegrationTest {
+
+    private static final int LARGE_INVOICES = Integer.getInteger("benchmark.invoices", 50_000);
+    private static final int SMALL_INVOICES = 20;
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 500);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+    private static final int BATCH = 1_000;
+
+    @Autowired
+    private InvoiceQueryService invoiceQueryService;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    private UUID large;
+    private UUID small;
+
+    @BeforeEach
+    void setUp() {
+        deleteAllOrganizationsData();
+        large = organizationRepository.save(new Organization("Large", null)).getId();
+        small = organizationRepository.save(new Organization("Small", null)).getId();
+        createInvoices(large, LARGE_INVOICES);
+        createInvoices(small, SMALL_INVOICES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteAllOrganizationsData();
+        organizationRepository.deleteAllById(List.of(large, small));
+    }
+
+    @Test
+    void largeOrganizationDoesNotSlowDownSmallOne() throws Exception {
+        TenantContext.runAs(small, () -> measure(REQUESTS / 5)); // warm-up
+        long[] alone = TenantContext.callAs(small, () -> measure(REQUESTS));
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long[] contended;
+        try {
+            List<Future<Integer>> noise = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                noise.add(executor.submit(() -> TenantContext.callAs(large, () -> {
+                    int pages = 0;
+                    while (running.get()) {
+                        assertThat(sentPage().getContent()).allMatch(invoice -> invoice.customerName().equals("Large"));
+                        pages++;
+                    }
+                    return pages;
+                })));
+            }
+            contended = TenantContext.callAs(small, () -> measure(REQUESTS));
+            running.set(false);
+            int pages = 0;
+            for (Future<Integer> future : noise) {
+                pages += future.get();
+            }
+            System.out.printf("Large organization: %d invoices, %d pages read by %d threads during the run%n",
+                    LARGE_INVOICES, pages, THREADS);
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        System.out.printf("Small organization alone:     p50 %.2f ms, p99 %.2f ms%n",
+                percentile(alone, 50), percentile(alone, 99));
+        System.out.printf("Small organization contended: p50 %.2f ms, p99 %.2f ms%n",
+                percentile(contended, 50), percentile(contended, 99));
+
+        // Reads lead with organization_id, so the small organization's cost stays proportional to its own rows
+        assertThat(TenantContext.callAs(small, () -> sentPage().getTotalElements())).isEqualTo(SMALL_INVOICES);
+        assertThat(percentile(contended, 99)).isLessThan(Math.max(50.0, percentile(alone, 99) * 10));
+    }
+
+    private long[] measure(int requests) {
+        long[] nanos = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            long start = System.nanoTime();
+            List<InvoiceResponse> page = sentPage().getContent();
+            nanos[i] = System.nanoTime() - start;
+            assertThat(page).hasSize(SMALL_INVOICES).allMatch(invoice -> invoice.customerName().equals("Small"));
+        }
+        return nanos;
+    }
+
+    private Page<InvoiceResponse> sentPage() {
+        return invoiceQueryService.getByStatus(InvoiceStatus.SENT,
+                PageRequest.of(0, SMALL_INVOICES, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
+    private void createInvoices(UUID organizationId, int count) {
+        TenantContext.runAs(organizationId, () -> {
+            String name = organizationId.equals(large) ? "Large" : "Small";
+            Customer customer = customerRepository.save(new Customer(name, name.toLowerCase() + "@example.com", null, null));
+            for (int from = 0; from < count; from += BATCH) {
+                List<Invoice> invoices = new ArrayList<>(BATCH);
+                for (int i = from; i < Math.min(count, from + BATCH); i++) {
+                    Invoice invoice = new Invoice(customer);
+                    invoice.addLineItem("Service " + i, 1, new BigDecimal("100.00"));
+                    invoice.calculateBalance();
+                    invoice.markAsSent();
+                    invoices.add(invoice);
+                }
+                invoiceRepository.saveAll(invoices);
+            }
+        });
+    }
+
+    private void deleteAllOrganizationsData() {
+        TenantContext.runAs(TenantContext.ALL_ORGANIZATIONS, () -> {
+            changeLogRepository.deleteAll();
+            ledgerEntryRepository.deleteAll();
+            paymentRepository.deleteAll();
+            invoiceRepository.deleteAll();
+            customerRepository.deleteAll();
+        });
+    }
+
+    private static double percentile(long[] nanos, int percentile) {
+        long[] sorted = Arrays.copyOf(nanos, nanos.length);
+        Arrays.sort(sorted);
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,166 @@
+package com.invoiceme;
+
+import com.invoiceme.application.customer.CustomerCommandService;
+import com.invoiceme.application.customer.CustomerQueryService;
+import com.invoiceme.application.customer.dto.CustomerRequest;
+import com.invoiceme.application.customer.dto.CustomerResponse;
+import com.invoiceme.application.idempotency.IdempotencyService;
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.application.invoice.InvoiceCommandService;
+import com.invoiceme.application.invoice.InvoiceQueryService;
+import com.invoiceme.application.invoice.dto.CreateInvoiceRequest;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.LineItemRequest;
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.domain.organization.Organization;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.IdempotencyRecordRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.OrganizationRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Not transactional: each call opens its own session, so it sees the organization
+ * set in the tenant context at that point.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TenantIsolationIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private CustomerCommandService customerCommandService;
+
+    @Autowired
+    private CustomerQueryService customerQueryService;
+
+    @Autowired
+    private InvoiceCommandService invoiceCommandService;
+
+    @Autowired
+    private InvoiceQueryService invoiceQueryService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    private UUID acme;
+    private UUID globex;
+
+    @BeforeEach
+    void setUp() {
+        deleteAllOrganizationsData();
+        acme = organizationRepository.save(new Organization("Acme", null)).getId();
+        globex = organizationRepository.save(new Organization("Globex", null)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteAllOrganizationsData();
+        organizationRepository.deleteAllById(List.of(acme, globex));
+    }
+
+    @Test
+    void testReads_OnlySeeOwnOrganization() {
+        // Given
+        CustomerResponse acmeCustomer = TenantContext.callAs(acme, () -> createCustomer("Wile E. Coyote"));
+        InvoiceResponse acmeInvoice = TenantContext.callAs(acme, () -> createInvoice(acmeCustomer.id()));
+        TenantContext.runAs(globex, () -> createCustomer("Hank Scorpio"));
+
+        TenantContext.runAs(globex, () -> {
+            // When / Then - lists and lookups by id
+            assertThat(customerQueryService.getAll(PageRequest.of(0, 10)).getContent())
+                    .extracting(CustomerResponse::name).containsExactly("Hank Scorpio");
+            assertThat(invoiceQueryService.getAll(PageRequest.of(0, 10)).getContent()).isEmpty();
+            assertThatThrownBy(() -> customerQueryService.getById(acmeCustomer.id()))
+                    .isInstanceOf(EntityNotFoundException.class);
+            assertThatThrownBy(() -> invoiceQueryService.getById(acmeInvoice.id()))
+                    .isInstanceOf(EntityNotFoundException.class);
+
+            // Writes cannot reach the other organization's rows either
+            assertThatThrownBy(() -> invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                    acmeCustomer.id(), List.of(new LineItemRequest("Service", 1, BigDecimal.TEN)))))
+                    .isInstanceOf(EntityNotFoundException.class);
+            assertThat(customerQueryService.suggest("wile", 10)).isEmpty();
+        });
+        assertThat(TenantContext.callAs(acme, () -> customerQueryService.getById(acmeCustomer.id())).name())
+                .isEqualTo("Wile E. Coyote");
+    }
+
+    @Test
+    void testKeys_AreUniquePerOrganization() {
+        // When - the same email, invoice number sequence and idempotency key in both organizations
+        AtomicInteger runs = new AtomicInteger();
+        List<String> numbers = List.of(acme, globex).stream().map(organization -> TenantContext.callAs(organization, () -> {
+            CustomerResponse customer = createCustomer("Shared Email");
+            idempotencyService.execute("test", "same-key", "request", String.class,
+                    () -> "run " + runs.incrementAndGet());
+            return createInvoice(customer.id()).invoiceNumber();
+        })).toList();
+
+        // Then - each organization numbers from 1 and runs its own operation
+        assertThat(numbers.get(0)).endsWith("-000001").isEqualTo(numbers.get(1));
+        assertThat(runs).hasValue(2);
+    }
+
+    private CustomerResponse createCustomer(String name) {
+        return customerCommandService.createCustomer(new CustomerRequest(name, "shared@example.com", null, null));
+    }
+
+    private InvoiceResponse createInvoice(UUID customerId) {
+        return invoiceCommandService.createInvoice(new CreateInvoiceRequest(
+                customerId, List.of(new LineItemRequest("Service", 1, new BigDecimal("100.00")))));
+    }
+
+    private void deleteAllOrganizationsData() {
+        TenantContext.runAs(TenantContext.ALL_ORGANIZATIONS, () -> {
+            changeLogRepository.deleteAll();
+            idempotencyRecordRepository.deleteAll();
+            ledgerEntryRepository.deleteAll();
+            paymentRepository.deleteAll();
+            invoiceRepository.deleteAll();
+            customerRepository.deleteAll();
+        });
+    }
+}
@@ -0,0 +1,172 @@
+package com.invoiceme;
+
+import com.invoiceme.application.invoice.EmailService;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Measures HTTP throughput at 1k concurrent clients, half sending invoices
+ * (POST /api/invoices/{id}/send, SMTP simulated with a fixed delay) and half listing them
+ * (GET /api/invoices). Senders fall back to listing once the drafts run out.
+ * Compare platform threads ({@code mvn test -Pbenchmark -Dtest=VirtualThreadLoadBenchmark})
+ * with virtual threads ({@code mvn test -Pbenchmark,java21 -Dtest=VirtualThreadLoadBenchmark
+ * -Dspring.threads.virtual.enabled=true}) on Java 21; size the load via -Dbenchmark.clients,
+ * -Dbenchmark.seconds, -Dbenchmark.drafts and -Dbenchmark.smtp-millis.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class VirtualThreadLoadBenchmark extends BaseIntegrationTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1_000);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 30);
+    private static final int DRAFTS = Integer.getInteger("benchmark.drafts", 20_000);
+    private static final int SMTP_MILLIS = Integer.getInteger("benchmark.smtp-millis", 50);
+    private static final int LISTED_INVOICES = 500;
+    private static final int BATCH = 1_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    private final Queue<UUID> drafts = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        Customer customer = customerRepository.save(new Customer("Load Customer", "load@example.com", null, null));
+        for (int from = 0; from < DRAFTS + LISTED_INVOICES; from += BATCH) {
+            List<Invoice> invoices = new ArrayList<>(BATCH);
+            for (int i = from; i < Math.min(DRAFTS + LISTED_INVOICES, from + BATCH); i++) {
+                Invoice invoice = new Invoice(customer);
+                invoice.addLineItem("Service " + i, 1, new BigDecimal("100.00"));
+                invoice.calculateBalance();
+                if (i >= DRAFTS) {
+                    invoice.markAsSent();
+                }
+                invoices.add(invoice);
+            }
+            invoiceRepository.saveAll(invoices).stream()
+                    .filter(invoice -> invoice.getStatus() == InvoiceStatus.DRAFT)
+                    .forEach(invoice -> drafts.add(invoice.getId()));
+        }
+        doAnswer(invocation -> {
+            Thread.sleep(SMTP_MILLIS);
+            return null;
+        }).when(emailService).sendInvoiceEmail(any(Invoice.class), any(byte[].class));
+    }
+
+    @Test
+    void throughputAtOneThousandConcurrentClients() throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        AtomicLong sent = new AtomicLong();
+        AtomicLong listed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long deadline = System.nanoTime() + Duration.ofSeconds(SECONDS).toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                boolean sender = c % 2 == 0;
+                futures.add(clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        UUID draft = sender ? drafts.poll() : null;
+                        HttpRequest request = draft != null
+                                ? HttpRequest.newBuilder(uri("/api/invoices/" + draft + "/send"))
+                                        .POST(HttpRequest.BodyPublishers.noBody()).build()
+                                : HttpRequest.newBuilder(uri("/api/invoices?size=20")).GET().build();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failed.incrementAndGet();
+                            } else if (draft != null) {
+                                sent.incrementAndGet();
+                            } else {
+                                listed.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        System.out.printf("Java %s, %s threads, %d clients, %d s, SMTP %d ms%n",
+                Runtime.version().feature(), Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform",
+                CLIENTS, SECONDS, SMTP_MILLIS);
+        System.out.printf("POST /api/invoices/{id}/send: %d (%.0f/s)%n", sent.get(), sent.get() / (double) SECONDS);
+        System.out.printf("GET /api/invoices:            %d (%.0f/s)%n", listed.get(), listed.get() / (double) SECONDS);
+        System.out.printf("Failed: %d%n", failed.get());
+
+        assertThat(sent.get() + listed.get()).isPositive();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,77 @@
+package com.invoiceme.application.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.invoiceme.application.archive.dto.ArchivedInvoiceDocument;
+import com.invoiceme.application.invoice.dto.InvoiceResponse;
+import com.invoiceme.application.invoice.dto.LineItemResponse;
+import com.invoiceme.application.ledger.dto.LedgerEntryResponse;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArchiveCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ArchiveCodec codec = new ArchiveCodec(objectMapper);
+
+    @Test
+    void testEncode_RoundTripsDocument() {
+        // Given
+        ArchivedInvoiceDocument document = document(3);
+
+        // When
+        ArchivedInvoiceDocument decoded = codec.decode(codec.encode(document));
+
+        // Then
+        assertThat(decoded).isEqualTo(document);
+    }
+
+    @Test
+    void testEncode_CompressesRepetitiveInvoices() throws Exception {
+        // Given
+        ArchivedInvoiceDocument document = document(50);
+        int json = objectMapper.writeValueAsString(document).getBytes(StandardCharsets.UTF_8).length;
+
+        // When
+        byte[] encoded = codec.encode(document);
+
+        // Then
+        assertThat(encoded.length).isLessThan(json / 3);
+    }
+
+    @Test
+    void testDecode_RejectsUncompressedData() {
+        assertThatThrownBy(() -> codec.decode("{}".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static ArchivedInvoiceDocument document(int lineItems) {
+        UUID invoiceId = UUID.randomUUID();
+        LocalDateTime created = LocalDateTime.of(2024, 3, 1, 9, 30);
+        List<LineItemResponse> items = IntStream.range(0, lineItems)
+                .mapToObj(i -> new LineItemResponse("Consulting hours", 2, new BigDecimal("150.00"),
+                        new BigDecimal("300.00"), null, BigDecimal.ZERO, BigDecimal.ZERO))
+                .toList();
+        BigDecimal total = new BigDecimal("300.00").multiply(BigDecimal.valueOf(lineItems));
+        InvoiceResponse invoice = new InvoiceResponse(invoiceId, "INV-2024-000042", UUID.randomUUID(), "Acme Corp",
+                "PAID", items, "USD", total, BigDecimal.ZERO, total, total, BigDecimal.ZERO,
+                LocalDate.of(2024, 3, 31), 0, null, null, created, created.plusDays(10));
+        UUID paymentId = UUID.randomUUID();
+        PaymentResponse payment = new PaymentResponse(paymentId, invoiceId, "INV-2024-000042", "Acme Corp",
+                total, created.plusDays(10), created.plusDays(10));
+        LedgerEntryResponse entry = new LedgerEntryResponse(paymentId, invoiceId, 1, "PAYMENT", total.negate(),
+                BigDecimal.ZERO, paymentId, null, created.plusDays(10));
+        return new ArchivedInvoiceDocument(invoice, List.of(payment), List.of(entry));
+    }
+}
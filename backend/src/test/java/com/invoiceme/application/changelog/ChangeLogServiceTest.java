@@ -0,0 +1,134 @@
+package com.invoiceme.application.changelog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.application.changelog.dto.ChangeFeedResponse;
+import com.invoiceme.domain.changelog.ChangeEntityType;
+import com.invoiceme.domain.changelog.ChangeLogEntry;
+import com.invoiceme.domain.changelog.ChangeOperation;
+import com.invoiceme.domain.organization.Organization;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.DatabaseVendor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeLogServiceTest {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private DatabaseVendor databaseVendor;
+
+    private ChangeLogService changeLogService;
+
+    @BeforeEach
+    void setUp() {
+        changeLogService = new ChangeLogService(changeLogRepository, databaseVendor, new ObjectMapper(), Duration.ofDays(30), Duration.ofDays(1));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecord_InsertsAtCommitUnderWriterLock() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        changeLogService.record(Organization.DEFAULT_ID, ChangeEntityType.INVOICE, first, ChangeOperation.CREATED, null);
+        changeLogService.record(Organization.DEFAULT_ID, ChangeEntityType.INVOICE, second, ChangeOperation.UPDATED, null);
+        verify(changeLogRepository, never()).saveAllAndFlush(any());
+        when(changeLogRepository.lockWriters(Set.of(Organization.DEFAULT_ID))).thenReturn(List.of(Organization.DEFAULT_ID));
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+
+        // Then - one batch, in recording order, after the other writes and the lock
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        InOrder order = inOrder(changeLogRepository);
+        order.verify(changeLogRepository).flush();
+        order.verify(changeLogRepository).lockWriters(Set.of(Organization.DEFAULT_ID));
+        ArgumentCaptor<List<ChangeLogEntry>> saved = ArgumentCaptor.forClass(List.class);
+        order.verify(changeLogRepository).saveAllAndFlush(saved.capture());
+        assertThat(saved.getValue()).extracting(ChangeLogEntry::getEntityId).containsExactly(first, second);
+    }
+
+    @Test
+    void testRecord_CreatesWriterRowOfNewOrganization() {
+        // Given - an organization without a writer row yet
+        UUID organizationId = UUID.randomUUID();
+        changeLogService.record(organizationId, ChangeEntityType.CUSTOMER, UUID.randomUUID(), ChangeOperation.CREATED, null);
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+
+        // Then - created, locked again, then written
+        InOrder order = inOrder(changeLogRepository);
+        order.verify(changeLogRepository).lockWriters(Set.of(organizationId));
+        order.verify(changeLogRepository).createWriterOnH2(organizationId);
+        order.verify(changeLogRepository).lockWriters(Set.of(organizationId));
+        order.verify(changeLogRepository).saveAllAndFlush(any());
+    }
+
+    @Test
+    void testRecord_NothingWrittenOnRollback() {
+        // Given
+        changeLogService.record(Organization.DEFAULT_ID, ChangeEntityType.CUSTOMER, UUID.randomUUID(), ChangeOperation.DELETED, null);
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        verify(changeLogRepository, never()).lockWriters(any());
+        verify(changeLogRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    void testGetChanges_ReportsMoreBeyondThePage() {
+        // Given
+        List<ChangeLogEntry> entries = IntStream.rangeClosed(1, 3).mapToObj(sequence -> {
+            ChangeLogEntry entry = new ChangeLogEntry(Organization.DEFAULT_ID, ChangeEntityType.CUSTOMER,
+                    UUID.randomUUID(), ChangeOperation.CREATED, null);
+            ReflectionTestUtils.setField(entry, "sequence", (long) sequence);
+            return entry;
+        }).toList();
+        when(changeLogRepository.findAfter(anyLong(), any(Pageable.class))).thenReturn(entries);
+
+        // When
+        ChangeFeedResponse page = changeLogService.getChanges(0, 2);
+
+        // Then
+        assertThat(page.changes()).hasSize(2);
+        assertThat(page.nextAfter()).isEqualTo(2);
+        assertThat(page.hasMore()).isTrue();
+    }
+}
@@ -0,0 +1,176 @@
+package com.invoiceme.application.customer;
+
+import com.invoiceme.application.customer.dto.CustomerSuggestion;
+import com.invoiceme.application.organization.TenantContext;
+import com.invoiceme.domain.organization.Organization;
+import com.invoiceme.infrastructure.persistence.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerSuggestionIndexTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private CustomerSuggestionIndex index;
+
+    private final CustomerSuggestion john = new CustomerSuggestion(UUID.randomUUID(), "John Doe", "john.doe@example.com");
+    private final CustomerSuggestion jane = new CustomerSuggestion(UUID.randomUUID(), "Jane Smith", "jsmith@acme.com");
+    private final CustomerSuggestion zoe = new CustomerSuggestion(UUID.randomUUID(), "Zoë Durand", "zoe@example.fr");
+
+    @BeforeEach
+    void setUp() {
+        index = new CustomerSuggestionIndex(customerRepository);
+        index.rebuild(Organization.DEFAULT_ID, List.of(john, jane, zoe));
+    }
+
+    @Test
+    void testSuggest_MatchesNameWordAndEmailPrefixes() {
+        assertThat(index.suggest("j", 10)).containsExactlyInAnyOrder(john, jane);
+        assertThat(index.suggest("DOE", 10)).containsExactly(john);
+        assertThat(index.suggest("jsm", 10)).containsExactly(jane);
+        assertThat(index.suggest("zoe", 10)).containsExactly(zoe); // accent-insensitive
+        assertThat(index.suggest("x", 10)).isEmpty();
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void testSuggest_RespectsLimitAndDeduplicates() {
+        // "j" matches John's name and email, and Jane's name and email
+        assertThat(index.suggest("j", 1)).hasSize(1);
+        assertThat(index.suggest("john", 10)).containsExactly(john);
+    }
+
+    @Test
+    void testUpsert_ReplacesOldKeys() {
+        // Given
+        CustomerSuggestion renamed = new CustomerSuggestion(john.id(), "Jonathan Public", "jp@example.com");
+
+        // When
+        index.upsert(Organization.DEFAULT_ID, renamed);
+
+        // Then
+        assertThat(index.suggest("doe", 10)).isEmpty();
+        assertThat(index.suggest("publ", 10)).containsExactly(renamed);
+        assertThat(index.suggest("j", 10)).containsExactlyInAnyOrder(renamed, jane);
+    }
+
+    @Test
+    void testRemove_DropsAllKeys() {
+        // When
+        index.remove(Organization.DEFAULT_ID, jane.id());
+
+        // Then
+        assertThat(index.suggest("j", 10)).containsExactly(john);
+        assertThat(index.suggest("smith", 10)).isEmpty();
+    }
+
+    @Test
+    void testIncrementalUpdates_MatchFullRebuild() {
+        // Given
+        CustomerSuggestionIndex rebuilt = new CustomerSuggestionIndex(customerRepository);
+        List<CustomerSuggestion> all = new ArrayList<>(List.of(john, jane, zoe));
+
+        // When - add many customers one at a time, sharing name prefixes
+        for (int i = 0; i < 200; i++) {
+            CustomerSuggestion suggestion = new CustomerSuggestion(
+                    UUID.randomUUID(), "Customer " + (i % 7), "c" + i + "@example.com");
+            index.upsert(Organization.DEFAULT_ID, suggestion);
+            all.add(suggestion);
+        }
+        rebuilt.rebuild(Organization.DEFAULT_ID, all);
+
+        // Then
+        assertThat(index.suggest("customer", 500)).containsExactlyElementsOf(rebuilt.suggest("customer", 500));
+        assertThat(index.suggest("c1", 500)).containsExactlyElementsOf(rebuilt.suggest("c1", 500));
+    }
+
+    @Test
+    void testSuggest_OnlySeesCurrentOrganization() {
+        // Given
+        UUID otherOrganization = UUID.randomUUID();
+        CustomerSuggestion joan = new CustomerSuggestion(UUID.randomUUID(), "Joan Other", "joan@other.com");
+        index.upsert(otherOrganization, joan);
+
+        // When / Then
+        assertThat(index.suggest("jo", 10)).containsExactly(john);
+        assertThat(TenantContext.callAs(otherOrganization, () -> index.suggest("jo", 10))).containsExactly(joan);
+        assertThat(TenantContext.callAs(UUID.randomUUID(), () -> index.suggest("jo", 10))).isEmpty();
+    }
+
+    @Test
+    void testLoad_KeepsWritesCommittedWhileReadingTheTable() {
+        // Given - John is renamed and Jane deleted after the table was read
+        CustomerSuggestion renamed = new CustomerSuggestion(john.id(), "Jonathan Public", "jp@example.com");
+        when(customerRepository.findAllSuggestionRows()).thenAnswer(invocation -> {
+            List<CustomerRepository.SuggestionRow> stale = List.of(row(john), row(jane));
+            index.upsert(Organization.DEFAULT_ID, renamed);
+            index.remove(Organization.DEFAULT_ID, jane.id());
+            return stale;
+        });
+
+        // When
+        index.load();
+
+        // Then
+        assertThat(index.suggest("j", 10)).containsExactly(renamed);
+        assertThat(index.suggest("doe", 10)).isEmpty();
+
+        // And later writes are no longer journaled
+        index.remove(Organization.DEFAULT_ID, john.id());
+        assertThat(index.suggest("j", 10)).isEmpty();
+    }
+
+    @Test
+    void testLoad_ServesThePreviousDataUntilTheNewDataIsComplete() {
+        // Given - a lookup made while the table is being read
+        List<List<CustomerSuggestion>> duringLoad = new ArrayList<>();
+        when(customerRepository.findAllSuggestionRows()).thenAnswer(invocation -> {
+            duringLoad.add(index.suggest("j", 10));
+            return List.of(row(zoe));
+        });
+
+        // When
+        index.load();
+
+        // Then - the old partitions answered during the load, and are replaced by the loaded ones
+        assertThat(duringLoad).singleElement().satisfies(found -> assertThat(found).containsExactlyInAnyOrder(john, jane));
+        assertThat(index.suggest("j", 10)).isEmpty();
+        assertThat(index.suggest("zoe", 10)).containsExactly(zoe);
+    }
+
+    private static CustomerRepository.SuggestionRow row(CustomerSuggestion suggestion) {
+        return new CustomerRepository.SuggestionRow() {
+            @Override
+            public UUID getOrganizationId() {
+                return Organization.DEFAULT_ID;
+            }
+
+            @Override
+            public UUID getId() {
+                return suggestion.id();
+            }
+
+            @Override
+            public String getName() {
+                return suggestion.name();
+            }
+
+            @Override
+            public String getEmail() {
+                return suggestion.email();
+            }
+        };
+    }
+}
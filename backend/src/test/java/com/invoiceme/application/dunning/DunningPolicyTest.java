@@ -0,0 +1,47 @@
+package com.invoiceme.application.dunning;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DunningPolicyTest {
+
+    private static final LocalDate DUE = LocalDate.of(2025, 3, 1);
+
+    private final DunningPolicy policy = new DunningPolicy(30, List.of(7, 14, 30));
+
+    @Test
+    void testDueDate_AddsPaymentTerms() {
+        assertThat(policy.dueDate(LocalDate.of(2025, 1, 30))).isEqualTo(DUE);
+    }
+
+    @Test
+    void testNextReminder_FollowsSchedule() {
+        assertThat(policy.nextReminder(DUE, 0, DUE.plusDays(1))).isEqualTo(DUE.plusDays(7));
+        assertThat(policy.nextReminder(DUE, 1, DUE.plusDays(7))).isEqualTo(DUE.plusDays(14));
+        assertThat(policy.nextReminder(DUE, 2, DUE.plusDays(14))).isEqualTo(DUE.plusDays(30));
+        assertThat(policy.nextReminder(DUE, 3, DUE.plusDays(30))).isNull();
+    }
+
+    @Test
+    void testNextReminder_CatchesUpOneReminderPerDay() {
+        // Given - the job did not run for two months
+        LocalDate today = DUE.plusDays(60);
+
+        // Then
+        assertThat(policy.nextReminder(DUE, 0, today)).isEqualTo(today.plusDays(1));
+        assertThat(policy.nextReminder(DUE, 2, today)).isEqualTo(today.plusDays(1));
+    }
+
+    @Test
+    void testConstructor_RejectsUnorderedSchedule() {
+        assertThatThrownBy(() -> new DunningPolicy(30, List.of(14, 7)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new DunningPolicy(-1, List.of(7)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.invoiceme.application.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportWriterTest {
+
+    private record Row(String name, BigDecimal amount, Integer count) {
+    }
+
+    private static final List<ExportColumn<Row>> COLUMNS = List.of(
+            new ExportColumn<>("name", Row::name),
+            new ExportColumn<>("amount", Row::amount),
+            new ExportColumn<>("count", Row::count)
+    );
+
+    @Test
+    void testCsv_WritesHeaderAndEscapesFields() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        try (ExportWriter<Row> writer = ExportWriter.open(ExportFormat.CSV, COLUMNS, out)) {
+            writer.write(new Row("Acme, Inc.", new BigDecimal("1250.00"), 3));
+            writer.write(new Row("Say \"hi\"", null, null));
+        }
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "name,amount,count\r\n"
+                        + "\"Acme, Inc.\",1250.00,3\r\n"
+                        + "\"Say \"\"hi\"\"\",,\r\n");
+    }
+
+    @Test
+    void testNdjson_WritesOneObjectPerLine() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        try (ExportWriter<Row> writer = ExportWriter.open(ExportFormat.NDJSON, COLUMNS, out)) {
+            writer.write(new Row("Acme", new BigDecimal("1E+3"), 3));
+            writer.write(new Row("Line\nbreak", null, null));
+        }
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"name\":\"Acme\",\"amount\":1000,\"count\":3}\n"
+                        + "{\"name\":\"Line\\nbreak\",\"amount\":null,\"count\":null}\n");
+    }
+}
@@ -0,0 +1,67 @@
+package com.invoiceme.application.payment;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentAllocatorTest {
+
+    @Test
+    void testOldestFirst_FillsBalancesInOrder() {
+        List<BigDecimal> shares = PaymentAllocator.oldestFirst(
+                List.of(new BigDecimal("100.00"), new BigDecimal("50.00"), new BigDecimal("75.00")),
+                new BigDecimal("120.00"));
+
+        assertThat(shares).containsExactly(
+                new BigDecimal("100.00"), new BigDecimal("20.00"), new BigDecimal("0.00"));
+    }
+
+    @Test
+    void testProportional_SharesAddUpToAmount() {
+        // Given - a third of 100.00 each is 33.333...
+        List<BigDecimal> balances = List.of(
+                new BigDecimal("10.00"), new BigDecimal("10.00"), new BigDecimal("10.00"));
+
+        // When
+        List<BigDecimal> shares = PaymentAllocator.proportional(balances, new BigDecimal("10.00"));
+
+        // Then - the leftover cent goes to the first balance on a tie
+        assertThat(shares).containsExactly(
+                new BigDecimal("3.34"), new BigDecimal("3.33"), new BigDecimal("3.33"));
+    }
+
+    @Test
+    void testProportional_LeftoverCentsFollowLargestRemainder() {
+        List<BigDecimal> shares = PaymentAllocator.proportional(
+                List.of(new BigDecimal("1.00"), new BigDecimal("2.00"), new BigDecimal("4.00")),
+                new BigDecimal("1.00"));
+
+        // Exact shares are 0.1428..., 0.2857..., 0.5714...
+        assertThat(shares).containsExactly(
+                new BigDecimal("0.14"), new BigDecimal("0.29"), new BigDecimal("0.57"));
+    }
+
+    @Test
+    void testProportional_FullAmountPaysEveryBalance() {
+        List<BigDecimal> balances = List.of(
+                new BigDecimal("0.01"), new BigDecimal("999.99"), new BigDecimal("12.34"));
+
+        assertThat(PaymentAllocator.proportional(balances, new BigDecimal("1012.34")))
+                .containsExactlyElementsOf(balances);
+    }
+
+    @Test
+    void testAmountAboveOpenBalance_Rejected() {
+        List<BigDecimal> balances = List.of(new BigDecimal("10.00"), new BigDecimal("5.00"));
+
+        assertThatThrownBy(() -> PaymentAllocator.oldestFirst(balances, new BigDecimal("15.01")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("15.00");
+        assertThatThrownBy(() -> PaymentAllocator.proportional(balances, new BigDecimal("15.01")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,119 @@
+package com.invoiceme.application.payment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.application.changelog.ChangeLogService;
+import com.invoiceme.application.invoice.InvoiceMapper;
+import com.invoiceme.application.payment.dto.PaymentRequest;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import com.invoiceme.domain.changelog.ChangeLogEntry;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.infrastructure.persistence.ChangeLogRepository;
+import com.invoiceme.infrastructure.persistence.DatabaseVendor;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.LedgerEntryRepository;
+import com.invoiceme.infrastructure.persistence.PaymentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentCommandServiceTest {
+
+    private static final UUID ORGANIZATION_ID = UUID.randomUUID();
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private InvoiceMapper invoiceMapper;
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private DatabaseVendor databaseVendor;
+
+    private PaymentCommandService paymentCommandService;
+
+    @BeforeEach
+    void setUp() {
+        ChangeLogService changeLogService = new ChangeLogService(changeLogRepository, databaseVendor,
+                new ObjectMapper().findAndRegisterModules(), Duration.ofDays(30), Duration.ofDays(1));
+        paymentCommandService = new PaymentCommandService(paymentRepository, invoiceRepository, ledgerEntryRepository,
+                new PaymentMapperImpl(), invoiceMapper, changeLogService);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void testRecordPayment_BelongsToTheInvoiceOrganization() {
+        // Given
+        Invoice invoice = sentInvoice(new BigDecimal("100.00"));
+        when(invoiceRepository.findAllByIdForUpdate(List.of(invoice.getId()))).thenReturn(List.of(invoice));
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            ReflectionTestUtils.setField(payment, "id", UUID.randomUUID());
+            return payment;
+        });
+        when(invoiceRepository.save(invoice)).thenReturn(invoice);
+
+        // When
+        PaymentResponse response = paymentCommandService.recordPayment(
+                new PaymentRequest(invoice.getId(), new BigDecimal("40.00"), LocalDateTime.now()));
+
+        // Then
+        ArgumentCaptor<Payment> saved = ArgumentCaptor.forClass(Payment.class);
+        verify(paymentRepository).save(saved.capture());
+        assertThat(saved.getValue().getOrganizationId()).isEqualTo(ORGANIZATION_ID);
+        assertThat(response.invoiceId()).isEqualTo(invoice.getId());
+        assertThat(invoice.getBalance()).isEqualByComparingTo("60.00");
+
+        // Both changes are written at commit, in the invoice's organization
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        ArgumentCaptor<List<ChangeLogEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(changeLogRepository).saveAllAndFlush(entries.capture());
+        assertThat(entries.getValue()).hasSize(2)
+                .allSatisfy(entry -> assertThat(entry.getOrganizationId()).isEqualTo(ORGANIZATION_ID));
+    }
+
+    private static Invoice sentInvoice(BigDecimal amount) {
+        Customer customer = new Customer("Customer", "customer@example.com", null, null);
+        customer.setOrganizationId(ORGANIZATION_ID);
+        Invoice invoice = new Invoice(customer);
+        ReflectionTestUtils.setField(invoice, "id", UUID.randomUUID());
+        invoice.addLineItem("Service", 1, amount);
+        invoice.markAsSent();
+        assertThat(invoice.getStatus()).isEqualTo(InvoiceStatus.SENT);
+        return invoice;
+    }
+}
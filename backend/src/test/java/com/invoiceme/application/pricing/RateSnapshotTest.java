@@ -0,0 +1,42 @@
+package com.invoiceme.application.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateSnapshotTest {
+
+    private final RateSnapshot snapshot = new RateSnapshot(
+            "USD",
+            Map.of("VAT_STANDARD", new BigDecimal("0.190000")),
+            Map.of("EUR", new BigDecimal("1.08500000")),
+            Instant.now());
+
+    @Test
+    void testTaxRate_Lookup() {
+        assertThat(snapshot.taxRate("VAT_STANDARD")).isEqualByComparingTo("0.19");
+        assertThat(snapshot.taxRate(null)).isEqualByComparingTo("0");
+        assertThatThrownBy(() -> snapshot.taxRate("UNKNOWN"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("UNKNOWN");
+    }
+
+    @Test
+    void testToBaseCurrency() {
+        assertThat(snapshot.toBaseCurrency(new BigDecimal("100.00"), "EUR")).contains(new BigDecimal("108.50"));
+        assertThat(snapshot.toBaseCurrency(new BigDecimal("100.00"), "USD")).contains(new BigDecimal("100.00"));
+        assertThat(snapshot.toBaseCurrency(new BigDecimal("100.00"), "GBP")).isEmpty();
+    }
+
+    @Test
+    void testFormat_UsesInvoiceCurrency() {
+        assertThat(CurrencyFormatter.format(new BigDecimal("1234.5"), "USD")).isEqualTo("$1,234.50");
+        assertThat(CurrencyFormatter.format(new BigDecimal("1234.5"), "EUR")).isEqualTo("€1,234.50");
+        assertThat(CurrencyFormatter.format(new BigDecimal("1234.5"), "JPY")).isEqualTo("¥1,235");
+    }
+}
@@ -0,0 +1,98 @@
+package com.invoiceme.application.pricing;
+
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of building a 10k-line invoice with mixed tax codes: each line's rate is
+ * resolved from an in-memory {@link RateSnapshot} and totals are summed once.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaxedInvoiceBenchmark {
+
+    private static final int LINES = 10_000;
+    private static final String[] TAX_CODES = {null, "EXEMPT", "VAT_REDUCED", "VAT_STANDARD", "SALES_TAX"};
+
+    private RateSnapshot rates;
+    private Customer customer;
+    private int[] quantities;
+    private BigDecimal[] unitPrices;
+    private String[] taxCodes;
+
+    @Setup
+    public void setUp() {
+        rates = new RateSnapshot("USD", Map.of(
+                "EXEMPT", BigDecimal.ZERO,
+                "VAT_REDUCED", new BigDecimal("0.070000"),
+                "VAT_STANDARD", new BigDecimal("0.190000"),
+                "SALES_TAX", new BigDecimal("0.082500")
+        ), Map.of("EUR", new BigDecimal("1.08500000")), Instant.now());
+        customer = new Customer("Benchmark", "benchmark@example.com", null, null);
+
+        Random random = new Random(42);
+        quantities = new int[LINES];
+        unitPrices = new BigDecimal[LINES];
+        taxCodes = new String[LINES];
+        for (int i = 0; i < LINES; i++) {
+            quantities[i] = 1 + random.nextInt(100);
+            unitPrices[i] = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+            taxCodes[i] = TAX_CODES[random.nextInt(TAX_CODES.length)];
+        }
+    }
+
+    @Benchmark
+    public BigDecimal buildTaxedInvoice() {
+        Invoice invoice = new Invoice(customer, "EUR");
+        List<LineItem> items = new ArrayList<>(LINES);
+        for (int i = 0; i < LINES; i++) {
+            items.add(new LineItem("Line", quantities[i], unitPrices[i], taxCodes[i], rates.taxRate(taxCodes[i])));
+        }
+        invoice.addLineItems(items);
+        return invoice.getTotalAmount();
+    }
+
+    @Benchmark
+    public BigDecimal recalculateTaxedInvoice() {
+        Invoice invoice = new Invoice(customer, "EUR");
+        for (int i = 0; i < LINES; i++) {
+            invoice.getLineItems().add(new LineItem("Line", quantities[i], unitPrices[i], taxCodes[i], rates.taxRate(taxCodes[i])));
+        }
+        return invoice.calculateTotal();
+    }
+
+    @Test
+    void runBenchmark() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaxedInvoiceBenchmark.class.getName())
+                .build()).run();
+    }
+}
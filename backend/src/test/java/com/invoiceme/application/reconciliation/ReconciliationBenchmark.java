@@ -0,0 +1,84 @@
+package com.invoiceme.application.reconciliation;
+
+import com.invoiceme.application.reconciliation.dto.StatementLineResponse;
+import com.invoiceme.domain.invoice.InvoiceNumber;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Matches a 100k-line CSV statement against 500k open invoices, in memory.
+ * Most lines carry an invoice number, some only a payer name and exact amount, and the
+ * rest match nothing exactly. Run with {@code mvn test -Pbenchmark}; size via
+ * -Dbenchmark.invoices and -Dbenchmark.lines.
+ */
+class ReconciliationBenchmark {
+
+    private static final int INVOICES = Integer.getInteger("benchmark.invoices", 500_000);
+    private static final int LINES = Integer.getInteger("benchmark.lines", 100_000);
+    private static final int CUSTOMERS = INVOICES / 10;
+
+    @Test
+    void matchesStatementAgainstOpenInvoices() throws IOException {
+        Random random = new Random(42);
+        UUID[] ids = new UUID[INVOICES];
+        long[] cents = new long[INVOICES];
+
+        long start = System.nanoTime();
+        OpenInvoiceIndex index = new OpenInvoiceIndex();
+        for (int i = 0; i < INVOICES; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+            cents[i] = 1_000 + random.nextInt(500_000);
+            index.add(ids[i], InvoiceNumber.format("INV", 2024, i + 1), "Customer " + (i % CUSTOMERS) + " Holdings",
+                    "USD", BigDecimal.valueOf(cents[i], 2));
+        }
+        double indexSeconds = (System.nanoTime() - start) / 1e9;
+
+        StringBuilder csv = new StringBuilder("date,amount,currency,reference,name\n");
+        for (int line = 0; line < LINES; line++) {
+            int i = line * (INVOICES / LINES);
+            String customer = "Customer " + (i % CUSTOMERS) + " Holdings";
+            int kind = random.nextInt(100);
+            if (kind < 60) {
+                csv.append("2024-01-15,").append(BigDecimal.valueOf(cents[i], 2)).append(",USD,Invoice ")
+                        .append(InvoiceNumber.format("INV", 2024, i + 1)).append(',').append(customer).append('\n');
+            } else if (kind < 85) {
+                csv.append("2024-01-15,").append(BigDecimal.valueOf(cents[i], 2)).append(",USD,,")
+                        .append(customer).append('\n');
+            } else {
+                csv.append("2024-01-15,").append(BigDecimal.valueOf(cents[i] / 2, 2)).append(",USD,thanks,")
+                        .append(customer).append('\n');
+            }
+        }
+        byte[] statement = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        start = System.nanoTime();
+        Map<ReconciliationStatus, Integer> counts = new EnumMap<>(ReconciliationStatus.class);
+        ReconciliationMatcher matcher = new ReconciliationMatcher(index);
+        int read = 0;
+        try (StatementReader reader = StatementReader.open(StatementFormat.CSV, new ByteArrayInputStream(statement))) {
+            StatementLine line;
+            while ((line = reader.next()) != null) {
+                StatementLineResponse result = matcher.match(line);
+                counts.merge(result.status(), 1, Integer::sum);
+                read++;
+            }
+        }
+        double matchSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Reconciliation: indexed %d invoices in %.2f s, matched %d lines in %.2f s (%.0f lines/s) %s%n",
+                INVOICES, indexSeconds, read, matchSeconds, read / matchSeconds, counts);
+
+        assertThat(read).isEqualTo(LINES);
+        assertThat(counts.getOrDefault(ReconciliationStatus.MATCHED, 0)).isGreaterThanOrEqualTo(LINES * 8 / 10);
+    }
+}
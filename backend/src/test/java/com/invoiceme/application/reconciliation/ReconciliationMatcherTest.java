@@ -0,0 +1,107 @@
+package com.invoiceme.application.reconciliation;
+
+import com.invoiceme.application.reconciliation.dto.MatchCandidateResponse;
+import com.invoiceme.application.reconciliation.dto.StatementLineResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReconciliationMatcherTest {
+
+    private static final UUID ACME_1 = UUID.fromString("1a2b3c4d-0000-0000-0000-000000000001");
+    private static final UUID ACME_2 = UUID.fromString("2b3c4d5e-0000-0000-0000-000000000002");
+    private static final UUID GLOBEX = UUID.fromString("3c4d5e6f-0000-0000-0000-000000000003");
+    private static final UUID INITECH = UUID.fromString("4d5e6f70-0000-0000-0000-000000000004");
+
+    private ReconciliationMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        OpenInvoiceIndex index = new OpenInvoiceIndex();
+        // ACME_1 predates invoice numbers and is referenced by its ID-derived number
+        index.add(ACME_1, null, "Acme Corp", "USD", new BigDecimal("500.00"));
+        index.add(ACME_2, "INV-2025-000002", "Acme Corp", "USD", new BigDecimal("120.00"));
+        index.add(GLOBEX, "INV-2025-000003", "Globex Corporation", "USD", new BigDecimal("120.00"));
+        index.add(INITECH, "INV-2025-000004", "Initech", "EUR", new BigDecimal("75.00"));
+        matcher = new ReconciliationMatcher(index);
+    }
+
+    @Test
+    void testReferenceAndAmount_MatchedAndReserved() {
+        StatementLineResponse first = matcher.match(line("500.00", "USD", "Payment inv-1a2b3c4d", "ACME"));
+        StatementLineResponse again = matcher.match(line("500.00", "USD", "Payment INV-1A2B3C4D", "ACME"));
+
+        assertThat(first.status()).isEqualTo(ReconciliationStatus.MATCHED);
+        assertThat(first.candidates()).singleElement().satisfies(candidate -> {
+            assertThat(candidate.invoiceId()).isEqualTo(ACME_1);
+            assertThat(candidate.invoiceNumber()).isEqualTo("INV-1A2B3C4D");
+            assertThat(candidate.matchType()).isEqualTo(MatchType.REFERENCE_AND_AMOUNT);
+        });
+        // The balance is used up, so the duplicate is not matched to the same invoice
+        assertThat(again.status()).isNotEqualTo(ReconciliationStatus.MATCHED);
+    }
+
+    @Test
+    void testReference_InvoiceNumberWrittenWithoutPadding() {
+        StatementLineResponse result = matcher.match(line("120.00", "USD", "Rechnung inv 2025/3", null));
+
+        assertThat(result.status()).isEqualTo(ReconciliationStatus.MATCHED);
+        assertThat(result.candidates().get(0).invoiceId()).isEqualTo(GLOBEX);
+        assertThat(result.candidates().get(0).invoiceNumber()).isEqualTo("INV-2025-000003");
+        assertThat(result.candidates().get(0).matchType()).isEqualTo(MatchType.REFERENCE_AND_AMOUNT);
+    }
+
+    @Test
+    void testReferenceWithPartialAmount() {
+        StatementLineResponse result = matcher.match(line("200.00", null, ACME_1.toString(), null));
+
+        assertThat(result.status()).isEqualTo(ReconciliationStatus.MATCHED);
+        MatchCandidateResponse candidate = result.candidates().get(0);
+        assertThat(candidate.matchType()).isEqualTo(MatchType.REFERENCE);
+        assertThat(candidate.proposedAmount()).isEqualByComparingTo("200.00");
+        assertThat(candidate.balance()).isEqualByComparingTo("500.00");
+    }
+
+    @Test
+    void testAmount_PayerNameBreaksTie() {
+        StatementLineResponse result = matcher.match(line("120.00", "USD", "March", "Globex Corporation"));
+
+        assertThat(result.status()).isEqualTo(ReconciliationStatus.MATCHED);
+        assertThat(result.candidates()).extracting(MatchCandidateResponse::invoiceId)
+                .containsExactly(GLOBEX, ACME_2);
+        assertThat(result.candidates().get(0).matchType()).isEqualTo(MatchType.AMOUNT);
+    }
+
+    @Test
+    void testAmount_WithoutNameIsAmbiguous() {
+        StatementLineResponse result = matcher.match(line("120.00", "USD", null, null));
+
+        assertThat(result.status()).isEqualTo(ReconciliationStatus.AMBIGUOUS);
+        assertThat(result.candidates()).hasSize(2);
+    }
+
+    @Test
+    void testFuzzy_RanksSimilarNameAndAmount() {
+        StatementLineResponse result = matcher.match(line("480.00", "USD", "thanks", "ACME CORP."));
+
+        assertThat(result.status()).isEqualTo(ReconciliationStatus.AMBIGUOUS);
+        assertThat(result.candidates().get(0).invoiceId()).isEqualTo(ACME_1);
+        assertThat(result.candidates().get(0).matchType()).isEqualTo(MatchType.FUZZY);
+    }
+
+    @Test
+    void testCurrencyMismatch_Unmatched() {
+        StatementLineResponse result = matcher.match(line("75.00", "USD", null, "Initech"));
+
+        assertThat(result.status()).isEqualTo(ReconciliationStatus.UNMATCHED);
+        assertThat(result.candidates()).isEmpty();
+    }
+
+    private static StatementLine line(String amount, String currency, String reference, String name) {
+        return new StatementLine(1, null, new BigDecimal(amount), currency, reference, name);
+    }
+}
@@ -0,0 +1,56 @@
+package com.invoiceme.application.reconciliation;
+
+import com.invoiceme.application.payment.PaymentCommandService;
+import com.invoiceme.application.payment.dto.PaymentRequest;
+import com.invoiceme.application.payment.dto.PaymentResponse;
+import com.invoiceme.application.reconciliation.dto.ApplyMatchesRequest;
+import com.invoiceme.application.reconciliation.dto.ApplyMatchesResponse;
+import com.invoiceme.application.reconciliation.dto.FailedMatchResponse;
+import com.invoiceme.infrastructure.persistence.InvoiceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReconciliationServiceTest {
+
+    private final PaymentCommandService paymentCommandService = mock(PaymentCommandService.class);
+    private final ReconciliationService service = new ReconciliationService(
+            mock(InvoiceRepository.class), paymentCommandService, mock(PlatformTransactionManager.class));
+
+    @Test
+    void testApply_ReportsEachFailedMatchAndRecordsTheOthers() {
+        // Given - one match hits a lock timeout, one overpays, one goes through
+        PaymentRequest locked = match("100.00");
+        PaymentRequest overpaid = match("900.00");
+        PaymentRequest accepted = match("50.00");
+        PaymentResponse payment = new PaymentResponse(UUID.randomUUID(), accepted.invoiceId(), "INV-2025-000001",
+                "Acme Corp", accepted.amount(), accepted.paymentDate(), LocalDateTime.now());
+        when(paymentCommandService.recordPayment(locked)).thenThrow(new CannotAcquireLockException("lock timeout"));
+        when(paymentCommandService.recordPayment(overpaid))
+                .thenThrow(new IllegalArgumentException("Payment amount (900.00) cannot exceed invoice balance (500.00)"));
+        when(paymentCommandService.recordPayment(accepted)).thenReturn(payment);
+
+        // When
+        ApplyMatchesResponse response = service.apply(new ApplyMatchesRequest(List.of(locked, overpaid, accepted)));
+
+        // Then
+        assertThat(response.applied()).containsExactly(payment);
+        assertThat(response.failed()).extracting(FailedMatchResponse::invoiceId)
+                .containsExactly(locked.invoiceId(), overpaid.invoiceId());
+        assertThat(response.failed().get(0).message()).doesNotContain("lock timeout");
+        assertThat(response.failed().get(1).message()).contains("cannot exceed invoice balance");
+    }
+
+    private static PaymentRequest match(String amount) {
+        return new PaymentRequest(UUID.randomUUID(), new BigDecimal(amount), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,174 @@
+package com.invoiceme.application.reconciliation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatementReaderTest {
+
+    @Test
+    void testCsv_ReadsCreditsAndSkipsDebits() throws IOException {
+        String csv = """
+                Date,Amount,Currency,Reference,Name
+                2024-01-15,500.00,USD,"Invoice INV-1A2B3C4D, thanks",John Doe
+                2024-01-15,-20.00,USD,Bank fee,
+                2024-01-16,"1,250.50",,,"Acme ""East"" Ltd"
+                """;
+
+        List<StatementLine> lines = readAll(StatementFormat.CSV, csv);
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).isEqualTo(new StatementLine(2, LocalDate.of(2024, 1, 15),
+                new BigDecimal("500.00"), "USD", "Invoice INV-1A2B3C4D, thanks", "John Doe"));
+        assertThat(lines.get(1).lineNumber()).isEqualTo(4);
+        assertThat(lines.get(1).amount()).isEqualByComparingTo("1250.50");
+        assertThat(lines.get(1).currency()).isNull();
+        assertThat(lines.get(1).counterpartyName()).isEqualTo("Acme \"East\" Ltd");
+    }
+
+    @Test
+    void testCsv_SemicolonWithDecimalComma() throws IOException {
+        String csv = """
+                booking_date;amount;description
+                15.01.2024;1.234,56;INV-1A2B3C4D
+                """;
+
+        List<StatementLine> lines = readAll(StatementFormat.CSV, csv);
+
+        assertThat(lines).singleElement().satisfies(line -> {
+            assertThat(line.bookingDate()).isEqualTo(LocalDate.of(2024, 1, 15));
+            assertThat(line.amount()).isEqualByComparingTo("1234.56");
+            assertThat(line.reference()).isEqualTo("INV-1A2B3C4D");
+        });
+    }
+
+    @Test
+    void testCsv_InvalidAmountReportsLine() {
+        String csv = """
+                date,amount
+                2024-01-15,12.00
+                2024-01-16,twelve
+                """;
+
+        assertThatThrownBy(() -> readAll(StatementFormat.CSV, csv))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Line 3");
+    }
+
+    @Test
+    void testCsv_ReadsSeparatorsByPosition() throws IOException {
+        String csv = """
+                date;amount
+                2024-01-15;1,234,567
+                2024-01-16;1.234.567
+                2024-01-17;12,5
+                2024-01-18;12.50
+                """;
+
+        List<StatementLine> lines = readAll(StatementFormat.CSV, csv);
+
+        assertThat(lines).extracting(StatementLine::amount).usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("1234567"), new BigDecimal("1234567"),
+                        new BigDecimal("12.5"), new BigDecimal("12.50"));
+    }
+
+    @Test
+    void testCsv_RejectsAmbiguousThousands() {
+        String csv = """
+                date,amount
+                2024-01-15,"1,234"
+                """;
+
+        assertThatThrownBy(() -> readAll(StatementFormat.CSV, csv))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Line 2")
+                .hasMessageContaining("ambiguous amount '1,234'");
+    }
+
+    @Test
+    void testCamt053_ReadsCreditEntries() throws IOException {
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <Document xmlns="urn:iso:std:iso:20022:tech:xsd:camt.053.001.02">
+                  <BkToCstmrStmt><Stmt>
+                    <Ntry>
+                      <Amt Ccy="EUR">500.00</Amt>
+                      <CdtDbtInd>CRDT</CdtDbtInd>
+                      <BookgDt><Dt>2024-01-15</Dt></BookgDt>
+                      <NtryDtls><TxDtls>
+                        <RltdPties><Dbtr><Nm>John Doe</Nm></Dbtr><Cdtr><Nm>InvoiceMe</Nm></Cdtr></RltdPties>
+                        <RmtInf><Ustrd>INV-1A2B3C4D</Ustrd></RmtInf>
+                      </TxDtls></NtryDtls>
+                    </Ntry>
+                    <Ntry>
+                      <Amt Ccy="EUR">9.99</Amt>
+                      <CdtDbtInd>DBIT</CdtDbtInd>
+                      <BookgDt><Dt>2024-01-15</Dt></BookgDt>
+                    </Ntry>
+                    <Ntry>
+                      <Amt Ccy="EUR">300.00</Amt>
+                      <CdtDbtInd>CRDT</CdtDbtInd>
+                      <BookgDt><DtTm>2024-01-16T09:00:00</DtTm></BookgDt>
+                      <NtryDtls>
+                        <TxDtls>
+                          <AmtDtls><TxAmt><Amt Ccy="EUR">100.00</Amt></TxAmt></AmtDtls>
+                          <RltdPties><Dbtr><Pty><Nm>Acme</Nm></Pty></Dbtr></RltdPties>
+                          <RmtInf><Strd><CdtrRefInf><Ref>INV-0000AAAA</Ref></CdtrRefInf></Strd></RmtInf>
+                        </TxDtls>
+                        <TxDtls>
+                          <AmtDtls><TxAmt><Amt Ccy="EUR">200.00</Amt></TxAmt></AmtDtls>
+                          <RltdPties><Dbtr><Pty><Nm>Acme</Nm></Pty></Dbtr></RltdPties>
+                          <RmtInf><Ustrd>INV-0000BBBB</Ustrd></RmtInf>
+                        </TxDtls>
+                      </NtryDtls>
+                    </Ntry>
+                  </Stmt></BkToCstmrStmt>
+                </Document>
+                """;
+
+        List<StatementLine> lines = readAll(StatementFormat.CAMT053, xml);
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).isEqualTo(new StatementLine(1, LocalDate.of(2024, 1, 15),
+                new BigDecimal("500.00"), "EUR", "INV-1A2B3C4D", "John Doe"));
+        assertThat(lines.get(1).lineNumber()).isEqualTo(3);
+        assertThat(lines.get(1).bookingDate()).isEqualTo(LocalDate.of(2024, 1, 16));
+        assertThat(lines.get(1).amount()).isEqualByComparingTo("100.00");
+        assertThat(lines.get(1).reference()).isEqualTo("INV-0000AAAA");
+        assertThat(lines.get(1).counterpartyName()).isEqualTo("Acme");
+        assertThat(lines.get(2).amount()).isEqualByComparingTo("200.00");
+    }
+
+    @Test
+    void testCamt053_RejectsDoctype() {
+        String xml = """
+                <?xml version="1.0"?>
+                <!DOCTYPE Document [<!ENTITY xxe SYSTEM "file:///etc/passwd">]>
+                <Document><BkToCstmrStmt><Stmt><Ntry><Amt Ccy="EUR">&xxe;</Amt></Ntry></Stmt></BkToCstmrStmt></Document>
+                """;
+
+        assertThatThrownBy(() -> readAll(StatementFormat.CAMT053, xml))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<StatementLine> readAll(StatementFormat format, String content) throws IOException {
+        List<StatementLine> lines = new ArrayList<>();
+        try (StatementReader reader = StatementReader.open(format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))) {
+            StatementLine line;
+            while ((line = reader.next()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,63 @@
+package com.invoiceme.application.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchTermsTest {
+
+    @Test
+    void testParse_BuildsPrefixTsQueryFromTokens() {
+        // When
+        SearchTerms terms = SearchTerms.parse("  Acme  Co. ");
+
+        // Then
+        assertThat(terms.term()).isEqualTo("acme  co.");
+        assertThat(terms.tokens()).containsExactly("acme", "co");
+        assertThat(terms.toPrefixTsQuery()).isEqualTo("acme:* & co:*");
+    }
+
+    @Test
+    void testParse_StripsTsQueryOperators() {
+        // When
+        SearchTerms terms = SearchTerms.parse("foo & !bar | (baz):*");
+
+        // Then
+        assertThat(terms.toPrefixTsQuery()).isEqualTo("foo:* & bar:* & baz:*");
+    }
+
+    @Test
+    void testParse_NoLettersOrDigits_Fails() {
+        // When/Then
+        assertThatThrownBy(() -> SearchTerms.parse(" !?& "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at least one letter or digit");
+    }
+
+    @Test
+    void testToLikePrefix_EscapesWildcards() {
+        // When
+        SearchTerms terms = SearchTerms.parse("john_100%");
+
+        // Then
+        assertThat(terms.toLikePrefix()).isEqualTo("john\\_100\\%%");
+    }
+
+    @Test
+    void testCursor_RoundTrip() {
+        // Given
+        SearchCursor cursor = new SearchCursor(0.4217, UUID.randomUUID());
+
+        // When
+        SearchCursor decoded = SearchCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(SearchCursor.decode(null)).isEqualTo(SearchCursor.FIRST);
+        assertThatThrownBy(() -> SearchCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,38 @@
+package com.invoiceme.domain.invoice;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Reference BigDecimal implementation of line item subtotals and invoice totals,
+ * as computed before the domain switched to {@link com.invoiceme.domain.shared.Money}.
+ * Tax is subtotal * rate rounded HALF_UP per line.
+ */
+final class BigDecimalTotals {
+
+    private BigDecimalTotals() {
+    }
+
+    static BigDecimal subtotal(LineItem item) {
+        return item.getUnitPrice()
+                .multiply(BigDecimal.valueOf(item.getQuantity()))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal tax(LineItem item) {
+        return subtotal(item)
+                .multiply(item.getTaxRate())
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal total(List<LineItem> items) {
+        if (items.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        return items.stream()
+                .map(item -> subtotal(item).add(tax(item)))
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,98 @@
+package com.invoiceme.domain.invoice;
+
+import com.invoiceme.domain.customer.Customer;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH benchmark of building large invoices line by line and in bulk.
+ * Incremental totals keep both linear in the number of lines. Run with {@code mvn test -Pbenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvoiceBuildBenchmark {
+
+    @Param({"1000", "10000"})
+    public int lines;
+
+    private Customer customer;
+    private int[] quantities;
+    private BigDecimal[] unitPrices;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        customer = new Customer("Benchmark", "benchmark@example.com", null, null);
+        quantities = new int[lines];
+        unitPrices = new BigDecimal[lines];
+        for (int i = 0; i < lines; i++) {
+            quantities[i] = 1 + random.nextInt(100);
+            unitPrices[i] = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal addLineItem() {
+        Invoice invoice = new Invoice(customer);
+        for (int i = 0; i < lines; i++) {
+            invoice.addLineItem("Line", quantities[i], unitPrices[i]);
+        }
+        return invoice.getTotalAmount();
+    }
+
+    @Benchmark
+    public BigDecimal addLineItems() {
+        Invoice invoice = new Invoice(customer);
+        List<LineItem> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            items.add(new LineItem("Line", quantities[i], unitPrices[i]));
+        }
+        invoice.addLineItems(items);
+        return invoice.getTotalAmount();
+    }
+
+    @Test
+    void buildTimeGrowsLinearly() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(InvoiceBuildBenchmark.class.getName())
+                .build()).run();
+
+        Map<String, Double> scores = results.stream().collect(Collectors.toMap(
+                result -> result.getParams().getBenchmark() + "@" + result.getParams().getParam("lines"),
+                result -> result.getPrimaryResult().getScore()));
+        for (String benchmark : List.of("addLineItem", "addLineItems")) {
+            String name = InvoiceBuildBenchmark.class.getName() + "." + benchmark;
+            // 10x the lines: linear is ~10x, quadratic would be ~100x
+            assertThat(scores.get(name + "@10000") / scores.get(name + "@1000")).isLessThan(25);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.invoiceme.domain.invoice;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvoiceNumberTest {
+
+    @Test
+    void testFormat_PadsYearAndValue() {
+        assertThat(InvoiceNumber.format("INV", 2025, 42)).isEqualTo("INV-2025-000042");
+        assertThat(InvoiceNumber.format("CN", 2025, 1_234_567)).isEqualTo("CN-2025-1234567");
+    }
+
+    @Test
+    void testFormat_RejectsInvalidSeriesAndValue() {
+        assertThatThrownBy(() -> InvoiceNumber.format("inv", 2025, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> InvoiceNumber.format("INV-1", 2025, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> InvoiceNumber.format("INV", 2025, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testFindAll_NormalizesNumbersAsWrittenInReferences() {
+        assertThat(InvoiceNumber.findAll("Payment inv-2025-000042, inv 2025/43 and INV2025044"))
+                .containsExactly("INV-2025-000042", "INV-2025-000043", "INV-2025-000044");
+        assertThat(InvoiceNumber.findAll("Order 12345 from 2025")).isEmpty();
+        assertThat(InvoiceNumber.findAll(null)).isEmpty();
+    }
+}
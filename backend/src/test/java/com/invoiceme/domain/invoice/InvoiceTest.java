@@ -0,0 +1,197 @@
+package com.invoiceme.domain.invoice;
+
+import com.invoiceme.domain.customer.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvoiceTest {
+
+    private Invoice invoice;
+
+    @BeforeEach
+    void setUp() {
+        invoice = new Invoice(new Customer("Customer", "customer@example.com", null, null));
+    }
+
+    @Test
+    void testAddLineItems_UpdatesTotalOnce() {
+        // When
+        invoice.addLineItem("Setup", 1, new BigDecimal("50.00"));
+        invoice.addLineItems(List.of(
+                new LineItem("Hours", 3, new BigDecimal("19.99")),
+                new LineItem("Travel", 2, new BigDecimal("10.005"))
+        ));
+
+        // Then
+        assertThat(invoice.getTotalAmount()).isEqualTo(new BigDecimal("129.99"));
+        assertThat(invoice.getTotalAmount()).isEqualTo(BigDecimalTotals.total(invoice.getLineItems()));
+    }
+
+    @Test
+    void testRemoveAndReplace_AdjustTotal() {
+        // Given
+        invoice.addLineItems(List.of(
+                new LineItem("A", 1, new BigDecimal("10.00")),
+                new LineItem("B", 2, new BigDecimal("5.50")),
+                new LineItem("C", 4, new BigDecimal("2.25"))
+        ));
+
+        // When
+        LineItem removed = invoice.removeLineItem(0);
+        LineItem replaced = invoice.replaceLineItem(1, new LineItem("D", 1, new BigDecimal("99.99")));
+
+        // Then
+        assertThat(removed.getDescription()).isEqualTo("A");
+        assertThat(replaced.getDescription()).isEqualTo("C");
+        assertThat(invoice.getTotalAmount()).isEqualTo(new BigDecimal("110.99"));
+        assertThat(invoice.getTotalAmount()).isEqualTo(BigDecimalTotals.total(invoice.getLineItems()));
+    }
+
+    @Test
+    void testSubtotal_RecomputedAfterChange() {
+        // Given
+        LineItem item = new LineItem("Hours", 2, new BigDecimal("10.00"));
+        assertThat(item.calculateSubtotal(2)).isEqualTo(new BigDecimal("20.00"));
+
+        // When
+        item.setQuantity(3);
+
+        // Then
+        assertThat(item.calculateSubtotal(2)).isEqualTo(new BigDecimal("30.00"));
+    }
+
+    @Test
+    void testZeroDecimalCurrency_RoundsLineSubtotalAndTax() {
+        // Given
+        Invoice yen = new Invoice(new Customer("Tokyo Customer", "tokyo@example.com", null, null), "JPY");
+        LineItem item = new LineItem("Service", 3, new BigDecimal("333.50"), "JP", new BigDecimal("0.10"));
+
+        // When
+        yen.addLineItems(List.of(item));
+
+        // Then - 1000.50 -> 1001, 10% tax 100.10 -> 100
+        assertThat(item.calculateSubtotal(yen.fractionDigits())).isEqualTo(new BigDecimal("1001.00"));
+        assertThat(item.calculateTax(yen.fractionDigits())).isEqualTo(new BigDecimal("100.00"));
+        assertThat(yen.getTotalAmount()).isEqualTo(new BigDecimal("1101.00"));
+        assertThat(yen.getTaxAmount()).isEqualTo(new BigDecimal("100.00"));
+    }
+
+    @Test
+    void testApplyPayment_RoundsToCents() {
+        // Given
+        invoice.addLineItem("Hours", 1, new BigDecimal("100.00"));
+        invoice.markAsSent();
+
+        // When
+        invoice.applyPayment(new BigDecimal("99.995"));
+
+        // Then - rounded to 100.00, as the stored payment is
+        assertThat(invoice.getBalance()).isEqualTo(new BigDecimal("0.00"));
+        assertThat(invoice.getStatus()).isEqualTo(InvoiceStatus.PAID);
+        assertThatThrownBy(() -> invoice.applyRefund(new BigDecimal("0.004")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("greater than 0");
+    }
+
+    @Test
+    void testDunning_OverdueRemindersUntilPaid() {
+        // Given
+        invoice.addLineItem("Hours", 1, new BigDecimal("100.00"));
+        invoice.calculateBalance();
+        invoice.setDueDate(LocalDate.of(2025, 1, 31));
+        invoice.markAsSent();
+        assertThat(invoice.isPastDue(LocalDate.of(2025, 1, 31))).isFalse();
+        assertThat(invoice.isPastDue(LocalDate.of(2025, 2, 1))).isTrue();
+
+        // When
+        invoice.markAsOverdue(LocalDate.of(2025, 2, 7));
+        invoice.recordReminder(LocalDate.of(2025, 2, 14));
+
+        // Then
+        assertThat(invoice.getStatus()).isEqualTo(InvoiceStatus.OVERDUE);
+        assertThat(invoice.getDunningLevel()).isEqualTo(1);
+        assertThat(invoice.getNextDunningDate()).isEqualTo(LocalDate.of(2025, 2, 14));
+
+        // When - paid in full, no further reminders are scheduled
+        invoice.applyPayment(new BigDecimal("100.00"));
+
+        // Then
+        assertThat(invoice.getStatus()).isEqualTo(InvoiceStatus.PAID);
+        assertThat(invoice.getNextDunningDate()).isNull();
+    }
+
+    @Test
+    void testDunning_RejectsInvalidTransitions() {
+        assertThatThrownBy(() -> invoice.markAsOverdue(null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("DRAFT");
+        assertThatThrownBy(() -> invoice.recordReminder(null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testRefund_ReopensPaidInvoice() {
+        // Given
+        invoice.addLineItem("Hours", 1, new BigDecimal("100.00"));
+        invoice.markAsSent();
+        invoice.applyPayment(new BigDecimal("100.00"));
+
+        // When
+        invoice.applyRefund(new BigDecimal("40.00"));
+
+        // Then
+        assertThat(invoice.getBalance()).isEqualByComparingTo("40.00");
+        assertThat(invoice.getStatus()).isEqualTo(InvoiceStatus.SENT);
+        assertThatThrownBy(() -> invoice.applyRefund(new BigDecimal("60.01")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("settled amount");
+    }
+
+    @Test
+    void testCredit_OnlyForIssuedInvoicesAndUpToBalance() {
+        // Given
+        invoice.addLineItem("Hours", 1, new BigDecimal("100.00"));
+        assertThatThrownBy(() -> invoice.applyCredit(new BigDecimal("10.00")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("DRAFT");
+        invoice.markAsSent();
+
+        // When
+        invoice.applyCredit(new BigDecimal("30.00"));
+
+        // Then
+        assertThat(invoice.getBalance()).isEqualByComparingTo("70.00");
+        assertThatThrownBy(() -> invoice.applyCredit(new BigDecimal("70.01")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // When - the rest is written off
+        invoice.applyCredit(new BigDecimal("70.00"));
+
+        // Then
+        assertThat(invoice.getStatus()).isEqualTo(InvoiceStatus.PAID);
+    }
+
+    @Test
+    void testUpdateLineItems_KeepsAmountAlreadyPaid() {
+        // Given
+        invoice.addLineItem("Hours", 1, new BigDecimal("100.00"));
+        invoice.applyPayment(new BigDecimal("30.00"));
+
+        // When
+        invoice.updateLineItems(List.of(new LineItem("Hours", 2, new BigDecimal("100.00"))));
+
+        // Then
+        assertThat(invoice.getTotalAmount()).isEqualByComparingTo("200.00");
+        assertThat(invoice.getBalance()).isEqualByComparingTo("170.00");
+        assertThatThrownBy(() -> invoice.updateLineItems(List.of(new LineItem("Hours", 1, new BigDecimal("29.99")))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already paid");
+    }
+}
@@ -0,0 +1,80 @@
+package com.invoiceme.domain.invoice;
+
+import com.invoiceme.domain.customer.Customer;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH comparison of invoice total computation: fixed-point {@link com.invoiceme.domain.shared.Money}
+ * against the BigDecimal reference. Run with {@code mvn test -Pbenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvoiceTotalsBenchmark {
+
+    @Param({"10", "1000"})
+    public int lines;
+
+    private Invoice invoice;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        invoice = new Invoice(new Customer("Benchmark", "benchmark@example.com", null, null));
+        for (int i = 0; i < lines; i++) {
+            invoice.getLineItems().add(new LineItem("Line " + i, 1 + random.nextInt(100),
+                    BigDecimal.valueOf(random.nextInt(1_000_000), 2)));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal moneyTotal() {
+        return invoice.calculateTotal();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTotal() {
+        return BigDecimalTotals.total(invoice.getLineItems());
+    }
+
+    @Test
+    void moneyIsFasterThanBigDecimal() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(InvoiceTotalsBenchmark.class.getName())
+                .param("lines", "1000")
+                .build()).run();
+
+        Map<String, Double> scores = results.stream().collect(Collectors.toMap(
+                result -> result.getParams().getBenchmark(),
+                result -> result.getPrimaryResult().getScore()));
+        assertThat(scores.get(InvoiceTotalsBenchmark.class.getName() + ".moneyTotal"))
+                .isLessThan(scores.get(InvoiceTotalsBenchmark.class.getName() + ".bigDecimalTotal"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.invoiceme.domain.invoice;
+
+import com.invoiceme.domain.customer.Customer;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.From;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.BigRange;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.Scale;
+import net.jqwik.api.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that fixed-point subtotals and totals match the BigDecimal reference exactly,
+ * including scale.
+ */
+class InvoiceTotalsPropertyTest {
+
+    @Property
+    void subtotalMatchesBigDecimal(
+            @ForAll @IntRange(min = 1, max = 1_000_000) int quantity,
+            @ForAll @BigRange(min = "0", max = "1000000000") @Scale(4) BigDecimal unitPrice) {
+        LineItem item = new LineItem("Item", quantity, unitPrice);
+
+        assertThat(item.calculateSubtotal(2)).isEqualTo(BigDecimalTotals.subtotal(item));
+    }
+
+    @Property
+    void taxMatchesBigDecimal(
+            @ForAll @IntRange(min = 1, max = 100_000) int quantity,
+            @ForAll @BigRange(min = "0", max = "1000000") @Scale(2) BigDecimal unitPrice,
+            @ForAll @BigRange(min = "0", max = "0.999999") @Scale(6) BigDecimal taxRate) {
+        LineItem item = new LineItem("Item", quantity, unitPrice, "CODE", taxRate);
+
+        assertThat(item.calculateTax(2)).isEqualTo(BigDecimalTotals.tax(item));
+    }
+
+    @Property
+    void totalMatchesBigDecimal(@ForAll @Size(max = 200) List<@From("lineItems") LineItem> items) {
+        Invoice invoice = new Invoice(new Customer("Customer", "customer@example.com", null, null));
+        invoice.getLineItems().addAll(items);
+
+        assertThat(invoice.calculateTotal()).isEqualTo(BigDecimalTotals.total(items));
+    }
+
+    @Provide
+    Arbitrary<LineItem> lineItems() {
+        return Combinators.combine(
+                Arbitraries.integers().between(1, 10_000),
+                Arbitraries.bigDecimals().between(BigDecimal.ZERO, new BigDecimal("100000")).ofScale(3),
+                Arbitraries.of(BigDecimal.ZERO, new BigDecimal("0.07"), new BigDecimal("0.19"), new BigDecimal("0.0825"))
+        ).as((quantity, unitPrice, taxRate) -> new LineItem("Item", quantity, unitPrice, null, taxRate));
+    }
+}
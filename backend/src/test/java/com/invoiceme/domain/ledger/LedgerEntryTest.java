@@ -0,0 +1,83 @@
+package com.invoiceme.domain.ledger;
+
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import com.invoiceme.domain.payment.Payment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LedgerEntryTest {
+
+    private Invoice invoice;
+
+    @BeforeEach
+    void setUp() {
+        invoice = new Invoice(new Customer("Customer", "customer@example.com", null, null));
+        invoice.addLineItem("Hours", 1, new BigDecimal("100.00"));
+        invoice.markAsSent();
+    }
+
+    @Test
+    void testRecord_SignsAmountsAndCarriesRunningBalance() {
+        // Given
+        Payment payment = new Payment(invoice, new BigDecimal("60.00"), LocalDateTime.now());
+
+        // When
+        payment.applyToInvoice();
+        LedgerEntry paid = LedgerEntry.record(invoice, LedgerEntryType.PAYMENT, payment.getAmount(), payment, null);
+        invoice.applyRefund(new BigDecimal("10.00"));
+        LedgerEntry refunded = LedgerEntry.record(invoice, LedgerEntryType.REFUND, new BigDecimal("10.00"), payment, "Partial return");
+        invoice.applyCredit(new BigDecimal("50.00"));
+        LedgerEntry credited = LedgerEntry.record(invoice, LedgerEntryType.CREDIT_NOTE, new BigDecimal("50.00"), null, null);
+
+        // Then
+        assertThat(paid.getSequenceNumber()).isEqualTo(1);
+        assertThat(paid.getAmount()).isEqualByComparingTo("-60.00");
+        assertThat(paid.getBalanceAfter()).isEqualByComparingTo("40.00");
+        assertThat(refunded.getSequenceNumber()).isEqualTo(2);
+        assertThat(refunded.getAmount()).isEqualByComparingTo("10.00");
+        assertThat(refunded.getBalanceAfter()).isEqualByComparingTo("50.00");
+        assertThat(credited.getSequenceNumber()).isEqualTo(3);
+        assertThat(credited.getBalanceAfter()).isZero();
+        assertThat(invoice.getLedgerSequence()).isEqualTo(3);
+    }
+
+    @Test
+    void testRecord_PaymentEntriesRequireAPayment() {
+        assertThatThrownBy(() -> LedgerEntry.record(invoice, LedgerEntryType.REFUND, BigDecimal.ONE, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("require a payment");
+        assertThatThrownBy(() -> LedgerEntry.record(invoice, LedgerEntryType.WRITE_OFF, BigDecimal.ZERO, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testOpeningAndAdjustment_CarryTotalAndSignedChange() {
+        // Given
+        invoice.setCreatedAt(LocalDateTime.now());
+
+        // When
+        LedgerEntry opening = LedgerEntry.opening(invoice);
+        BigDecimal change = invoice.updateLineItems(List.of(new LineItem("Hours", 1, new BigDecimal("40.00"))));
+        LedgerEntry adjustment = LedgerEntry.adjustment(invoice, change, "Line items updated");
+
+        // Then
+        assertThat(opening.getSequenceNumber()).isZero();
+        assertThat(opening.getAmount()).isEqualByComparingTo("100.00");
+        assertThat(opening.getRecordedAt()).isEqualTo(invoice.getCreatedAt());
+        assertThat(adjustment.getSequenceNumber()).isEqualTo(1);
+        assertThat(adjustment.getAmount()).isEqualByComparingTo("-60.00");
+        assertThat(adjustment.getBalanceAfter()).isEqualByComparingTo("40.00");
+        assertThatThrownBy(() -> LedgerEntry.opening(invoice)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> LedgerEntry.record(invoice, LedgerEntryType.ADJUSTMENT, BigDecimal.ONE, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
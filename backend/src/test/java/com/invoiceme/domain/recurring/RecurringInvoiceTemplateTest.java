@@ -0,0 +1,88 @@
+package com.invoiceme.domain.recurring;
+
+import com.invoiceme.domain.customer.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurringInvoiceTemplateTest {
+
+    private static final Customer CUSTOMER = new Customer("Customer", "customer@example.com", null, null);
+    private static final List<RecurringLineItem> LINES = List.of(
+            new RecurringLineItem("Hosting", 1, new BigDecimal("49.00"), null));
+
+    @Test
+    void testAdvance_KeepsDayOfMonthFromAnchor() {
+        // Given
+        RecurringInvoiceTemplate template = new RecurringInvoiceTemplate(
+                CUSTOMER, "USD", 1, LocalDate.of(2025, 1, 31), null, LINES);
+
+        // When
+        template.advance();
+        LocalDate february = template.getNextRunDate();
+        template.advance();
+
+        // Then
+        assertThat(february).isEqualTo(LocalDate.of(2025, 2, 28));
+        assertThat(template.getNextRunDate()).isEqualTo(LocalDate.of(2025, 3, 31));
+        assertThat(template.getPeriodsGenerated()).isEqualTo(2);
+    }
+
+    @Test
+    void testAdvance_DeactivatesAfterEndDate() {
+        // Given
+        RecurringInvoiceTemplate template = new RecurringInvoiceTemplate(
+                CUSTOMER, "USD", 3, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 4, 1), LINES);
+
+        // When
+        template.advance();
+
+        // Then
+        assertThat(template.isActive()).isTrue();
+        assertThat(template.isDue(LocalDate.of(2025, 4, 1))).isTrue();
+
+        // When
+        template.advance();
+
+        // Then
+        assertThat(template.isActive()).isFalse();
+        assertThat(template.isDue(LocalDate.of(2025, 12, 31))).isFalse();
+        assertThatThrownBy(template::advance).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testPause_TruncatesErrorAndStopsGeneration() {
+        // Given
+        RecurringInvoiceTemplate template = new RecurringInvoiceTemplate(
+                CUSTOMER, "EUR", 1, LocalDate.of(2025, 1, 1), null, LINES);
+
+        // When
+        template.pause("x".repeat(600));
+
+        // Then
+        assertThat(template.isActive()).isFalse();
+        assertThat(template.getLastError()).hasSize(500);
+        assertThat(template.isDue(LocalDate.of(2025, 1, 1))).isFalse();
+    }
+
+    @Test
+    void testConstructor_ValidatesSchedule() {
+        assertThatThrownBy(() -> new RecurringInvoiceTemplate(
+                CUSTOMER, "USD", 0, LocalDate.of(2025, 1, 1), null, LINES))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RecurringInvoiceTemplate(
+                CUSTOMER, "USD", 1, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), LINES))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RecurringInvoiceTemplate(
+                CUSTOMER, "XYZ", 1, LocalDate.of(2025, 1, 1), null, LINES))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RecurringInvoiceTemplate(
+                CUSTOMER, "USD", 1, LocalDate.of(2025, 1, 1), null, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.invoiceme.domain.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void testOf_RoundsHalfUpToCents() {
+        assertThat(Money.of(new BigDecimal("10.005")).cents()).isEqualTo(1001);
+        assertThat(Money.of(new BigDecimal("10.004")).cents()).isEqualTo(1000);
+        assertThat(Money.of(new BigDecimal("-10.005")).cents()).isEqualTo(-1001);
+        assertThat(Money.of(new BigDecimal("7")).cents()).isEqualTo(700);
+    }
+
+    @Test
+    void testToBigDecimal_HasScaleTwo() {
+        assertThat(Money.ofCents(12345).toBigDecimal()).isEqualTo(new BigDecimal("123.45"));
+        assertThat(Money.ZERO.toBigDecimal()).isEqualTo(new BigDecimal("0.00"));
+    }
+
+    @Test
+    void testArithmetic() {
+        Money price = Money.of(new BigDecimal("19.99"));
+
+        assertThat(price.times(3)).isEqualTo(Money.ofCents(5997));
+        assertThat(price.plus(Money.ofCents(1))).isEqualTo(Money.ofCents(2000));
+        assertThat(price.minus(price).isZero()).isTrue();
+    }
+
+    @Test
+    void testApplyRate_RoundsHalfUp() {
+        // 19% of 0.50 = 0.095 -> 0.10; 8.25% of 1.00 = 0.0825 -> 0.08
+        assertThat(Money.ofCents(50).applyRate(Money.rateMicros(new BigDecimal("0.19")))).isEqualTo(Money.ofCents(10));
+        assertThat(Money.ofCents(100).applyRate(Money.rateMicros(new BigDecimal("0.0825")))).isEqualTo(Money.ofCents(8));
+        assertThat(Money.ofCents(-50).applyRate(190_000)).isEqualTo(Money.ofCents(-10));
+    }
+
+    @Test
+    void testRoundTo_CurrencyDecimalPlaces() {
+        assertThat(Money.ofCents(100050).roundTo(0)).isEqualTo(Money.ofCents(100100));
+        assertThat(Money.ofCents(-100050).roundTo(0)).isEqualTo(Money.ofCents(-100100));
+        assertThat(Money.ofCents(12345).roundTo(1)).isEqualTo(Money.ofCents(12350));
+        assertThat(Money.ofCents(12345).roundTo(2)).isEqualTo(Money.ofCents(12345));
+        assertThat(Money.ofCents(12345).roundTo(-1)).isEqualTo(Money.ofCents(12345));
+    }
+
+    @Test
+    void testApplyRate_RoundsOnceToCurrencyDecimalPlaces() {
+        // 8.45% of 1000 = 84.5 -> 85
+        assertThat(Money.ofCents(100000).applyRate(84_500, 0)).isEqualTo(Money.ofCents(8500));
+        // 8.4495% of 1000 = 84.495 -> 84; rounding to cents first would give 84.50 -> 85
+        assertThat(Money.ofCents(100000).applyRate(84_495, 0)).isEqualTo(Money.ofCents(8400));
+        assertThat(Money.ofCents(100000).applyRate(84_495, 2)).isEqualTo(Money.ofCents(8450));
+    }
+
+    @Test
+    void testOverflow_Throws() {
+        Money large = Money.ofCents(Long.MAX_VALUE / 2 + 1);
+
+        assertThatThrownBy(() -> large.times(2)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> large.plus(large)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1e18"))).isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,46 @@
+package com.invoiceme.infrastructure.config;
+
+import com.invoiceme.application.customer.CustomerMapperImpl;
+import com.invoiceme.application.invoice.InvoiceMapperImpl;
+import com.invoiceme.domain.idempotency.IdempotencyRecordId;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.LineItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeImageRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeImageRuntimeHintsTest() {
+        new NativeImageRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testRegisterHints_CoversEntitiesAndEmbeddedIds() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Invoice.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(LineItem.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(IdempotencyRecordId.class)).accepts(hints);
+    }
+
+    @Test
+    void testRegisterHints_CoversGeneratedMappers() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(CustomerMapperImpl.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(InvoiceMapperImpl.class)).accepts(hints);
+    }
+
+    @Test
+    void testRegisterHints_CoversPdfFontsMailAndVendorMigrations() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("com/lowagie/text/pdf/fonts/Helvetica-Bold.afm")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/mailcap")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(
+                TypeReference.of("org.eclipse.angus.mail.handlers.multipart_mixed"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/vendor/postgresql/V5__add_search_indexes.sql")).accepts(hints);
+    }
+}
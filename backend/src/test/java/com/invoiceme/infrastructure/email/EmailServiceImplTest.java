@@ -15,6 +15,7 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -149,5 +150,31 @@ class EmailServiceImplTest {
                 .isInstanceOf(EmailException.class)
                 .hasMessageContaining("Failed to send email");
     }
-}
 
+    @Test
+    void testSendReminderEmail_Success() throws MessagingException {
+        // Given
+        MimeMessage mockMessage = mock(MimeMessage.class);
+        when(javaMailSender.createMimeMessage()).thenReturn(mockMessage);
+        testInvoice.setDueDate(LocalDate.now().minusDays(7));
+
+        // When
+        emailService.sendReminderEmail(testInvoice, 2);
+
+        // Then
+        verify(mockMessage).setSubject(contains("Reminder 2"), eq("UTF-8"));
+        verify(javaMailSender, times(1)).send(any(MimeMessage.class));
+    }
+
+    @Test
+    void testSendReminderEmail_NullCustomerEmail_ThrowsException() {
+        // Given
+        ReflectionTestUtils.setField(testCustomer, "email", null);
+
+        // When/Then
+        assertThatThrownBy(() -> emailService.sendReminderEmail(testInvoice, 1))
+                .isInstanceOf(EmailException.class)
+                .hasMessageContaining("Customer email is required");
+        verify(javaMailSender, never()).send(any(MimeMessage.class));
+    }
+}
@@ -0,0 +1,49 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionPoolSizerTest {
+
+    @Test
+    void testMaximumPoolSize_ScalesWithCoresAndIoWait() {
+        assertThat(ConnectionPoolSizer.maximumPoolSize(4, 0, 100)).isEqualTo(4);
+        assertThat(ConnectionPoolSizer.maximumPoolSize(4, 4, 100)).isEqualTo(20);
+        assertThat(ConnectionPoolSizer.maximumPoolSize(8, 1.5, 100)).isEqualTo(20);
+        assertThat(ConnectionPoolSizer.maximumPoolSize(1, 0, 100)).isEqualTo(2);
+    }
+
+    @Test
+    void testMaximumPoolSize_CappedAtMaxSize() {
+        assertThat(ConnectionPoolSizer.maximumPoolSize(32, 4, 10)).isEqualTo(10);
+        assertThat(ConnectionPoolSizer.maximumPoolSize(1, 0, 1)).isEqualTo(1);
+    }
+
+    @Test
+    void testMaximumPoolSize_RejectsInvalidSettings() {
+        assertThatThrownBy(() -> ConnectionPoolSizer.maximumPoolSize(4, -1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ConnectionPoolSizer.maximumPoolSize(4, 4, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testPostProcess_KeepsExplicitPoolSize() {
+        // Given
+        ConnectionPoolSizer sizer = new ConnectionPoolSizer(4, 4, 100);
+        try (HikariDataSource unset = new HikariDataSource(); HikariDataSource explicit = new HikariDataSource()) {
+            explicit.setMaximumPoolSize(10);
+
+            // When
+            sizer.postProcessAfterInitialization(unset, "unset");
+            sizer.postProcessAfterInitialization(explicit, "explicit");
+
+            // Then
+            assertThat(unset.getMaximumPoolSize()).isEqualTo(20);
+            assertThat(explicit.getMaximumPoolSize()).isEqualTo(10);
+        }
+    }
+}
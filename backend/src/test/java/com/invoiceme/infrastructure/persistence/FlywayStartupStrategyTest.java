@@ -0,0 +1,45 @@
+package com.invoiceme.infrastructure.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.ValidateResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FlywayStartupStrategyTest {
+
+    private final Flyway flyway = mock(Flyway.class);
+
+    @Test
+    void testMigrate_RunsMigrationsAtStartupByDefault() {
+        FlywayStartupStrategy strategy = new FlywayStartupStrategy(false);
+
+        strategy.migrate(flyway);
+        strategy.onReady();
+
+        verify(flyway).migrate();
+        verify(flyway, never()).validateWithResult();
+    }
+
+    @Test
+    void testMigrate_DeferredValidatesOnceReady() {
+        FlywayStartupStrategy strategy = new FlywayStartupStrategy(true);
+        when(flyway.validateWithResult())
+                .thenReturn(new ValidateResult("10", "testdb", null, true, 16, List.of(), List.of()));
+
+        // When - startup skips Flyway
+        strategy.migrate(flyway);
+        verify(flyway, never()).migrate();
+
+        // Then - the schema is validated in the background once the application is ready
+        strategy.onReady();
+        verify(flyway, timeout(5_000)).validateWithResult();
+        verify(flyway, never()).migrate();
+    }
+}
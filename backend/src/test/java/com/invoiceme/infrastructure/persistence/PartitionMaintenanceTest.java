@@ -0,0 +1,23 @@
+package com.invoiceme.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionMaintenanceTest {
+
+    @Test
+    void testEndOf_DerivesRangeEndFromPartitionName() {
+        assertThat(PartitionMaintenance.endOf("invoices_2025")).contains(LocalDate.of(2026, 1, 1));
+        assertThat(PartitionMaintenance.endOf("payments_2025_03")).contains(LocalDate.of(2025, 4, 1));
+        assertThat(PartitionMaintenance.endOf("payments_2025_12")).contains(LocalDate.of(2026, 1, 1));
+    }
+
+    @Test
+    void testEndOf_IgnoresOtherTables() {
+        assertThat(PartitionMaintenance.endOf("invoices_default")).isEmpty();
+        assertThat(PartitionMaintenance.endOf("payments_2025")).isEmpty();
+    }
+}
@@ -0,0 +1,121 @@
+package com.invoiceme.infrastructure.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final JdbcTemplate replicaJdbc = mock(JdbcTemplate.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaJdbc, Duration.ofSeconds(1));
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, monitor);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testGetConnection_RoutesReadOnlyTransactionsToReplica() throws SQLException {
+        // Given
+        lag(0.2);
+
+        // When / Then
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void testGetConnection_UsesPrimaryUntilReplicaWasChecked() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When / Then
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void testGetConnection_FallsBackToPrimaryWhileReplicaLags() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        lag(5.0);
+
+        // When / Then
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(monitor.getLastLag()).isEqualTo(Duration.ofSeconds(5));
+
+        // Caught up again
+        lag(0.0);
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void testGetConnection_FallsBackToPrimaryWhenReplicaIsDown() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        lag(0.0);
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("Connection is not available"));
+
+        // When / Then - the failed read is served by the primary and later ones skip the replica
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(monitor.isReplicaUsable()).isFalse();
+    }
+
+    @Test
+    void testCheck_MarksUnreachableReplicaUnusable() {
+        // Given
+        lag(0.0);
+        when(replicaJdbc.queryForObject(eq(ReplicaLagMonitor.LAG_QUERY), eq(Double.class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        // When
+        monitor.check();
+
+        // Then
+        assertThat(monitor.isReplicaUsable()).isFalse();
+    }
+
+    @Test
+    void testCheck_MarksReplicaUnusableWhileNotStreaming() {
+        // Given
+        lag(0.0);
+        when(replicaJdbc.queryForObject(eq(ReplicaLagMonitor.LAG_QUERY), eq(Double.class))).thenReturn(null);
+
+        // When
+        monitor.check();
+
+        // Then - the lag of a disconnected replica is unknown, not zero
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(monitor.getLastLag()).isNull();
+    }
+
+    private void lag(double seconds) {
+        when(replicaJdbc.queryForObject(eq(ReplicaLagMonitor.LAG_QUERY), eq(Double.class))).thenReturn(seconds);
+        monitor.check();
+    }
+}
@@ -0,0 +1,122 @@
+package com.invoiceme.infrastructure.persistence.migration;
+
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchedBackfillMigrationTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:backfill-" + UUID.randomUUID());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE invoices (id UUID PRIMARY KEY, total_amount DECIMAL(19,2), balance DECIMAL(19,2), amount_paid DECIMAL(19,2))");
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO invoices (id, total_amount, balance) VALUES (?, 100, ?)")) {
+            for (int i = 0; i < 2_500; i++) {
+                insert.setObject(1, UUID.randomUUID());
+                insert.setInt(2, i % 100);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void testMigrate_BackfillsEveryRowInChunks() throws SQLException {
+        // When - 3 chunks: 1000, 1000, 500
+        new V1__Backfill_amount_paid().migrate(context(Map.of(
+                BatchedBackfillMigration.BATCH_SIZE_PLACEHOLDER, "1000",
+                BatchedBackfillMigration.PAUSE_PLACEHOLDER, "0")));
+
+        // Then
+        assertThat(count("amount_paid IS NULL")).isZero();
+        assertThat(count("amount_paid = total_amount - balance")).isEqualTo(2_500);
+    }
+
+    @Test
+    void testMigrate_RerunOnlyTouchesPendingRows() throws SQLException {
+        // Given - a first run stopped part way
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UPDATE invoices SET amount_paid = -1 WHERE balance < 50");
+        }
+
+        // When
+        new V1__Backfill_amount_paid().migrate(context(Map.of(BatchedBackfillMigration.BATCH_SIZE_PLACEHOLDER, "700")));
+
+        // Then - rows already filled are kept
+        assertThat(count("amount_paid = -1")).isEqualTo(1_250);
+        assertThat(count("amount_paid = total_amount - balance")).isEqualTo(1_250);
+    }
+
+    @Test
+    void testMigrate_EmptyTableDoesNothing() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM invoices");
+        }
+
+        new V1__Backfill_amount_paid().migrate(context(Map.of()));
+
+        assertThat(count("1 = 1")).isZero();
+    }
+
+    @Test
+    void testMigrate_RejectsInvalidBatchSize() {
+        assertThatThrownBy(() -> new V1__Backfill_amount_paid().migrate(context(Map.of(
+                BatchedBackfillMigration.BATCH_SIZE_PLACEHOLDER, "0"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testMigrate_RunsOutsideATransaction() {
+        assertThat(new V1__Backfill_amount_paid().canExecuteInTransaction()).isFalse();
+    }
+
+    private Context context(Map<String, String> placeholders) {
+        Configuration configuration = mock(Configuration.class);
+        when(configuration.getPlaceholders()).thenReturn(placeholders);
+        Context context = mock(Context.class);
+        when(context.getConfiguration()).thenReturn(configuration);
+        when(context.getConnection()).thenReturn(connection);
+        return context;
+    }
+
+    private long count(String condition) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM invoices WHERE " + condition)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    /** Flyway requires the versioned naming even in tests */
+    private static class V1__Backfill_amount_paid extends BatchedBackfillMigration {
+        V1__Backfill_amount_paid() {
+            super("invoices", "amount_paid = total_amount - balance", "amount_paid IS NULL");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+#!/bin/bash
+
+# Startup Benchmark Script
+# Measures time-to-first-request of the packaged application: plain `java -jar`,
+# then an extracted jar with a CDS archive, then CDS plus Spring AOT (only when the
+# jar was built with -Pstartup). Extra arguments are passed to the application,
+# e.g. ./startup-benchmark.sh --spring.profiles.active=prod
+
+JAR="${JAR:-target/invoiceme-backend-1.0.0.jar}"
+RUNS="${RUNS:-5}"
+PORT="${PORT:-18080}"
+URL="${URL:-/actuator/health}"
+WORK_DIR="${WORK_DIR:-target/startup-benchmark}"
+EXTRACTED_JAR="$WORK_DIR/application/$(basename "$JAR")"
+APP_ARGS=("--server.port=$PORT" "$@")
+
+# Colors for output
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+YELLOW='\033[1;33m'
+NC='\033[0m' # No Color
+
+if [ ! -f "$JAR" ]; then
+    echo -e "${RED}Jar not found: $JAR (run mvn package first)${NC}"
+    exit 1
+fi
+
+echo "========================================="
+echo "Startup Benchmark"
+echo "========================================="
+echo "Jar: $JAR"
+echo "Runs per mode: $RUNS"
+echo "First request: http://localhost:$PORT$URL"
+echo ""
+
+# Starts the application with the given JVM options and prints the milliseconds until
+# the first HTTP response (any status), or nothing if it did not come up
+time_to_first_request() {
+    local jar=$1
+    shift
+    local start=$(date +%s%N)
+    java "$@" -jar "$jar" "${APP_ARGS[@]}" > "$WORK_DIR/app.log" 2>&1 &
+    local pid=$!
+    local elapsed=""
+    while kill -0 $pid 2>/dev/null; do
+        code=$(curl -s -o /dev/null -w "%{http_code}" "http://localhost:$PORT$URL")
+        if [ "$code" != "000" ]; then
+            elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+            break
+        fi
+        sleep 0.02
+    done
+    kill $pid 2>/dev/null
+    wait $pid 2>/dev/null
+    echo "$elapsed"
+}
+
+# Runs a mode RUNS times and reports min and average
+benchmark() {
+    local description=$1
+    shift
+    local total=0
+    local min=""
+    local count=0
+    echo "Testing: $description"
+    for run in $(seq 1 "$RUNS"); do
+        ms=$(time_to_first_request "$@")
+        if [ -z "$ms" ]; then
+            echo -e "  ${RED}✗ Run $run: application did not start (see $WORK_DIR/app.log)${NC}"
+            continue
+        fi
+        echo "  Run $run: ${ms}ms"
+        total=$((total + ms))
+        count=$((count + 1))
+        if [ -z "$min" ] || [ "$ms" -lt "$min" ]; then
+            min=$ms
+        fi
+    done
+    if [ "$count" -gt 0 ]; then
+        echo -e "  ${GREEN}min ${min}ms, avg $((total / count))ms${NC}"
+    fi
+    echo ""
+}
+
+# Trains a CDS archive for the extracted jar by starting it once and exiting after refresh
+train() {
+    local archive=$1
+    shift
+    java -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh "$@" \
+        -jar "$EXTRACTED_JAR" "${APP_ARGS[@]}" > "$WORK_DIR/train.log" 2>&1
+    if [ ! -f "$archive" ]; then
+        echo -e "${RED}CDS training failed (see $WORK_DIR/train.log)${NC}"
+        exit 1
+    fi
+}
+
+rm -rf "$WORK_DIR"
+mkdir -p "$WORK_DIR"
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK_DIR/application" > /dev/null
+
+benchmark "java -jar" "$JAR"
+
+train "$WORK_DIR/cds.jsa"
+benchmark "Extracted jar + CDS" "$EXTRACTED_JAR" -XX:SharedArchiveFile="$WORK_DIR/cds.jsa"
+
+if unzip -l "$JAR" | grep -q "__ApplicationContextInitializer"; then
+    train "$WORK_DIR/cds-aot.jsa" -Dspring.aot.enabled=true
+    benchmark "Extracted jar + CDS + AOT" "$EXTRACTED_JAR" \
+        -XX:SharedArchiveFile="$WORK_DIR/cds-aot.jsa" -Dspring.aot.enabled=true
+else
+    echo -e "${YELLOW}⚠ Jar has no AOT sources; build with mvn package -Pstartup to include CDS + AOT${NC}"
+fi
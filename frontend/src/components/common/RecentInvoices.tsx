@@ -18,9 +18,6 @@ export function RecentInvoices({
   isLoading,
   error,
 }: RecentInvoicesProps) {
-  const formatInvoiceNumber = (id: string) => {
-    return `INV-${id.substring(0, 8).toUpperCase()}`
-  }
 
   if (isLoading) {
     return (
@@ -78,7 +75,7 @@ export function RecentInvoices({
                   <div className="flex-1 min-w-0">
                     <div className="flex items-center gap-2 mb-1">
                       <span className="text-sm font-medium">
-                        {formatInvoiceNumber(invoice.id)}
+                        {invoice.invoiceNumber}
                       </span>
                       <InvoiceStatusBadge status={invoice.status} />
                     </div>
@@ -21,9 +21,6 @@ export function RecentPayments({
     return `PAY-${id.substring(0, 8).toUpperCase()}`
   }
 
-  const formatInvoiceNumber = (id: string) => {
-    return `INV-${id.substring(0, 8).toUpperCase()}`
-  }
 
   if (isLoading) {
     return (
@@ -84,7 +81,7 @@ export function RecentPayments({
                         {formatPaymentNumber(payment.id)}
                       </span>
                       <span className="text-xs text-muted-foreground">
-                        for {formatInvoiceNumber(payment.invoiceId)}
+                        for {payment.invoiceNumber}
                       </span>
                     </div>
                     <p className="text-xs text-muted-foreground">
@@ -54,9 +54,6 @@ export function InvoiceDetails({
 
   if (!invoice) return null
 
-  const formatInvoiceNumber = (id: string) => {
-    return `INV-${id.substring(0, 8).toUpperCase()}`
-  }
 
   const handleDownloadPdf = async () => {
     try {
@@ -72,7 +69,7 @@ export function InvoiceDetails({
       const url = window.URL.createObjectURL(blob)
       const link = document.createElement('a')
       link.href = url
-      link.download = `invoice-${invoice.id.substring(0, 8)}.pdf`
+      link.download = `invoice-${invoice.invoiceNumber}.pdf`
       document.body.appendChild(link)
       link.click()
       
@@ -167,7 +164,7 @@ export function InvoiceDetails({
             <CardContent className="grid grid-cols-2 gap-4">
               <div>
                 <p className="text-sm text-muted-foreground">Invoice #</p>
-                <p className="font-medium">{formatInvoiceNumber(invoice.id)}</p>
+                <p className="font-medium">{invoice.invoiceNumber}</p>
               </div>
               <div>
                 <p className="text-sm text-muted-foreground">Status</p>
@@ -65,9 +65,6 @@ export function InvoiceList({
     )
   }
 
-  const formatInvoiceNumber = (id: string) => {
-    return `INV-${id.substring(0, 8).toUpperCase()}`
-  }
 
   return (
     <div className="space-y-4">
@@ -88,7 +85,7 @@ export function InvoiceList({
             {invoices.map((invoice) => (
               <TableRow key={invoice.id}>
                 <TableCell className="font-medium">
-                  {formatInvoiceNumber(invoice.id)}
+                  {invoice.invoiceNumber}
                 </TableCell>
                 <TableCell>
                   {invoice.customerName || invoice.customerId.substring(0, 8)}
@@ -109,7 +106,7 @@ export function InvoiceList({
                       variant="outline"
                       size="sm"
                       onClick={() => onViewDetails(invoice)}
-                      aria-label={`View details for invoice ${formatInvoiceNumber(invoice.id)}`}
+                      aria-label={`View details for invoice ${invoice.invoiceNumber}`}
                     >
                       View
                     </Button>
@@ -119,7 +116,7 @@ export function InvoiceList({
                           variant="outline"
                           size="sm"
                           onClick={() => onEdit(invoice)}
-                          aria-label={`Edit invoice ${formatInvoiceNumber(invoice.id)}`}
+                          aria-label={`Edit invoice ${invoice.invoiceNumber}`}
                         >
                           Edit
                         </Button>
@@ -127,7 +124,7 @@ export function InvoiceList({
                           variant="outline"
                           size="sm"
                           onClick={() => onSendViaEmail(invoice)}
-                          aria-label={`Send invoice ${formatInvoiceNumber(invoice.id)} via email`}
+                          aria-label={`Send invoice ${invoice.invoiceNumber} via email`}
                         >
                           Send via Email
                         </Button>
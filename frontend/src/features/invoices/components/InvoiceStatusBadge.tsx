@@ -17,6 +17,8 @@ export function InvoiceStatusBadge({
         return 'secondary' // Gray
       case InvoiceStatus.SENT:
         return 'default' // Blue
+      case InvoiceStatus.OVERDUE:
+        return 'destructive' // Red
       case InvoiceStatus.PAID:
         return 'outline' // Will add green styling
       default:
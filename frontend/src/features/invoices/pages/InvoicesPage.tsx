@@ -157,6 +157,7 @@ export function InvoicesPage() {
               <SelectItem value="ALL">All</SelectItem>
               <SelectItem value={InvoiceStatus.DRAFT}>Draft</SelectItem>
               <SelectItem value={InvoiceStatus.SENT}>Sent</SelectItem>
+              <SelectItem value={InvoiceStatus.OVERDUE}>Overdue</SelectItem>
               <SelectItem value={InvoiceStatus.PAID}>Paid</SelectItem>
             </SelectContent>
           </Select>
@@ -4,6 +4,7 @@ import type { components } from '@/types/api'
 export enum InvoiceStatus {
   DRAFT = 'DRAFT',
   SENT = 'SENT',
+  OVERDUE = 'OVERDUE',
   PAID = 'PAID',
 }
 
@@ -22,6 +23,7 @@ export interface LineItem {
 // Invoice interface
 export interface Invoice {
   id: string
+  invoiceNumber: string
   customerId: string
   customerName?: string // Optional, for display convenience
   status: InvoiceStatus
@@ -61,6 +63,7 @@ export interface Page<T> {
 export function mapInvoiceResponse(response: InvoiceResponse): Invoice {
   return {
     id: response.id || '',
+    invoiceNumber: response.invoiceNumber || '',
     customerId: response.customerId || '',
     customerName: (response as any).customerName || undefined, // Map customerName from API response (may not be in OpenAPI schema)
     status: (response.status as InvoiceStatus) || InvoiceStatus.DRAFT,
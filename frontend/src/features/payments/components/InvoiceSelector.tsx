@@ -22,10 +22,11 @@ export function InvoiceSelector({
   // Fetch all invoices (we'll filter client-side)
   const { data, isLoading } = useInvoices(0, 100) // Fetch first 100 invoices
 
-  // Filter invoices: Only show SENT or PAID invoices with balance > 0
+  // Filter invoices: Only show SENT, OVERDUE or PAID invoices with balance > 0
   const eligibleInvoices = (data?.content || []).filter(
     (invoice) =>
       (invoice.status === InvoiceStatus.SENT ||
+        invoice.status === InvoiceStatus.OVERDUE ||
         invoice.status === InvoiceStatus.PAID) &&
       invoice.balance > 0
   )
@@ -35,9 +36,6 @@ export function InvoiceSelector({
     (inv) => inv.id === value
   ) || null
 
-  const formatInvoiceNumber = (id: string) => {
-    return `INV-${id.substring(0, 8).toUpperCase()}`
-  }
 
   if (isLoading) {
     return (
@@ -59,7 +57,7 @@ export function InvoiceSelector({
             ? [{ value: 'no-invoices', label: 'No eligible invoices found', disabled: true }]
             : eligibleInvoices.map((invoice) => ({
                 value: invoice.id,
-                label: `${formatInvoiceNumber(invoice.id)} - ${invoice.customerName || 'Unknown'} (${formatCurrency(invoice.balance)} balance)`,
+                label: `${invoice.invoiceNumber} - ${invoice.customerName || 'Unknown'} (${formatCurrency(invoice.balance)} balance)`,
               }))
         }
         value={value || ''}
@@ -72,7 +70,7 @@ export function InvoiceSelector({
         getSearchableText={(option) => {
           const invoice = eligibleInvoices.find((inv) => inv.id === option.value)
           if (!invoice) return option.label
-          return `${formatInvoiceNumber(invoice.id)} ${invoice.customerName || 'Unknown'} ${formatCurrency(invoice.balance)}`
+          return `${invoice.invoiceNumber} ${invoice.customerName || 'Unknown'} ${formatCurrency(invoice.balance)}`
         }}
       />
       {error && (
@@ -83,7 +81,7 @@ export function InvoiceSelector({
       {selectedInvoice && (
         <div className="mt-2 p-3 bg-muted rounded-md">
           <p className="text-sm font-medium">
-            Invoice: {formatInvoiceNumber(selectedInvoice.id)}
+            Invoice: {selectedInvoice.invoiceNumber}
           </p>
           <p className="text-sm text-muted-foreground">
             Customer: {selectedInvoice.customerName || 'Unknown'}
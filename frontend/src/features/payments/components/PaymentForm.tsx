@@ -146,7 +146,7 @@ export function PaymentForm({
           <div className="text-sm space-y-1">
             <p>
               <span className="font-medium">Invoice #:</span>{' '}
-              {`INV-${invoice.id.substring(0, 8).toUpperCase()}`}
+              {invoice.invoiceNumber}
             </p>
             <p>
               <span className="font-medium">Customer:</span>{' '}
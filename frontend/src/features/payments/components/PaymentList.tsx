@@ -63,9 +63,6 @@ export function PaymentList({
     return `PAY-${id.substring(0, 8).toUpperCase()}`
   }
 
-  const formatInvoiceNumber = (id: string) => {
-    return `INV-${id.substring(0, 8).toUpperCase()}`
-  }
 
   return (
     <div className="space-y-4">
@@ -89,7 +86,7 @@ export function PaymentList({
                   {formatPaymentNumber(payment.id)}
                 </TableCell>
                 <TableCell>
-                  {payment.invoiceNumber || formatInvoiceNumber(payment.invoiceId)}
+                  {payment.invoiceNumber}
                 </TableCell>
                 <TableCell>
                   {payment.customerName || 'Unknown'}
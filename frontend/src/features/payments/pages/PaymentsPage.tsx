@@ -84,9 +84,6 @@ export function PaymentsPage() {
     }
   }
 
-  const formatInvoiceNumber = (id: string) => {
-    return `INV-${id.substring(0, 8).toUpperCase()}`
-  }
 
   return (
     <div className="container mx-auto py-8 space-y-6">
@@ -109,7 +106,7 @@ export function PaymentsPage() {
               { value: 'ALL', label: 'All Invoices' },
               ...invoices.map((invoice) => ({
                 value: invoice.id,
-                label: `${formatInvoiceNumber(invoice.id)}${invoice.customerName ? ` - ${invoice.customerName}` : ''}`,
+                label: `${invoice.invoiceNumber}${invoice.customerName ? ` - ${invoice.customerName}` : ''}`,
               })),
             ]}
             value={viewModel.filters.invoiceId || 'ALL'}
@@ -122,7 +119,7 @@ export function PaymentsPage() {
               if (option.value === 'ALL') return option.label
               const invoice = invoices.find((inv) => inv.id === option.value)
               return invoice
-                ? `${formatInvoiceNumber(invoice.id)} ${invoice.customerName || ''}`
+                ? `${invoice.invoiceNumber} ${invoice.customerName || ''}`
                 : option.label
             }}
           />
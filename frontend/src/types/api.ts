@@ -188,6 +188,11 @@ export interface components {
              * @example 550e8400-e29b-41d4-a716-446655440000
              */
             id?: string;
+            /**
+             * @description Invoice number
+             * @example INV-2025-000042
+             */
+            invoiceNumber?: string;
             /**
              * Format: uuid
              * @description Customer ID